@@ -1,5 +1,6 @@
 plugins {
     alias(libs.plugins.android.application)
+    alias(libs.plugins.baselineprofile)
 }
 
 android {
@@ -29,20 +30,41 @@ android {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
     }
+    sourceSets {
+        // Harness ghi/phát lại API (MockWebServer) dùng chung cho unit test và test trên máy;
+        // fixture là classpath resource ở unit test, asset ở androidTest
+        getByName("test") {
+            java.srcDir("src/sharedTest/java")
+            resources.srcDir("src/fixtures")
+        }
+        getByName("androidTest") {
+            java.srcDir("src/sharedTest/java")
+            assets.srcDir("src/fixtures")
+        }
+    }
 }
 
 dependencies {
+    implementation(project(":pricing"))
+    implementation(project(":seating"))
     implementation(libs.appcompat)
     implementation(libs.material)
     implementation(libs.activity)
     implementation(libs.constraintlayout)
+    implementation(libs.recyclerview)
     implementation(libs.retrofit)
     implementation(libs.retrofit.gson)
     implementation(libs.okhttp)
     implementation(libs.okhttp.logging)
     implementation(libs.gson)
     implementation(libs.glide)
+    implementation(libs.metrics.performance)
+    // Cài baseline profile khi app được sideload (không qua Play)
+    implementation(libs.profileinstaller)
+    "baselineProfile"(project(":baselineprofile"))
     testImplementation(libs.junit)
+    testImplementation(libs.okhttp.mockwebserver)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
+    androidTestImplementation(libs.okhttp.mockwebserver)
 }
@@ -0,0 +1,196 @@
+package vchung.ph59842.app_datve;
+
+import android.app.Activity;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.widget.GridLayout;
+import android.widget.TextView;
+
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+import vchung.ph59842.app_datve.models.Movie;
+import vchung.ph59842.app_datve.models.Seat;
+import vchung.ph59842.app_datve.models.SeatLayout;
+import vchung.ph59842.app_datve.models.SeatStatus;
+import vchung.ph59842.app_datve.models.Showtime;
+import vchung.ph59842.app_datve.models.Ticket;
+import vchung.ph59842.app_datve.models.User;
+import vchung.ph59842.app_datve.replay.Interaction;
+import vchung.ph59842.app_datve.replay.NetworkProfile;
+import vchung.ph59842.app_datve.replay.ReplayServer;
+import vchung.ph59842.app_datve.replay.Tape;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Đo thời gian từ lúc mở màn hình tới khi dữ liệu API hiện ra, với API phát lại từ
+ * {@code src/fixtures/replay} qua MockWebServer trên chính máy test: chạy offline, số ổn định.
+ * Lần chạy đầu là "cold" (repository trong bộ nhớ còn trống), các lần sau là "warm".
+ *
+ * <pre>
+ * ./gradlew :app:connectedDebugAndroidTest \
+ *     -Pandroid.testInstrumentationRunnerArguments.class=vchung.ph59842.app_datve.ReplayScreenTimingTest \
+ *     -Pandroid.testInstrumentationRunnerArguments.replayProfile=SLOW_3G
+ * </pre>
+ * Kết quả in ra logcat, tag {@code ReplayTiming}.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ReplayScreenTimingTest {
+    private static final String TAG = "ReplayTiming";
+    private static final int RUNS = 5;
+    private static final long TIMEOUT_MS = 20_000;
+    private static final long POLL_MS = 8;
+
+    private final Gson gson = new Gson();
+    private Context context;
+    private NetworkProfile profile;
+    private ReplayServer server;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        Bundle args = InstrumentationRegistry.getArguments();
+        profile = NetworkProfile.named(args.getString("replayProfile", "LTE"));
+        User user = fixture("home", "GET", "auth/me", User.class);
+        new UserSession(context).saveLoginSession("replay-token", user);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (server != null) {
+            List<String> misses = server.misses();
+            server.close();
+            if (!misses.isEmpty()) android.util.Log.w(TAG, "Requests missing from fixtures: " + misses);
+        }
+        new UserSession(context).logout();
+    }
+
+    @Test
+    public void mainScreenShowsMovies() throws IOException {
+        startServer("home");
+        Intent intent = new Intent(context, MainActivity.class);
+        report("MainActivity", time(intent, a -> a.findViewById(R.id.movieTitle1) != null));
+    }
+
+    @Test
+    public void movieDetailShowsShowtimes() throws IOException {
+        startServer("movie_detail");
+        Movie movie = fixture("home", "GET", "movies?", Movie[].class)[0];
+        Intent intent = MovieDetailActivity.createIntent(context, movie);
+        report("MovieDetailActivity", time(intent, a -> a.findViewById(R.id.btnBookTicket) != null));
+    }
+
+    @Test
+    public void bookingShowsSeatMap() throws IOException {
+        startServer("checkout");
+        Movie movie = fixture("home", "GET", "movies?", Movie[].class)[0];
+        SeatStatus status = fixture("checkout", "GET", "schedules/", SeatStatus.class);
+        Intent intent = BookingActivity.createIntent(context, movie, showtime(status.getScheduleId()));
+        // Sơ đồ thật đã vẽ: mỗi hàng một nhãn + đủ cột của layout (sơ đồ mặc định khác kích thước)
+        SeatLayout layout = fixture("checkout", "GET", "rooms/", SeatLayout.class);
+        int maxRow = 0;
+        int maxCol = 0;
+        for (Seat seat : layout.getSeats()) {
+            maxRow = Math.max(maxRow, seat.getRow());
+            maxCol = Math.max(maxCol, seat.getColumn());
+        }
+        int seatViews = (maxRow + 1) * (maxCol + 2);
+        report("BookingActivity", time(intent, a -> {
+            GridLayout grid = a.findViewById(R.id.seatGrid);
+            return grid != null && grid.getChildCount() == seatViews;
+        }));
+    }
+
+    @Test
+    public void checkoutShowsPaymentIntent() throws IOException {
+        startServer("checkout");
+        Ticket ticket = fixture("checkout", "POST", "tickets", Ticket.class);
+        Intent intent = PaymentCheckoutActivity.createIntent(context, ticket, "vietqr");
+        report("PaymentCheckoutActivity", time(intent, a -> {
+            TextView amount = a.findViewById(R.id.tvAmount);
+            return amount != null && !amount.getText().toString().contains("--");
+        }));
+    }
+
+    private void startServer(String tapeName) throws IOException {
+        server = new ReplayServer(tape(tapeName).addAll(tape("home")), profile).start();
+        server.install();
+    }
+
+    private long[] time(Intent intent, Predicate<Activity> loaded) {
+        long[] millis = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            long start = SystemClock.elapsedRealtime();
+            try (ActivityScenario<Activity> scenario = ActivityScenario.launch(intent)) {
+                awaitLoaded(scenario, loaded);
+                millis[run] = SystemClock.elapsedRealtime() - start;
+            }
+        }
+        return millis;
+    }
+
+    private void awaitLoaded(ActivityScenario<Activity> scenario, Predicate<Activity> loaded) {
+        long deadline = SystemClock.elapsedRealtime() + TIMEOUT_MS;
+        AtomicBoolean done = new AtomicBoolean();
+        while (SystemClock.elapsedRealtime() < deadline) {
+            scenario.onActivity(a -> done.set(loaded.test(a)));
+            if (done.get()) return;
+            SystemClock.sleep(POLL_MS);
+        }
+        fail("Screen did not load within " + TIMEOUT_MS + "ms; missing fixtures: " + server.misses());
+    }
+
+    private void report(String screen, long[] millis) {
+        long[] warm = Arrays.copyOfRange(millis, 1, millis.length);
+        Arrays.sort(warm);
+        android.util.Log.i(TAG, screen + " [" + profile + "] cold=" + millis[0] + "ms warm median="
+                + warm[warm.length / 2] + "ms runs=" + Arrays.toString(millis));
+        assertTrue(server.requestCount() > 0);
+    }
+
+    private Showtime showtime(String scheduleId) {
+        for (Showtime s : fixture("movie_detail", "GET", "movies/", Showtime[].class)) {
+            if (scheduleId.equals(s.getId())) return s;
+        }
+        throw new AssertionError("Showtime " + scheduleId + " missing from movie_detail fixture");
+    }
+
+    /** Phần {@code data} của interaction đầu tiên có method và path bắt đầu bằng {@code pathPrefix}. */
+    private <T> T fixture(String tapeName, String method, String pathPrefix, Class<T> type) {
+        try {
+            for (Interaction i : tape(tapeName).getInteractions()) {
+                if (i.getMethod().equals(method) && i.getPath().startsWith(pathPrefix)) {
+                    return gson.fromJson(gson.fromJson(i.getBody(), JsonObject.class).get("data"), type);
+                }
+            }
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        throw new AssertionError(method + " " + pathPrefix + "* missing from " + tapeName + " fixture");
+    }
+
+    private static Tape tape(String name) throws IOException {
+        // Fixture nằm trong asset của APK test, không phải của app
+        Context testContext = InstrumentationRegistry.getInstrumentation().getContext();
+        return Tape.read(testContext.getAssets().open("replay/" + name + ".json"));
+    }
+}
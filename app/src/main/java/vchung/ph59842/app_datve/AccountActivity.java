@@ -11,13 +11,22 @@ import android.widget.TextView;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.List;
 
 import vchung.ph59842.app_datve.api.ApiService;
+import vchung.ph59842.app_datve.data.MembershipStore;
+import vchung.ph59842.app_datve.data.PromotionIndex;
+import vchung.ph59842.app_datve.data.PromotionRepository;
 import vchung.ph59842.app_datve.models.ApiResponse;
+import vchung.ph59842.app_datve.models.MembershipSnapshot;
 import vchung.ph59842.app_datve.models.Promotion;
 import vchung.ph59842.app_datve.models.User;
+import vchung.ph59842.app_datve.perf.JankTracker;
+import vchung.ph59842.app_datve.ui.DiffAdapter;
+import vchung.ph59842.app_datve.ui.ItemDiffs;
+import vchung.ph59842.app_datve.ui.VoucherViewHolder;
 
 public class AccountActivity extends AppCompatActivity {
     
@@ -37,17 +46,23 @@ public class AccountActivity extends AppCompatActivity {
     private ImageView iconTabVouchers;
     private ImageView iconTabHistory;
     
-    private LinearLayout vouchersContainer;
+    private RecyclerView vouchersList;
+    private TextView tvNoVouchers;
+    private DiffAdapter<Promotion> voucherAdapter;
+    private boolean hasVouchers = false;
     private LinearLayout historyContainer;
     
     private Button btnLogout;
     
     private boolean isVouchersTabActive = true;
+    // Hạng/điểm lấy từ MembershipStore, cùng nguồn với MembershipActivity
+    private final MembershipStore.Listener membershipListener = this::renderMembership;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_account);
+        JankTracker.trackScroll(findViewById(R.id.accountScroll), "scrolling account");
         
         userSession = new UserSession(this);
         
@@ -68,6 +83,18 @@ public class AccountActivity extends AppCompatActivity {
         btnLogout.setOnClickListener(v -> logout());
     }
     
+    @Override
+    protected void onStart() {
+        super.onStart();
+        MembershipStore.get(this).addListener(membershipListener);
+    }
+    
+    @Override
+    protected void onStop() {
+        MembershipStore.get(this).removeListener(membershipListener);
+        super.onStop();
+    }
+    
     private void initViews() {
         tvUserName = findViewById(R.id.tvAccountUserName);
         tvUserEmail = findViewById(R.id.tvAccountUserEmail);
@@ -84,7 +111,13 @@ public class AccountActivity extends AppCompatActivity {
         iconTabVouchers = findViewById(R.id.iconTabVouchers);
         iconTabHistory = findViewById(R.id.iconTabHistory);
         
-        vouchersContainer = findViewById(R.id.vouchersContainer);
+        vouchersList = findViewById(R.id.vouchersList);
+        tvNoVouchers = findViewById(R.id.tvNoVouchers);
+        voucherAdapter = new DiffAdapter<>(ItemDiffs.PROMOTION, VoucherViewHolder.factory("Sử dụng",
+                promo -> android.widget.Toast.makeText(AccountActivity.this,
+                        "Sử dụng voucher: " + promo.getCode(),
+                        android.widget.Toast.LENGTH_SHORT).show()));
+        vouchersList.setAdapter(voucherAdapter);
         historyContainer = findViewById(R.id.historyContainer);
         
         btnLogout = findViewById(R.id.btnLogout);
@@ -99,7 +132,8 @@ public class AccountActivity extends AppCompatActivity {
         isVouchersTabActive = showVouchers;
         
         if (showVouchers) {
-            vouchersContainer.setVisibility(View.VISIBLE);
+            vouchersList.setVisibility(View.VISIBLE);
+            tvNoVouchers.setVisibility(hasVouchers ? View.GONE : View.VISIBLE);
             historyContainer.setVisibility(View.GONE);
             
             // Update tab styles
@@ -110,7 +144,8 @@ public class AccountActivity extends AppCompatActivity {
             iconTabVouchers.setColorFilter(ContextCompat.getColor(this, R.color.tab_active));
             iconTabHistory.setColorFilter(ContextCompat.getColor(this, R.color.neutral_subtext));
         } else {
-            vouchersContainer.setVisibility(View.GONE);
+            vouchersList.setVisibility(View.GONE);
+            tvNoVouchers.setVisibility(View.GONE);
             historyContainer.setVisibility(View.VISIBLE);
             
             // Update tab styles
@@ -133,32 +168,38 @@ public class AccountActivity extends AppCompatActivity {
                 tvUserEmail.setText(user.getEmail() != null ? user.getEmail() : "");
             }
             
-            // Set member level
-            String level = user.getMemberLevel() != null ? user.getMemberLevel() : "Đồng";
-            if (tvMemberLevel != null) {
-                tvMemberLevel.setText(level);
-            }
-            
-            // Set points
-            int points = user.getPoints();
-            if (tvPoints != null) {
-                tvPoints.setText(formatPointsSimple(points) + " điểm");
-            }
-            
             // Set tickets viewed (placeholder - need to get from API)
             if (tvTicketsViewed != null) {
                 tvTicketsViewed.setText("12 vé"); // TODO: Get from API
             }
             
-            // Set progress (placeholder)
-            int currentPoints = points;
-            int nextLevelPoints = getNextLevelPoints(level);
-            int progress = nextLevelPoints > 0 ? (int) ((currentPoints / (float) nextLevelPoints) * 100) : 0;
-            if (progressBar != null) {
-                progressBar.setProgress(Math.min(progress, 100));
-            }
-            if (tvProgressText != null) {
-                tvProgressText.setText(formatPointsSimple(currentPoints) + " / " + formatPointsSimple(nextLevelPoints));
+            // Đã có snapshot thì MembershipStore là nguồn duy nhất cho hạng/điểm
+            MembershipSnapshot membership = MembershipStore.get(this).current();
+            if (membership != null) {
+                renderMembership(membership);
+            } else {
+                // Set member level
+                String level = user.getMemberLevel() != null ? user.getMemberLevel() : "Đồng";
+                if (tvMemberLevel != null) {
+                    tvMemberLevel.setText(level);
+                }
+            
+                // Set points
+                int points = user.getPoints();
+                if (tvPoints != null) {
+                    tvPoints.setText(formatPointsSimple(points) + " điểm");
+                }
+            
+                // Set progress (placeholder)
+                int currentPoints = points;
+                int nextLevelPoints = getNextLevelPoints(level);
+                int progress = nextLevelPoints > 0 ? (int) ((currentPoints / (float) nextLevelPoints) * 100) : 0;
+                if (progressBar != null) {
+                    progressBar.setProgress(Math.min(progress, 100));
+                }
+                if (tvProgressText != null) {
+                    tvProgressText.setText(formatPointsSimple(currentPoints) + " / " + formatPointsSimple(nextLevelPoints));
+                }
             }
         } else {
             // Load from API
@@ -185,11 +226,39 @@ public class AccountActivity extends AppCompatActivity {
         }
     }
     
+    private void renderMembership(MembershipSnapshot m) {
+        if (tvMemberLevel != null) {
+            tvMemberLevel.setText(tierLabel(m.getTier()));
+        }
+        if (tvPoints != null) {
+            tvPoints.setText(formatPointsSimple(m.getPoints()) + " điểm");
+        }
+        if (progressBar != null) {
+            progressBar.setProgress(m.getProgressPercent());
+        }
+        if (tvProgressText != null) {
+            tvProgressText.setText(m.isTopTier()
+                    ? "Hạng cao nhất"
+                    : formatPointsSimple(m.getTotalSpent()) + " / " + formatPointsSimple(m.getNextTierTarget()) + "₫");
+        }
+    }
+    
+    private String tierLabel(String tier) {
+        switch (String.valueOf(tier).toLowerCase()) {
+            case "silver": return "Bạc";
+            case "gold": return "Vàng";
+            case "platinum": return "Bạch Kim";
+            case "diamond": return "Kim Cương";
+            case "ruby": return "Ruby";
+            default: return "Đồng";
+        }
+    }
+    
     private String formatPoints(int points) {
         return String.format("%,d", points).replace(",", ".") + " điểm";
     }
     
-    private String formatPointsSimple(int points) {
+    private String formatPointsSimple(long points) {
         return String.format("%,d", points).replace(",", ".");
     }
     
@@ -204,136 +273,39 @@ public class AccountActivity extends AppCompatActivity {
     }
     
     private void loadVouchers() {
-        ApiService apiService = vchung.ph59842.app_datve.api.ApiClient.getApiService(this);
-        apiService.getPromotions().enqueue(new retrofit2.Callback<ApiResponse<List<Promotion>>>() {
+        // Cùng nguồn với VoucherActivity: không tải và lọc lại danh sách nếu cache còn mới
+        PromotionRepository.get().load(this, false, new PromotionRepository.Listener() {
             @Override
-            public void onResponse(retrofit2.Call<ApiResponse<List<Promotion>>> call, 
-                                 retrofit2.Response<ApiResponse<List<Promotion>>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    ApiResponse<List<Promotion>> apiResponse = response.body();
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        List<Promotion> promotions = apiResponse.getData();
-                        displayVouchers(promotions);
-                    } else {
-                        showNoVouchers();
-                    }
-                } else {
-                    showNoVouchers();
-                }
+            public void onLoaded(PromotionIndex index) {
+                JankTracker.setPhase(AccountActivity.this, "binding vouchers");
+                displayVouchers(index.activeAt(System.currentTimeMillis()));
+                JankTracker.clearPhaseAfterNextFrame(AccountActivity.this);
             }
 
             @Override
-            public void onFailure(retrofit2.Call<ApiResponse<List<Promotion>>> call, Throwable t) {
-                android.util.Log.e("AccountActivity", "Error loading vouchers", t);
+            public void onError(String message) {
+                android.util.Log.e("AccountActivity", "Error loading vouchers: " + message);
                 showNoVouchers();
             }
         });
     }
     
     private void displayVouchers(List<Promotion> promotions) {
-        vouchersContainer.removeAllViews();
-        
         if (promotions == null || promotions.isEmpty()) {
             showNoVouchers();
             return;
         }
         
-        // Filter active promotions
-        for (Promotion promo : promotions) {
-            if (promo.isAvailable()) {
-                View voucherView = createVoucherView(promo);
-                vouchersContainer.addView(voucherView);
-            }
-        }
-        
-        if (vouchersContainer.getChildCount() == 0) {
-            showNoVouchers();
-        }
-    }
-    
-    private View createVoucherView(Promotion promo) {
-        // Use the same layout as VoucherActivity
-        View view = getLayoutInflater().inflate(R.layout.item_voucher, vouchersContainer, false);
-        
-        TextView tvDiscountValue = view.findViewById(R.id.tvDiscountValue);
-        TextView tvVoucherName = view.findViewById(R.id.tvVoucherName);
-        TextView tvVoucherDescription = view.findViewById(R.id.tvVoucherDescription);
-        TextView tvExpiryDate = view.findViewById(R.id.tvExpiryDate);
-        TextView tvVoucherCode = view.findViewById(R.id.tvVoucherCode);
-        Button btnUseVoucher = view.findViewById(R.id.btnUseVoucher);
-        
-        // Set discount value using the same method as VoucherActivity
-        String discountText = promo.getFormattedDiscount();
-        if (tvDiscountValue != null) {
-            tvDiscountValue.setText(discountText);
-        }
-        
-        // Set name
-        if (tvVoucherName != null && promo.getName() != null) {
-            tvVoucherName.setText(promo.getName());
-        }
-        
-        // Set description
-        if (tvVoucherDescription != null && promo.getDescription() != null) {
-            tvVoucherDescription.setText(promo.getDescription());
-        }
-        
-        // Set expiry date (same format as VoucherActivity)
-        if (tvExpiryDate != null && promo.getEndDate() != null) {
-            try {
-                java.text.SimpleDateFormat inputFormat = new java.text.SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", java.util.Locale.US);
-                inputFormat.setTimeZone(java.util.TimeZone.getTimeZone("UTC"));
-                java.util.Date endDate = inputFormat.parse(promo.getEndDate());
-                if (endDate != null) {
-                    java.text.SimpleDateFormat outputFormat = new java.text.SimpleDateFormat("dd/MM/yyyy", java.util.Locale.getDefault());
-                    tvExpiryDate.setText("HSD: " + outputFormat.format(endDate));
-                }
-            } catch (Exception e) {
-                android.util.Log.e("AccountActivity", "Error parsing date", e);
-                // Fallback to simple date parsing
-                String date = promo.getEndDate();
-                if (date.contains("T")) {
-                    date = date.substring(0, date.indexOf("T"));
-                }
-                String[] parts = date.split("-");
-                if (parts.length == 3) {
-                    tvExpiryDate.setText("HSD: " + parts[2] + "/" + parts[1] + "/" + parts[0]);
-                } else {
-                    tvExpiryDate.setText("HSD: N/A");
-                }
-            }
-        }
-        
-        // Set voucher code
-        if (tvVoucherCode != null && promo.getCode() != null) {
-            tvVoucherCode.setText("Mã: " + promo.getCode());
-        }
-        
-        // Set button text and click listener (same as VoucherActivity)
-        if (btnUseVoucher != null) {
-            btnUseVoucher.setText("Sử dụng");
-            btnUseVoucher.setOnClickListener(v -> {
-                android.widget.Toast.makeText(AccountActivity.this, 
-                    "Sử dụng voucher: " + promo.getCode(), 
-                    android.widget.Toast.LENGTH_SHORT).show();
-                // TODO: Implement voucher usage logic
-            });
-            btnUseVoucher.setEnabled(true);
-            btnUseVoucher.setAlpha(1.0f);
-        }
-        
-        return view;
+        // Danh sách đã được chỉ mục lọc theo thời điểm hiện tại
+        hasVouchers = true;
+        voucherAdapter.submitList(promotions);
+        tvNoVouchers.setVisibility(View.GONE);
     }
     
     private void showNoVouchers() {
-        vouchersContainer.removeAllViews();
-        TextView textView = new TextView(this);
-        textView.setText("Chưa có voucher nào");
-        textView.setTextColor(ContextCompat.getColor(this, R.color.neutral_subtext));
-        textView.setTextSize(14);
-        textView.setPadding(0, 32, 0, 32);
-        textView.setGravity(android.view.Gravity.CENTER);
-        vouchersContainer.addView(textView);
+        hasVouchers = false;
+        voucherAdapter.submitList(null);
+        if (isVouchersTabActive) tvNoVouchers.setVisibility(View.VISIBLE);
     }
     
     private void loadBookingHistory() {
@@ -351,6 +323,7 @@ public class AccountActivity extends AppCompatActivity {
     
     private void logout() {
         userSession.logout();
+        MembershipStore.get(this).clear();
         Intent intent = new Intent(this, LoginActivity.class);
         intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
         startActivity(intent);
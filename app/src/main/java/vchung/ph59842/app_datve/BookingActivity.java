@@ -1,6 +1,9 @@
 package vchung.ph59842.app_datve;
 
+import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.view.View;
 import android.widget.GridLayout;
 import android.widget.ImageView;
@@ -19,12 +22,41 @@ import com.bumptech.glide.Glide;
 import com.google.gson.Gson;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import vchung.ph59842.app_datve.api.ApiClient;
+import vchung.ph59842.app_datve.data.MembershipStore;
+import vchung.ph59842.app_datve.data.PricingAdapter;
+import vchung.ph59842.app_datve.data.QuoteCache;
+import vchung.ph59842.app_datve.data.SeatHoldClient;
+import vchung.ph59842.app_datve.data.SeatMapRepository;
+import vchung.ph59842.app_datve.models.ApiResponse;
 import vchung.ph59842.app_datve.models.Movie;
+import vchung.ph59842.app_datve.models.PriceQuote;
+import vchung.ph59842.app_datve.models.Seat;
+import vchung.ph59842.app_datve.models.SeatConflict;
+import vchung.ph59842.app_datve.models.SeatLayout;
+import vchung.ph59842.app_datve.models.SeatMapResponse;
+import vchung.ph59842.app_datve.models.SeatStatus;
 import vchung.ph59842.app_datve.models.Showtime;
+import vchung.ph59842.app_datve.models.Ticket;
+import vchung.ph59842.app_datve.perf.JankTracker;
+import vchung.ph59842.app_datve.pricing.Cart;
+import vchung.ph59842.app_datve.pricing.PricingEngine;
+import vchung.ph59842.app_datve.pricing.PricingRules;
+import vchung.ph59842.app_datve.pricing.Quote;
+import vchung.ph59842.app_datve.pricing.SeatType;
+import vchung.ph59842.app_datve.seating.SeatBlock;
+import vchung.ph59842.app_datve.seating.SeatFinder;
+import vchung.ph59842.app_datve.seating.SeatGrid;
 
 public class BookingActivity extends AppCompatActivity {
 
@@ -46,12 +78,40 @@ public class BookingActivity extends AppCompatActivity {
 
 	private int quantity = 1;
 	private final Set<String> selectedSeats = new HashSet<>();
+	// Ghế theo mã của sơ đồ đang hiển thị (rỗng khi còn dùng lưới mặc định)
+	private final Map<String, Seat> seatsByCode = new HashMap<>();
+	private final Map<String, Button> seatButtons = new HashMap<>();
+
+	// Lưới mặc định khi chưa có sơ đồ thật: 8 hàng (A-H), mỗi hàng 10 ghế
+	private static final char[] DEFAULT_ROWS = {'A','B','C','D','E','F','G','H'};
+	private static final int DEFAULT_COLS = 10;
+	private final SeatFinder seatFinder = new SeatFinder();
+
+	// Giữ ghế trên server ngay khi chạm, để xung đột hiện ra lúc chọn chứ không phải sau khi trả tiền
+	private SeatHoldClient seatHolds;
+	private final SeatHoldClient.Listener holdListener = (scheduleId, seats) -> {
+		selectedSeats.removeAll(seats);
+		Toast.makeText(this, "Hết thời gian giữ ghế " + String.join(", ", seats) + ", vui lòng chọn lại", Toast.LENGTH_SHORT).show();
+		loadSeatMap();
+	};
+
+	// Tính lại giá mỗi lần chạm ghế: Cart/Quote được dùng lại, engine không cấp phát
+	private final PricingEngine pricingEngine = new PricingEngine(PricingRules.DEFAULT);
+	private final Cart cart = new Cart();
+	private final Quote quote = new Quote();
+
+	// Lấy báo giá server ngay khi chọn đủ ghế, để lúc bấm thanh toán token đã sẵn trong QuoteCache
+	private static final long QUOTE_DEBOUNCE_MS = 400;
+	private final Handler quoteHandler = new Handler(Looper.getMainLooper());
+	private final Runnable quoteRunnable = this::prefetchQuote;
+	private Call<ApiResponse<PriceQuote>> quoteCall;
 
 	@Override
 	protected void onCreate(Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
 		EdgeToEdge.enable(this);
 		setContentView(R.layout.activity_booking);
+		JankTracker.trackScroll(findViewById(R.id.scrollContent), "scrolling seats");
 
 		ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.bookingRoot), (v, insets) -> {
 			Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
@@ -73,6 +133,8 @@ public class BookingActivity extends AppCompatActivity {
 		seatGrid = findViewById(R.id.seatGrid);
 		proceedBtn = findViewById(R.id.btnProceed);
 		totalPriceView = findViewById(R.id.totalPrice);
+		Button pickForMeBtn = findViewById(R.id.btnPickForMe);
+		pickForMeBtn.setOnClickListener(v -> pickSeatsForMe());
 
 		// Receive data
 		Gson gson = new Gson();
@@ -81,21 +143,98 @@ public class BookingActivity extends AppCompatActivity {
 		if (movieJson != null) movie = gson.fromJson(movieJson, Movie.class);
 		if (showtimeJson != null) showtime = gson.fromJson(showtimeJson, Showtime.class);
 
+		seatHolds = SeatHoldClient.get(this);
+		if (showtime != null) seatHolds.start(showtime.getId());
+		seatHolds.addListener(holdListener);
+
+		cart.setPriceTable(PricingAdapter.priceTable(showtime));
+		cart.setTier(PricingAdapter.tier(MembershipStore.get(this).current()));
+
 		bindHeader();
 		setupQuantity();
+		JankTracker.setPhase(this, "building seat grid");
 		buildSeatGrid();
+		JankTracker.clearPhaseAfterNextFrame(this);
 		updateTotal();
+		loadSeatMap();
 
 		proceedBtn.setOnClickListener(v -> {
 			if (selectedSeats.size() != quantity) {
 				Toast.makeText(this, "Chọn đủ " + quantity + " ghế trước khi tiếp tục", Toast.LENGTH_SHORT).show();
 				return;
 			}
-			// TODO: Navigate to payment screen. For now, just show a toast.
-			Toast.makeText(this, "Tiếp tục thanh toán (" + quantity + " vé) - " + showtime.getFormattedPrice(), Toast.LENGTH_SHORT).show();
+			bookAndCheckout();
+		});
+	}
+
+	private void bookAndCheckout() {
+		if (showtime == null || showtime.getId() == null) {
+			Toast.makeText(this, "Thiếu thông tin suất chiếu", Toast.LENGTH_SHORT).show();
+			return;
+		}
+		Map<String, Object> body = new HashMap<>();
+		body.put("scheduleId", showtime.getId());
+		body.put("seatNumbers", new ArrayList<>(selectedSeats));
+		// Báo giá còn hạn: server lưu vé theo giá đã ký thay vì tính lại
+		PriceQuote cached = QuoteCache.get().find(currentQuoteKey());
+		if (cached != null) body.put("quoteToken", cached.getToken());
+		proceedBtn.setEnabled(false);
+		ApiClient.getApiService(this).bookTicket(body).enqueue(new Callback<ApiResponse<Object>>() {
+			@Override
+			public void onResponse(Call<ApiResponse<Object>> call, Response<ApiResponse<Object>> response) {
+				proceedBtn.setEnabled(true);
+				if (response.code() == 409 || response.code() == 400) {
+					SeatConflict conflict = seatConflictOf(response);
+					if (conflict != null && !conflict.getConflicts().isEmpty()) {
+						onSeatConflict(conflict);
+						return;
+					}
+				}
+				if (!response.isSuccessful() || response.body() == null || !response.body().isSuccess()
+						|| response.body().getData() == null) {
+					Toast.makeText(BookingActivity.this, "Đặt vé thất bại (" + response.code() + ")", Toast.LENGTH_SHORT).show();
+					return;
+				}
+				Gson gson = ApiClient.getGson();
+				Ticket ticket = gson.fromJson(gson.toJsonTree(response.body().getData()), Ticket.class);
+				seatHolds.enterCheckout();
+				Intent i = PaymentCheckoutActivity.createIntent(BookingActivity.this, ticket, "vietqr");
+				if (showtime.getCinemaId() != null) i.putExtra("cinemaId", showtime.getCinemaId());
+				startActivity(i);
+			}
+
+			@Override
+			public void onFailure(Call<ApiResponse<Object>> call, Throwable t) {
+				proceedBtn.setEnabled(true);
+				Toast.makeText(BookingActivity.this, "Lỗi kết nối: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+			}
 		});
 	}
 
+	private SeatConflict seatConflictOf(Response<?> response) {
+		try {
+			return response.errorBody() != null ? SeatConflict.parse(ApiClient.getGson(), response.errorBody().string()) : null;
+		} catch (java.io.IOException e) {
+			return null;
+		}
+	}
+
+	/** Server từ chối vì ghế: bỏ chọn đúng những ghế đó và tải lại trạng thái sơ đồ. */
+	private void onSeatConflict(SeatConflict conflict) {
+		List<String> seats = conflict.getConflicts();
+		for (String seat : seats) {
+			selectedSeats.remove(seat);
+			seatHolds.release(seat);
+		}
+		refreshSeatSelection();
+		updateTotal();
+		String message = SeatConflict.UNKNOWN_SEATS.equals(conflict.getCode())
+				? "Sơ đồ phòng đã thay đổi, vui lòng chọn lại ghế"
+				: "Ghế " + String.join(", ", seats) + " vừa có người khác đặt, vui lòng chọn ghế khác";
+		Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
+		loadSeatMap();
+	}
+
 	private void bindHeader() {
 		if (movie != null) {
 			titleView.setText(movie.getTitle());
@@ -139,40 +278,201 @@ public class BookingActivity extends AppCompatActivity {
 	}
 
 	private void updateTotal() {
-		double price = showtime != null ? showtime.getPrice() : 0;
-		double total = price * quantity;
-		totalPriceView.setText(String.format("%.0f₫", total));
-		proceedBtn.setText("Tiếp tục thanh toán - " + String.format("%.0f₫", total));
+		// Ghế đã chọn tính theo loại; số vé chưa chọn ghế tạm tính giá ghế thường
+		int vip = 0;
+		for (String seatId : selectedSeats) {
+			if (seatTypeOf(seatId) == SeatType.VIP) vip++;
+		}
+		cart.setSeatCount(SeatType.VIP, vip);
+		cart.setSeatCount(SeatType.STANDARD, Math.max(0, quantity - vip));
+		long total = pricingEngine.price(cart, System.currentTimeMillis(), quote).getTotal();
+		PriceQuote cached = selectedSeats.size() == quantity ? QuoteCache.get().find(currentQuoteKey()) : null;
+		showTotal(cached != null ? (long) cached.getTotal() : total);
+		scheduleQuote(cached != null);
+	}
+
+	private void showTotal(long total) {
+		totalPriceView.setText(String.format("%d₫", total));
+		proceedBtn.setText("Tiếp tục thanh toán - " + String.format("%d₫", total));
+	}
+
+	private String currentQuoteKey() {
+		return QuoteCache.keyOf(showtime != null ? showtime.getId() : null, selectedSeats, null, null);
+	}
+
+	private void scheduleQuote(boolean alreadyCached) {
+		quoteHandler.removeCallbacks(quoteRunnable);
+		if (alreadyCached || showtime == null || showtime.getId() == null || selectedSeats.size() != quantity) return;
+		// Chờ người dùng ngừng chạm ghế rồi mới gọi, tránh bắn một request mỗi lần đổi ghế
+		quoteHandler.postDelayed(quoteRunnable, QUOTE_DEBOUNCE_MS);
+	}
+
+	private void prefetchQuote() {
+		if (quoteCall != null) quoteCall.cancel();
+		final String key = currentQuoteKey();
+		Map<String, Object> body = new HashMap<>();
+		body.put("scheduleId", showtime.getId());
+		body.put("seatNumbers", new ArrayList<>(selectedSeats));
+		quoteCall = ApiClient.getApiService(this).createQuote(body);
+		quoteCall.enqueue(new Callback<ApiResponse<PriceQuote>>() {
+			@Override
+			public void onResponse(Call<ApiResponse<PriceQuote>> call, Response<ApiResponse<PriceQuote>> response) {
+				if (!response.isSuccessful() || response.body() == null || response.body().getData() == null) return;
+				PriceQuote q = response.body().getData();
+				QuoteCache.get().put(key, q);
+				// Giá server là giá cuối cùng; chỉ hiển thị nếu lựa chọn chưa đổi
+				if (key.equals(currentQuoteKey())) showTotal((long) q.getTotal());
+			}
+
+			@Override
+			public void onFailure(Call<ApiResponse<PriceQuote>> call, Throwable t) {
+				// Không có báo giá thì đặt vé như cũ, server tự tính giá
+				if (!call.isCanceled()) android.util.Log.d("BookingActivity", "Quote failed: " + t.getMessage());
+			}
+		});
+	}
+
+	@Override
+	protected void onResume() {
+		super.onResume();
+		// Quay lại từ màn thanh toán: hold về TTL chọn ghế
+		seatHolds.leaveCheckout();
+	}
+
+	@Override
+	protected void onDestroy() {
+		quoteHandler.removeCallbacks(quoteRunnable);
+		if (quoteCall != null) quoteCall.cancel();
+		seatHolds.removeListener(holdListener);
+		if (isFinishing()) seatHolds.releaseAll();
+		super.onDestroy();
+	}
+
+	private SeatType seatTypeOf(String seatId) {
+		Seat seat = seatsByCode.get(seatId);
+		if (seat != null) return seat.isVip() ? SeatType.VIP : SeatType.STANDARD;
+		// Chưa có sơ đồ: theo Room.generateSeatMap trên backend, 2 hàng đầu là ghế VIP
+		char row = seatId.charAt(0);
+		return row == 'A' || row == 'B' ? SeatType.VIP : SeatType.STANDARD;
 	}
 
 	private void trimSelectedSeats() {
 		// Keep only first N seats if over-selected
 		if (selectedSeats.size() > quantity) {
-			List<String> keep = new ArrayList<>(selectedSeats).subList(0, quantity);
+			List<String> all = new ArrayList<>(selectedSeats);
+			List<String> keep = all.subList(0, quantity);
+			for (String seat : all.subList(quantity, all.size())) seatHolds.release(seat);
 			selectedSeats.clear();
 			selectedSeats.addAll(keep);
 			refreshSeatSelection();
 		}
 	}
 
+	/** Chỉ tải bitmap trạng thái của suất; sơ đồ phòng thường đã nằm trong cache. */
+	private void loadSeatMap() {
+		if (showtime == null || showtime.getId() == null) return;
+		SeatMapRepository.get(this).load(showtime.getId(), new SeatMapRepository.Listener() {
+			@Override
+			public void onLoaded(SeatMapResponse seatMap, SeatStatus status) {
+				if (isFinishing() || isDestroyed()) return;
+				bindSeatMap(seatMap.getSeats());
+			}
+
+			@Override
+			public void onError(String message) {
+				android.util.Log.w("BookingActivity", "Seat map unavailable: " + message);
+			}
+		});
+	}
+
 	private void buildSeatGrid() {
-		// Simple 8 rows (A-H), 10 seats each (1-10)
-		char[] rows = {'A','B','C','D','E','F','G','H'};
-		int cols = 10;
+		// Đã từng vào phòng này: vẽ ngay theo sơ đồ thật, trạng thái ghế cập nhật sau
+		SeatLayout cached = showtime != null ? SeatMapRepository.get(this).cachedLayout(showtime.getRoomId()) : null;
+		if (cached != null && cached.getSeats() != null && !cached.getSeats().isEmpty()) {
+			bindSeatMap(cached.getSeats());
+			return;
+		}
 		seatGrid.removeAllViews();
-		seatGrid.setColumnCount(11); // 1 for row label + 10 seats
+		seatButtons.clear();
+		seatGrid.setColumnCount(DEFAULT_COLS + 1); // 1 for row label
 
-		for (char row : rows) {
+		for (char row : DEFAULT_ROWS) {
 			// Row label
 			TextView label = createLabel(String.valueOf(row));
 			seatGrid.addView(label);
-			for (int i = 1; i <= cols; i++) {
+			for (int i = 1; i <= DEFAULT_COLS; i++) {
 				final String seatId = row + String.valueOf(i);
 				Button seatBtn = createSeatButton(seatId);
 				seatBtn.setOnClickListener(v -> toggleSeat(seatId, seatBtn));
+				seatButtons.put(seatId, seatBtn);
+				seatGrid.addView(seatBtn);
+			}
+		}
+	}
+
+	private void bindSeatMap(List<Seat> seats) {
+		if (seats == null || seats.isEmpty()) return;
+		int maxRow = 0;
+		int maxCol = 0;
+		for (Seat seat : seats) {
+			maxRow = Math.max(maxRow, seat.getRow());
+			maxCol = Math.max(maxCol, seat.getColumn());
+		}
+		Seat[][] grid = new Seat[maxRow + 1][maxCol + 1];
+		seatsByCode.clear();
+		for (Seat seat : seats) {
+			if (seat.getRow() < 0 || seat.getColumn() < 0 || seat.getCode() == null) continue;
+			grid[seat.getRow()][seat.getColumn()] = seat;
+			seatsByCode.put(seat.getCode(), seat);
+		}
+
+		// Ghế đã chọn nhưng vừa bị người khác đặt/giữ thì bỏ chọn
+		boolean dropped = selectedSeats.removeIf(code -> {
+			Seat seat = seatsByCode.get(code);
+			return seat == null || !isSelectable(seat);
+		});
+		if (dropped) {
+			Toast.makeText(this, "Một số ghế bạn chọn vừa được đặt, vui lòng chọn lại", Toast.LENGTH_SHORT).show();
+		}
+
+		seatGrid.removeAllViews();
+		seatButtons.clear();
+		seatGrid.setColumnCount(maxCol + 2); // 1 for row label
+		for (Seat[] row : grid) {
+			Seat first = null;
+			for (Seat seat : row) {
+				if (seat != null) {
+					first = seat;
+					break;
+				}
+			}
+			seatGrid.addView(createLabel(first != null ? first.getCode().substring(0, 1) : ""));
+			for (Seat seat : row) {
+				if (seat == null) {
+					// Lối đi / ô trống giữ chỗ cho đúng cột
+					View gap = new View(this);
+					gap.setLayoutParams(seatLayoutParams());
+					seatGrid.addView(gap);
+					continue;
+				}
+				final String seatId = seat.getCode();
+				Button seatBtn = createSeatButton(seatId);
+				seatButtons.put(seatId, seatBtn);
+				if (isSelectable(seat)) {
+					styleSeat(seatBtn, selectedSeats.contains(seatId), false);
+					seatBtn.setOnClickListener(v -> toggleSeat(seatId, seatBtn));
+				} else {
+					styleSeat(seatBtn, false, true);
+				}
 				seatGrid.addView(seatBtn);
 			}
 		}
+		updateTotal();
+	}
+
+	/** Ghế trống, hoặc ghế "held" mà chính mình đang giữ. */
+	private boolean isSelectable(Seat seat) {
+		return seat.isAvailable() || (seat.isHeld() && seatHolds.isHeld(seat.getCode()));
 	}
 
 	private TextView createLabel(String text) {
@@ -186,13 +486,17 @@ public class BookingActivity extends AppCompatActivity {
 		return tv;
 	}
 
-	private Button createSeatButton(String seatId) {
-		Button b = new Button(this);
+	private GridLayout.LayoutParams seatLayoutParams() {
 		GridLayout.LayoutParams lp = new GridLayout.LayoutParams();
 		lp.width = (int) (getResources().getDisplayMetrics().density * 36);
 		lp.height = (int) (getResources().getDisplayMetrics().density * 36);
 		lp.setMargins(6, 6, 6, 6);
-		b.setLayoutParams(lp);
+		return lp;
+	}
+
+	private Button createSeatButton(String seatId) {
+		Button b = new Button(this);
+		b.setLayoutParams(seatLayoutParams());
 		b.setText(seatId.substring(1)); // show number only
 		b.setAllCaps(false);
 		styleSeat(b, false, false);
@@ -220,7 +524,9 @@ public class BookingActivity extends AppCompatActivity {
 		boolean isSelected = selectedSeats.contains(seatId);
 		if (isSelected) {
 			selectedSeats.remove(seatId);
+			seatHolds.release(seatId);
 			styleSeat(view, false, false);
+			updateTotal();
 	} else {
 			if (selectedSeats.size() >= quantity) {
 				Toast.makeText(this, "Bạn đã chọn đủ " + quantity + " ghế", Toast.LENGTH_SHORT).show();
@@ -228,18 +534,94 @@ public class BookingActivity extends AppCompatActivity {
 			}
 			selectedSeats.add(seatId);
 			styleSeat(view, true, false);
+			updateTotal();
+			holdSeat(seatId);
 		}
 	}
 
-	private void refreshSeatSelection() {
-		// Iterate children to reflect selectedSeats
-		for (int i = 0; i < seatGrid.getChildCount(); i++) {
-			View v = seatGrid.getChildAt(i);
-			if (v instanceof Button) {
-				Button b = (Button) v;
-				// Reconstruct id from position is complex; skip for simplicity
+	private void holdSeat(String seatId) {
+		seatHolds.hold(seatId, new SeatHoldClient.HoldCallback() {
+			@Override
+			public void onHeld(String seat) {}
+
+			@Override
+			public void onConflict(String seat) {
+				if (isFinishing() || isDestroyed()) return;
+				selectedSeats.remove(seat);
+				Button view = seatButtons.get(seat);
+				if (view != null) {
+					styleSeat(view, false, true);
+					view.setOnClickListener(null);
+				}
+				updateTotal();
+				Toast.makeText(BookingActivity.this, "Ghế " + seat + " vừa có người khác chọn", Toast.LENGTH_SHORT).show();
+			}
+
+			@Override
+			public void onError(String seat, String message) {
+				android.util.Log.d("BookingActivity", "Hold failed for " + seat + ": " + message);
+			}
+		});
+	}
+
+	/** "Chọn giúp tôi": thay lựa chọn hiện tại bằng khối {@code quantity} ghế liền nhau đẹp nhất. */
+	private void pickSeatsForMe() {
+		SeatGrid grid;
+		String[][] codes;
+		if (seatsByCode.isEmpty()) {
+			grid = new SeatGrid(DEFAULT_ROWS.length, DEFAULT_COLS);
+			codes = new String[DEFAULT_ROWS.length][DEFAULT_COLS];
+			for (int r = 0; r < DEFAULT_ROWS.length; r++) {
+				for (int c = 0; c < DEFAULT_COLS; c++) {
+					codes[r][c] = DEFAULT_ROWS[r] + String.valueOf(c + 1);
+					grid.addSeat(r, c, seatTypeOf(codes[r][c]) == SeatType.VIP);
+				}
+			}
+		} else {
+			int maxRow = 0;
+			int maxCol = 0;
+			for (Seat seat : seatsByCode.values()) {
+				maxRow = Math.max(maxRow, seat.getRow());
+				maxCol = Math.max(maxCol, seat.getColumn());
+			}
+			grid = new SeatGrid(maxRow + 1, maxCol + 1);
+			codes = new String[maxRow + 1][maxCol + 1];
+			for (Seat seat : seatsByCode.values()) {
+				codes[seat.getRow()][seat.getColumn()] = seat.getCode();
+				grid.addSeat(seat.getRow(), seat.getColumn(), seat.isVip());
+				// Ghế mình đang chọn/giữ vẫn được tính là trống
+				grid.setTaken(seat.getRow(), seat.getColumn(), !isSelectable(seat));
 			}
 		}
+
+		SeatBlock block = seatFinder.find(grid, quantity, SeatFinder.Zone.ANY);
+		if (block.isEmpty()) {
+			Toast.makeText(this, "Không còn " + quantity + " ghế liền nhau, vui lòng tự chọn", Toast.LENGTH_SHORT).show();
+			return;
+		}
+		Set<String> picked = new LinkedHashSet<>();
+		for (int c = block.getStartCol(); c < block.getStartCol() + block.getCount(); c++) {
+			picked.add(codes[block.getRow()][c]);
+		}
+
+		for (String seat : new ArrayList<>(selectedSeats)) {
+			if (picked.contains(seat)) continue;
+			selectedSeats.remove(seat);
+			seatHolds.release(seat);
+		}
+		for (String seat : picked) {
+			if (selectedSeats.add(seat)) holdSeat(seat);
+		}
+		refreshSeatSelection();
+		updateTotal();
+	}
+
+	private void refreshSeatSelection() {
+		for (Map.Entry<String, Button> entry : seatButtons.entrySet()) {
+			Button b = entry.getValue();
+			// Ghế đã bán giữ nguyên trạng thái disabled
+			if (b.isEnabled()) styleSeat(b, selectedSeats.contains(entry.getKey()), false);
+		}
 	}
 
 	public static android.content.Intent createIntent(android.content.Context ctx, Movie movie, Showtime showtime) {
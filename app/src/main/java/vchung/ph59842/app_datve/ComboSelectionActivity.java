@@ -5,7 +5,6 @@ import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
 import android.widget.ImageView;
-import android.widget.LinearLayout;
 import android.widget.ProgressBar;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -15,8 +14,8 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
+import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.google.gson.Gson;
 
 import java.util.List;
@@ -24,9 +23,13 @@ import java.util.List;
 import vchung.ph59842.app_datve.api.ApiService;
 import vchung.ph59842.app_datve.models.ApiResponse;
 import vchung.ph59842.app_datve.models.Combo;
+import vchung.ph59842.app_datve.ui.ComboViewHolder;
+import vchung.ph59842.app_datve.ui.DiffAdapter;
+import vchung.ph59842.app_datve.ui.ItemDiffs;
 
 public class ComboSelectionActivity extends AppCompatActivity {
-    private LinearLayout comboContainer;
+    private RecyclerView comboList;
+    private DiffAdapter<Combo> comboAdapter;
     private ProgressBar progressBar;
     private TextView emptyText;
     private Button btnNoCombo;
@@ -47,7 +50,14 @@ public class ComboSelectionActivity extends AppCompatActivity {
         ImageView btnBack = findViewById(R.id.btnBackCombo);
         btnBack.setOnClickListener(v -> finish());
 
-        comboContainer = findViewById(R.id.comboContainer);
+        comboList = findViewById(R.id.comboList);
+        comboAdapter = new DiffAdapter<>(ItemDiffs.COMBO, ComboViewHolder.factory(combo -> {
+            Intent resultIntent = new Intent();
+            resultIntent.putExtra("combo", new Gson().toJson(combo));
+            setResult(RESULT_OK, resultIntent);
+            finish();
+        }));
+        comboList.setAdapter(comboAdapter);
         progressBar = findViewById(R.id.progressBar);
         emptyText = findViewById(R.id.emptyText);
         btnNoCombo = findViewById(R.id.btnNoCombo);
@@ -65,7 +75,7 @@ public class ComboSelectionActivity extends AppCompatActivity {
 
     private void loadCombos() {
         progressBar.setVisibility(View.VISIBLE);
-        comboContainer.setVisibility(View.GONE);
+        comboList.setVisibility(View.GONE);
         emptyText.setVisibility(View.GONE);
 
         ApiService apiService = vchung.ph59842.app_datve.api.ApiClient.getApiService(this);
@@ -93,7 +103,7 @@ public class ComboSelectionActivity extends AppCompatActivity {
                             emptyText.setVisibility(View.VISIBLE);
                         } else {
                             displayCombos(combos);
-                            comboContainer.setVisibility(View.VISIBLE);
+                            comboList.setVisibility(View.VISIBLE);
                         }
                     } else {
                         emptyText.setVisibility(View.VISIBLE);
@@ -114,40 +124,6 @@ public class ComboSelectionActivity extends AppCompatActivity {
     }
 
     private void displayCombos(List<Combo> combos) {
-        comboContainer.removeAllViews();
-
-        for (Combo combo : combos) {
-            View comboView = getLayoutInflater().inflate(R.layout.item_combo, null);
-            
-            ImageView comboIcon = comboView.findViewById(R.id.comboIcon);
-            TextView comboName = comboView.findViewById(R.id.comboName);
-            TextView comboDescription = comboView.findViewById(R.id.comboDescription);
-            TextView comboPrice = comboView.findViewById(R.id.comboPrice);
-            Button btnSelect = comboView.findViewById(R.id.btnSelectCombo);
-
-            comboName.setText(combo.getName());
-            comboDescription.setText(combo.getFormattedDescription());
-            comboPrice.setText(combo.getFormattedPrice());
-
-            // Load combo image if available
-            if (combo.getImageUrl() != null && !combo.getImageUrl().isEmpty()) {
-                Glide.with(this)
-                    .load(combo.getImageUrl())
-                    .placeholder(R.drawable.ic_gift_orange)
-                    .into(comboIcon);
-            } else {
-                comboIcon.setImageResource(R.drawable.ic_gift_orange);
-            }
-
-            btnSelect.setOnClickListener(v -> {
-                Intent resultIntent = new Intent();
-                resultIntent.putExtra("combo", new Gson().toJson(combo));
-                setResult(RESULT_OK, resultIntent);
-                finish();
-            });
-
-            comboContainer.addView(comboView);
-        }
+        comboAdapter.submitList(combos);
     }
 }
-
@@ -0,0 +1,17 @@
+package vchung.ph59842.app_datve;
+
+import android.app.Application;
+
+import vchung.ph59842.app_datve.perf.JankTracker;
+import vchung.ph59842.app_datve.startup.AppStartup;
+
+public class DatVeApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        // Keep this method cheap: heavy init is pushed to background threads by AppStartup
+        AppStartup.init(this);
+        JankTracker.install(this);
+    }
+}
@@ -33,6 +33,8 @@ public class LoginActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         EdgeToEdge.enable(this);
         setContentView(R.layout.activity_login);
+        // Người dùng chưa đăng nhập thì đây là màn hình đầu tiên khi mở app
+        vchung.ph59842.app_datve.startup.AppStartup.get(this).trackFirstFrame(this);
 
         ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.loginRoot), (v, insets) -> {
             Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
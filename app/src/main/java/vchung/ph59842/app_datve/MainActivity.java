@@ -16,10 +16,22 @@ import androidx.core.view.WindowInsetsCompat;
 import androidx.core.widget.NestedScrollView;
 
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import vchung.ph59842.app_datve.api.ApiClient;
+import vchung.ph59842.app_datve.api.ApiFutures;
 import vchung.ph59842.app_datve.api.ApiService;
+import vchung.ph59842.app_datve.api.CallScope;
+import vchung.ph59842.app_datve.data.MovieSearchIndex;
+import vchung.ph59842.app_datve.data.SearchPipeline;
+import vchung.ph59842.app_datve.data.ShowtimeSummaryRepository;
 import vchung.ph59842.app_datve.models.Movie;
+import vchung.ph59842.app_datve.models.ShowtimeSummary;
 import vchung.ph59842.app_datve.models.User;
+import vchung.ph59842.app_datve.perf.JankTracker;
+import vchung.ph59842.app_datve.startup.AppStartup;
 
 public class MainActivity extends AppCompatActivity {
 
@@ -31,13 +43,25 @@ public class MainActivity extends AppCompatActivity {
     private TextView tabUpcoming;
     private TextView tabNow;
     private TextView tabEarly;
+    private android.widget.EditText etSearch;
+    private SearchPipeline searchPipeline;
+    // Danh sách của tab đang chọn, hiện lại khi xóa ô tìm kiếm
+    private List<Movie> tabMovies;
+    private static final int SEARCH_LIMIT = 20;
+    // /auth/me chỉ để chào tên: không để nó giữ danh sách phim quá lâu
+    private static final long USER_TIMEOUT_MS = 3000;
+    // movieId -> badge "suất gần nhất" của card đang hiển thị
+    private final java.util.Map<String, TextView> showtimeBadges = new java.util.HashMap<>();
+    private final ShowtimeSummaryRepository.Listener summaryListener = this::applyShowtimeSummaries;
     private String currentTab = "showing"; // Default to "ĐANG CHIẾU"
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         
-        userSession = new UserSession(this);
+        AppStartup startup = AppStartup.get(this);
+        // Session đã được warmSession dựng và nạp trên thread nền; chưa xong thì chỉ chờ phần còn lại
+        userSession = startup.getSession();
         
         // Kiểm tra đăng nhập: nếu chưa đăng nhập thì chuyển đến LoginActivity
         if (!userSession.isLoggedIn()) {
@@ -51,6 +75,8 @@ public class MainActivity extends AppCompatActivity {
         
         EdgeToEdge.enable(this);
         setContentView(R.layout.activity_main);
+        JankTracker.trackScroll(findViewById(R.id.contentScroll), "scrolling movies");
+        startup.trackFirstFrame(this);
         ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.main), (v, insets) -> {
             Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
             v.setPadding(systemBars.left, systemBars.top, systemBars.right, systemBars.bottom);
@@ -109,7 +135,8 @@ public class MainActivity extends AppCompatActivity {
         updateUserUI();
         
         // Nếu đã đăng nhập, kiểm tra xem có user trong session không
-        // Nếu có tên rồi thì hiển thị ngay, nếu không thì gọi API /me
+        // Nếu có tên rồi thì hiển thị ngay, nếu không thì gọi API /me cùng lúc với danh sách phim
+        boolean needUser = false;
         if (userSession.isLoggedIn()) {
             User user = userSession.getUser();
             if (user != null && user.getName() != null && !user.getName().trim().isEmpty()) {
@@ -119,9 +146,8 @@ public class MainActivity extends AppCompatActivity {
                     tvUserName.setText("Chào " + user.getName().trim());
                 }
             } else {
-                // Chưa có tên, gọi API /me để lấy thông tin
                 android.util.Log.d("MainActivity", "No user name in session, calling API /me");
-                loadUserInfo();
+                needUser = true;
             }
         }
 
@@ -191,8 +217,67 @@ public class MainActivity extends AppCompatActivity {
         // Update tab UI to show default selected tab
         updateTabUI();
 
-        // Load movies
-        loadMovies();
+        setupSearch();
+        ShowtimeSummaryRepository.get(this).addListener(summaryListener);
+
+        // Phim (và /me nếu cần) tải song song
+        loadHome(needUser);
+    }
+
+    @Override
+    protected void onDestroy() {
+        if (searchPipeline != null) searchPipeline.cancel();
+        ShowtimeSummaryRepository.get(this).removeListener(summaryListener);
+        super.onDestroy();
+    }
+
+    private void setupSearch() {
+        etSearch = findViewById(R.id.etSearch);
+        if (etSearch == null) return;
+        android.os.Handler handler = new android.os.Handler(android.os.Looper.getMainLooper());
+        searchPipeline = new SearchPipeline(
+                MovieSearchIndex.get()::search,
+                SearchPipeline.remote(vchung.ph59842.app_datve.api.ApiClient.getApiService(this)),
+                (task, delayMs) -> {
+                    handler.postDelayed(task, delayMs);
+                    return () -> handler.removeCallbacks(task);
+                },
+                android.os.SystemClock::uptimeMillis,
+                SEARCH_LIMIT,
+                new SearchPipeline.Listener() {
+                    @Override
+                    public void onResults(String query, List<Movie> movies, boolean complete) {
+                        showSearchResults(movies);
+                    }
+
+                    @Override
+                    public void onCleared() {
+                        // Về lại danh sách của tab đang chọn
+                        if (tabMovies != null) bindMoviesToUI(tabMovies);
+                    }
+                });
+        etSearch.addTextChangedListener(new android.text.TextWatcher() {
+            @Override public void beforeTextChanged(CharSequence s, int start, int count, int after) { }
+            @Override public void onTextChanged(CharSequence s, int start, int before, int count) { }
+            @Override public void afterTextChanged(android.text.Editable s) {
+                searchPipeline.onQueryChanged(s.toString());
+            }
+        });
+    }
+
+    private boolean isSearching() {
+        return etSearch != null && MovieSearchIndex.fold(etSearch.getText().toString()).length() > 0;
+    }
+
+    private void showSearchResults(List<Movie> movies) {
+        if (movies.isEmpty()) {
+            // bindMoviesToUI bỏ qua danh sách rỗng, nên tự xóa lưới ở đây
+            this.moviesList = movies;
+            android.widget.LinearLayout movieGrid = findViewById(R.id.movieGrid);
+            if (movieGrid != null) movieGrid.removeAllViews();
+            return;
+        }
+        bindMoviesToUI(movies);
     }
 
     @Override
@@ -253,81 +338,36 @@ public class MainActivity extends AppCompatActivity {
         }
     }
 
-    private void loadUserInfo() {
-        if (!userSession.isLoggedIn()) {
-            android.util.Log.d("MainActivity", "loadUserInfo: User not logged in, skipping");
-            return;
-        }
-        
-        android.util.Log.d("MainActivity", "loadUserInfo: Calling API /me");
-        ApiService apiService = vchung.ph59842.app_datve.api.ApiClient.getApiService(this);
-        apiService.getMe().enqueue(new retrofit2.Callback<vchung.ph59842.app_datve.models.ApiResponse<User>>() {
-            @Override
-            public void onResponse(retrofit2.Call<vchung.ph59842.app_datve.models.ApiResponse<User>> call, 
-                                 retrofit2.Response<vchung.ph59842.app_datve.models.ApiResponse<User>> response) {
-                android.util.Log.d("MainActivity", "loadUserInfo: Response code: " + response.code());
-                android.util.Log.d("MainActivity", "loadUserInfo: Response isSuccessful: " + response.isSuccessful());
-                android.util.Log.d("MainActivity", "loadUserInfo: Response body is null: " + (response.body() == null));
-                
-                if (response.isSuccessful() && response.body() != null) {
-                    vchung.ph59842.app_datve.models.ApiResponse<User> apiResponse = response.body();
-                    android.util.Log.d("MainActivity", "loadUserInfo: API success: " + apiResponse.isSuccess());
-                    android.util.Log.d("MainActivity", "loadUserInfo: User data is null: " + (apiResponse.getData() == null));
-                    
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        User user = apiResponse.getData();
-                        
-                        // Log user details
-                        android.util.Log.d("MainActivity", "loadUserInfo: User name: " + (user.getName() != null ? user.getName() : "null"));
-                        android.util.Log.d("MainActivity", "loadUserInfo: User email: " + (user.getEmail() != null ? user.getEmail() : "null"));
-                        
-                        // Lưu thông tin user vào session
-                        userSession.updateUser(user);
-                        
-                        // Cập nhật UI với tên người dùng ngay lập tức
-                        String userName = user.getName() != null ? user.getName().trim() : null;
-                        android.util.Log.d("MainActivity", "loadUserInfo: Processed userName: " + (userName != null ? userName : "null"));
-                        
-                        if (tvUserName != null && userName != null && !userName.isEmpty()) {
-                            String displayText = "Chào " + userName;
-                            android.util.Log.d("MainActivity", "loadUserInfo: Setting text to: " + displayText);
-                            tvUserName.setText(displayText);
-                        } else {
-                            android.util.Log.w("MainActivity", "loadUserInfo: User name is null or empty, keeping 'Tài khoản'");
-                            if (tvUserName != null) {
-                                tvUserName.setText("Tài khoản");
-                            }
-                        }
-                    } else {
-                        android.util.Log.w("MainActivity", "loadUserInfo: API response not successful or data is null");
-                    }
-                } else {
-                    android.util.Log.e("MainActivity", "loadUserInfo: Response not successful or body is null");
-                    if (response.errorBody() != null) {
-                        try {
-                            String errorBody = response.errorBody().string();
-                            android.util.Log.e("MainActivity", "loadUserInfo: Error body: " + errorBody);
-                        } catch (Exception e) {
-                            android.util.Log.e("MainActivity", "loadUserInfo: Error reading error body", e);
-                        }
-                    }
-                    
-                    // Nếu lỗi 401 (Unauthorized) hoặc 500 từ /auth/me, có thể token không hợp lệ
-                    // Không logout ngay, chỉ log warning và giữ nguyên UI
-                    if (response.code() == 401 || response.code() == 500) {
-                        android.util.Log.w("MainActivity", "loadUserInfo: Token may be invalid (code: " + response.code() + "), but keeping session");
-                        // Giữ nguyên UI hiện tại, không logout tự động
+    /**
+     * Lần đầu vào màn hình: danh sách phim và /auth/me chạy song song và mỗi cái bind ngay khi về,
+     * không cái nào chờ cái kia, nên lưới phim không bị /auth/me chậm giữ lại. /auth/me chỉ để chào
+     * tên nên có hạn giờ và lùi về user trong session.
+     */
+    private void loadHome(boolean needUser) {
+        loadMovies();
+        if (!needUser) return;
+
+        ApiFutures.orCached(ApiFutures.timeout(ApiFutures.data(CallScope.of(this), ApiClient.getApiService(this).getMe()),
+                        USER_TIMEOUT_MS), userSession::getUser)
+                .whenCompleteAsync((me, error) -> {
+                    if (isDestroyed()) return;
+                    if (error != null) {
+                        // Lỗi /auth/me (kể cả 401): giữ nguyên UI và session, không logout tự động
+                        android.util.Log.w("MainActivity", "loadHome: /me failed: " + ApiFutures.unwrap(error).getMessage());
+                        return;
                     }
-                }
-            }
+                    onUserLoaded(me);
+                }, ContextCompat.getMainExecutor(this));
+    }
 
-            @Override
-            public void onFailure(retrofit2.Call<vchung.ph59842.app_datve.models.ApiResponse<User>> call, 
-                               Throwable t) {
-                // Lỗi khi gọi API /me, giữ nguyên UI hiện tại
-                android.util.Log.e("MainActivity", "loadUserInfo: Network error: " + (t != null ? t.getMessage() : "Unknown"), t);
-            }
-        });
+    private void onUserLoaded(User user) {
+        // Lưu thông tin user vào session
+        userSession.updateUser(user);
+
+        String userName = user.getName() != null ? user.getName().trim() : null;
+        if (tvUserName != null) {
+            tvUserName.setText(userName != null && !userName.isEmpty() ? "Chào " + userName : "Tài khoản");
+        }
     }
 
     private void switchTab(String tab) {
@@ -387,75 +427,39 @@ public class MainActivity extends AppCompatActivity {
     }
 
     private void loadMovies() {
-        ApiService apiService = vchung.ph59842.app_datve.api.ApiClient.getApiService(this);
-        
-        retrofit2.Call<vchung.ph59842.app_datve.models.ApiResponse<List<Movie>>> call;
-        
+        CompletableFuture<List<Movie>> movies = ApiFutures.data(CallScope.of(this), moviesCall(ApiClient.getApiService(this)));
+        movies.whenCompleteAsync((ignored, error) -> {
+            if (!isDestroyed()) onMoviesResult(movies);
+        }, ContextCompat.getMainExecutor(this));
+    }
+
+    private retrofit2.Call<vchung.ph59842.app_datve.models.ApiResponse<List<Movie>>> moviesCall(ApiService apiService) {
         if (currentTab.equals("upcoming")) {
             // Load upcoming movies
-            call = apiService.getUpcomingMovies();
-        } else if (currentTab.equals("early")) {
-            // Load early showtimes - use showing movies with early showtimes filter
-            // For now, we'll use showing movies and filter client-side
-            call = apiService.getNowShowingMovies("showing");
-        } else {
-            // Default: showing movies
-            call = apiService.getNowShowingMovies("showing");
+            return apiService.getUpcomingMovies();
         }
-        
-        call.enqueue(new retrofit2.Callback<vchung.ph59842.app_datve.models.ApiResponse<List<Movie>>>() {
-            @Override
-            public void onResponse(retrofit2.Call<vchung.ph59842.app_datve.models.ApiResponse<List<Movie>>> call, 
-                                 retrofit2.Response<vchung.ph59842.app_datve.models.ApiResponse<List<Movie>>> response) {
-                android.util.Log.d("MainActivity", "loadMovies: Response code: " + response.code());
-                android.util.Log.d("MainActivity", "loadMovies: Response isSuccessful: " + response.isSuccessful());
-                android.util.Log.d("MainActivity", "loadMovies: Response body is null: " + (response.body() == null));
-                
-                if (response.isSuccessful() && response.body() != null) {
-                    vchung.ph59842.app_datve.models.ApiResponse<List<Movie>> apiResponse = response.body();
-                    android.util.Log.d("MainActivity", "loadMovies: API success: " + apiResponse.isSuccess());
-                    android.util.Log.d("MainActivity", "loadMovies: Data is null: " + (apiResponse.getData() == null));
-                    
-                    if (apiResponse.isSuccess() && apiResponse.getData() != null) {
-                        List<Movie> movies = apiResponse.getData();
-                        android.util.Log.d("MainActivity", "Loaded " + movies.size() + " movies");
-                        
-                        // Log first movie details for debugging
-                        if (!movies.isEmpty()) {
-                            Movie firstMovie = movies.get(0);
-                            android.util.Log.d("MainActivity", "First movie - Title: " + firstMovie.getTitle());
-                            android.util.Log.d("MainActivity", "First movie - PosterUrl: " + firstMovie.getPosterUrl());
-                            android.util.Log.d("MainActivity", "First movie - Genre: " + firstMovie.getGenre());
-                            android.util.Log.d("MainActivity", "First movie - Duration: " + firstMovie.getDuration());
-                            android.util.Log.d("MainActivity", "First movie - Rating: " + firstMovie.getRating());
-                        }
-                        
-                        bindMoviesToUI(movies);
-                    } else {
-                        android.util.Log.w("MainActivity", "API response not successful or data is null");
-                        if (apiResponse.getMessage() != null) {
-                            android.util.Log.w("MainActivity", "API message: " + apiResponse.getMessage());
-                        }
-                    }
-                } else {
-                    android.util.Log.e("MainActivity", "Failed to load movies: " + (response.errorBody() != null ? response.errorBody().toString() : "Unknown error"));
-                    if (response.errorBody() != null) {
-                        try {
-                            String errorBody = response.errorBody().string();
-                            android.util.Log.e("MainActivity", "Error body: " + errorBody);
-                        } catch (Exception e) {
-                            android.util.Log.e("MainActivity", "Error reading error body", e);
-                        }
-                    }
-                }
-            }
+        // "early": chưa có API riêng, dùng phim đang chiếu; mặc định: phim đang chiếu
+        return apiService.getNowShowingMovies("showing");
+    }
 
-            @Override
-            public void onFailure(retrofit2.Call<vchung.ph59842.app_datve.models.ApiResponse<List<Movie>>> call, 
-                               Throwable t) {
-                android.util.Log.e("MainActivity", "Network error loading movies", t);
+    private void onMoviesResult(CompletableFuture<List<Movie>> result) {
+        try {
+            List<Movie> movies = result.join();
+            android.util.Log.d("MainActivity", "Loaded " + movies.size() + " movies");
+            tabMovies = movies;
+            // Đang tìm kiếm thì giữ kết quả tìm; danh sách tab hiện lại khi xóa ô tìm
+            if (!isSearching()) {
+                JankTracker.setPhase(MainActivity.this, "binding movies");
+                bindMoviesToUI(movies);
+                JankTracker.clearPhaseAfterNextFrame(MainActivity.this);
             }
-        });
+            // Cho tìm kiếm offline: chỉ đánh lại các phim có thay đổi
+            MovieSearchIndex.get().syncAsync(movies);
+        } catch (CompletionException | CancellationException e) {
+            android.util.Log.e("MainActivity", "Failed to load movies", ApiFutures.unwrap(e));
+        }
+        // Danh sách phim (hoặc trạng thái lỗi) đã hiển thị: mốc time-to-full-display
+        AppStartup.get(MainActivity.this).reportFullyDrawn(MainActivity.this);
     }
 
     private void bindMoviesToUI(List<Movie> movies) {
@@ -478,6 +482,7 @@ public class MainActivity extends AppCompatActivity {
         
         // Clear existing views
         movieGrid.removeAllViews();
+        showtimeBadges.clear();
         
         // Create rows of 2 movies each
         for (int i = 0; i < movies.size(); i += 2) {
@@ -523,6 +528,33 @@ public class MainActivity extends AppCompatActivity {
             
             movieGrid.addView(rowLayout);
         }
+
+        // Một request cho cả lưới thay vì getMovieShowtimes từng phim
+        ShowtimeSummaryRepository.get(this).request(showtimeBadges.keySet());
+    }
+
+    private void applyShowtimeSummaries(java.util.Map<String, ShowtimeSummary> summaries) {
+        for (java.util.Map.Entry<String, ShowtimeSummary> e : summaries.entrySet()) {
+            TextView badge = showtimeBadges.get(e.getKey());
+            if (badge != null) bindShowtimeBadge(badge, e.getValue());
+        }
+    }
+
+    private void bindShowtimeBadge(TextView badge, ShowtimeSummary summary) {
+        long start = summary != null ? summary.getNextStartMillis() : 0L;
+        if (start <= 0) {
+            badge.setVisibility(View.GONE);
+            return;
+        }
+        java.time.ZonedDateTime time = java.time.Instant.ofEpochMilli(start).atZone(java.time.ZoneId.systemDefault());
+        boolean today = time.toLocalDate().equals(java.time.LocalDate.now());
+        String when = time.format(java.time.format.DateTimeFormatter.ofPattern(today ? "HH:mm" : "dd/MM HH:mm"));
+        String text = "Suất gần nhất " + when;
+        if (summary.getSeatsLeft() > 0) {
+            text += " • còn " + summary.getSeatsLeft() + " ghế";
+        }
+        badge.setText(text);
+        badge.setVisibility(View.VISIBLE);
     }
     
     private View createMovieCard(Movie movie, int index) {
@@ -535,6 +567,7 @@ public class MainActivity extends AppCompatActivity {
         TextView infoView = cardView.findViewById(R.id.movieInfo1);
         TextView ratingView = cardView.findViewById(R.id.movieRating1);
         TextView hotView = cardView.findViewById(R.id.movieHot1);
+        TextView nextShowtimeView = cardView.findViewById(R.id.movieNextShowtime1);
         
         if (posterView == null || titleView == null || infoView == null) {
             android.util.Log.e("MainActivity", "Could not find views in movie card template");
@@ -616,6 +649,11 @@ public class MainActivity extends AppCompatActivity {
             hotView.setVisibility(isHot ? View.VISIBLE : View.GONE);
         }
         
+        if (nextShowtimeView != null && movie.getId() != null) {
+            showtimeBadges.put(movie.getId(), nextShowtimeView);
+            bindShowtimeBadge(nextShowtimeView, ShowtimeSummaryRepository.get(this).cached(movie.getId()));
+        }
+        
         return cardView;
     }
     
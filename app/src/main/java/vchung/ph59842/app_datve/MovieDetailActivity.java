@@ -1,15 +1,23 @@
 package vchung.ph59842.app_datve;
 
+import android.Manifest;
 import android.content.Intent;
+import android.content.pm.PackageManager;
+import android.location.Location;
+import android.location.LocationManager;
 import android.net.Uri;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
 import android.widget.ImageView;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.activity.EdgeToEdge;
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.app.ActivityCompat;
+import androidx.core.content.ContextCompat;
 import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
@@ -18,10 +26,16 @@ import com.bumptech.glide.Glide;
 import com.google.gson.Gson;
 
 import java.util.List;
+import java.util.Locale;
 
 import vchung.ph59842.app_datve.api.ApiService;
+import vchung.ph59842.app_datve.api.CallScope;
+import vchung.ph59842.app_datve.data.CinemaIndex;
+import vchung.ph59842.app_datve.data.CinemaRepository;
+import vchung.ph59842.app_datve.data.ShowtimeBrowser;
 import vchung.ph59842.app_datve.models.Movie;
 import vchung.ph59842.app_datve.models.Showtime;
+import vchung.ph59842.app_datve.perf.JankTracker;
 
 public class MovieDetailActivity extends AppCompatActivity {
 
@@ -36,6 +50,29 @@ public class MovieDetailActivity extends AppCompatActivity {
     private TextView movieHotBadge;
     // private Button btnWatchTrailer; // Temporarily disabled
     private android.widget.LinearLayout showtimesContainer;
+    private View cinemaFilterScroll;
+    private android.widget.LinearLayout cinemaChips;
+
+    private static final int REQUEST_LOCATION = 41;
+    private static final String FILTER_ALL = "";
+    private static final String FILTER_NEAR = "near";
+
+    // Suất đã tải của phim; đổi rạp chỉ lọc lại từ đây
+    private List<Showtime> loadedShowtimes;
+    private ShowtimeBrowser browser;
+    private String selectedFilter = FILTER_ALL;
+    private Location userLocation;
+    private final CinemaRepository.Listener cinemaListener = new CinemaRepository.Listener() {
+        @Override
+        public void onLoaded(CinemaIndex index) {
+            if (!isFinishing()) rebuildBrowser();
+        }
+
+        @Override
+        public void onError(String message) {
+            android.util.Log.w("MovieDetailActivity", "Could not load cinemas: " + message);
+        }
+    };
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -43,6 +80,7 @@ public class MovieDetailActivity extends AppCompatActivity {
         
         EdgeToEdge.enable(this);
         setContentView(R.layout.activity_movie_detail);
+        JankTracker.trackScroll(findViewById(R.id.detailScroll), "scrolling showtimes");
         
         ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.movieDetailRoot), (v, insets) -> {
             Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
@@ -82,6 +120,8 @@ public class MovieDetailActivity extends AppCompatActivity {
         movieHotBadge = findViewById(R.id.movieHotBadge);
         // btnWatchTrailer = findViewById(R.id.btnWatchTrailer); // Temporarily disabled
         showtimesContainer = findViewById(R.id.showtimesContainer);
+        cinemaFilterScroll = findViewById(R.id.cinemaFilterScroll);
+        cinemaChips = findViewById(R.id.cinemaChips);
 
         // Back button
         if (btnBack != null) {
@@ -94,6 +134,9 @@ public class MovieDetailActivity extends AppCompatActivity {
         // Load showtimes
         loadShowtimes();
 
+        // Danh sách rạp (tên, thành phố, tọa độ) dùng chung, thường đã có sẵn trong bộ nhớ
+        CinemaRepository.get().load(this, false, cinemaListener);
+
         // Watch trailer button - Temporarily disabled
         /*
         if (btnWatchTrailer != null) {
@@ -133,6 +176,13 @@ public class MovieDetailActivity extends AppCompatActivity {
         */
     }
 
+    @Override
+    protected void onDestroy() {
+        // Request rạp dùng chung vẫn chạy để làm ấm cache, chỉ bỏ listener đang giữ activity này
+        CinemaRepository.get().removeListener(cinemaListener);
+        super.onDestroy();
+    }
+
     private void loadMovieData() {
         if (movie == null) {
             return;
@@ -256,7 +306,8 @@ public class MovieDetailActivity extends AppCompatActivity {
         android.util.Log.d("MovieDetailActivity", "Full URL: " + vchung.ph59842.app_datve.api.ApiConfig.BASE_URL + "movies/" + finalMovieId + "/showtimes");
 
         ApiService apiService = vchung.ph59842.app_datve.api.ApiClient.getApiService(this);
-        apiService.getMovieShowtimes(finalMovieId).enqueue(new retrofit2.Callback<vchung.ph59842.app_datve.models.ApiResponse<List<Showtime>>>() {
+        // Huỷ khi rời màn hình: không tải/parse tiếp suất chiếu cho activity đã đóng
+        CallScope.of(this).enqueue(apiService.getMovieShowtimes(finalMovieId), new retrofit2.Callback<vchung.ph59842.app_datve.models.ApiResponse<List<Showtime>>>() {
             @Override
             public void onResponse(retrofit2.Call<vchung.ph59842.app_datve.models.ApiResponse<List<Showtime>>> call, 
                                  retrofit2.Response<vchung.ph59842.app_datve.models.ApiResponse<List<Showtime>>> response) {
@@ -317,7 +368,10 @@ public class MovieDetailActivity extends AppCompatActivity {
                             android.util.Log.w("MovieDetailActivity", "Please check if showtimes exist in database for this movie");
                         }
                         
-                        displayShowtimes(finalShowtimes);
+                        JankTracker.setPhase(MovieDetailActivity.this, "binding showtimes");
+                        loadedShowtimes = finalShowtimes;
+                        rebuildBrowser();
+                        JankTracker.clearPhaseAfterNextFrame(MovieDetailActivity.this);
                     } else {
                         android.util.Log.w("MovieDetailActivity", "API response not successful or data is null");
                         android.util.Log.w("MovieDetailActivity", "Response success: " + apiResponse.isSuccess() + 
@@ -354,6 +408,131 @@ public class MovieDetailActivity extends AppCompatActivity {
         });
     }
 
+    /** Nhóm lại suất theo rạp (khi có suất, danh sách rạp hoặc vị trí mới) rồi vẽ lại. */
+    private void rebuildBrowser() {
+        if (loadedShowtimes == null) return;
+        double lat = userLocation != null ? userLocation.getLatitude() : Double.NaN;
+        double lng = userLocation != null ? userLocation.getLongitude() : Double.NaN;
+        browser = new ShowtimeBrowser(loadedShowtimes, CinemaRepository.get().current(), lat, lng);
+        if (!FILTER_ALL.equals(selectedFilter) && !FILTER_NEAR.equals(selectedFilter)
+                && browser.forCinema(selectedFilter).isEmpty()) {
+            selectedFilter = FILTER_ALL;
+        }
+        renderCinemaChips();
+        showSelectedShowtimes();
+    }
+
+    private void renderCinemaChips() {
+        if (cinemaChips == null || cinemaFilterScroll == null) return;
+        cinemaChips.removeAllViews();
+        List<ShowtimeBrowser.CinemaOption> options = browser.options();
+        if (options.isEmpty()) {
+            cinemaFilterScroll.setVisibility(View.GONE);
+            return;
+        }
+        cinemaFilterScroll.setVisibility(View.VISIBLE);
+        addCinemaChip("Tất cả", FILTER_ALL);
+        addCinemaChip("Gần tôi", FILTER_NEAR);
+        for (ShowtimeBrowser.CinemaOption option : options) {
+            String label = option.getName();
+            if (!Double.isNaN(option.getDistanceKm())) label += " • " + formatDistance(option.getDistanceKm());
+            addCinemaChip(label, option.getKey());
+        }
+    }
+
+    private void addCinemaChip(String label, String filter) {
+        boolean selected = filter.equals(selectedFilter);
+        TextView chip = new TextView(this);
+        chip.setText(label);
+        chip.setTextSize(14);
+        chip.setBackgroundResource(selected ? R.drawable.bg_offer_chip_selected : R.drawable.bg_offer_chip_unselected);
+        chip.setTextColor(ContextCompat.getColor(this, selected ? R.color.white : R.color.neutral_text));
+        float density = getResources().getDisplayMetrics().density;
+        chip.setPadding((int) (16 * density), (int) (8 * density), (int) (16 * density), (int) (8 * density));
+        android.widget.LinearLayout.LayoutParams params = new android.widget.LinearLayout.LayoutParams(
+                android.widget.LinearLayout.LayoutParams.WRAP_CONTENT,
+                android.widget.LinearLayout.LayoutParams.WRAP_CONTENT);
+        params.setMarginEnd((int) (8 * density));
+        chip.setLayoutParams(params);
+        chip.setOnClickListener(v -> selectFilter(filter));
+        cinemaChips.addView(chip);
+    }
+
+    private void selectFilter(String filter) {
+        if (filter.equals(selectedFilter)) return;
+        selectedFilter = filter;
+        if (FILTER_NEAR.equals(filter) && userLocation == null) {
+            requestUserLocation();
+        }
+        renderCinemaChips();
+        showSelectedShowtimes();
+    }
+
+    private void showSelectedShowtimes() {
+        if (browser == null) return;
+        if (FILTER_NEAR.equals(selectedFilter)) {
+            // Chưa có vị trí (hoặc không rạp nào có tọa độ) thì tạm hiện tất cả
+            List<Showtime> near = browser.nearMe();
+            displayShowtimes(near.isEmpty() ? browser.all() : near);
+        } else if (FILTER_ALL.equals(selectedFilter)) {
+            displayShowtimes(browser.all());
+        } else {
+            displayShowtimes(browser.forCinema(selectedFilter));
+        }
+    }
+
+    private static String formatDistance(double km) {
+        if (km < 1) return Math.round(km * 1000) + " m";
+        return String.format(Locale.getDefault(), "%.1f km", km);
+    }
+
+    /** Chỉ xin quyền vị trí khi người dùng bấm "Gần tôi". */
+    private void requestUserLocation() {
+        if (ContextCompat.checkSelfPermission(this, Manifest.permission.ACCESS_COARSE_LOCATION)
+                != PackageManager.PERMISSION_GRANTED) {
+            ActivityCompat.requestPermissions(this,
+                    new String[]{Manifest.permission.ACCESS_COARSE_LOCATION}, REQUEST_LOCATION);
+            return;
+        }
+        LocationManager lm = (LocationManager) getSystemService(LOCATION_SERVICE);
+        if (lm == null) return;
+        try {
+            Location last = lm.getLastKnownLocation(LocationManager.NETWORK_PROVIDER);
+            if (last == null) last = lm.getLastKnownLocation(LocationManager.PASSIVE_PROVIDER);
+            if (last != null) {
+                onUserLocation(last);
+            } else if (lm.isProviderEnabled(LocationManager.NETWORK_PROVIDER)) {
+                lm.requestSingleUpdate(LocationManager.NETWORK_PROVIDER, this::onUserLocation, getMainLooper());
+            } else {
+                Toast.makeText(this, "Chưa xác định được vị trí của bạn", Toast.LENGTH_SHORT).show();
+            }
+        } catch (SecurityException e) {
+            android.util.Log.w("MovieDetailActivity", "Location permission revoked", e);
+        }
+    }
+
+    private void onUserLocation(Location location) {
+        if (isFinishing()) return;
+        userLocation = location;
+        rebuildBrowser();
+    }
+
+    @Override
+    public void onRequestPermissionsResult(int requestCode, @NonNull String[] permissions, @NonNull int[] grantResults) {
+        super.onRequestPermissionsResult(requestCode, permissions, grantResults);
+        if (requestCode != REQUEST_LOCATION) return;
+        if (grantResults.length > 0 && grantResults[0] == PackageManager.PERMISSION_GRANTED) {
+            requestUserLocation();
+        } else {
+            Toast.makeText(this, "Cần quyền vị trí để tìm rạp gần bạn", Toast.LENGTH_SHORT).show();
+            if (FILTER_NEAR.equals(selectedFilter)) {
+                selectedFilter = FILTER_ALL;
+                renderCinemaChips();
+                showSelectedShowtimes();
+            }
+        }
+    }
+
     private void displayShowtimes(List<Showtime> showtimes) {
         if (showtimesContainer == null) {
             return;
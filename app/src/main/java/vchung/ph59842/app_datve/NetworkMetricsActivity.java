@@ -0,0 +1,83 @@
+package vchung.ph59842.app_datve;
+
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.activity.EdgeToEdge;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.graphics.Insets;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.WindowInsetsCompat;
+
+import vchung.ph59842.app_datve.api.metrics.NetworkMetrics;
+import vchung.ph59842.app_datve.perf.JankSession;
+
+/**
+ * Màn debug: p50/p95/p99 theo endpoint và theo pha, cùng tóm tắt frame/jank của phiên,
+ * tự cập nhật mỗi giây.
+ * Mở bằng cách nhấn giữ ô "Cài đặt" ở màn Khác (chỉ bản debuggable).
+ */
+public class NetworkMetricsActivity extends AppCompatActivity {
+    private static final long REFRESH_MS = 1000;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private TextView dumpView;
+
+    private final Runnable refresh = new Runnable() {
+        @Override
+        public void run() {
+            dumpView.setText(buildDump());
+            handler.postDelayed(this, REFRESH_MS);
+        }
+    };
+
+    public static Intent createIntent(Context context) {
+        return new Intent(context, NetworkMetricsActivity.class);
+    }
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        EdgeToEdge.enable(this);
+        setContentView(R.layout.activity_network_metrics);
+
+        ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.networkMetricsRoot), (v, insets) -> {
+            Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
+            v.setPadding(v.getPaddingLeft(), systemBars.top, v.getPaddingRight(), systemBars.bottom);
+            return insets;
+        });
+
+        dumpView = findViewById(R.id.tvMetricsDump);
+        findViewById(R.id.btnBack).setOnClickListener(v -> finish());
+        findViewById(R.id.btnResetMetrics).setOnClickListener(v -> {
+            NetworkMetrics.get().reset();
+            dumpView.setText(buildDump());
+        });
+        findViewById(R.id.btnLogMetrics).setOnClickListener(v -> {
+            NetworkMetrics.get().dumpToLog();
+            Toast.makeText(this, "Đã ghi ra logcat (tag NetworkMetrics)", Toast.LENGTH_SHORT).show();
+        });
+    }
+
+    private static String buildDump() {
+        // Frame của phiên hiện tại (JankStats) đi kèm để đối chiếu với network
+        return NetworkMetrics.get().dump() + "\n-- Frames --\n" + JankSession.get().dump();
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        handler.post(refresh);
+    }
+
+    @Override
+    protected void onPause() {
+        super.onPause();
+        handler.removeCallbacks(refresh);
+    }
+}
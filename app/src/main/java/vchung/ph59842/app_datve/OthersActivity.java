@@ -2,6 +2,7 @@ package vchung.ph59842.app_datve;
 
 import android.content.Context;
 import android.content.Intent;
+import android.content.pm.ApplicationInfo;
 import android.os.Bundle;
 import android.view.View;
 
@@ -78,6 +79,16 @@ public class OthersActivity extends AppCompatActivity {
                 startActivity(intent);
             });
         }
+
+        // Debug: nhấn giữ ô Cài đặt để xem số liệu network
+        View tileSettings = findViewById(R.id.tileSettings);
+        boolean debuggable = (getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+        if (tileSettings != null && debuggable) {
+            tileSettings.setOnLongClickListener(view -> {
+                startActivity(NetworkMetricsActivity.createIntent(OthersActivity.this));
+                return true;
+            });
+        }
     }
 }
 
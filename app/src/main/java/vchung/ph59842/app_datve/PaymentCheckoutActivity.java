@@ -26,6 +26,8 @@ import vchung.ph59842.app_datve.api.ApiService;
 import vchung.ph59842.app_datve.models.ApiResponse;
 import vchung.ph59842.app_datve.models.Ticket;
 import vchung.ph59842.app_datve.data.MembershipStore;
+import vchung.ph59842.app_datve.data.SeatHoldClient;
+import vchung.ph59842.app_datve.perf.JankTracker;
 
 public class PaymentCheckoutActivity extends AppCompatActivity {
     private TextView tvBankName, tvAccountNumber, tvAccountName, tvBranch, tvNote, tvQrCountdown, tvAmount, tvQrFallback;
@@ -247,7 +249,9 @@ public class PaymentCheckoutActivity extends AppCompatActivity {
             } else {
                 if (tvQrFallback != null) tvQrFallback.setVisibility(View.GONE);
                 if (imgQr != null) imgQr.setVisibility(View.VISIBLE);
+                JankTracker.setPhase(this, "rendering QR");
                 renderQr(qrContent);
+                JankTracker.clearPhaseAfterNextFrame(this);
             }
             // Always allow user to tap; confirmPayment() will guard if missing intent
             if (btnIHavePaid != null) btnIHavePaid.setEnabled(true);
@@ -345,6 +349,8 @@ public class PaymentCheckoutActivity extends AppCompatActivity {
             @Override public void onResponse(retrofit2.Call<ApiResponse<Map<String, Object>>> call, retrofit2.Response<ApiResponse<Map<String, Object>>> response) {
                 if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
                     stopConfirmLoop();
+                    // Vé đã xác nhận giữ ghế; không gia hạn / trả hold nữa
+                    SeatHoldClient.get(PaymentCheckoutActivity.this).complete();
                     if (loadingOverlay != null) loadingOverlay.setVisibility(View.GONE);
                     Toast.makeText(PaymentCheckoutActivity.this, "Thanh toán thành công", Toast.LENGTH_SHORT).show();
                     try {
@@ -362,7 +368,7 @@ public class PaymentCheckoutActivity extends AppCompatActivity {
                             if (data != null && data.get("membership") != null) {
                                 try {
                                     String json = new com.google.gson.Gson().toJson(data.get("membership"));
-                                    MembershipStore.saveSnapshot(PaymentCheckoutActivity.this, json);
+                                    MembershipStore.get(PaymentCheckoutActivity.this).updateFromJson(json);
                                 } catch (Exception ignore) {}
                             }
                         } catch (Exception ignore) {}
@@ -4,9 +4,10 @@ import android.content.Context;
 import android.content.SharedPreferences;
 import com.google.gson.Gson;
 import vchung.ph59842.app_datve.api.ApiClient;
+import vchung.ph59842.app_datve.api.auth.TokenStore;
 import vchung.ph59842.app_datve.models.User;
 
-public class UserSession {
+public class UserSession implements TokenStore {
     private static final String PREF_NAME = "UserSession";
     private static final String KEY_IS_LOGGED_IN = "isLoggedIn";
     private static final String KEY_TOKEN = "token";
@@ -21,7 +22,7 @@ public class UserSession {
         this.context = context;
         sharedPreferences = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
         editor = sharedPreferences.edit();
-        gson = new Gson();
+        gson = ApiClient.getGson();
     }
 
     public void saveLoginSession(String token, User user) {
@@ -46,6 +47,7 @@ public class UserSession {
         return sharedPreferences.getBoolean(KEY_IS_LOGGED_IN, false) && getToken() != null;
     }
 
+    @Override
     public String getToken() {
         String token = sharedPreferences.getString(KEY_TOKEN, null);
         if (token != null) {
@@ -57,6 +59,14 @@ public class UserSession {
         return token;
     }
 
+    /** Token mới sau khi refresh; giữ nguyên user và trạng thái đăng nhập. */
+    @Override
+    public void saveToken(String token) {
+        if (token == null) return;
+        editor.putString(KEY_TOKEN, token.trim());
+        editor.commit();
+    }
+
     public User getUser() {
         String userJson = sharedPreferences.getString(KEY_USER, null);
         if (userJson != null) {
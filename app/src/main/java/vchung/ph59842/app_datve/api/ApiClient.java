@@ -2,53 +2,154 @@ package vchung.ph59842.app_datve.api;
 
 import android.content.Context;
 
+import com.google.gson.Gson;
+
+import okhttp3.Authenticator;
+import okhttp3.Cache;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
 import okhttp3.logging.HttpLoggingInterceptor;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
+import vchung.ph59842.app_datve.UserSession;
+import vchung.ph59842.app_datve.api.auth.TokenAuthenticator;
+import vchung.ph59842.app_datve.api.auth.TokenRefresher;
 import vchung.ph59842.app_datve.api.interceptor.AuthInterceptor;
+import vchung.ph59842.app_datve.api.metrics.MetricsEventListener;
+import vchung.ph59842.app_datve.api.priority.LaneScheduler;
 
+import java.io.File;
 import java.util.concurrent.TimeUnit;
 
 public class ApiClient {
+    private static final long HTTP_CACHE_SIZE = 10L * 1024 * 1024;
+
     private static Retrofit retrofit = null;
     private static ApiService apiService = null;
+    private static OkHttpClient okHttpClient = null;
+    private static LaneScheduler scheduler = null;
+    private static TokenRefresher tokenRefresher = null;
+    private static OkHttpClient refreshClient = null;
+    // Test có thể trỏ sang MockWebServer (xem ReplayServer trong src/sharedTest)
+    private static volatile String baseUrl = ApiConfig.BASE_URL;
 
-    public static Retrofit getRetrofit(Context context) {
-        if (retrofit == null) {
+    // Gson có holder riêng, không dùng monitor của ApiClient: startup giữ monitor đó trên thread
+    // nền (ưu tiên thấp) suốt lúc dựng OkHttpClient/Cache/Retrofit, còn UI thread cần Gson ngay
+    // (new UserSession) trước khi điều hướng.
+    private static final class GsonHolder {
+        static final Gson GSON = new com.google.gson.GsonBuilder().create();
+    }
+
+    public static Gson getGson() {
+        return GsonHolder.GSON;
+    }
+
+    // Startup warms the clients below on a background thread while the UI thread may ask for them
+    // too, so these lazy getters are synchronized to avoid building two clients.
+    public static synchronized OkHttpClient getOkHttpClient(Context context) {
+        if (okHttpClient == null) {
             HttpLoggingInterceptor loggingInterceptor = new HttpLoggingInterceptor();
             loggingInterceptor.setLevel(HttpLoggingInterceptor.Level.BODY);
+            // LaneScheduler mới là nơi giới hạn; Dispatcher chỉ cần đủ rộng để không xếp hàng lần nữa
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequestsPerHost(LaneScheduler.MAX_IN_FLIGHT + 2);
 
-            OkHttpClient okHttpClient = new OkHttpClient.Builder()
-                    .addInterceptor(new AuthInterceptor(context))
+            okHttpClient = new OkHttpClient.Builder()
+                    .dispatcher(dispatcher)
+                    .addInterceptor(new AuthInterceptor(getTokenRefresher(context)))
+                    // 401: đổi token một lần (single-flight) rồi gửi lại request
+                    .authenticator(new TokenAuthenticator(getTokenRefresher(context)))
                     .addInterceptor(loggingInterceptor)
+                    // Chỉ lưu response có Cache-Control/ETag từ server
+                    .cache(new Cache(new File(context.getApplicationContext().getCacheDir(), "http"), HTTP_CACHE_SIZE))
+                    // Số liệu theo endpoint, xem ở NetworkMetricsActivity
+                    .eventListenerFactory(MetricsEventListener.FACTORY)
                     .connectTimeout(ApiConfig.CONNECT_TIMEOUT, TimeUnit.SECONDS)
                     .readTimeout(ApiConfig.READ_TIMEOUT, TimeUnit.SECONDS)
                     .writeTimeout(ApiConfig.WRITE_TIMEOUT, TimeUnit.SECONDS)
                     .build();
+        }
+        return okHttpClient;
+    }
+
+    /** Vòng đời JWT của phiên đăng nhập, dùng chung cho AuthInterceptor và TokenAuthenticator. */
+    public static synchronized TokenRefresher getTokenRefresher(Context context) {
+        if (tokenRefresher == null) {
+            Context appContext = context.getApplicationContext();
+            tokenRefresher = new TokenRefresher(new UserSession(appContext),
+                    request -> getRefreshClient(appContext).newCall(request), ApiClient::getBaseUrl);
+        }
+        return tokenRefresher;
+    }
+
+    // Cùng connection pool với client chính nhưng không có AuthInterceptor/Authenticator,
+    // để refresh không tự gọi lại chính nó
+    private static synchronized OkHttpClient getRefreshClient(Context context) {
+        if (refreshClient == null) {
+            OkHttpClient.Builder builder = getOkHttpClient(context).newBuilder()
+                    .authenticator(Authenticator.NONE)
+                    .cache(null);
+            builder.interceptors().clear();
+            refreshClient = builder.build();
+        }
+        return refreshClient;
+    }
 
-            com.google.gson.Gson gson = new com.google.gson.GsonBuilder()
+    /** Hàng đợi theo làn cho mọi call của ApiService (xem {@link vchung.ph59842.app_datve.api.priority.Priority}). */
+    public static synchronized LaneScheduler getScheduler(Context context) {
+        if (scheduler == null) {
+            scheduler = new LaneScheduler(getOkHttpClient(context));
+        }
+        return scheduler;
+    }
 
-                    .create();
-            
+    public static synchronized Retrofit getRetrofit(Context context) {
+        if (retrofit == null) {
             retrofit = new Retrofit.Builder()
-                    .baseUrl(ApiConfig.BASE_URL)
-                    .client(okHttpClient)
-                    .addConverterFactory(GsonConverterFactory.create(gson))
+                    .baseUrl(baseUrl)
+                    .callFactory(getScheduler(context))
+                    .addConverterFactory(GsonConverterFactory.create(getGson()))
                     .build();
         }
         return retrofit;
     }
 
-    public static ApiService getApiService(Context context) {
+    public static synchronized ApiService getApiService(Context context) {
         if (apiService == null) {
             apiService = getRetrofit(context).create(ApiService.class);
         }
         return apiService;
     }
 
-    public static void reset() {
+    public static String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Đổi server cho các ApiService tạo sau lời gọi này (gọi trước khi mở màn hình đầu tiên).
+     * Giữ OkHttpClient; null = quay về {@link ApiConfig#BASE_URL}.
+     */
+    public static synchronized void setBaseUrl(String url) {
+        String next = url == null ? ApiConfig.BASE_URL : (url.endsWith("/") ? url : url + "/");
+        if (next.equals(baseUrl)) return;
+        baseUrl = next;
+        retrofit = null;
+        apiService = null;
+    }
+
+    /** ApiService không cần Context (không auth, không cache), cùng Gson với app; dùng cho test JVM. */
+    public static ApiService create(String baseUrl, OkHttpClient client) {
+        return new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .callFactory(new LaneScheduler(client))
+                .addConverterFactory(GsonConverterFactory.create(getGson()))
+                .build()
+                .create(ApiService.class);
+    }
+
+    public static synchronized void reset() {
         retrofit = null;
         apiService = null;
+        // Keep the OkHttpClient (and its warm connection pool); only the auth state changed
     }
 }
@@ -0,0 +1,18 @@
+package vchung.ph59842.app_datve.api;
+
+/** Server trả lời nhưng không thành công (HTTP lỗi, {@code success=false} hoặc thiếu {@code data}). */
+public class ApiException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    private final int code;
+
+    public ApiException(int code, String message) {
+        super(message != null ? message : "HTTP " + code);
+        this.code = code;
+    }
+
+    /** Mã HTTP của response. */
+    public int getCode() {
+        return code;
+    }
+}
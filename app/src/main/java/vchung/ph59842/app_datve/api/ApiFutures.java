@@ -0,0 +1,158 @@
+package vchung.ph59842.app_datve.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import vchung.ph59842.app_datve.models.ApiResponse;
+
+/**
+ * Đổi Call của {@link ApiService} thành {@link CompletableFuture} để một màn hình gọi song song
+ * các request độc lập, mỗi kết quả bind ngay khi về:
+ *
+ * <pre>
+ * ApiFutures.data(scope, api.getNowShowingMovies("showing")).whenCompleteAsync((m, t) -&gt; bindMovies(...), main);
+ * ApiFutures.orCached(ApiFutures.timeout(ApiFutures.data(scope, api.getMe()), 3000), session::getUser)
+ *         .whenCompleteAsync((u, t) -&gt; greet(...), main);
+ * </pre>
+ * Chỉ gom bằng {@link #all} / {@code allOf} khi một view thật sự cần cả hai kết quả, vì khi đó
+ * view chờ request chậm nhất.
+ * Huỷ future thì huỷ luôn Call; Call đi qua {@link CallScope} nên màn hình đóng thì future không
+ * bao giờ hoàn tất và không gì được bind. Future hoàn tất trên thread callback của Retrofit (main
+ * trên Android) hoặc thread hẹn giờ của {@link #timeout}; bind UI nên dùng executor main.
+ */
+public final class ApiFutures {
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "api-timeout");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private ApiFutures() {}
+
+    /** {@code data} của ApiResponse thành công; lỗi HTTP/{@code success=false} thành {@link ApiException}. */
+    public static <T> CompletableFuture<T> data(CallScope scope, Call<ApiResponse<T>> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.whenComplete((v, t) -> {
+            if (future.isCancelled()) call.cancel();
+        });
+        scope.enqueue(call, new Callback<ApiResponse<T>>() {
+            @Override
+            public void onResponse(Call<ApiResponse<T>> c, Response<ApiResponse<T>> response) {
+                ApiResponse<T> body = response.body();
+                if (response.isSuccessful() && body != null && body.isSuccess() && body.getData() != null) {
+                    future.complete(body.getData());
+                } else {
+                    if (response.errorBody() != null) response.errorBody().close();
+                    future.completeExceptionally(new ApiException(response.code(),
+                            body != null && body.getMessage() != null ? body.getMessage() : "Response not successful: " + response.code()));
+                }
+            }
+
+            @Override
+            public void onFailure(Call<ApiResponse<T>> c, Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Tất cả, theo thứ tự; khác {@link CompletableFuture#allOf}: lỗi đầu tiên làm hỏng ngay
+     * (không chờ các request còn lại) và huỷ các future chưa xong.
+     */
+    public static <T> CompletableFuture<List<T>> all(List<CompletableFuture<T>> futures) {
+        CompletableFuture<List<T>> result = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(futures.size());
+        if (futures.isEmpty()) result.complete(new ArrayList<>());
+        for (CompletableFuture<T> f : futures) {
+            f.whenComplete((v, t) -> {
+                if (t != null) {
+                    if (result.completeExceptionally(unwrap(t))) cancelAll(futures);
+                } else if (remaining.decrementAndGet() == 0) {
+                    List<T> values = new ArrayList<>(futures.size());
+                    for (CompletableFuture<T> done : futures) values.add(done.join());
+                    result.complete(values);
+                }
+            });
+        }
+        return result;
+    }
+
+    /** Kết quả thành công đầu tiên, huỷ các future còn lại; chỉ lỗi khi tất cả lỗi (lỗi cuối cùng). */
+    public static <T> CompletableFuture<T> race(List<CompletableFuture<T>> futures) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger remaining = new AtomicInteger(futures.size());
+        if (futures.isEmpty()) result.completeExceptionally(new IllegalArgumentException("Nothing to race"));
+        for (CompletableFuture<T> f : futures) {
+            f.whenComplete((v, t) -> {
+                if (t == null) {
+                    if (result.complete(v)) cancelAll(futures);
+                } else if (remaining.decrementAndGet() == 0) {
+                    result.completeExceptionally(unwrap(t));
+                }
+            });
+        }
+        return result;
+    }
+
+    /** Lỗi {@link TimeoutException} nếu chưa xong sau {@code millis}; future gốc (và Call) bị huỷ. */
+    public static <T> CompletableFuture<T> timeout(CompletableFuture<T> future, long millis) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicBoolean timedOut = new AtomicBoolean();
+        // Huỷ nguồn trước rồi mới báo timeout, để ai thấy timeout cũng thấy Call đã bị huỷ
+        ScheduledFuture<?> timer = TIMER.schedule(() -> {
+            timedOut.set(true);
+            future.cancel(true);
+        }, millis, TimeUnit.MILLISECONDS);
+        future.whenComplete((v, t) -> {
+            timer.cancel(false);
+            if (t == null) result.complete(v);
+            else if (t instanceof CancellationException && timedOut.get()) result.completeExceptionally(new TimeoutException("No response after " + millis + "ms"));
+            else result.completeExceptionally(unwrap(t));
+        });
+        return result;
+    }
+
+    /**
+     * Lỗi (kể cả timeout) thì dùng bản cache nếu có; cache null thì giữ nguyên lỗi. Huỷ
+     * (màn hình đóng) không được thay bằng cache.
+     */
+    public static <T> CompletableFuture<T> orCached(CompletableFuture<T> future, Supplier<T> cached) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete((v, t) -> {
+            if (t == null) {
+                result.complete(v);
+                return;
+            }
+            Throwable cause = unwrap(t);
+            T fallback = cause instanceof CancellationException ? null : cached.get();
+            if (fallback != null) result.complete(fallback);
+            else result.completeExceptionally(cause);
+        });
+        return result;
+    }
+
+    /** Lỗi gốc, bỏ lớp CompletionException mà các stage bọc ngoài. */
+    public static Throwable unwrap(Throwable t) {
+        while (t instanceof CompletionException && t.getCause() != null) t = t.getCause();
+        return t;
+    }
+
+    private static void cancelAll(List<? extends CompletableFuture<?>> futures) {
+        for (CompletableFuture<?> f : futures) f.cancel(true);
+    }
+}
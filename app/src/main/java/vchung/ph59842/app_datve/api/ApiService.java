@@ -11,33 +11,55 @@ import retrofit2.http.POST;
 import retrofit2.http.PUT;
 import retrofit2.http.Path;
 import retrofit2.http.Query;
+import vchung.ph59842.app_datve.api.priority.Lane;
+import vchung.ph59842.app_datve.api.priority.Priority;
 import vchung.ph59842.app_datve.models.ApiResponse;
 import vchung.ph59842.app_datve.models.AuthResponse;
+import vchung.ph59842.app_datve.models.Cinema;
+import vchung.ph59842.app_datve.models.Combo;
+import vchung.ph59842.app_datve.models.CursorPage;
 import vchung.ph59842.app_datve.models.LoginRequest;
+import vchung.ph59842.app_datve.models.MembershipSnapshot;
 import vchung.ph59842.app_datve.models.Movie;
+import vchung.ph59842.app_datve.models.PointLog;
+import vchung.ph59842.app_datve.models.PriceQuote;
 import vchung.ph59842.app_datve.models.Promotion;
 import vchung.ph59842.app_datve.models.RegisterRequest;
+import vchung.ph59842.app_datve.models.SeatHoldResult;
+import vchung.ph59842.app_datve.models.SeatLayout;
+import vchung.ph59842.app_datve.models.SeatStatus;
+import vchung.ph59842.app_datve.models.ShowtimeSummary;
 import vchung.ph59842.app_datve.models.User;
 
+/**
+ * Mỗi method khai báo làn của nó bằng {@link Priority}; {@link vchung.ph59842.app_datve.api.priority.LaneScheduler}
+ * xếp hàng theo làn đó.
+ */
 public interface ApiService {
     
     // Auth & Users
+    @Priority(Lane.INTERACTIVE)
     @POST("auth/register")
     Call<AuthResponse> register(@Body RegisterRequest request);
     
+    @Priority(Lane.INTERACTIVE)
     @POST("auth/login")
     Call<AuthResponse> login(@Body LoginRequest request);
     
+    @Priority(Lane.INTERACTIVE)
     @GET("auth/me")
     Call<ApiResponse<User>> getMe();
     
+    @Priority(Lane.INTERACTIVE)
     @PUT("auth/me")
     Call<ApiResponse<User>> updateProfile(@Body User user);
     
+    @Priority(Lane.INTERACTIVE)
     @PUT("auth/password")
     Call<ApiResponse<Void>> changePassword(@Body Map<String, String> passwordData);
     
     // Movies
+    @Priority(Lane.INTERACTIVE)
     @GET("movies")
     Call<ApiResponse<List<Movie>>> getMovies(
         @Query("page") Integer page,
@@ -46,95 +68,187 @@ public interface ApiService {
         @Query("status") String status
     );
     
+    @Priority(Lane.INTERACTIVE)
     @GET("movies/search")
     Call<ApiResponse<List<Movie>>> searchMovies(@Query("q") String query);
     
+    // ids = movieId nối bằng dấu phẩy (tối đa 50); thay cho gọi getMovieShowtimes từng phim
+    @Priority(Lane.PREFETCH)
+    @GET("movies/showtime-summaries")
+    Call<ApiResponse<List<ShowtimeSummary>>> getShowtimeSummaries(@Query("ids") String ids, @Query("days") Integer days);
+    
+    @Priority(Lane.INTERACTIVE)
     @GET("movies/featured")
     Call<ApiResponse<List<Movie>>> getFeaturedMovies();
     
+    @Priority(Lane.INTERACTIVE)
     @GET("movies")
     Call<ApiResponse<List<Movie>>> getNowShowingMovies(@Query("status") String status);
     
+    @Priority(Lane.INTERACTIVE)
     @GET("movies/upcoming")
     Call<ApiResponse<List<Movie>>> getUpcomingMovies();
     
+    @Priority(Lane.INTERACTIVE)
     @GET("movies/genre/{genre}")
     Call<ApiResponse<List<Movie>>> getMoviesByGenre(@Path("genre") String genre);
     
+    @Priority(Lane.INTERACTIVE)
     @GET("movies/theater/{theaterId}")
     Call<ApiResponse<List<Movie>>> getMoviesByTheater(@Path("theaterId") String theaterId);
     
+    @Priority(Lane.INTERACTIVE)
     @GET("movies/{id}")
     Call<ApiResponse<Movie>> getMovieDetail(@Path("id") String id);
     
+    @Priority(Lane.INTERACTIVE)
     @GET("movies/{id}/showtimes")
     Call<ApiResponse<List<vchung.ph59842.app_datve.models.Showtime>>> getMovieShowtimes(@Path("id") String id);
     
+    @Priority(Lane.INTERACTIVE)
     @GET("movies/{id}/availability")
     Call<ApiResponse<Object>> checkMovieAvailability(@Path("id") String id, @Query("showtimeId") String showtimeId);
     
     // Tickets
+    @Priority(Lane.PAYMENT)
     @POST("tickets")
     Call<ApiResponse<Object>> bookTicket(@Body Map<String, Object> ticketData);
     
+    @Priority(Lane.INTERACTIVE)
     @GET("tickets/me")
     Call<ApiResponse<List<Object>>> getMyTickets();
     
+    @Priority(Lane.INTERACTIVE)
     @GET("tickets/{id}")
     Call<ApiResponse<Object>> getTicketDetail(@Path("id") String id);
     
+    @Priority(Lane.PAYMENT)
     @PUT("tickets/{id}/cancel")
     Call<ApiResponse<Void>> cancelTicket(@Path("id") String id);
     
+    @Priority(Lane.INTERACTIVE)
     @PUT("tickets/{id}/change-seats")
     Call<ApiResponse<Void>> changeSeats(@Path("id") String id, @Body Map<String, Object> seatData);
     
     // Reviews
+    @Priority(Lane.INTERACTIVE)
     @GET("movies/{movieId}/reviews")
     Call<ApiResponse<List<Object>>> getMovieReviews(@Path("movieId") String movieId);
     
+    @Priority(Lane.INTERACTIVE)
     @POST("reviews")
     Call<ApiResponse<Object>> addReview(@Body Map<String, Object> reviewData);
     
+    @Priority(Lane.INTERACTIVE)
     @PUT("reviews/{id}")
     Call<ApiResponse<Object>> updateReview(@Path("id") String id, @Body Map<String, Object> reviewData);
     
+    @Priority(Lane.INTERACTIVE)
     @DELETE("reviews/{id}")
     Call<ApiResponse<Void>> deleteReview(@Path("id") String id);
     
+    @Priority(Lane.INTERACTIVE)
     @GET("users/me/reviews")
     Call<ApiResponse<List<Object>>> getMyReviews();
     
     // Cinemas
+    @Priority(Lane.INTERACTIVE)
     @GET("cinemas")
-    Call<ApiResponse<List<Object>>> getCinemas();
+    Call<ApiResponse<List<Cinema>>> getCinemas(@Query("page") Integer page, @Query("limit") Integer limit);
     
+    @Priority(Lane.INTERACTIVE)
     @GET("cinemas/{id}")
-    Call<ApiResponse<Object>> getCinemaDetail(@Path("id") String id);
+    Call<ApiResponse<Cinema>> getCinemaDetail(@Path("id") String id);
     
+    @Priority(Lane.INTERACTIVE)
     @GET("cinemas/{id}/rooms")
     Call<ApiResponse<List<Object>>> getCinemaRooms(@Path("id") String id);
     
+    @Priority(Lane.INTERACTIVE)
     @GET("cinemas/{id}/showtimes")
     Call<ApiResponse<List<Object>>> getCinemaShowtimes(@Path("id") String id);
     
+    // Sơ đồ ghế tĩnh theo phòng (cache vĩnh viễn theo version) + trạng thái ghế dạng bitmap theo suất
+    @Priority(Lane.INTERACTIVE)
+    @GET("rooms/{roomId}/layout")
+    Call<ApiResponse<SeatLayout>> getRoomLayout(@Path("roomId") String roomId, @Query("v") String version);
+    
+    @Priority(Lane.INTERACTIVE)
+    @GET("schedules/{id}/seat-status")
+    Call<ApiResponse<SeatStatus>> getSeatStatus(@Path("id") String scheduleId);
+    
+    // Giữ ghế có TTL: giữ khi chạm ghế, gia hạn định kỳ, trả khi bỏ chọn (seats = null: trả hết)
+    @Priority(Lane.PAYMENT)
+    @POST("schedules/{id}/holds")
+    Call<ApiResponse<SeatHoldResult>> holdSeats(@Path("id") String scheduleId, @Body Map<String, Object> body);
+    
+    @Priority(Lane.PAYMENT)
+    @PUT("schedules/{id}/holds")
+    Call<ApiResponse<SeatHoldResult>> renewSeatHolds(@Path("id") String scheduleId, @Body Map<String, Object> body);
+    
+    @Priority(Lane.PAYMENT)
+    @DELETE("schedules/{id}/holds")
+    Call<ApiResponse<Object>> releaseSeatHolds(@Path("id") String scheduleId, @Query("seats") String seats);
+    
+    // Báo giá có chữ ký, gửi lại token khi đặt vé / tạo intent
+    @Priority(Lane.INTERACTIVE)
+    @POST("quotes")
+    Call<ApiResponse<PriceQuote>> createQuote(@Body Map<String, Object> selection);
+    
     // Payments
+    @Priority(Lane.PAYMENT)
+    @POST("payments/intents")
+    Call<ApiResponse<Map<String, Object>>> createPaymentIntent(@Body Map<String, Object> body);
+    
+    @Priority(Lane.PAYMENT)
+    @POST("payments/qr/confirm")
+    Call<ApiResponse<Map<String, Object>>> confirmQrPayment(@Body Map<String, Object> body);
+    
+    @Priority(Lane.PAYMENT)
     @POST("payments/create")
     Call<ApiResponse<Object>> createPayment(@Body Map<String, Object> paymentData);
     
+    @Priority(Lane.PAYMENT)
     @POST("payments/verify")
     Call<ApiResponse<Object>> verifyPayment(@Body Map<String, Object> verifyData);
     
+    @Priority(Lane.INTERACTIVE)
     @GET("payments/{id}")
     Call<ApiResponse<Object>> getPaymentDetail(@Path("id") String id);
     
+    @Priority(Lane.INTERACTIVE)
     @GET("payments/me")
     Call<ApiResponse<List<Object>>> getMyPayments();
     
+    // Combos
+    @Priority(Lane.INTERACTIVE)
+    @GET("combos")
+    Call<ApiResponse<List<Combo>>> getCombos(
+        @Query("status") String status,
+        @Query("page") Integer page,
+        @Query("limit") Integer limit
+    );
+    
+    @Priority(Lane.INTERACTIVE)
+    @GET("combos/available")
+    Call<ApiResponse<List<Combo>>> getAvailableCombos(@Query("cinemaId") String cinemaId);
+    
+    // Membership
+    @Priority(Lane.INTERACTIVE)
+    @GET("membership/me")
+    Call<ApiResponse<MembershipSnapshot>> getMyMembership();
+    
+    // cursor = nextCursor của trang trước, null cho trang đầu
+    @Priority(Lane.PREFETCH)
+    @GET("membership/history")
+    Call<CursorPage<PointLog>> getMyPointHistory(@Query("cursor") String cursor, @Query("limit") int limit);
+    
     // Promotions
+    @Priority(Lane.PREFETCH)
     @GET("promotions/active")
     Call<ApiResponse<List<Promotion>>> getPromotions();
     
+    @Priority(Lane.INTERACTIVE)
     @GET("promotions/validate/{code}")
     Call<ApiResponse<Promotion>> validatePromotion(@Path("code") String code);
 }
@@ -0,0 +1,128 @@
+package vchung.ph59842.app_datve.api;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Theo dõi các Call đang chạy của một màn hình. Khi owner ON_DESTROY: huỷ mọi Call (OkHttp
+ * ngừng tải/parse), bỏ qua kết quả tới muộn và nhả callback ẩn danh để activity đã đóng
+ * không bị giữ lại tới khi request xong.
+ *
+ * <pre>
+ * CallScope.of(this).enqueue(api.getMovieShowtimes(id), new Callback&lt;...&gt;() { ... });
+ * </pre>
+ * Dùng trên main thread, như các repository.
+ */
+public final class CallScope implements DefaultLifecycleObserver {
+    private static final Map<LifecycleOwner, CallScope> SCOPES = new WeakHashMap<>();
+
+    // Identity: hai Call khác nhau có thể equals nhau theo request
+    private final Map<Call<?>, Scoped<?>> inFlight = new IdentityHashMap<>();
+    private boolean closed;
+
+    CallScope() {}
+
+    /** Scope của owner, tạo và gắn vào lifecycle ở lần gọi đầu. Owner đã destroy nhận scope đã đóng. */
+    public static CallScope of(LifecycleOwner owner) {
+        CallScope scope = SCOPES.get(owner);
+        if (scope != null) return scope;
+        scope = new CallScope();
+        if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            scope.close();
+            return scope;
+        }
+        SCOPES.put(owner, scope);
+        owner.getLifecycle().addObserver(scope);
+        return scope;
+    }
+
+    /** Như {@link Call#enqueue}; scope đã đóng thì huỷ Call ngay và không gọi callback. */
+    public <T> void enqueue(Call<T> call, Callback<T> callback) {
+        Scoped<T> scoped = new Scoped<>(this, call, callback);
+        synchronized (this) {
+            if (closed) {
+                call.cancel();
+                return;
+            }
+            inFlight.put(call, scoped);
+        }
+        call.enqueue(scoped);
+    }
+
+    public synchronized int inFlightCount() {
+        return inFlight.size();
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /** Huỷ mọi Call đang chạy; các lời gọi {@link #enqueue} sau đó bị bỏ qua. */
+    public void close() {
+        List<Scoped<?>> pending;
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            pending = new ArrayList<>(inFlight.values());
+            inFlight.clear();
+            for (Scoped<?> s : pending) s.delegate = null;
+        }
+        for (Scoped<?> s : pending) s.call.cancel();
+    }
+
+    @Override
+    public void onDestroy(@NonNull LifecycleOwner owner) {
+        owner.getLifecycle().removeObserver(this);
+        SCOPES.remove(owner);
+        close();
+    }
+
+    /** Lấy callback để giao kết quả, đúng một lần; null nếu scope đã đóng. */
+    private synchronized <T> Callback<T> claim(Scoped<T> scoped) {
+        inFlight.remove(scoped.call);
+        Callback<T> delegate = scoped.delegate;
+        scoped.delegate = null;
+        return closed ? null : delegate;
+    }
+
+    private static final class Scoped<T> implements Callback<T> {
+        final CallScope scope;
+        final Call<T> call;
+        // Được scope xoá khi đóng, để OkHttp chỉ còn giữ wrapper rỗng này
+        Callback<T> delegate;
+
+        Scoped(CallScope scope, Call<T> call, Callback<T> delegate) {
+            this.scope = scope;
+            this.call = call;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onResponse(Call<T> c, Response<T> response) {
+            Callback<T> target = scope.claim(this);
+            if (target != null) {
+                target.onResponse(c, response);
+            } else if (response.errorBody() != null) {
+                response.errorBody().close();
+            }
+        }
+
+        @Override
+        public void onFailure(Call<T> c, Throwable t) {
+            Callback<T> target = scope.claim(this);
+            if (target != null) target.onFailure(c, t);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package vchung.ph59842.app_datve.api.auth;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/** Đọc claim thời gian trong payload JWT; không kiểm chữ ký (việc đó của server). */
+public final class Jwt {
+    private Jwt() {}
+
+    /** {@code exp} theo millis, hoặc -1 nếu token không đọc được / không có exp. */
+    public static long expiresAtMillis(String token) {
+        return claimMillis(token, "exp");
+    }
+
+    /** {@code iat} theo millis, hoặc -1. */
+    public static long issuedAtMillis(String token) {
+        return claimMillis(token, "iat");
+    }
+
+    private static long claimMillis(String token, String claim) {
+        if (token == null) return -1;
+        String[] parts = token.trim().split("\\.");
+        if (parts.length < 2) return -1;
+        try {
+            String json = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+            JsonObject payload = JsonParser.parseString(json).getAsJsonObject();
+            JsonElement value = payload.get(claim);
+            return value != null && value.isJsonPrimitive() ? value.getAsLong() * 1000L : -1;
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package vchung.ph59842.app_datve.api.auth;
+
+import okhttp3.Authenticator;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+/**
+ * 401 với Bearer token: đổi token qua {@link TokenRefresher} rồi gửi lại request đó đúng một lần.
+ * Nhiều request cùng 401 thì chỉ request đầu gọi refresh, các request sau chờ rồi gửi lại với
+ * token mới.
+ */
+public final class TokenAuthenticator implements Authenticator {
+    private final TokenRefresher refresher;
+
+    public TokenAuthenticator(TokenRefresher refresher) {
+        this.refresher = refresher;
+    }
+
+    @Override
+    public Request authenticate(Route route, Response response) {
+        String header = response.request().header("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) return null;
+        // Đã gửi lại với token mới mà vẫn 401: token không phải vấn đề
+        if (response.priorResponse() != null) return null;
+
+        String fresh = refresher.refresh(header.substring("Bearer ".length()).trim());
+        if (fresh == null) return null;
+        return response.request().newBuilder()
+                .header("Authorization", "Bearer " + fresh)
+                .build();
+    }
+}
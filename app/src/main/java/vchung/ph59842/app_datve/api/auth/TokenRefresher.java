@@ -0,0 +1,173 @@
+package vchung.ph59842.app_datve.api.auth;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import okhttp3.Call;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Vòng đời JWT phía client: đọc {@code exp} của token đang lưu, đổi token mới qua
+ * {@code POST auth/refresh} trước khi hết hạn, và chỉ cho một lần refresh chạy tại một thời điểm.
+ * <ul>
+ *   <li>{@link #tokenForRequest()}: AuthInterceptor gọi cho mỗi request. Token đã hết hạn thì chờ
+ *   refresh (các request song song chờ cùng một lần); sắp hết hạn thì refresh nền, request vẫn đi
+ *   với token cũ.</li>
+ *   <li>{@link #refresh(String)}: TokenAuthenticator gọi khi gặp 401. Request nào mang token cũ
+ *   mà token đã được đổi thì nhận ngay token mới, không gọi refresh lần nữa.</li>
+ * </ul>
+ * {@code http} phải là client không có AuthInterceptor/TokenAuthenticator, nếu không refresh sẽ
+ * tự gọi lại chính nó.
+ */
+public final class TokenRefresher {
+    // Token 30 ngày: đổi khi còn dưới 1 ngày (token ngắn hơn: khi còn 1/5 thời hạn)
+    static final long REFRESH_AHEAD_MS = TimeUnit.DAYS.toMillis(1);
+    // Đồng hồ máy có thể lệch server; coi như hết hạn sớm hơn một chút
+    static final long CLOCK_SKEW_MS = TimeUnit.SECONDS.toMillis(30);
+    // Refresh lỗi mạng thì các request đang chờ không lần lượt thử lại ngay
+    static final long FAILURE_COOLDOWN_MS = TimeUnit.SECONDS.toMillis(10);
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+    private static final ExecutorService BACKGROUND = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "token-refresh");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final TokenStore store;
+    private final Call.Factory http;
+    private final Supplier<String> baseUrl;
+    private final LongSupplier clock;
+    private final AtomicBoolean backgroundPending = new AtomicBoolean();
+
+    private final Object lock = new Object();
+    // Các field dưới đây chỉ đọc/ghi khi giữ lock
+    private String rejectedToken;
+    private long lastFailureAt = Long.MIN_VALUE / 2;
+    private int refreshCount;
+
+    public TokenRefresher(TokenStore store, Call.Factory http, Supplier<String> baseUrl) {
+        this(store, http, baseUrl, System::currentTimeMillis);
+    }
+
+    TokenRefresher(TokenStore store, Call.Factory http, Supplier<String> baseUrl, LongSupplier clock) {
+        this.store = store;
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.clock = clock;
+    }
+
+    /** Token để gắn vào request; null nếu chưa đăng nhập. Có thể chặn khi token đã hết hạn. */
+    public String tokenForRequest() {
+        String token = store.getToken();
+        if (token == null) return null;
+        long expiresAt = Jwt.expiresAtMillis(token);
+        if (expiresAt < 0) return token;
+
+        if (clock.getAsLong() >= expiresAt - CLOCK_SKEW_MS) {
+            String fresh = refresh(token);
+            return fresh != null ? fresh : token;
+        }
+        if (isDue(token)) refreshInBackground();
+        return token;
+    }
+
+    /** Đổi token trên thread nền nếu token hiện tại đã vào khoảng cần đổi; gọi lúc mở app. */
+    public void refreshInBackground() {
+        if (!backgroundPending.compareAndSet(false, true)) return;
+        BACKGROUND.execute(() -> {
+            try {
+                String token = store.getToken();
+                if (token != null && isDue(token)) refresh(token);
+            } finally {
+                backgroundPending.set(false);
+            }
+        });
+    }
+
+    /**
+     * Token mới thay cho {@code staleToken}, hoặc null nếu không đổi được (đã đăng xuất, server từ
+     * chối, lỗi mạng). Chỉ một refresh chạy tại một thời điểm; ai chờ sau sẽ nhận token vừa đổi.
+     */
+    public String refresh(String staleToken) {
+        synchronized (lock) {
+            String current = store.getToken();
+            if (current == null) return null;
+            if (!current.equals(staleToken)) return current;
+            if (current.equals(rejectedToken)) return null;
+            if (clock.getAsLong() - lastFailureAt < FAILURE_COOLDOWN_MS) return null;
+
+            try {
+                String fresh = requestNewToken(current);
+                if (fresh == null) {
+                    // Server không nhận token này nữa: đừng thử lại với từng request 401
+                    rejectedToken = current;
+                    return null;
+                }
+                store.saveToken(fresh);
+                refreshCount++;
+                return fresh;
+            } catch (IOException e) {
+                lastFailureAt = clock.getAsLong();
+                return null;
+            }
+        }
+    }
+
+    /** Số lần đã đổi token thành công (test, màn debug). */
+    public int getRefreshCount() {
+        synchronized (lock) {
+            return refreshCount;
+        }
+    }
+
+    private boolean isDue(String token) {
+        long expiresAt = Jwt.expiresAtMillis(token);
+        if (expiresAt < 0) return false;
+        long ahead = REFRESH_AHEAD_MS;
+        long issuedAt = Jwt.issuedAtMillis(token);
+        if (issuedAt > 0 && expiresAt > issuedAt) ahead = Math.min(ahead, (expiresAt - issuedAt) / 5);
+        return clock.getAsLong() >= expiresAt - ahead;
+    }
+
+    /** Token mới, null nếu server từ chối (401/403); IOException nếu lỗi mạng hoặc lỗi server. */
+    private String requestNewToken(String token) throws IOException {
+        Request request = new Request.Builder()
+                .url(baseUrl.get() + "auth/refresh")
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", "application/json")
+                .header("ngrok-skip-browser-warning", "true")
+                .post(RequestBody.create("{}", JSON))
+                .build();
+        try (Response response = http.newCall(request).execute()) {
+            if (response.code() == 401 || response.code() == 403) return null;
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                throw new IOException("Refresh failed: HTTP " + response.code());
+            }
+            try {
+                JsonObject json = JsonParser.parseString(body.string()).getAsJsonObject();
+                JsonElement fresh = json.get("token");
+                if (fresh == null || fresh.isJsonNull() || fresh.getAsString().trim().isEmpty()) {
+                    throw new IOException("Refresh response has no token");
+                }
+                return fresh.getAsString().trim();
+            } catch (RuntimeException e) {
+                throw new IOException("Unreadable refresh response", e);
+            }
+        }
+    }
+}
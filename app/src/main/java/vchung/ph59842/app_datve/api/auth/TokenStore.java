@@ -0,0 +1,9 @@
+package vchung.ph59842.app_datve.api.auth;
+
+/** Nơi giữ token đăng nhập ({@link vchung.ph59842.app_datve.UserSession} trong app). */
+public interface TokenStore {
+    /** null khi chưa đăng nhập. */
+    String getToken();
+
+    void saveToken(String token);
+}
@@ -1,19 +1,17 @@
 package vchung.ph59842.app_datve.api.interceptor;
 
-import android.content.Context;
-
 import java.io.IOException;
 
 import okhttp3.Interceptor;
 import okhttp3.Request;
 import okhttp3.Response;
-import vchung.ph59842.app_datve.UserSession;
+import vchung.ph59842.app_datve.api.auth.TokenRefresher;
 
 public class AuthInterceptor implements Interceptor {
-    private Context context;
+    private final TokenRefresher tokenRefresher;
 
-    public AuthInterceptor(Context context) {
-        this.context = context;
+    public AuthInterceptor(TokenRefresher tokenRefresher) {
+        this.tokenRefresher = tokenRefresher;
     }
 
     @Override
@@ -33,8 +31,8 @@ public class AuthInterceptor implements Interceptor {
 
         // Only add token for protected endpoints
         if (!isPublicEndpoint) {
-            UserSession userSession = new UserSession(context);
-            String token = userSession.getToken();
+            // Token đã hết hạn thì chờ refresh ở đây, thay vì gửi đi để nhận 401
+            String token = tokenRefresher.tokenForRequest();
 
             if (token != null && !token.isEmpty()) {
                 // Đảm bảo token không có khoảng trắng thừa
@@ -53,14 +51,9 @@ public class AuthInterceptor implements Interceptor {
         Request newRequest = requestBuilder.build();
         Response response = chain.proceed(newRequest);
         
-        // Nếu nhận được 401, token không hợp lệ - clear session
+        // TokenAuthenticator đã thử đổi token và gửi lại; vẫn 401 nghĩa là phiên không cứu được
         if (response.code() == 401 && !isPublicEndpoint) {
-            android.util.Log.w("AuthInterceptor", "Received 401 for " + url + ", token may be invalid");
-            // Optionally clear invalid token
-            UserSession userSession = new UserSession(context);
-            if (userSession.isLoggedIn()) {
-                android.util.Log.w("AuthInterceptor", "Token invalid, but keeping session for now");
-            }
+            android.util.Log.w("AuthInterceptor", "Received 401 for " + url + " after token refresh attempt");
         }
         
         return response;
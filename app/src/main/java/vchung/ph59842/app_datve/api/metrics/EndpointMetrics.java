@@ -0,0 +1,106 @@
+package vchung.ph59842.app_datve.api.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Số liệu cộng dồn cho một endpoint (method + path đã chuẩn hoá). */
+public final class EndpointMetrics {
+    private final String endpoint;
+
+    final LatencyHistogram dns = new LatencyHistogram();
+    final LatencyHistogram connect = new LatencyHistogram();
+    final LatencyHistogram tls = new LatencyHistogram();
+    final LatencyHistogram ttfb = new LatencyHistogram();
+    final LatencyHistogram bodyRead = new LatencyHistogram();
+    final LatencyHistogram total = new LatencyHistogram();
+
+    final AtomicLong calls = new AtomicLong();
+    final AtomicLong failures = new AtomicLong();
+    final AtomicLong bytesSent = new AtomicLong();
+    final AtomicLong bytesReceived = new AtomicLong();
+    final AtomicLong cacheHits = new AtomicLong();
+    final AtomicLong cacheConditionalHits = new AtomicLong();
+    final AtomicLong cacheMisses = new AtomicLong();
+
+    EndpointMetrics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public LatencyHistogram getDns() {
+        return dns;
+    }
+
+    public LatencyHistogram getConnect() {
+        return connect;
+    }
+
+    public LatencyHistogram getTls() {
+        return tls;
+    }
+
+    public LatencyHistogram getTtfb() {
+        return ttfb;
+    }
+
+    public LatencyHistogram getBodyRead() {
+        return bodyRead;
+    }
+
+    public LatencyHistogram getTotal() {
+        return total;
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    public long getFailures() {
+        return failures.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public long getCacheConditionalHits() {
+        return cacheConditionalHits.get();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    /** Tỉ lệ hit (kể cả conditional/304) trên số call có đi qua cache. */
+    public double getCacheHitRate() {
+        long hits = cacheHits.get() + cacheConditionalHits.get();
+        long lookups = hits + cacheMisses.get();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    void reset() {
+        dns.reset();
+        connect.reset();
+        tls.reset();
+        ttfb.reset();
+        bodyRead.reset();
+        total.reset();
+        calls.set(0);
+        failures.set(0);
+        bytesSent.set(0);
+        bytesReceived.set(0);
+        cacheHits.set(0);
+        cacheConditionalHits.set(0);
+        cacheMisses.set(0);
+    }
+}
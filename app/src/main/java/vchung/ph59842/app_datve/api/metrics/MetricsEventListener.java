@@ -0,0 +1,143 @@
+package vchung.ph59842.app_datve.api.metrics;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Đo từng pha của một call (DNS, connect, TLS, TTFB, đọc body) và ghi vào
+ * {@link NetworkMetrics}. OkHttp tạo một listener cho mỗi call nên các field
+ * thời điểm không cần đồng bộ.
+ */
+public final class MetricsEventListener extends EventListener {
+
+    public static final EventListener.Factory FACTORY = call -> new MetricsEventListener(
+            NetworkMetrics.get().forRequest(call.request().method(), call.request().url()));
+
+    private final EndpointMetrics metrics;
+
+    private long callStartNs;
+    private long dnsStartNs;
+    private long connectStartNs;
+    private long secureConnectStartNs;
+    private long requestStartNs;
+    private long responseBodyStartNs;
+
+    private MetricsEventListener(EndpointMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    private static long micros(long startNs) {
+        return (System.nanoTime() - startNs) / 1000;
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStartNs = System.nanoTime();
+        metrics.calls.incrementAndGet();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        metrics.dns.record(micros(dnsStartNs));
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        metrics.tls.record(micros(secureConnectStartNs));
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        // Gồm cả TLS handshake
+        metrics.connect.record(micros(connectStartNs));
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void requestHeadersEnd(Call call, Request request) {
+        metrics.bytesSent.addAndGet(request.headers().byteCount());
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        metrics.bytesSent.addAndGet(byteCount);
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        if (requestStartNs != 0) {
+            metrics.ttfb.record(micros(requestStartNs));
+        }
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        metrics.bytesReceived.addAndGet(response.headers().byteCount());
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        responseBodyStartNs = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        metrics.bytesReceived.addAndGet(byteCount);
+        metrics.bodyRead.record(micros(responseBodyStartNs));
+    }
+
+    @Override
+    public void cacheHit(Call call, Response response) {
+        metrics.cacheHits.incrementAndGet();
+    }
+
+    @Override
+    public void cacheConditionalHit(Call call, Response cachedResponse) {
+        metrics.cacheConditionalHits.incrementAndGet();
+    }
+
+    @Override
+    public void cacheMiss(Call call) {
+        metrics.cacheMisses.incrementAndGet();
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        metrics.total.record(micros(callStartNs));
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        metrics.failures.incrementAndGet();
+        metrics.total.record(micros(callStartNs));
+    }
+}
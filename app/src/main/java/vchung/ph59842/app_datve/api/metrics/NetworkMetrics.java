@@ -0,0 +1,135 @@
+package vchung.ph59842.app_datve.api.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import okhttp3.HttpUrl;
+import vchung.ph59842.app_datve.api.ApiClient;
+
+/**
+ * Nơi gom số liệu network theo endpoint.
+ * Ghi từ {@link MetricsEventListener}; đọc qua {@link #getAll()} hoặc {@link #dump()}
+ * (màn debug NetworkMetricsActivity, logcat tag "NetworkMetrics").
+ */
+public final class NetworkMetrics {
+    private static final String TAG = "NetworkMetrics";
+    // ObjectId của Mongo, số thuần, hoặc UUID -> {id} để gom cùng một endpoint
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "[0-9a-fA-F]{24}|\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private static final NetworkMetrics INSTANCE = new NetworkMetrics();
+
+    private final ConcurrentHashMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    // Base URL đổi được lúc chạy (ApiClient.setBaseUrl): chỉ parse lại khi nó đổi
+    private volatile BasePath basePath = new BasePath(null, "/");
+
+    private static final class BasePath {
+        final String baseUrl;
+        final String path;
+
+        BasePath(String baseUrl, String path) {
+            this.baseUrl = baseUrl;
+            this.path = path;
+        }
+    }
+
+    private NetworkMetrics() {
+    }
+
+    public static NetworkMetrics get() {
+        return INSTANCE;
+    }
+
+    EndpointMetrics forRequest(String method, HttpUrl url) {
+        String key = method + " " + normalizePath(url);
+        EndpointMetrics metrics = endpoints.get(key);
+        if (metrics == null) {
+            metrics = endpoints.computeIfAbsent(key, EndpointMetrics::new);
+        }
+        return metrics;
+    }
+
+    String normalizePath(HttpUrl url) {
+        String path = url.encodedPath();
+        String prefix = currentBasePath();
+        if (path.startsWith(prefix)) {
+            path = path.substring(prefix.length());
+        }
+        List<String> segments = new ArrayList<>();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) continue;
+            segments.add(ID_SEGMENT.matcher(segment).matches() ? "{id}" : segment);
+        }
+        return String.join("/", segments);
+    }
+
+    private String currentBasePath() {
+        String baseUrl = ApiClient.getBaseUrl();
+        BasePath cached = basePath;
+        if (baseUrl == null || baseUrl.equals(cached.baseUrl)) return cached.path;
+        HttpUrl base = HttpUrl.parse(baseUrl);
+        cached = new BasePath(baseUrl, base != null ? base.encodedPath() : "/");
+        basePath = cached;
+        return cached.path;
+    }
+
+    /** Tất cả endpoint, sắp theo tên. */
+    public List<EndpointMetrics> getAll() {
+        List<EndpointMetrics> list = new ArrayList<>(endpoints.values());
+        Collections.sort(list, (a, b) -> a.getEndpoint().compareTo(b.getEndpoint()));
+        return list;
+    }
+
+    public void reset() {
+        for (EndpointMetrics metrics : endpoints.values()) {
+            metrics.reset();
+        }
+    }
+
+    /** Bảng text p50/p95/p99 (ms) cho từng endpoint và từng pha. */
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        for (EndpointMetrics m : getAll()) {
+            sb.append(m.getEndpoint()).append('\n');
+            sb.append(String.format(Locale.US,
+                    "  calls=%d failed=%d sent=%s recv=%s cache=%d/%d/%d (hit %.0f%%)%n",
+                    m.getCalls(), m.getFailures(),
+                    formatBytes(m.getBytesSent()), formatBytes(m.getBytesReceived()),
+                    m.getCacheHits(), m.getCacheConditionalHits(), m.getCacheMisses(),
+                    m.getCacheHitRate() * 100));
+            appendPhase(sb, "total", m.getTotal());
+            appendPhase(sb, "dns", m.getDns());
+            appendPhase(sb, "connect", m.getConnect());
+            appendPhase(sb, "tls", m.getTls());
+            appendPhase(sb, "ttfb", m.getTtfb());
+            appendPhase(sb, "body", m.getBodyRead());
+        }
+        if (sb.length() == 0) sb.append("No calls recorded\n");
+        return sb.toString();
+    }
+
+    public void dumpToLog() {
+        for (String line : dump().split("\n")) {
+            android.util.Log.i(TAG, line);
+        }
+    }
+
+    private static void appendPhase(StringBuilder sb, String name, LatencyHistogram h) {
+        if (h.getCount() == 0) return;
+        sb.append(String.format(Locale.US,
+                "  %-8s n=%-5d p50=%7.1f p95=%7.1f p99=%7.1f max=%7.1f ms%n",
+                name, h.getCount(),
+                h.getPercentile(50) / 1000.0, h.getPercentile(95) / 1000.0,
+                h.getPercentile(99) / 1000.0, h.getMax() / 1000.0));
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + "B";
+        if (bytes < 1024 * 1024) return String.format(Locale.US, "%.1fKB", bytes / 1024.0);
+        return String.format(Locale.US, "%.1fMB", bytes / (1024.0 * 1024));
+    }
+}
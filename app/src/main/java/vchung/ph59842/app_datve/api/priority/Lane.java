@@ -0,0 +1,27 @@
+package vchung.ph59842.app_datve.api.priority;
+
+/**
+ * Làn ưu tiên của một request, theo thứ tự khai báo: làn trước luôn được lấy slot trước.
+ * Mỗi làn có giới hạn song song riêng; PREFETCH + TELEMETRY cộng lại không bao giờ chiếm hết
+ * {@link LaneScheduler#MAX_IN_FLIGHT}, nên request người dùng đang chờ luôn còn slot.
+ */
+public enum Lane {
+    /** Giữ ghế, đặt vé, thanh toán: không được chờ sau bất kỳ thứ gì khác. */
+    PAYMENT(2),
+    /** Người dùng đang nhìn màn hình chờ kết quả (danh sách phim, sơ đồ ghế...). */
+    INTERACTIVE(4),
+    /** Làm nóng cache trong nền: tóm tắt suất chiếu, khuyến mãi, lịch sử điểm. */
+    PREFETCH(2),
+    /** Số liệu/log gửi lên server; đi sau cùng, một request một lúc. */
+    TELEMETRY(1);
+
+    private final int maxInFlight;
+
+    Lane(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+}
@@ -0,0 +1,196 @@
+package vchung.ph59842.app_datve.api.priority;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Timeout;
+import retrofit2.Invocation;
+
+/**
+ * Call.Factory đứng giữa Retrofit và OkHttpClient, xếp các call bất đồng bộ theo {@link Lane}.
+ * Dispatcher của OkHttp chỉ có một hàng FIFO (5 request/host), nên prefetch xếp trước có thể
+ * bắt lần chạm vào sơ đồ ghế phải chờ. Ở đây:
+ * <ul>
+ *   <li>tổng số call đang chạy không quá {@link #MAX_IN_FLIGHT}, mỗi làn không quá
+ *   {@link Lane#getMaxInFlight()};</li>
+ *   <li>khi có slot trống, làn ưu tiên cao hơn luôn được lấy trước, nên call PREFETCH/TELEMETRY
+ *   đang chờ bị call mới của làn cao hơn vượt lên;</li>
+ *   <li>huỷ call còn trong hàng thì bỏ khỏi hàng, không gửi đi.</li>
+ * </ul>
+ * Call đồng bộ ({@code execute()}) không qua hàng đợi.
+ */
+public final class LaneScheduler implements Call.Factory {
+    public static final int MAX_IN_FLIGHT = 6;
+
+    private final Call.Factory delegate;
+    private final int maxInFlight;
+    private final Map<Lane, ArrayDeque<LaneCall>> queued = new EnumMap<>(Lane.class);
+    private final Map<Lane, Integer> running = new EnumMap<>(Lane.class);
+    private int runningTotal;
+
+    public LaneScheduler(Call.Factory delegate) {
+        this(delegate, MAX_IN_FLIGHT);
+    }
+
+    LaneScheduler(Call.Factory delegate, int maxInFlight) {
+        this.delegate = delegate;
+        this.maxInFlight = maxInFlight;
+        for (Lane lane : Lane.values()) {
+            queued.put(lane, new ArrayDeque<>());
+            running.put(lane, 0);
+        }
+    }
+
+    @Override
+    public Call newCall(Request request) {
+        return new LaneCall(delegate.newCall(request), laneOf(request));
+    }
+
+    /** Tag {@link Lane} đặt tay trên Request, rồi tới {@link Priority} của method ApiService. */
+    public static Lane laneOf(Request request) {
+        Lane tagged = request.tag(Lane.class);
+        if (tagged != null) return tagged;
+        Invocation invocation = request.tag(Invocation.class);
+        Priority priority = invocation != null ? invocation.method().getAnnotation(Priority.class) : null;
+        return priority != null ? priority.value() : Lane.INTERACTIVE;
+    }
+
+    public synchronized int queuedCount(Lane lane) {
+        return queued.get(lane).size();
+    }
+
+    public synchronized int runningCount(Lane lane) {
+        return running.get(lane);
+    }
+
+    private void enqueue(LaneCall call) {
+        synchronized (this) {
+            queued.get(call.lane).addLast(call);
+        }
+        promote();
+    }
+
+    private void finished(LaneCall call) {
+        synchronized (this) {
+            running.put(call.lane, running.get(call.lane) - 1);
+            runningTotal--;
+        }
+        promote();
+    }
+
+    /** true nếu call còn trong hàng (chưa gửi) và đã được gỡ ra. */
+    private synchronized boolean removeQueued(LaneCall call) {
+        return queued.get(call.lane).remove(call);
+    }
+
+    private void promote() {
+        List<LaneCall> ready = new ArrayList<>();
+        synchronized (this) {
+            for (Lane lane : Lane.values()) {
+                ArrayDeque<LaneCall> queue = queued.get(lane);
+                while (!queue.isEmpty() && runningTotal < maxInFlight && running.get(lane) < lane.getMaxInFlight()) {
+                    ready.add(queue.pollFirst());
+                    running.put(lane, running.get(lane) + 1);
+                    runningTotal++;
+                }
+            }
+        }
+        // Gửi ngoài lock: delegate có thể gọi callback ngay trên thread này
+        for (LaneCall call : ready) call.start();
+    }
+
+    private final class LaneCall implements Call {
+        private final Call raw;
+        private final Lane lane;
+        private Callback callback;
+        private boolean executed;
+
+        LaneCall(Call raw, Lane lane) {
+            this.raw = raw;
+            this.lane = lane;
+        }
+
+        @Override
+        public Request request() {
+            return raw.request();
+        }
+
+        @Override
+        public Response execute() throws IOException {
+            synchronized (this) {
+                if (executed) throw new IllegalStateException("Already Executed");
+                executed = true;
+            }
+            return raw.execute();
+        }
+
+        @Override
+        public void enqueue(Callback responseCallback) {
+            synchronized (this) {
+                if (executed) throw new IllegalStateException("Already Executed");
+                executed = true;
+                callback = responseCallback;
+            }
+            LaneScheduler.this.enqueue(this);
+        }
+
+        void start() {
+            raw.enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    try {
+                        callback.onFailure(LaneCall.this, e);
+                    } finally {
+                        finished(LaneCall.this);
+                    }
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) throws IOException {
+                    // Slot giữ tới khi callback đọc xong body, giống Dispatcher của OkHttp
+                    try {
+                        callback.onResponse(LaneCall.this, response);
+                    } finally {
+                        finished(LaneCall.this);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            raw.cancel();
+            if (removeQueued(this)) {
+                callback.onFailure(this, new IOException("Canceled"));
+            }
+        }
+
+        @Override
+        public synchronized boolean isExecuted() {
+            return executed;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return raw.isCanceled();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return raw.timeout();
+        }
+
+        @Override
+        public Call clone() {
+            return new LaneCall(raw.clone(), lane);
+        }
+    }
+}
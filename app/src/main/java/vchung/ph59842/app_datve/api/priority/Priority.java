@@ -0,0 +1,18 @@
+package vchung.ph59842.app_datve.api.priority;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Làn của một method trong {@link vchung.ph59842.app_datve.api.ApiService}; {@link LaneScheduler}
+ * đọc qua tag {@code retrofit2.Invocation} của request. Thiếu annotation = {@link Lane#INTERACTIVE}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Priority {
+    Lane value();
+}
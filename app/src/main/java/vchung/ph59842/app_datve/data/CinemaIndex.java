@@ -0,0 +1,209 @@
+package vchung.ph59842.app_datve.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+import vchung.ph59842.app_datve.models.Cinema;
+
+/**
+ * Chỉ mục rạp dựng một lần từ danh sách /cinemas: tra theo id, theo thành phố
+ * (khóa đã bỏ dấu nên "Hà Nội" = "ha noi") và theo tọa độ.
+ * Tọa độ được chia lưới ô {@link #CELL_DEG} độ; tìm rạp gần nhất chỉ duyệt các vòng ô
+ * quanh vị trí người dùng thay vì tính khoảng cách tới mọi rạp. Bất biến, an toàn đa luồng.
+ */
+public final class CinemaIndex {
+    public static final CinemaIndex EMPTY = new CinemaIndex(Collections.<Cinema>emptyList());
+
+    // ~11 km theo vĩ độ: một thành phố lớn nằm trong vài chục ô
+    static final double CELL_DEG = 0.1;
+    // Vị trí ở quá xa mọi rạp (vd. emulator ở Mỹ) thì quét tuyến tính cho nhanh
+    private static final int MAX_RINGS = 64;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEG = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private static final Comparator<Cinema> BY_NAME = (a, b) -> {
+        String x = a.getName() != null ? a.getName() : "";
+        String y = b.getName() != null ? b.getName() : "";
+        return x.compareToIgnoreCase(y);
+    };
+
+    private final Map<String, Cinema> byId = new HashMap<>();
+    private final List<Cinema> all;
+    // khóa thành phố đã fold -> rạp (theo tên); giữ tên hiển thị đầu tiên gặp
+    private final Map<String, List<Cinema>> byCity = new LinkedHashMap<>();
+    private final List<String> cityNames = new ArrayList<>();
+    private final Map<Long, List<Cinema>> cells = new HashMap<>();
+    private final List<Cinema> located = new ArrayList<>();
+    private int minLatCell, maxLatCell, minLngCell, maxLngCell;
+
+    public CinemaIndex(List<Cinema> cinemas) {
+        List<Cinema> sorted = new ArrayList<>();
+        for (Cinema c : cinemas) {
+            if (c != null && c.getId() != null && c.isActive()) sorted.add(c);
+        }
+        Collections.sort(sorted, BY_NAME);
+        all = Collections.unmodifiableList(sorted);
+
+        Map<String, String> displayCity = new HashMap<>();
+        for (Cinema c : all) {
+            byId.put(c.getId(), c);
+            String key = MovieSearchIndex.fold(c.getCity());
+            if (!key.isEmpty()) {
+                List<Cinema> list = byCity.get(key);
+                if (list == null) {
+                    list = new ArrayList<>();
+                    byCity.put(key, list);
+                    displayCity.put(key, c.getCity().trim());
+                }
+                list.add(c);
+            }
+            if (c.hasCoordinates()) {
+                int latCell = cell(c.getLatitude());
+                int lngCell = cell(c.getLongitude());
+                List<Cinema> bucket = cells.get(cellKey(latCell, lngCell));
+                if (bucket == null) {
+                    bucket = new ArrayList<>(2);
+                    cells.put(cellKey(latCell, lngCell), bucket);
+                }
+                bucket.add(c);
+                if (located.isEmpty()) {
+                    minLatCell = maxLatCell = latCell;
+                    minLngCell = maxLngCell = lngCell;
+                } else {
+                    minLatCell = Math.min(minLatCell, latCell);
+                    maxLatCell = Math.max(maxLatCell, latCell);
+                    minLngCell = Math.min(minLngCell, lngCell);
+                    maxLngCell = Math.max(maxLngCell, lngCell);
+                }
+                located.add(c);
+            }
+        }
+        cityNames.addAll(displayCity.values());
+        Collections.sort(cityNames, (a, b) -> MovieSearchIndex.fold(a).compareTo(MovieSearchIndex.fold(b)));
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    public Cinema byId(String id) {
+        return id != null ? byId.get(id) : null;
+    }
+
+    /** Mọi rạp đang hoạt động, theo tên. */
+    public List<Cinema> all() {
+        return all;
+    }
+
+    /** Tên thành phố để hiển thị, theo thứ tự chữ cái không dấu. */
+    public List<String> cities() {
+        return Collections.unmodifiableList(cityNames);
+    }
+
+    public List<Cinema> inCity(String city) {
+        List<Cinema> list = byCity.get(MovieSearchIndex.fold(city));
+        return list != null ? Collections.unmodifiableList(list) : Collections.<Cinema>emptyList();
+    }
+
+    public List<Cinema> nearest(double lat, double lng, int k) {
+        return nearest(lat, lng, k, Double.POSITIVE_INFINITY, null);
+    }
+
+    /**
+     * Tối đa {@code k} rạp gần nhất trong bán kính {@code maxKm}, gần trước.
+     * {@code filter} (có thể null) loại bớt rạp, vd. chỉ rạp có suất của phim đang xem.
+     */
+    public List<Cinema> nearest(double lat, double lng, int k, double maxKm, Predicate<Cinema> filter) {
+        if (k <= 0 || located.isEmpty() || Double.isNaN(lat) || Double.isNaN(lng)) {
+            return Collections.emptyList();
+        }
+        // Max-heap theo khoảng cách: đỉnh là rạp xa nhất trong k rạp đang giữ
+        PriorityQueue<Hit> top = new PriorityQueue<>(k + 1, (a, b) -> Double.compare(b.km, a.km));
+        int latCell = cell(lat);
+        int lngCell = cell(lng);
+        int rings = Math.max(Math.max(Math.abs(latCell - minLatCell), Math.abs(latCell - maxLatCell)),
+                Math.max(Math.abs(lngCell - minLngCell), Math.abs(lngCell - maxLngCell)));
+
+        if (rings > MAX_RINGS) {
+            for (Cinema c : located) offer(top, k, maxKm, filter, c, lat, lng);
+        } else {
+            // cos nhỏ nhất trong vùng đang quét -> cận dưới an toàn cho khoảng cách theo kinh độ
+            double cosLat = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(lat) + rings * CELL_DEG)));
+            for (int r = 0; r <= rings; r++) {
+                if (r > 0) {
+                    // Mọi rạp ở vòng r trở ra cách ít nhất (r - 1) ô theo một trục
+                    double bound = (r - 1) * CELL_DEG * KM_PER_DEG * cosLat;
+                    if (bound > maxKm) break;
+                    if (top.size() == k && bound > top.peek().km) break;
+                }
+                for (int dLat = -r; dLat <= r; dLat++) {
+                    boolean edge = dLat == -r || dLat == r;
+                    for (int dLng = -r; dLng <= r; dLng += edge ? 1 : 2 * r) {
+                        List<Cinema> bucket = cells.get(cellKey(latCell + dLat, lngCell + dLng));
+                        if (bucket == null) continue;
+                        for (Cinema c : bucket) offer(top, k, maxKm, filter, c, lat, lng);
+                    }
+                }
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        Collections.sort(hits, (a, b) -> Double.compare(a.km, b.km));
+        List<Cinema> result = new ArrayList<>(hits.size());
+        for (Hit h : hits) result.add(h.cinema);
+        return result;
+    }
+
+    /** Khoảng cách từ (lat, lng) tới rạp; NaN nếu rạp không có tọa độ. */
+    public static double distanceKm(Cinema cinema, double lat, double lng) {
+        if (cinema == null || !cinema.hasCoordinates()) return Double.NaN;
+        return distanceKm(lat, lng, cinema.getLatitude(), cinema.getLongitude());
+    }
+
+    /** Haversine. */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static void offer(PriorityQueue<Hit> top, int k, double maxKm, Predicate<Cinema> filter,
+                              Cinema c, double lat, double lng) {
+        double km = distanceKm(c, lat, lng);
+        if (km > maxKm || (filter != null && !filter.test(c))) return;
+        if (top.size() < k) {
+            top.add(new Hit(c, km));
+        } else if (km < top.peek().km) {
+            top.poll();
+            top.add(new Hit(c, km));
+        }
+    }
+
+    private static int cell(double deg) {
+        return (int) Math.floor(deg / CELL_DEG);
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        return ((long) latCell << 32) | (lngCell & 0xffffffffL);
+    }
+
+    private static final class Hit {
+        final Cinema cinema;
+        final double km;
+
+        Hit(Cinema cinema, double km) {
+            this.cinema = cinema;
+            this.km = km;
+        }
+    }
+}
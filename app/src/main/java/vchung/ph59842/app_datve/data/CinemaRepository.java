@@ -0,0 +1,101 @@
+package vchung.ph59842.app_datve.data;
+
+import android.content.Context;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import vchung.ph59842.app_datve.api.ApiClient;
+import vchung.ph59842.app_datve.models.ApiResponse;
+import vchung.ph59842.app_datve.models.Cinema;
+
+/**
+ * Danh sách rạp dùng chung: tải /cinemas một lần mỗi {@link #TTL_MS} (rạp gần như không đổi)
+ * rồi các màn hình chỉ truy vấn {@link CinemaIndex}. Chỉ dùng trên main thread.
+ */
+public final class CinemaRepository {
+    public interface Listener {
+        void onLoaded(CinemaIndex index);
+
+        void onError(String message);
+    }
+
+    private static final long TTL_MS = 30 * 60_000L;
+    // Backend mặc định limit=10; hệ thống rạp nhỏ nên lấy hết trong một trang
+    private static final int PAGE_SIZE = 200;
+    private static final CinemaRepository INSTANCE = new CinemaRepository();
+
+    private CinemaIndex index = CinemaIndex.EMPTY;
+    private long loadedAtMs = 0L;
+    private final List<Listener> waiting = new ArrayList<>();
+    private boolean loading = false;
+
+    private CinemaRepository() {}
+
+    public static CinemaRepository get() {
+        return INSTANCE;
+    }
+
+    /** Chỉ mục hiện có, có thể rỗng nếu chưa tải lần nào. */
+    public CinemaIndex current() {
+        return index;
+    }
+
+    public boolean isFresh() {
+        return loadedAtMs > 0 && System.currentTimeMillis() - loadedAtMs < TTL_MS;
+    }
+
+    public void load(Context context, boolean force, Listener listener) {
+        if (!force && isFresh()) {
+            listener.onLoaded(index);
+            return;
+        }
+        waiting.add(listener);
+        if (loading) return;
+        loading = true;
+        ApiClient.getApiService(context).getCinemas(1, PAGE_SIZE).enqueue(new Callback<ApiResponse<List<Cinema>>>() {
+            @Override
+            public void onResponse(Call<ApiResponse<List<Cinema>>> call, Response<ApiResponse<List<Cinema>>> response) {
+                ApiResponse<List<Cinema>> body = response.body();
+                if (response.isSuccessful() && body != null && body.isSuccess() && body.getData() != null) {
+                    update(body.getData());
+                    finish(null);
+                } else {
+                    finish("Response not successful: " + response.code());
+                }
+            }
+
+            @Override
+            public void onFailure(Call<ApiResponse<List<Cinema>>> call, Throwable t) {
+                finish(t.getMessage() != null ? t.getMessage() : "Unknown");
+            }
+        });
+    }
+
+    public void update(List<Cinema> cinemas) {
+        index = new CinemaIndex(cinemas);
+        loadedAtMs = System.currentTimeMillis();
+    }
+
+    public void invalidate() {
+        loadedAtMs = 0L;
+    }
+
+    /** Bỏ listener đang chờ (màn hình đã đóng); request dùng chung vẫn chạy để làm ấm cache. */
+    public void removeListener(Listener listener) {
+        waiting.remove(listener);
+    }
+
+    private void finish(String error) {
+        loading = false;
+        List<Listener> listeners = new ArrayList<>(waiting);
+        waiting.clear();
+        for (Listener l : listeners) {
+            if (error == null) l.onLoaded(index);
+            else l.onError(error);
+        }
+    }
+}
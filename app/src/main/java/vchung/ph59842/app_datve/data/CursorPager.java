@@ -0,0 +1,103 @@
+package vchung.ph59842.app_datve.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Nguồn dữ liệu phân trang theo cursor cho RecyclerView.
+ * Màn hình báo vị trí cuộn qua {@link #onScrolled}; pager tự tải trang kế khi còn
+ * ít hơn {@code prefetchDistance} dòng, mỗi lần tối đa một request.
+ * Không đồng bộ hóa: mọi lời gọi và callback phải ở cùng một thread (main).
+ */
+public final class CursorPager<T> {
+    /** Tải một trang bắt đầu sau {@code cursor} (null = trang đầu). */
+    public interface PageLoader<T> {
+        void load(String cursor, int limit, PageCallback<T> callback);
+    }
+
+    public interface PageCallback<T> {
+        void onPage(List<T> items, String nextCursor, boolean hasMore);
+
+        void onError(String message);
+    }
+
+    public interface Listener<T> {
+        /** Ảnh chụp bất biến của toàn bộ item đã tải, đưa thẳng vào ListAdapter.submitList. */
+        void onItems(List<T> items, boolean hasMore);
+
+        void onError(String message, boolean firstPage);
+    }
+
+    private final PageLoader<T> loader;
+    private final int pageSize;
+    private final int prefetchDistance;
+    private final Listener<T> listener;
+
+    private final List<T> items = new ArrayList<>();
+    private String nextCursor = null;
+    private boolean hasMore = true;
+    private boolean loading = false;
+    // Tăng mỗi lần refresh để bỏ qua response của lượt tải cũ
+    private int generation = 0;
+
+    public CursorPager(PageLoader<T> loader, int pageSize, int prefetchDistance, Listener<T> listener) {
+        this.loader = loader;
+        this.pageSize = pageSize;
+        this.prefetchDistance = prefetchDistance;
+        this.listener = listener;
+    }
+
+    /** Gọi từ OnScrollListener với vị trí item cuối đang hiển thị. */
+    public void onScrolled(int lastVisiblePosition) {
+        if (lastVisiblePosition >= items.size() - prefetchDistance) loadMore();
+    }
+
+    public void loadMore() {
+        if (loading || !hasMore) return;
+        loading = true;
+        final int gen = generation;
+        final boolean firstPage = items.isEmpty();
+        loader.load(nextCursor, pageSize, new PageCallback<T>() {
+            @Override
+            public void onPage(List<T> page, String cursor, boolean more) {
+                if (gen != generation) return;
+                loading = false;
+                if (page != null) items.addAll(page);
+                nextCursor = cursor;
+                // Server không trả cursor thì không thể đi tiếp dù hasMore=true
+                hasMore = more && cursor != null;
+                listener.onItems(Collections.unmodifiableList(new ArrayList<>(items)), hasMore);
+            }
+
+            @Override
+            public void onError(String message) {
+                if (gen != generation) return;
+                loading = false;
+                listener.onError(message, firstPage);
+            }
+        });
+    }
+
+    /** Bỏ các trang đã tải và tải lại từ đầu. */
+    public void refresh() {
+        generation++;
+        items.clear();
+        nextCursor = null;
+        hasMore = true;
+        loading = false;
+        loadMore();
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public boolean isLoading() {
+        return loading;
+    }
+}
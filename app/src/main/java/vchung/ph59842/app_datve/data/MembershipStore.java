@@ -3,23 +3,226 @@ package vchung.ph59842.app_datve.data;
 import android.content.Context;
 import android.content.SharedPreferences;
 
-import org.json.JSONObject;
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 
-public class MembershipStore {
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import vchung.ph59842.app_datve.api.ApiClient;
+import vchung.ph59842.app_datve.models.ApiResponse;
+import vchung.ph59842.app_datve.models.MembershipSnapshot;
+
+/**
+ * Nguồn hạng/điểm thành viên dùng chung cho Account, Membership và Booking.
+ * Snapshot được nhớ trong bộ nhớ và lưu vào SharedPreferences dạng
+ * {"v":1,"savedAt":ms,"data":{...}}; màn hình hiển thị ngay bản đang có rồi
+ * làm mới nền khi quá {@link #TTL_MS} (stale-while-revalidate), tối đa một request
+ * cùng lúc. Listener chỉ được gọi khi dữ liệu thực sự thay đổi. Chỉ dùng trên main thread.
+ */
+public final class MembershipStore {
+    public interface Listener {
+        void onMembershipChanged(MembershipSnapshot snapshot);
+    }
+
+    /** Nơi giữ blob JSON đã version; bản thật là SharedPreferences. */
+    interface Storage {
+        String read();
+
+        void write(String json);
+    }
+
+    interface Fetcher {
+        void fetch(FetchCallback callback);
+    }
+
+    interface FetchCallback {
+        void onResult(MembershipSnapshot snapshot);
+
+        void onError(String message);
+    }
+
+    static final int SCHEMA_VERSION = 1;
+    static final long TTL_MS = 2 * 60_000L;
     private static final String PREF = "membership_store";
     private static final String KEY_SNAPSHOT = "snapshot";
 
-    public static void saveSnapshot(Context ctx, String json) {
+    private static MembershipStore instance;
+
+    private final Storage storage;
+    private final Fetcher fetcher;
+    private final LongSupplier clock;
+    private final Gson gson;
+    private final List<Listener> listeners = new ArrayList<>();
+
+    private MembershipSnapshot snapshot;
+    private long savedAtMs = 0L;
+    private boolean restored = false;
+    private boolean loading = false;
+    // Tăng khi clear() (đăng xuất) để bỏ response của phiên cũ
+    private int generation = 0;
+
+    MembershipStore(Storage storage, Fetcher fetcher, LongSupplier clock, Gson gson) {
+        this.storage = storage;
+        this.fetcher = fetcher;
+        this.clock = clock;
+        this.gson = gson;
+    }
+
+    public static synchronized MembershipStore get(Context context) {
+        if (instance == null) {
+            Context app = context.getApplicationContext();
+            SharedPreferences sp = app.getSharedPreferences(PREF, Context.MODE_PRIVATE);
+            Storage storage = new Storage() {
+                @Override
+                public String read() {
+                    return sp.getString(KEY_SNAPSHOT, null);
+                }
+
+                @Override
+                public void write(String json) {
+                    if (json == null) sp.edit().remove(KEY_SNAPSHOT).apply();
+                    else sp.edit().putString(KEY_SNAPSHOT, json).apply();
+                }
+            };
+            instance = new MembershipStore(storage, callback -> fetchFromApi(app, callback),
+                    System::currentTimeMillis, ApiClient.getGson());
+        }
+        return instance;
+    }
+
+    private static void fetchFromApi(Context app, FetchCallback callback) {
+        ApiClient.getApiService(app).getMyMembership().enqueue(new Callback<ApiResponse<MembershipSnapshot>>() {
+            @Override
+            public void onResponse(Call<ApiResponse<MembershipSnapshot>> call, Response<ApiResponse<MembershipSnapshot>> response) {
+                ApiResponse<MembershipSnapshot> body = response.body();
+                if (response.isSuccessful() && body != null && body.isSuccess() && body.getData() != null) {
+                    callback.onResult(body.getData());
+                } else {
+                    callback.onError("Response not successful: " + response.code());
+                }
+            }
+
+            @Override
+            public void onFailure(Call<ApiResponse<MembershipSnapshot>> call, Throwable t) {
+                android.util.Log.w("MembershipStore", "Refresh membership failed", t);
+                callback.onError(t.getMessage() != null ? t.getMessage() : "Unknown");
+            }
+        });
+    }
+
+    /** Snapshot đang có (bộ nhớ, rồi tới đĩa); null nếu chưa từng tải. */
+    public MembershipSnapshot current() {
+        restore();
+        return snapshot;
+    }
+
+    public boolean isFresh() {
+        restore();
+        return snapshot != null && clock.getAsLong() - savedAtMs < TTL_MS;
+    }
+
+    /** Đăng ký nhận thay đổi; nhận ngay bản đang có, rồi làm mới nền nếu đã cũ. */
+    public void addListener(Listener listener) {
+        if (!listeners.contains(listener)) listeners.add(listener);
+        MembershipSnapshot s = current();
+        if (s != null) listener.onMembershipChanged(s);
+        refreshIfStale();
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    public void refreshIfStale() {
+        if (!isFresh()) refresh();
+    }
+
+    /** Gọi /membership/me; bỏ qua nếu đang có request chạy. */
+    public void refresh() {
+        if (loading) return;
+        loading = true;
+        final int gen = generation;
+        fetcher.fetch(new FetchCallback() {
+            @Override
+            public void onResult(MembershipSnapshot result) {
+                if (gen != generation) return;
+                loading = false;
+                update(result);
+            }
+
+            @Override
+            public void onError(String message) {
+                if (gen != generation) return;
+                // Giữ bản cũ; lần addListener/refreshIfStale sau sẽ thử lại
+                loading = false;
+            }
+        });
+    }
+
+    /** Ghi snapshot mới (vd. từ response xác nhận thanh toán) và báo cho các màn hình. */
+    public void update(MembershipSnapshot next) {
+        if (next == null) return;
+        restore();
+        boolean changed = !next.equals(snapshot);
+        snapshot = next;
+        savedAtMs = clock.getAsLong();
+        storage.write(encode(next, savedAtMs));
+        if (!changed) return;
+        for (Listener l : new ArrayList<>(listeners)) l.onMembershipChanged(next);
+    }
+
+    /** Như {@link #update} nhưng nhận JSON thô; JSON không hợp lệ thì bỏ qua. */
+    public void updateFromJson(String json) {
+        try {
+            update(gson.fromJson(json, MembershipSnapshot.class));
+        } catch (RuntimeException ignore) {}
+    }
+
+    /** Xóa khi đăng xuất để người dùng sau không thấy hạng của người trước. */
+    public void clear() {
+        generation++;
+        loading = false;
+        snapshot = null;
+        savedAtMs = 0L;
+        restored = true;
+        storage.write(null);
+    }
+
+    private void restore() {
+        if (restored) return;
+        restored = true;
+        String raw = storage.read();
+        if (raw == null) return;
         try {
-            if (json == null) return;
-            new JSONObject(json); // validate
-            SharedPreferences sp = ctx.getSharedPreferences(PREF, Context.MODE_PRIVATE);
-            sp.edit().putString(KEY_SNAPSHOT, json).apply();
-        } catch (Exception ignore) {}
+            JsonObject root = JsonParser.parseString(raw).getAsJsonObject();
+            if (root.has("v")) {
+                if (root.get("v").getAsInt() != SCHEMA_VERSION) return;
+                snapshot = gson.fromJson(root.get("data"), MembershipSnapshot.class);
+                savedAtMs = root.has("savedAt") ? root.get("savedAt").getAsLong() : 0L;
+            } else {
+                // Bản cũ lưu JSON thô, có khi bọc trong {"data": ...}; coi là đã cũ để tải lại
+                JsonElement data = root.has("data") ? root.get("data") : root;
+                snapshot = gson.fromJson(data, MembershipSnapshot.class);
+                savedAtMs = 0L;
+            }
+        } catch (RuntimeException e) {
+            snapshot = null;
+            savedAtMs = 0L;
+        }
     }
 
-    public static String getSnapshot(Context ctx) {
-        SharedPreferences sp = ctx.getSharedPreferences(PREF, Context.MODE_PRIVATE);
-        return sp.getString(KEY_SNAPSHOT, null);
+    private String encode(MembershipSnapshot s, long savedAt) {
+        JsonObject root = new JsonObject();
+        root.addProperty("v", SCHEMA_VERSION);
+        root.addProperty("savedAt", savedAt);
+        root.add("data", gson.toJsonTree(s));
+        return root.toString();
     }
 }
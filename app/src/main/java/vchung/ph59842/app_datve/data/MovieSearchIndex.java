@@ -0,0 +1,286 @@
+package vchung.ph59842.app_datve.data;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import vchung.ph59842.app_datve.models.Movie;
+
+/**
+ * Chỉ mục tìm phim offline trên các phim đã tải: tiêu đề, đạo diễn, diễn viên, thể loại
+ * và mô tả. Văn bản được bỏ dấu tiếng Việt ("Lật Mặt" -> "lat mat") rồi đánh chỉ mục
+ * theo mọi tiền tố của từng từ (edge n-gram), nên gõ "lat m" đã ra kết quả.
+ * Mỗi lần đồng bộ danh mục chỉ đánh lại các phim có nội dung thay đổi.
+ * Thread-safe: mọi thao tác khóa trên chính đối tượng.
+ */
+public final class MovieSearchIndex {
+    // Trọng số theo trường; khớp trọn từ được gấp đôi khớp tiền tố
+    static final int W_TITLE = 8;
+    static final int W_PEOPLE = 4;
+    static final int W_GENRE = 3;
+    static final int W_DESCRIPTION = 1;
+    // Tiêu đề bắt đầu bằng đúng cụm đã gõ
+    static final int TITLE_PREFIX_BONUS = 16;
+    // Tiền tố dài hơn không có key riêng; từ truy vấn dài hơn được lọc lại trên token của phim
+    static final int MAX_PREFIX = 12;
+
+    private static final MovieSearchIndex INSTANCE = new MovieSearchIndex();
+    // Một thread để các lần đồng bộ danh mục áp dụng đúng thứ tự, không chiếm main thread
+    private static final ExecutorService SYNC = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "movie-index");
+        t.setDaemon(true);
+        return t;
+    });
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^a-z0-9]+");
+
+    private static final class Doc {
+        Movie movie;
+        final String signature;
+        final String title;
+        final Set<String> tokens;
+        final Map<String, Integer> keys;
+
+        Doc(Movie movie, String signature, String title, Set<String> tokens, Map<String, Integer> keys) {
+            this.movie = movie;
+            this.signature = signature;
+            this.title = title;
+            this.tokens = tokens;
+            this.keys = keys;
+        }
+    }
+
+    private static final class Hit {
+        final Doc doc;
+        final int score;
+
+        Hit(Doc doc, int score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+
+    // Điểm thấp hơn, rồi tiêu đề đứng sau theo ABC = kém hơn
+    private static final Comparator<Hit> WORST_FIRST = (a, b) -> {
+        int c = Integer.compare(a.score, b.score);
+        return c != 0 ? c : b.doc.title.compareTo(a.doc.title);
+    };
+
+    // tiền tố -> (movieId -> điểm cao nhất của phim cho tiền tố đó)
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private final Map<String, Doc> docs = new HashMap<>();
+
+    public MovieSearchIndex() {}
+
+    public static MovieSearchIndex get() {
+        return INSTANCE;
+    }
+
+    /** Chữ thường, bỏ dấu (kể cả đ -> d), ký tự không phải chữ/số thành khoảng trắng. */
+    public static String fold(String text) {
+        if (text == null || text.isEmpty()) return "";
+        String lower = text.toLowerCase(Locale.ROOT).replace('đ', 'd');
+        String stripped = MARKS.matcher(Normalizer.normalize(lower, Normalizer.Form.NFD)).replaceAll("");
+        return NON_WORD.matcher(stripped).replaceAll(" ").trim();
+    }
+
+    private static String[] split(String folded) {
+        return folded.isEmpty() ? new String[0] : folded.split(" ");
+    }
+
+    /** Thêm hoặc cập nhật các phim vừa tải; trả về số phim phải đánh chỉ mục lại. */
+    public synchronized int upsertAll(Collection<Movie> movies) {
+        if (movies == null) return 0;
+        int changed = 0;
+        for (Movie m : movies) {
+            if (upsertLocked(m)) changed++;
+        }
+        return changed;
+    }
+
+    /** Như {@link #upsertAll} nhưng chạy nền; gọi từ callback tải danh sách phim. */
+    public void syncAsync(Collection<Movie> movies) {
+        if (movies == null || movies.isEmpty()) return;
+        List<Movie> copy = new ArrayList<>(movies);
+        SYNC.execute(() -> upsertAll(copy));
+    }
+
+    public synchronized boolean upsert(Movie movie) {
+        return upsertLocked(movie);
+    }
+
+    public synchronized void remove(String movieId) {
+        Doc old = docs.remove(movieId);
+        if (old != null) unlink(movieId, old);
+    }
+
+    public synchronized void clear() {
+        docs.clear();
+        postings.clear();
+    }
+
+    public synchronized int size() {
+        return docs.size();
+    }
+
+    /**
+     * Phim khớp mọi từ đã gõ (từ nào cũng được xem là tiền tố), xếp theo điểm giảm dần
+     * rồi theo tiêu đề.
+     */
+    public synchronized List<Movie> search(String query, int limit) {
+        String folded = fold(query);
+        String[] terms = split(folded);
+        if (terms.length == 0 || limit <= 0) return Collections.emptyList();
+
+        // Bắt đầu từ từ hiếm nhất để tập ứng viên nhỏ ngay từ đầu
+        Arrays.sort(terms, (a, b) -> Integer.compare(postingSize(a), postingSize(b)));
+        Map<String, Integer> scores = null;
+        for (String term : terms) {
+            Map<String, Integer> posting = postings.get(keyOf(term));
+            if (posting == null) return Collections.emptyList();
+            boolean verify = term.length() > MAX_PREFIX;
+            if (scores == null) {
+                scores = new HashMap<>();
+                for (Map.Entry<String, Integer> e : posting.entrySet()) {
+                    if (!verify || hasTokenWithPrefix(docs.get(e.getKey()), term)) {
+                        scores.put(e.getKey(), e.getValue());
+                    }
+                }
+            } else {
+                Iterator<Map.Entry<String, Integer>> it = scores.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<String, Integer> e = it.next();
+                    Integer w = posting.get(e.getKey());
+                    if (w == null || (verify && !hasTokenWithPrefix(docs.get(e.getKey()), term))) {
+                        it.remove();
+                    } else {
+                        e.setValue(e.getValue() + w);
+                    }
+                }
+            }
+            if (scores.isEmpty()) return Collections.emptyList();
+        }
+
+        // Chỉ giữ top `limit` (gõ 1 ký tự có thể khớp gần hết danh mục, không sort cả tập)
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        for (Map.Entry<String, Integer> e : scores.entrySet()) {
+            Doc d = docs.get(e.getKey());
+            int score = e.getValue();
+            if (d.title.startsWith(folded)) score += TITLE_PREFIX_BONUS;
+            if (top.size() < limit) {
+                top.offer(new Hit(d, score));
+            } else if (WORST_FIRST.compare(top.peek(), new Hit(d, score)) < 0) {
+                top.poll();
+                top.offer(new Hit(d, score));
+            }
+        }
+        Movie[] result = new Movie[top.size()];
+        for (int i = result.length - 1; i >= 0; i--) result[i] = top.poll().doc.movie;
+        return Arrays.asList(result);
+    }
+
+    private boolean upsertLocked(Movie movie) {
+        String id = idOf(movie);
+        if (id == null) return false;
+        String signature = signatureOf(movie);
+        Doc old = docs.get(id);
+        if (old != null && old.signature.equals(signature)) {
+            // Nội dung tìm kiếm không đổi; chỉ giữ object mới (poster, rating...)
+            old.movie = movie;
+            return false;
+        }
+        if (old != null) unlink(id, old);
+        Doc doc = build(movie, signature);
+        docs.put(id, doc);
+        for (Map.Entry<String, Integer> e : doc.keys.entrySet()) {
+            Map<String, Integer> posting = postings.get(e.getKey());
+            if (posting == null) {
+                posting = new HashMap<>();
+                postings.put(e.getKey(), posting);
+            }
+            posting.put(id, e.getValue());
+        }
+        return true;
+    }
+
+    private void unlink(String id, Doc doc) {
+        for (String key : doc.keys.keySet()) {
+            Map<String, Integer> posting = postings.get(key);
+            if (posting == null) continue;
+            posting.remove(id);
+            if (posting.isEmpty()) postings.remove(key);
+        }
+    }
+
+    private static Doc build(Movie movie, String signature) {
+        Set<String> tokens = new HashSet<>();
+        Map<String, Integer> keys = new HashMap<>();
+        String title = fold(movie.getTitle());
+        addField(keys, tokens, title, W_TITLE);
+        addField(keys, tokens, fold(movie.getDirector()), W_PEOPLE);
+        if (movie.getCast() != null) {
+            for (String name : movie.getCast()) addField(keys, tokens, fold(name), W_PEOPLE);
+        }
+        if (movie.getGenres() != null) {
+            for (String genre : movie.getGenres()) addField(keys, tokens, fold(genre), W_GENRE);
+        }
+        addField(keys, tokens, fold(movie.getDescription()), W_DESCRIPTION);
+        return new Doc(movie, signature, title, tokens, keys);
+    }
+
+    private static void addField(Map<String, Integer> keys, Set<String> tokens, String folded, int weight) {
+        for (String token : split(folded)) {
+            tokens.add(token);
+            int n = Math.min(token.length(), MAX_PREFIX);
+            for (int i = 1; i <= n; i++) {
+                int w = i == token.length() ? weight * 2 : weight;
+                keys.merge(token.substring(0, i), w, Math::max);
+            }
+        }
+    }
+
+    private int postingSize(String term) {
+        Map<String, Integer> posting = postings.get(keyOf(term));
+        return posting != null ? posting.size() : 0;
+    }
+
+    private static String keyOf(String term) {
+        return term.length() > MAX_PREFIX ? term.substring(0, MAX_PREFIX) : term;
+    }
+
+    private static boolean hasTokenWithPrefix(Doc doc, String term) {
+        for (String token : doc.tokens) {
+            if (token.startsWith(term)) return true;
+        }
+        return false;
+    }
+
+    private static String idOf(Movie movie) {
+        return movie != null ? movie.getId() : null;
+    }
+
+    // Các trường được đánh chỉ mục, chưa bỏ dấu; so chuỗi rẻ hơn fold lại cả mô tả
+    private static String signatureOf(Movie movie) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(movie.getTitle()).append('\u0001')
+                .append(movie.getDirector()).append('\u0001')
+                .append(movie.getCast()).append('\u0001')
+                .append(movie.getGenres()).append('\u0001')
+                .append(movie.getDescription());
+        return sb.toString();
+    }
+}
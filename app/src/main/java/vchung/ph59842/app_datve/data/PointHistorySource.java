@@ -0,0 +1,40 @@
+package vchung.ph59842.app_datve.data;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import vchung.ph59842.app_datve.api.ApiService;
+import vchung.ph59842.app_datve.api.CallScope;
+import vchung.ph59842.app_datve.models.CursorPage;
+import vchung.ph59842.app_datve.models.PointLog;
+
+/** Nối CursorPager với GET membership/history?cursor=&limit=; trang đang tải bị huỷ cùng {@code scope}. */
+public final class PointHistorySource implements CursorPager.PageLoader<PointLog> {
+    private final ApiService api;
+    private final CallScope scope;
+
+    public PointHistorySource(ApiService api, CallScope scope) {
+        this.api = api;
+        this.scope = scope;
+    }
+
+    @Override
+    public void load(String cursor, int limit, CursorPager.PageCallback<PointLog> callback) {
+        scope.enqueue(api.getMyPointHistory(cursor, limit), new Callback<CursorPage<PointLog>>() {
+            @Override
+            public void onResponse(Call<CursorPage<PointLog>> call, Response<CursorPage<PointLog>> response) {
+                CursorPage<PointLog> body = response.body();
+                if (!response.isSuccessful() || body == null || !body.isSuccess()) {
+                    callback.onError("Response not successful: " + response.code());
+                    return;
+                }
+                callback.onPage(body.getData(), body.getNextCursor(), body.isHasMore());
+            }
+
+            @Override
+            public void onFailure(Call<CursorPage<PointLog>> call, Throwable t) {
+                callback.onError(t.getMessage() != null ? t.getMessage() : "Unknown");
+            }
+        });
+    }
+}
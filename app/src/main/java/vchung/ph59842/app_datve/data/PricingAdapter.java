@@ -0,0 +1,43 @@
+package vchung.ph59842.app_datve.data;
+
+import vchung.ph59842.app_datve.models.MembershipSnapshot;
+import vchung.ph59842.app_datve.models.Schedule;
+import vchung.ph59842.app_datve.models.Showtime;
+import vchung.ph59842.app_datve.pricing.MembershipTier;
+import vchung.ph59842.app_datve.pricing.PriceTable;
+
+/** Chuyển model API (double, String ISO) sang kiểu của engine tính giá (VND nguyên). */
+public final class PricingAdapter {
+
+    private PricingAdapter() {}
+
+    public static PriceTable priceTable(Schedule.PriceTable table) {
+        if (table == null) return null;
+        return new PriceTable(
+                Math.round(table.getStandard()),
+                Math.round(table.getVip()),
+                table.getEarlyBirdDiscount(),
+                parseMillis(table.getEarlyBirdEndTime()));
+    }
+
+    /** Dùng priceTable nếu backend có trả, không thì một giá cho mọi ghế. */
+    public static PriceTable priceTable(Showtime showtime) {
+        if (showtime == null) return PriceTable.flat(0);
+        PriceTable table = priceTable(showtime.getPriceTable());
+        return table != null ? table : PriceTable.flat(Math.round(showtime.getPrice()));
+    }
+
+    /** Hạng từ snapshot của MembershipStore; chưa có snapshot thì tính như Bronze. */
+    public static MembershipTier tier(MembershipSnapshot membership) {
+        return MembershipTier.fromName(membership != null ? membership.getTier() : null);
+    }
+
+    private static long parseMillis(String iso) {
+        if (iso == null || iso.isEmpty()) return PriceTable.NO_EARLY_BIRD;
+        try {
+            return java.time.Instant.parse(iso).toEpochMilli();
+        } catch (Exception e) {
+            return PriceTable.NO_EARLY_BIRD;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package vchung.ph59842.app_datve.data;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+import vchung.ph59842.app_datve.models.Promotion;
+
+/**
+ * Chỉ mục bất biến của danh sách khuyến mãi.
+ * Ngày bắt đầu/kết thúc được parse đúng một lần khi dựng; các mốc thời gian được sắp xếp
+ * thành các đoạn liên tiếp, mỗi đoạn giữ sẵn danh sách khuyến mãi đang hiệu lực, nên
+ * "đang hiệu lực lúc t" chỉ là một lần tìm nhị phân.
+ */
+public final class PromotionIndex {
+    public static final PromotionIndex EMPTY = new PromotionIndex(Collections.<Promotion>emptyList());
+
+    private final List<Promotion> all;
+    private final long[] startMs;
+    private final long[] endMs;
+    private final Map<String, Integer> byCode;
+    // boundaries[i] <= t < boundaries[i + 1] -> activeIn[i + 1]; activeIn[0] là trước mốc đầu tiên
+    private final long[] boundaries;
+    private final List<List<Promotion>> activeIn;
+    // Chỉ số khuyến mãi dùng được, sắp theo ngày kết thúc tăng dần
+    private final Integer[] byEnd;
+
+    public PromotionIndex(List<Promotion> promotions) {
+        int n = promotions.size();
+        all = Collections.unmodifiableList(new ArrayList<>(promotions));
+        startMs = new long[n];
+        endMs = new long[n];
+        byCode = new HashMap<>(n * 2);
+        TreeSet<Long> points = new TreeSet<>();
+        List<Integer> usable = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Promotion p = all.get(i);
+            startMs[i] = parseMillis(p.getStartDate(), Long.MIN_VALUE);
+            endMs[i] = parseMillis(p.getEndDate(), Long.MAX_VALUE);
+            if (p.getCode() != null) byCode.put(normalize(p.getCode()), i);
+            if (!isUsable(p) || startMs[i] >= endMs[i]) continue;
+            usable.add(i);
+            if (startMs[i] != Long.MIN_VALUE) points.add(startMs[i]);
+            if (endMs[i] != Long.MAX_VALUE) points.add(endMs[i]);
+        }
+
+        boundaries = new long[points.size()];
+        int b = 0;
+        for (Long point : points) boundaries[b++] = point;
+        activeIn = new ArrayList<>(boundaries.length + 1);
+        for (int seg = 0; seg <= boundaries.length; seg++) {
+            // Một thời điểm đại diện của đoạn: chính mốc bắt đầu đoạn (hoặc MIN cho đoạn đầu)
+            long t = seg == 0 ? Long.MIN_VALUE : boundaries[seg - 1];
+            List<Promotion> list = new ArrayList<>();
+            for (int i : usable) {
+                if (startMs[i] <= t && t < endMs[i]) list.add(all.get(i));
+            }
+            activeIn.add(Collections.unmodifiableList(list));
+        }
+
+        byEnd = usable.toArray(new Integer[0]);
+        Arrays.sort(byEnd, (x, y) -> Long.compare(endMs[x], endMs[y]));
+    }
+
+    /** Khuyến mãi đang dùng được tại {@code nowMs}, giữ thứ tự server trả về. */
+    public List<Promotion> activeAt(long nowMs) {
+        // Số mốc <= nowMs chính là chỉ số đoạn chứa nowMs
+        int lo = 0, hi = boundaries.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (boundaries[mid] <= nowMs) lo = mid + 1; else hi = mid;
+        }
+        return activeIn.get(lo);
+    }
+
+    /** Khuyến mãi đang hiệu lực và hết hạn trong {@code windowMs} tới, hết hạn sớm nhất trước. */
+    public List<Promotion> expiringWithin(long nowMs, long windowMs) {
+        long until = windowMs > Long.MAX_VALUE - nowMs ? Long.MAX_VALUE : nowMs + windowMs;
+        int lo = 0, hi = byEnd.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (endMs[byEnd[mid]] <= nowMs) lo = mid + 1; else hi = mid;
+        }
+        List<Promotion> out = new ArrayList<>();
+        for (int k = lo; k < byEnd.length && endMs[byEnd[k]] <= until; k++) {
+            int i = byEnd[k];
+            if (startMs[i] <= nowMs && endMs[i] != Long.MAX_VALUE) out.add(all.get(i));
+        }
+        return out;
+    }
+
+    /** Tra theo mã (không phân biệt hoa thường), kể cả mã đã hết hạn; null nếu không biết. */
+    public Promotion findByCode(String code) {
+        Integer i = code != null ? byCode.get(normalize(code)) : null;
+        return i != null ? all.get(i) : null;
+    }
+
+    /** Mã đã biết và dùng được tại {@code nowMs}; thay cho gọi promotions/validate. */
+    public boolean isValid(String code, long nowMs) {
+        Integer i = code != null ? byCode.get(normalize(code)) : null;
+        if (i == null) return false;
+        return isUsable(all.get(i)) && startMs[i] <= nowMs && nowMs < endMs[i];
+    }
+
+    public boolean contains(String code) {
+        return code != null && byCode.containsKey(normalize(code));
+    }
+
+    /** Ngày kết thúc đã parse, hoặc {@link Long#MAX_VALUE} nếu không có / không đọc được. */
+    public long endMillis(Promotion promotion) {
+        Integer i = promotion != null && promotion.getCode() != null ? byCode.get(normalize(promotion.getCode())) : null;
+        return i != null ? endMs[i] : Long.MAX_VALUE;
+    }
+
+    public List<Promotion> all() {
+        return all;
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    private static boolean isUsable(Promotion p) {
+        if (!p.isActive()) return false;
+        Integer limit = p.getUsageLimit();
+        return limit == null || p.getUsedCount() < limit;
+    }
+
+    private static String normalize(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    // Server trả ISO-8601 (Date của Mongo); dữ liệu nhập tay có thể chỉ có yyyy-MM-dd
+    static long parseMillis(String value, long fallback) {
+        if (value == null || value.isEmpty()) return fallback;
+        try {
+            return Instant.parse(value).toEpochMilli();
+        } catch (Exception ignore) {
+        }
+        try {
+            return LocalDate.parse(value.length() > 10 ? value.substring(0, 10) : value)
+                    .atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+        } catch (Exception ignore) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package vchung.ph59842.app_datve.data;
+
+import android.content.Context;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import vchung.ph59842.app_datve.api.ApiClient;
+import vchung.ph59842.app_datve.models.ApiResponse;
+import vchung.ph59842.app_datve.models.Promotion;
+
+/**
+ * Nguồn khuyến mãi dùng chung cho Voucher và Account.
+ * Gọi /promotions/active tối đa một lần mỗi {@link #TTL_MS}, dựng {@link PromotionIndex}
+ * một lần rồi các màn hình chỉ truy vấn chỉ mục. Chỉ dùng trên main thread.
+ */
+public final class PromotionRepository {
+    public interface Listener {
+        void onLoaded(PromotionIndex index);
+
+        void onError(String message);
+    }
+
+    private static final long TTL_MS = 5 * 60_000L;
+    private static final PromotionRepository INSTANCE = new PromotionRepository();
+
+    private PromotionIndex index = PromotionIndex.EMPTY;
+    private long loadedAtMs = 0L;
+    // Các màn hình hỏi trong lúc request đang chạy sẽ chờ chung một response
+    private final List<Listener> waiting = new ArrayList<>();
+    private boolean loading = false;
+
+    private PromotionRepository() {}
+
+    public static PromotionRepository get() {
+        return INSTANCE;
+    }
+
+    /** Chỉ mục hiện có, có thể rỗng nếu chưa tải lần nào. */
+    public PromotionIndex current() {
+        return index;
+    }
+
+    public boolean isFresh() {
+        return loadedAtMs > 0 && System.currentTimeMillis() - loadedAtMs < TTL_MS;
+    }
+
+    public void load(Context context, boolean force, Listener listener) {
+        if (!force && isFresh()) {
+            listener.onLoaded(index);
+            return;
+        }
+        waiting.add(listener);
+        if (loading) return;
+        loading = true;
+        ApiClient.getApiService(context).getPromotions().enqueue(new Callback<ApiResponse<List<Promotion>>>() {
+            @Override
+            public void onResponse(Call<ApiResponse<List<Promotion>>> call, Response<ApiResponse<List<Promotion>>> response) {
+                ApiResponse<List<Promotion>> body = response.body();
+                if (response.isSuccessful() && body != null && body.isSuccess() && body.getData() != null) {
+                    update(body.getData());
+                    finish(null);
+                } else {
+                    finish("Response not successful: " + response.code());
+                }
+            }
+
+            @Override
+            public void onFailure(Call<ApiResponse<List<Promotion>>> call, Throwable t) {
+                finish(t.getMessage() != null ? t.getMessage() : "Unknown");
+            }
+        });
+    }
+
+    /** Thay toàn bộ danh sách (vd. dữ liệu đã có từ màn hình khác). */
+    public void update(List<Promotion> promotions) {
+        index = new PromotionIndex(promotions);
+        loadedAtMs = System.currentTimeMillis();
+    }
+
+    public void invalidate() {
+        loadedAtMs = 0L;
+    }
+
+    /** Bỏ listener đang chờ (màn hình đã đóng); request dùng chung vẫn chạy để làm ấm cache. */
+    public void removeListener(Listener listener) {
+        waiting.remove(listener);
+    }
+
+    private void finish(String error) {
+        loading = false;
+        List<Listener> listeners = new ArrayList<>(waiting);
+        waiting.clear();
+        for (Listener l : listeners) {
+            if (error == null) l.onLoaded(index);
+            else l.onError(error);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package vchung.ph59842.app_datve.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+import vchung.ph59842.app_datve.models.PriceQuote;
+
+/**
+ * Cache báo giá server theo lựa chọn (suất chiếu, ghế, combo, voucher).
+ * Báo giá được lấy trước khi người dùng bấm thanh toán; lúc đặt vé chỉ cần gửi lại token nếu
+ * còn hạn, server không phải tính lại giá ghế/combo (voucher vẫn được kiểm lại và trừ lượt).
+ * Tạo intent thanh toán không dùng token: server lấy tổng tiền đã lưu trên vé.
+ */
+public final class QuoteCache {
+    // Bỏ báo giá sớm hơn hạn server một chút để token không hết hạn giữa đường
+    static final long EXPIRY_MARGIN_MS = 30_000L;
+    private static final int MAX_ENTRIES = 16;
+
+    private static final QuoteCache INSTANCE = new QuoteCache(System::currentTimeMillis);
+
+    private final LongSupplier clock;
+    private final Map<String, PriceQuote> entries = new LinkedHashMap<String, PriceQuote>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PriceQuote> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    QuoteCache(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    public static QuoteCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Khóa ổn định cho một lựa chọn: thứ tự chạm ghế/combo không làm đổi khóa.
+     * {@code combos} là comboId -> số lượng, có thể null.
+     */
+    public static String keyOf(String scheduleId, Collection<String> seats,
+                               Map<String, Integer> combos, String voucherCode) {
+        StringBuilder sb = new StringBuilder(64);
+        sb.append(scheduleId).append('|');
+        List<String> sorted = new ArrayList<>(seats.size());
+        for (String s : seats) sorted.add(s.trim().toUpperCase(Locale.ROOT));
+        Collections.sort(sorted);
+        for (int i = 0; i < sorted.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(sorted.get(i));
+        }
+        sb.append('|');
+        if (combos != null) {
+            boolean first = true;
+            for (Map.Entry<String, Integer> e : new TreeMap<>(combos).entrySet()) {
+                if (e.getValue() == null || e.getValue() <= 0) continue;
+                if (!first) sb.append(',');
+                sb.append(e.getKey()).append('x').append(e.getValue());
+                first = false;
+            }
+        }
+        sb.append('|');
+        if (voucherCode != null) sb.append(voucherCode.trim().toUpperCase(Locale.ROOT));
+        return sb.toString();
+    }
+
+    /** Báo giá còn dùng được cho khóa này, hoặc null (entry hết hạn sẽ bị xóa). */
+    public synchronized PriceQuote find(String key) {
+        if (key == null) return null;
+        PriceQuote quote = entries.get(key);
+        if (quote == null) return null;
+        if (quote.getToken() == null || quote.getExpiresAtMillis() - EXPIRY_MARGIN_MS <= clock.getAsLong()) {
+            entries.remove(key);
+            return null;
+        }
+        return quote;
+    }
+
+    public synchronized void put(String key, PriceQuote quote) {
+        if (key == null || quote == null) return;
+        entries.put(key, quote);
+    }
+
+    public synchronized void invalidate(String key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+}
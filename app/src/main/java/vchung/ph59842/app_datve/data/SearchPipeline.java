@@ -0,0 +1,266 @@
+package vchung.ph59842.app_datve.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import vchung.ph59842.app_datve.api.ApiService;
+import vchung.ph59842.app_datve.models.ApiResponse;
+import vchung.ph59842.app_datve.models.Movie;
+
+/**
+ * Tìm phim khi đang gõ: mỗi lần đổi chữ trả ngay kết quả từ {@link MovieSearchIndex},
+ * sau {@link #DEBOUNCE_MS} mới hỏi server rồi gộp thêm phim server tìm được.
+ * Request cũ bị hủy khi có query mới, kết quả server được cache LRU theo query (chữ thường),
+ * và số request bị chặn bởi token bucket ({@link #BURST} request, hồi 1 request mỗi
+ * {@link #REFILL_MS}). Chỉ kết quả của query mới nhất tới được Listener.
+ * Không đồng bộ hóa: mọi lời gọi và callback phải ở main thread.
+ */
+public final class SearchPipeline {
+    public interface Listener {
+        /** {@code complete} = đã gộp kết quả server (hoặc không cần hỏi server). */
+        void onResults(String query, List<Movie> movies, boolean complete);
+
+        /** Ô tìm kiếm đã rỗng. */
+        void onCleared();
+    }
+
+    public interface LocalSearch {
+        List<Movie> search(String query, int limit);
+    }
+
+    public interface RemoteSearch {
+        Cancellable search(String query, RemoteCallback callback);
+    }
+
+    public interface RemoteCallback {
+        void onResult(List<Movie> movies);
+
+        /** {@code retryAfterMs} > 0 khi server trả 429. */
+        void onError(String message, long retryAfterMs);
+    }
+
+    public interface Scheduler {
+        Cancellable schedule(Runnable task, long delayMs);
+    }
+
+    public interface Cancellable {
+        void cancel();
+    }
+
+    static final long DEBOUNCE_MS = 300;
+    static final int BURST = 3;
+    static final long REFILL_MS = 2_000;
+    static final long CACHE_TTL_MS = 2 * 60_000L;
+    static final int CACHE_SIZE = 32;
+    // Server tìm bằng regex; 1 ký tự khớp gần hết danh mục, để chỉ mục local lo
+    static final int MIN_REMOTE_LENGTH = 2;
+    static final long DEFAULT_BACKOFF_MS = 10_000;
+
+    private static final class CachedResult {
+        final List<Movie> movies;
+        final long storedAtMs;
+
+        CachedResult(List<Movie> movies, long storedAtMs) {
+            this.movies = movies;
+            this.storedAtMs = storedAtMs;
+        }
+    }
+
+    private final LocalSearch local;
+    private final RemoteSearch remote;
+    private final Scheduler scheduler;
+    private final LongSupplier clock;
+    private final Listener listener;
+    private final int limit;
+
+    private final Map<String, CachedResult> cache = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private String currentKey = "";
+    private String currentQuery = "";
+    private List<Movie> currentLocal = Collections.emptyList();
+    // Tăng mỗi khi query đổi; callback mang seq cũ bị bỏ qua
+    private int seq = 0;
+    private Cancellable pendingDebounce;
+    private Cancellable inFlight;
+
+    private double tokens = BURST;
+    private long lastRefillMs;
+    private long blockedUntilMs = 0L;
+
+    public SearchPipeline(LocalSearch local, RemoteSearch remote, Scheduler scheduler,
+                          LongSupplier clock, int limit, Listener listener) {
+        this.local = local;
+        this.remote = remote;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.limit = limit;
+        this.listener = listener;
+        this.lastRefillMs = clock.getAsLong();
+    }
+
+    /** Nối {@link RemoteSearch} với GET movies/search; hủy = hủy Call của OkHttp. */
+    public static RemoteSearch remote(ApiService api) {
+        return (query, callback) -> {
+            Call<ApiResponse<List<Movie>>> call = api.searchMovies(query);
+            call.enqueue(new Callback<ApiResponse<List<Movie>>>() {
+                @Override
+                public void onResponse(Call<ApiResponse<List<Movie>>> c, Response<ApiResponse<List<Movie>>> response) {
+                    ApiResponse<List<Movie>> body = response.body();
+                    if (response.isSuccessful() && body != null && body.isSuccess()) {
+                        callback.onResult(body.getData());
+                    } else if (response.code() == 429) {
+                        callback.onError("Too many requests", retryAfterMs(response.headers().get("Retry-After")));
+                    } else {
+                        callback.onError("Response not successful: " + response.code(), 0);
+                    }
+                }
+
+                @Override
+                public void onFailure(Call<ApiResponse<List<Movie>>> c, Throwable t) {
+                    callback.onError(t.getMessage() != null ? t.getMessage() : "Unknown", 0);
+                }
+            });
+            return call::cancel;
+        };
+    }
+
+    static long retryAfterMs(String header) {
+        if (header == null) return DEFAULT_BACKOFF_MS;
+        try {
+            return Math.max(1, Long.parseLong(header.trim())) * 1000L;
+        } catch (NumberFormatException e) {
+            return DEFAULT_BACKOFF_MS;
+        }
+    }
+
+    /** Gọi từ TextWatcher với toàn bộ nội dung ô tìm kiếm. */
+    public void onQueryChanged(String query) {
+        // Giữ dấu trong key: bộ gõ Telex đổi "lat" -> "lật" và server tìm theo chuỗi có dấu
+        String trimmed = query != null ? query.trim() : "";
+        String key = trimmed.toLowerCase(Locale.ROOT);
+        if (key.equals(currentKey)) return;
+        seq++;
+        cancelPending();
+        currentKey = key;
+        currentQuery = trimmed;
+        if (MovieSearchIndex.fold(key).isEmpty()) {
+            currentLocal = Collections.emptyList();
+            listener.onCleared();
+            return;
+        }
+
+        currentLocal = local.search(key, limit);
+        CachedResult cached = cache.get(key);
+        if (cached != null && clock.getAsLong() - cached.storedAtMs < CACHE_TTL_MS) {
+            listener.onResults(currentQuery, merge(currentLocal, cached.movies), true);
+            return;
+        }
+        boolean remoteAllowed = key.length() >= MIN_REMOTE_LENGTH;
+        listener.onResults(currentQuery, currentLocal, !remoteAllowed);
+        if (remoteAllowed) scheduleRemote(DEBOUNCE_MS);
+    }
+
+    /** Hủy debounce và request đang chạy (onDestroy). */
+    public void cancel() {
+        seq++;
+        cancelPending();
+    }
+
+    int cacheSize() {
+        return cache.size();
+    }
+
+    private void scheduleRemote(long delayMs) {
+        final int mySeq = seq;
+        pendingDebounce = scheduler.schedule(() -> {
+            pendingDebounce = null;
+            if (mySeq == seq) fireRemote();
+        }, delayMs);
+    }
+
+    private void fireRemote() {
+        long now = clock.getAsLong();
+        long wait = Math.max(blockedUntilMs - now, acquireDelay(now));
+        if (wait > 0) {
+            // Hết lượt: chờ tới lượt kế; query mới hơn trong lúc chờ sẽ thay chỗ
+            scheduleRemote(wait);
+            return;
+        }
+        tokens -= 1;
+        final int mySeq = seq;
+        final String key = currentKey;
+        inFlight = remote.search(currentQuery, new RemoteCallback() {
+            @Override
+            public void onResult(List<Movie> movies) {
+                if (mySeq != seq) return;
+                inFlight = null;
+                List<Movie> server = movies != null ? movies : Collections.<Movie>emptyList();
+                cache.put(key, new CachedResult(server, clock.getAsLong()));
+                listener.onResults(currentQuery, merge(currentLocal, server), true);
+            }
+
+            @Override
+            public void onError(String message, long retryAfterMs) {
+                if (retryAfterMs > 0) {
+                    blockedUntilMs = Math.max(blockedUntilMs, clock.getAsLong() + retryAfterMs);
+                }
+                if (mySeq != seq) return;
+                inFlight = null;
+                // Giữ kết quả local đang hiển thị
+                listener.onResults(currentQuery, currentLocal, true);
+            }
+        });
+    }
+
+    /** 0 nếu còn lượt, ngược lại số ms tới khi hồi đủ một lượt. */
+    private long acquireDelay(long now) {
+        long elapsed = now - lastRefillMs;
+        if (elapsed > 0) {
+            tokens = Math.min(BURST, tokens + elapsed / (double) REFILL_MS);
+            lastRefillMs = now;
+        }
+        if (tokens >= 1) return 0;
+        return (long) Math.ceil((1 - tokens) * REFILL_MS);
+    }
+
+    private void cancelPending() {
+        if (pendingDebounce != null) {
+            pendingDebounce.cancel();
+            pendingDebounce = null;
+        }
+        if (inFlight != null) {
+            inFlight.cancel();
+            inFlight = null;
+        }
+    }
+
+    /** Kết quả local (đã xếp hạng) trước, rồi phim chỉ server tìm thấy. */
+    private List<Movie> merge(List<Movie> localHits, List<Movie> serverHits) {
+        List<Movie> merged = new ArrayList<>(Math.min(limit, localHits.size() + serverHits.size()));
+        Set<String> seen = new HashSet<>();
+        for (Movie m : localHits) {
+            if (merged.size() >= limit) break;
+            if (seen.add(m.getId())) merged.add(m);
+        }
+        for (Movie m : serverHits) {
+            if (merged.size() >= limit) break;
+            if (m != null && seen.add(m.getId())) merged.add(m);
+        }
+        return merged;
+    }
+}
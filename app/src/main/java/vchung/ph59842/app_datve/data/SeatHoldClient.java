@@ -0,0 +1,325 @@
+package vchung.ph59842.app_datve.data;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import vchung.ph59842.app_datve.api.ApiClient;
+import vchung.ph59842.app_datve.models.ApiResponse;
+import vchung.ph59842.app_datve.models.SeatConflict;
+import vchung.ph59842.app_datve.models.SeatHoldResult;
+
+/**
+ * Giữ ghế tạm thời trên server từ lúc chạm ghế tới lúc thanh toán xong.
+ * Mỗi lần chọn ghế gửi một hold (xung đột báo ngay tại lần chạm), bỏ chọn thì trả ghế,
+ * và trong lúc còn giữ ghế thì cứ {@link #RENEW_MS} gia hạn một lần; sang màn thanh toán
+ * hold được gia hạn theo TTL dài hơn. Một phiên cho một suất; chỉ dùng trên main thread.
+ */
+public final class SeatHoldClient {
+    public interface Listener {
+        /** Ghế đã mất hold (hết hạn khi mất mạng và bị người khác giành). */
+        void onHoldsLost(String scheduleId, List<String> seats);
+    }
+
+    public interface HoldCallback {
+        void onHeld(String seat);
+
+        void onConflict(String seat);
+
+        /** Lỗi mạng/server: giữ lựa chọn, server sẽ kiểm tra lại lúc đặt vé. */
+        void onError(String seat, String message);
+    }
+
+    interface Api {
+        void hold(String scheduleId, List<String> seats, String phase, ApiCallback callback);
+
+        void renew(String scheduleId, String phase, ApiCallback callback);
+
+        /** {@code seats} null = trả hết ghế của người dùng trong suất. */
+        void release(String scheduleId, List<String> seats);
+    }
+
+    interface ApiCallback {
+        void onResult(List<String> heldSeats);
+
+        void onConflict(List<String> seats);
+
+        void onError(String message);
+    }
+
+    interface Scheduler {
+        Runnable schedule(Runnable task, long delayMs);
+    }
+
+    static final String PHASE_SELECTION = "selection";
+    static final String PHASE_CHECKOUT = "checkout";
+    // TTL phía server là 2 phút (chọn ghế) / 10 phút (thanh toán): gia hạn mỗi phút là đủ dư
+    static final long RENEW_MS = 60_000L;
+
+    private static SeatHoldClient instance;
+
+    private final Api api;
+    private final Scheduler scheduler;
+    private final List<Listener> listeners = new ArrayList<>();
+
+    private String scheduleId;
+    private String phase = PHASE_SELECTION;
+    // wanted = ghế người dùng đang chọn; held = ghế server đã xác nhận giữ
+    private final Set<String> wanted = new LinkedHashSet<>();
+    private final Set<String> held = new LinkedHashSet<>();
+    private Runnable cancelRenew;
+    // Tăng khi đổi phiên; response của phiên cũ bị bỏ qua
+    private int generation = 0;
+
+    SeatHoldClient(Api api, Scheduler scheduler) {
+        this.api = api;
+        this.scheduler = scheduler;
+    }
+
+    public static synchronized SeatHoldClient get(Context context) {
+        if (instance == null) {
+            Handler handler = new Handler(Looper.getMainLooper());
+            instance = new SeatHoldClient(apiOf(context.getApplicationContext()),
+                    (task, delayMs) -> {
+                        handler.postDelayed(task, delayMs);
+                        return () -> handler.removeCallbacks(task);
+                    });
+        }
+        return instance;
+    }
+
+    public void addListener(Listener listener) {
+        if (!listeners.contains(listener)) listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /** Bắt đầu phiên cho một suất; phiên của suất khác (nếu còn) được trả ghế. */
+    public void start(String scheduleId) {
+        if (scheduleId == null || scheduleId.equals(this.scheduleId)) return;
+        releaseAll();
+        this.scheduleId = scheduleId;
+        phase = PHASE_SELECTION;
+    }
+
+    public boolean isHeld(String seat) {
+        return held.contains(seat);
+    }
+
+    public void hold(String seat, HoldCallback callback) {
+        if (scheduleId == null) return;
+        wanted.add(seat);
+        final int gen = generation;
+        final String sid = scheduleId;
+        api.hold(sid, Collections.singletonList(seat), phase, new ApiCallback() {
+            @Override
+            public void onResult(List<String> heldSeats) {
+                if (gen != generation) {
+                    api.release(sid, Collections.singletonList(seat));
+                    return;
+                }
+                if (!wanted.contains(seat)) {
+                    // Đã bỏ chọn trong lúc chờ: DELETE trước đó có thể tới server trước POST
+                    api.release(sid, Collections.singletonList(seat));
+                    return;
+                }
+                held.add(seat);
+                scheduleRenew();
+                callback.onHeld(seat);
+            }
+
+            @Override
+            public void onConflict(List<String> seats) {
+                if (gen != generation) return;
+                wanted.remove(seat);
+                callback.onConflict(seat);
+            }
+
+            @Override
+            public void onError(String message) {
+                if (gen != generation) return;
+                callback.onError(seat, message);
+            }
+        });
+    }
+
+    public void release(String seat) {
+        if (scheduleId == null || !wanted.remove(seat)) return;
+        // Hold đang bay sẽ tự trả khi về (xem hold())
+        if (held.remove(seat)) api.release(scheduleId, Collections.singletonList(seat));
+        if (held.isEmpty()) cancelRenew();
+    }
+
+    /** Đã tạo vé pending, đang thanh toán: gia hạn ngay theo TTL thanh toán. */
+    public void enterCheckout() {
+        if (scheduleId == null || PHASE_CHECKOUT.equals(phase)) return;
+        phase = PHASE_CHECKOUT;
+        renewNow();
+    }
+
+    /** Quay lại chọn ghế từ màn thanh toán. */
+    public void leaveCheckout() {
+        if (scheduleId == null || !PHASE_CHECKOUT.equals(phase)) return;
+        phase = PHASE_SELECTION;
+        renewNow();
+    }
+
+    /** Thanh toán xong: vé đã chặn ghế, ngừng gia hạn và để hold tự hết hạn. */
+    public void complete() {
+        reset();
+    }
+
+    /** Rời màn chọn ghế mà không mua: trả ghế ngay thay vì chờ hết TTL. */
+    public void releaseAll() {
+        if (scheduleId != null && !held.isEmpty()) api.release(scheduleId, null);
+        reset();
+    }
+
+    String scheduleId() {
+        return scheduleId;
+    }
+
+    private void reset() {
+        generation++;
+        cancelRenew();
+        wanted.clear();
+        held.clear();
+        scheduleId = null;
+        phase = PHASE_SELECTION;
+    }
+
+    private void scheduleRenew() {
+        if (cancelRenew != null) return;
+        cancelRenew = scheduler.schedule(() -> {
+            cancelRenew = null;
+            renewNow();
+        }, RENEW_MS);
+    }
+
+    private void cancelRenew() {
+        if (cancelRenew != null) {
+            cancelRenew.run();
+            cancelRenew = null;
+        }
+    }
+
+    private void renewNow() {
+        cancelRenew();
+        if (held.isEmpty()) return;
+        final int gen = generation;
+        final String sid = scheduleId;
+        api.renew(sid, phase, new ApiCallback() {
+            @Override
+            public void onResult(List<String> heldSeats) {
+                if (gen != generation) return;
+                Set<String> still = new HashSet<>(heldSeats);
+                List<String> lost = new ArrayList<>();
+                for (String seat : held) {
+                    if (!still.contains(seat)) lost.add(seat);
+                }
+                held.removeAll(lost);
+                wanted.removeAll(lost);
+                if (!held.isEmpty()) scheduleRenew();
+                if (!lost.isEmpty()) {
+                    List<String> view = Collections.unmodifiableList(lost);
+                    for (Listener l : new ArrayList<>(listeners)) l.onHoldsLost(sid, view);
+                }
+            }
+
+            @Override
+            public void onConflict(List<String> seats) {
+                onError("conflict");
+            }
+
+            @Override
+            public void onError(String message) {
+                // Thử lại ở lượt sau; TTL còn dư cho vài lần lỗi mạng
+                if (gen == generation && !held.isEmpty()) scheduleRenew();
+            }
+        });
+    }
+
+    /** Lấy ApiService mỗi lần gọi để đổi base URL (ApiClient.setBaseUrl) có hiệu lực ngay. */
+    private static Api apiOf(Context app) {
+        return new Api() {
+            @Override
+            public void hold(String scheduleId, List<String> seats, String phase, ApiCallback callback) {
+                Map<String, Object> body = new HashMap<>();
+                body.put("seats", seats);
+                body.put("phase", phase);
+                ApiClient.getApiService(app).holdSeats(scheduleId, body).enqueue(callbackOf(callback));
+            }
+
+            @Override
+            public void renew(String scheduleId, String phase, ApiCallback callback) {
+                Map<String, Object> body = new HashMap<>();
+                body.put("phase", phase);
+                ApiClient.getApiService(app).renewSeatHolds(scheduleId, body).enqueue(callbackOf(callback));
+            }
+
+            @Override
+            public void release(String scheduleId, List<String> seats) {
+                String query = seats != null ? String.join(",", seats) : null;
+                ApiClient.getApiService(app).releaseSeatHolds(scheduleId, query).enqueue(new Callback<ApiResponse<Object>>() {
+                    @Override
+                    public void onResponse(Call<ApiResponse<Object>> call, Response<ApiResponse<Object>> response) {}
+
+                    @Override
+                    public void onFailure(Call<ApiResponse<Object>> call, Throwable t) {
+                        // Không trả được thì hold tự hết hạn sau TTL
+                        android.util.Log.d("SeatHoldClient", "Release failed: " + t.getMessage());
+                    }
+                });
+            }
+        };
+    }
+
+    private static Callback<ApiResponse<SeatHoldResult>> callbackOf(ApiCallback callback) {
+        return new Callback<ApiResponse<SeatHoldResult>>() {
+            @Override
+            public void onResponse(Call<ApiResponse<SeatHoldResult>> call, Response<ApiResponse<SeatHoldResult>> response) {
+                ApiResponse<SeatHoldResult> body = response.body();
+                if (response.isSuccessful() && body != null && body.isSuccess() && body.getData() != null) {
+                    List<String> seats = body.getData().getSeats();
+                    callback.onResult(seats != null ? seats : Collections.<String>emptyList());
+                } else if (response.code() == 409) {
+                    callback.onConflict(conflictsOf(response));
+                } else {
+                    callback.onError("Response not successful: " + response.code());
+                }
+            }
+
+            @Override
+            public void onFailure(Call<ApiResponse<SeatHoldResult>> call, Throwable t) {
+                callback.onError(t.getMessage() != null ? t.getMessage() : "Unknown");
+            }
+        };
+    }
+
+    /** 409 trả {success:false, code, message, conflicts:[...]}. */
+    private static List<String> conflictsOf(Response<?> response) {
+        try {
+            if (response.errorBody() == null) return new ArrayList<>();
+            SeatConflict conflict = SeatConflict.parse(ApiClient.getGson(), response.errorBody().string());
+            if (conflict != null) return conflict.getConflicts();
+        } catch (IOException e) {
+            android.util.Log.w("SeatHoldClient", "Could not read conflict body", e);
+        }
+        return new ArrayList<>();
+    }
+}
@@ -0,0 +1,270 @@
+package vchung.ph59842.app_datve.data;
+
+import android.content.Context;
+
+import com.google.gson.Gson;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import vchung.ph59842.app_datve.api.ApiClient;
+import vchung.ph59842.app_datve.models.ApiResponse;
+import vchung.ph59842.app_datve.models.Seat;
+import vchung.ph59842.app_datve.models.SeatLayout;
+import vchung.ph59842.app_datve.models.SeatMapResponse;
+import vchung.ph59842.app_datve.models.SeatStatus;
+
+/**
+ * Sơ đồ ghế cho màn đặt vé. Mỗi suất chỉ tải /schedules/{id}/seat-status (vài trăm byte bitmap);
+ * sơ đồ phòng được lấy một lần theo (roomId, version), giữ trong bộ nhớ và trên đĩa mãi mãi,
+ * rồi ghép với bitmap thành {@link SeatMapResponse} như trước. Chỉ dùng trên main thread.
+ */
+public final class SeatMapRepository {
+    public interface Listener {
+        void onLoaded(SeatMapResponse seatMap, SeatStatus status);
+
+        void onError(String message);
+    }
+
+    /** Bộ nhớ bền cho layout; bản thật là file JSON trong filesDir. */
+    interface LayoutStore {
+        SeatLayout read(String roomId);
+
+        void write(SeatLayout layout);
+    }
+
+    interface Fetcher {
+        void fetchStatus(String scheduleId, Result<SeatStatus> result);
+
+        void fetchLayout(String roomId, String version, Result<SeatLayout> result);
+    }
+
+    interface Result<T> {
+        void onResult(T value);
+
+        void onError(String message);
+    }
+
+    private static final String DIR = "seat_layouts";
+
+    private static SeatMapRepository instance;
+
+    private final LayoutStore store;
+    private final Fetcher fetcher;
+    private final Map<String, SeatLayout> layouts = new HashMap<>();
+    // roomId@version -> các suất đang chờ cùng một lần tải layout
+    private final Map<String, List<Result<SeatLayout>>> pendingLayouts = new HashMap<>();
+
+    SeatMapRepository(LayoutStore store, Fetcher fetcher) {
+        this.store = store;
+        this.fetcher = fetcher;
+    }
+
+    public static synchronized SeatMapRepository get(Context context) {
+        if (instance == null) {
+            Context app = context.getApplicationContext();
+            instance = new SeatMapRepository(new FileLayoutStore(new File(app.getFilesDir(), DIR), ApiClient.getGson()),
+                    apiFetcher(app));
+        }
+        return instance;
+    }
+
+    /** Layout đã có (bộ nhớ hoặc đĩa) của phòng, bất kể version; null nếu chưa từng tải. */
+    public SeatLayout cachedLayout(String roomId) {
+        if (roomId == null) return null;
+        SeatLayout layout = layouts.get(roomId);
+        if (layout == null) {
+            layout = store.read(roomId);
+            if (layout != null) layouts.put(roomId, layout);
+        }
+        return layout;
+    }
+
+    public void load(String scheduleId, Listener listener) {
+        fetcher.fetchStatus(scheduleId, new Result<SeatStatus>() {
+            @Override
+            public void onResult(SeatStatus status) {
+                if (status == null || status.getRoomId() == null) {
+                    listener.onError("Missing seat status");
+                    return;
+                }
+                SeatLayout cached = cachedLayout(status.getRoomId());
+                if (cached != null && cached.getVersion() != null && cached.getVersion().equals(status.getLayoutVersion())) {
+                    listener.onLoaded(merge(cached, status), status);
+                    return;
+                }
+                layoutFor(status.getRoomId(), status.getLayoutVersion(), new Result<SeatLayout>() {
+                    @Override
+                    public void onResult(SeatLayout layout) {
+                        listener.onLoaded(merge(layout, status), status);
+                    }
+
+                    @Override
+                    public void onError(String message) {
+                        listener.onError(message);
+                    }
+                });
+            }
+
+            @Override
+            public void onError(String message) {
+                listener.onError(message);
+            }
+        });
+    }
+
+    private void layoutFor(String roomId, String version, Result<SeatLayout> result) {
+        String key = roomId + "@" + version;
+        List<Result<SeatLayout>> waiting = pendingLayouts.get(key);
+        if (waiting != null) {
+            waiting.add(result);
+            return;
+        }
+        waiting = new ArrayList<>();
+        waiting.add(result);
+        pendingLayouts.put(key, waiting);
+        fetcher.fetchLayout(roomId, version, new Result<SeatLayout>() {
+            @Override
+            public void onResult(SeatLayout layout) {
+                List<Result<SeatLayout>> done = pendingLayouts.remove(key);
+                if (layout == null || layout.getSeats() == null) {
+                    for (Result<SeatLayout> r : done) r.onError("Missing seat layout");
+                    return;
+                }
+                if (layout.getRoomId() == null) layout.setRoomId(roomId);
+                layouts.put(roomId, layout);
+                store.write(layout);
+                for (Result<SeatLayout> r : done) r.onResult(layout);
+            }
+
+            @Override
+            public void onError(String message) {
+                List<Result<SeatLayout>> done = pendingLayouts.remove(key);
+                for (Result<SeatLayout> r : done) r.onError(message);
+            }
+        });
+    }
+
+    /** Ghế bảo trì giữ nguyên; còn lại lấy trạng thái từ bitmap (booked trước held). */
+    static SeatMapResponse merge(SeatLayout layout, SeatStatus status) {
+        List<Seat> source = layout.getSeats();
+        List<Seat> seats = new ArrayList<>(source.size());
+        boolean full = true;
+        for (int i = 0; i < source.size(); i++) {
+            Seat seat = source.get(i);
+            String state;
+            if ("maintenance".equals(seat.getStatus())) state = "maintenance";
+            else if (status.isBooked(i)) state = "booked";
+            else if (status.isHeld(i)) state = "held";
+            else state = "available";
+            if ("available".equals(state)) full = false;
+            seats.add(seat.withStatus(state));
+        }
+        SeatMapResponse map = new SeatMapResponse();
+        map.setScheduleId(status.getScheduleId());
+        map.setRoomId(layout.getRoomId());
+        map.setSeats(seats);
+        map.setFull(full);
+        return map;
+    }
+
+    /** Lấy ApiService mỗi lần gọi để đổi base URL (ApiClient.setBaseUrl) có hiệu lực ngay. */
+    private static Fetcher apiFetcher(Context app) {
+        return new Fetcher() {
+            @Override
+            public void fetchStatus(String scheduleId, Result<SeatStatus> result) {
+                ApiClient.getApiService(app).getSeatStatus(scheduleId).enqueue(callbackOf(result));
+            }
+
+            @Override
+            public void fetchLayout(String roomId, String version, Result<SeatLayout> result) {
+                ApiClient.getApiService(app).getRoomLayout(roomId, version).enqueue(callbackOf(result));
+            }
+        };
+    }
+
+    private static <T> Callback<ApiResponse<T>> callbackOf(Result<T> result) {
+        return new Callback<ApiResponse<T>>() {
+            @Override
+            public void onResponse(Call<ApiResponse<T>> call, Response<ApiResponse<T>> response) {
+                ApiResponse<T> body = response.body();
+                if (response.isSuccessful() && body != null && body.isSuccess()) {
+                    result.onResult(body.getData());
+                } else {
+                    result.onError("Response not successful: " + response.code());
+                }
+            }
+
+            @Override
+            public void onFailure(Call<ApiResponse<T>> call, Throwable t) {
+                result.onError(t.getMessage() != null ? t.getMessage() : "Unknown");
+            }
+        };
+    }
+
+    /** Mỗi phòng một file; ghi ở luồng nền để không chặn UI. */
+    static final class FileLayoutStore implements LayoutStore {
+        private final File dir;
+        private final Gson gson;
+        private final Executor io = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "seat-layout-io");
+            t.setDaemon(true);
+            return t;
+        });
+
+        FileLayoutStore(File dir, Gson gson) {
+            this.dir = dir;
+            this.gson = gson;
+        }
+
+        @Override
+        public SeatLayout read(String roomId) {
+            File file = fileOf(roomId);
+            if (!file.exists()) return null;
+            try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+                return gson.fromJson(reader, SeatLayout.class);
+            } catch (IOException | RuntimeException e) {
+                android.util.Log.w("SeatMapRepository", "Dropping unreadable layout " + roomId, e);
+                file.delete();
+                return null;
+            }
+        }
+
+        @Override
+        public void write(SeatLayout layout) {
+            String json = gson.toJson(layout);
+            io.execute(() -> {
+                if (!dir.exists() && !dir.mkdirs()) return;
+                File target = fileOf(layout.getRoomId());
+                File tmp = new File(dir, target.getName() + ".tmp");
+                try (Writer writer = new OutputStreamWriter(new FileOutputStream(tmp), StandardCharsets.UTF_8)) {
+                    writer.write(json);
+                } catch (IOException e) {
+                    android.util.Log.w("SeatMapRepository", "Could not cache layout " + layout.getRoomId(), e);
+                    return;
+                }
+                if (!tmp.renameTo(target)) tmp.delete();
+            });
+        }
+
+        private File fileOf(String roomId) {
+            return new File(dir, roomId.replaceAll("[^A-Za-z0-9_-]", "_") + ".json");
+        }
+    }
+}
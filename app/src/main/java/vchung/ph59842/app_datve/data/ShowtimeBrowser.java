@@ -0,0 +1,164 @@
+package vchung.ph59842.app_datve.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import vchung.ph59842.app_datve.models.Cinema;
+import vchung.ph59842.app_datve.models.Showtime;
+
+/**
+ * Suất chiếu của một phim, nhóm sẵn theo rạp: đổi rạp ở màn chi tiết phim chỉ là tra map,
+ * không gọi /cinemas/{id}/showtimes cho từng rạp. Khi biết vị trí người dùng, danh sách
+ * "gần tôi" (các rạp trong {@link #NEAR_KM} km, hoặc {@link #NEAR_FALLBACK} rạp gần nhất)
+ * cũng được tính sẵn lúc dựng. Bất biến; dựng lại khi có suất chiếu hoặc vị trí mới.
+ */
+public final class ShowtimeBrowser {
+    static final double NEAR_KM = 15.0;
+    static final int NEAR_FALLBACK = 3;
+
+    public static final class CinemaOption {
+        private final String key;
+        private final String name;
+        private final String city;
+        private final double distanceKm;
+        private final int count;
+
+        CinemaOption(String key, String name, String city, double distanceKm, int count) {
+            this.key = key;
+            this.name = name;
+            this.city = city;
+            this.distanceKm = distanceKm;
+            this.count = count;
+        }
+
+        /** Khóa cho {@link #forCinema(String)}. */
+        public String getKey() { return key; }
+        public String getName() { return name; }
+        public String getCity() { return city; }
+        /** NaN nếu chưa có vị trí hoặc rạp không có tọa độ. */
+        public double getDistanceKm() { return distanceKm; }
+        public int getCount() { return count; }
+    }
+
+    // ISO-8601 từ backend nên so chuỗi đúng thứ tự thời gian; thiếu giờ xếp cuối
+    private static final Comparator<Showtime> BY_START = (a, b) -> {
+        String x = a.getStartTime();
+        String y = b.getStartTime();
+        if (x == null) return y == null ? 0 : 1;
+        if (y == null) return -1;
+        return x.compareTo(y);
+    };
+
+    private final List<Showtime> all;
+    private final Map<String, List<Showtime>> byCinema = new HashMap<>();
+    private final List<CinemaOption> options;
+    private final List<Showtime> nearMe;
+    private final boolean hasLocation;
+
+    /** {@code lat}/{@code lng} = NaN khi chưa có vị trí. */
+    public ShowtimeBrowser(List<Showtime> showtimes, CinemaIndex cinemas, double lat, double lng) {
+        hasLocation = !Double.isNaN(lat) && !Double.isNaN(lng);
+        List<Showtime> sorted = new ArrayList<>();
+        if (showtimes != null) {
+            for (Showtime s : showtimes) if (s != null) sorted.add(s);
+        }
+        Collections.sort(sorted, BY_START);
+        all = Collections.unmodifiableList(sorted);
+
+        Map<String, Showtime> firstOf = new LinkedHashMap<>();
+        for (Showtime s : all) {
+            String key = keyOf(s);
+            List<Showtime> list = byCinema.get(key);
+            if (list == null) {
+                list = new ArrayList<>();
+                byCinema.put(key, list);
+                firstOf.put(key, s);
+            }
+            list.add(s);
+        }
+
+        List<CinemaOption> opts = new ArrayList<>(firstOf.size());
+        for (Map.Entry<String, Showtime> e : firstOf.entrySet()) {
+            Cinema cinema = cinemas.byId(e.getKey());
+            Showtime sample = e.getValue();
+            String name = cinema != null && cinema.getName() != null ? cinema.getName() : nameOf(sample);
+            String city = cinema != null ? cinema.getCity()
+                    : sample.getTheater() != null ? sample.getTheater().getCity() : null;
+            double km = hasLocation ? CinemaIndex.distanceKm(cinema, lat, lng) : Double.NaN;
+            opts.add(new CinemaOption(e.getKey(), name, city, km, byCinema.get(e.getKey()).size()));
+        }
+        Collections.sort(opts, hasLocation ? BY_DISTANCE : BY_CITY);
+        options = Collections.unmodifiableList(opts);
+
+        if (hasLocation) {
+            List<Cinema> near = cinemas.nearest(lat, lng, byCinema.size(), NEAR_KM, c -> byCinema.containsKey(c.getId()));
+            if (near.isEmpty()) {
+                near = cinemas.nearest(lat, lng, NEAR_FALLBACK, Double.POSITIVE_INFINITY, c -> byCinema.containsKey(c.getId()));
+            }
+            List<Showtime> list = new ArrayList<>();
+            for (Cinema c : near) list.addAll(byCinema.get(c.getId()));
+            Collections.sort(list, BY_START);
+            nearMe = Collections.unmodifiableList(list);
+        } else {
+            nearMe = Collections.emptyList();
+        }
+    }
+
+    public boolean hasLocation() {
+        return hasLocation;
+    }
+
+    /** Tất cả suất, theo giờ chiếu. */
+    public List<Showtime> all() {
+        return all;
+    }
+
+    /** Rạp có suất của phim: gần trước nếu có vị trí, không thì theo thành phố rồi tên. */
+    public List<CinemaOption> options() {
+        return options;
+    }
+
+    public List<Showtime> forCinema(String key) {
+        List<Showtime> list = byCinema.get(key);
+        return list != null ? Collections.unmodifiableList(list) : Collections.<Showtime>emptyList();
+    }
+
+    /** Suất ở các rạp gần, theo giờ chiếu; rỗng nếu chưa có vị trí. */
+    public List<Showtime> nearMe() {
+        return nearMe;
+    }
+
+    /** Suất thiếu cinemaId vẫn được nhóm theo tên rạp/địa chỉ để không bị mất. */
+    private static String keyOf(Showtime s) {
+        String id = s.getCinemaId();
+        if (id != null) return id;
+        return "name:" + MovieSearchIndex.fold(nameOf(s));
+    }
+
+    private static String nameOf(Showtime s) {
+        if (s.getCinemaName() != null) return s.getCinemaName();
+        if (s.getAddress() != null && !s.getAddress().isEmpty()) return s.getAddress();
+        return "Rạp khác";
+    }
+
+    private static final Comparator<CinemaOption> BY_NAME =
+            (a, b) -> MovieSearchIndex.fold(a.name).compareTo(MovieSearchIndex.fold(b.name));
+
+    private static final Comparator<CinemaOption> BY_DISTANCE = (a, b) -> {
+        boolean ka = !Double.isNaN(a.distanceKm);
+        boolean kb = !Double.isNaN(b.distanceKm);
+        if (ka != kb) return ka ? -1 : 1;
+        int c = ka ? Double.compare(a.distanceKm, b.distanceKm) : 0;
+        return c != 0 ? c : BY_NAME.compare(a, b);
+    };
+
+    private static final Comparator<CinemaOption> BY_CITY = (a, b) -> {
+        int c = MovieSearchIndex.fold(a.city).compareTo(MovieSearchIndex.fold(b.city));
+        return c != 0 ? c : BY_NAME.compare(a, b);
+    };
+}
@@ -0,0 +1,156 @@
+package vchung.ph59842.app_datve.data;
+
+import android.content.Context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import vchung.ph59842.app_datve.api.ApiClient;
+import vchung.ph59842.app_datve.models.ApiResponse;
+import vchung.ph59842.app_datve.models.ShowtimeSummary;
+
+/**
+ * Badge "suất gần nhất" cho lưới phim trang chủ.
+ * Gom các phim cần dữ liệu thành một lần gọi /movies/showtime-summaries (tối đa
+ * {@link #MAX_IDS} id mỗi request) thay vì gọi getMovieShowtimes cho từng phim.
+ * Kết quả được nhớ {@link #TTL_MS}; phim đang được tải không bị hỏi lại.
+ * Chỉ dùng trên main thread.
+ */
+public final class ShowtimeSummaryRepository {
+    public interface Listener {
+        /** movieId -> tóm tắt; giá trị null = phim không có suất nào sắp tới. */
+        void onSummaries(Map<String, ShowtimeSummary> summaries);
+    }
+
+    interface BatchLoader {
+        void load(List<String> movieIds, BatchCallback callback);
+    }
+
+    interface BatchCallback {
+        void onLoaded(List<ShowtimeSummary> rows);
+
+        void onError(String message);
+    }
+
+    static final long TTL_MS = 60_000L;
+    static final int MAX_IDS = 50;
+    static final int DAYS = 7;
+
+    private static ShowtimeSummaryRepository instance;
+
+    private static final class Entry {
+        final ShowtimeSummary summary;
+        final long fetchedAtMs;
+
+        Entry(ShowtimeSummary summary, long fetchedAtMs) {
+            this.summary = summary;
+            this.fetchedAtMs = fetchedAtMs;
+        }
+    }
+
+    private final BatchLoader loader;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Set<String> inFlight = new HashSet<>();
+    private final List<Listener> listeners = new ArrayList<>();
+
+    ShowtimeSummaryRepository(BatchLoader loader, LongSupplier clock) {
+        this.loader = loader;
+        this.clock = clock;
+    }
+
+    public static synchronized ShowtimeSummaryRepository get(Context context) {
+        if (instance == null) {
+            Context app = context.getApplicationContext();
+            instance = new ShowtimeSummaryRepository((ids, callback) -> fetchFromApi(app, ids, callback),
+                    System::currentTimeMillis);
+        }
+        return instance;
+    }
+
+    private static void fetchFromApi(Context app, List<String> ids, BatchCallback callback) {
+        ApiClient.getApiService(app).getShowtimeSummaries(String.join(",", ids), DAYS)
+                .enqueue(new Callback<ApiResponse<List<ShowtimeSummary>>>() {
+                    @Override
+                    public void onResponse(Call<ApiResponse<List<ShowtimeSummary>>> call, Response<ApiResponse<List<ShowtimeSummary>>> response) {
+                        ApiResponse<List<ShowtimeSummary>> body = response.body();
+                        if (response.isSuccessful() && body != null && body.isSuccess()) {
+                            callback.onLoaded(body.getData() != null ? body.getData() : Collections.<ShowtimeSummary>emptyList());
+                        } else {
+                            callback.onError("Response not successful: " + response.code());
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Call<ApiResponse<List<ShowtimeSummary>>> call, Throwable t) {
+                        callback.onError(t.getMessage() != null ? t.getMessage() : "Unknown");
+                    }
+                });
+    }
+
+    public void addListener(Listener listener) {
+        if (!listeners.contains(listener)) listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /** Bản còn mới trong bộ nhớ; null nếu chưa có hoặc phim không có suất sắp tới. */
+    public ShowtimeSummary cached(String movieId) {
+        Entry e = entries.get(movieId);
+        return e != null && isFresh(e) ? e.summary : null;
+    }
+
+    /** Tải các phim chưa có hoặc đã cũ; kết quả tới qua Listener theo từng lô. */
+    public void request(Collection<String> movieIds) {
+        List<String> missing = new ArrayList<>();
+        for (String id : new LinkedHashSet<>(movieIds)) {
+            if (id == null || inFlight.contains(id)) continue;
+            Entry e = entries.get(id);
+            if (e == null || !isFresh(e)) missing.add(id);
+        }
+        for (int from = 0; from < missing.size(); from += MAX_IDS) {
+            List<String> batch = new ArrayList<>(missing.subList(from, Math.min(missing.size(), from + MAX_IDS)));
+            inFlight.addAll(batch);
+            loader.load(batch, new BatchCallback() {
+                @Override
+                public void onLoaded(List<ShowtimeSummary> rows) {
+                    inFlight.removeAll(batch);
+                    long now = clock.getAsLong();
+                    Map<String, ShowtimeSummary> result = new HashMap<>();
+                    for (String id : batch) result.put(id, null);
+                    for (ShowtimeSummary s : rows) {
+                        if (s != null && result.containsKey(s.getMovieId())) result.put(s.getMovieId(), s);
+                    }
+                    for (Map.Entry<String, ShowtimeSummary> r : result.entrySet()) {
+                        entries.put(r.getKey(), new Entry(r.getValue(), now));
+                    }
+                    Map<String, ShowtimeSummary> view = Collections.unmodifiableMap(result);
+                    for (Listener l : new ArrayList<>(listeners)) l.onSummaries(view);
+                }
+
+                @Override
+                public void onError(String message) {
+                    // Không có badge thì thôi; lần request sau sẽ thử lại
+                    inFlight.removeAll(batch);
+                }
+            });
+        }
+    }
+
+    private boolean isFresh(Entry e) {
+        return clock.getAsLong() - e.fetchedAtMs < TTL_MS;
+    }
+}
@@ -0,0 +1,101 @@
+package vchung.ph59842.app_datve.models;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+/** Rạp từ /cinemas; location là GeoJSON Point nên coordinates = [lng, lat]. */
+public class Cinema {
+    @SerializedName("_id")
+    private String _id;
+
+    @SerializedName("id")
+    private String id;
+
+    @SerializedName("name")
+    private String name;
+
+    @SerializedName("address")
+    private String address;
+
+    @SerializedName("phone")
+    private String phone;
+
+    @SerializedName("location")
+    private Location location;
+
+    @SerializedName("facilities")
+    private List<String> facilities;
+
+    @SerializedName("isActive")
+    private Boolean isActive;
+
+    public Cinema() {}
+
+    public String getId() { return id != null ? id : _id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getAddress() { return address; }
+    public void setAddress(String address) { this.address = address; }
+
+    public String getPhone() { return phone; }
+    public void setPhone(String phone) { this.phone = phone; }
+
+    public Location getLocation() { return location; }
+    public void setLocation(Location location) { this.location = location; }
+
+    public List<String> getFacilities() { return facilities; }
+    public void setFacilities(List<String> facilities) { this.facilities = facilities; }
+
+    /** Mặc định true như schema backend. */
+    public boolean isActive() { return isActive == null || isActive; }
+    public void setActive(Boolean active) { isActive = active; }
+
+    public String getCity() {
+        return location != null ? location.city : null;
+    }
+
+    public boolean hasCoordinates() {
+        return location != null && location.coordinates != null && location.coordinates.size() >= 2
+                && location.coordinates.get(0) != null && location.coordinates.get(1) != null;
+    }
+
+    public double getLatitude() {
+        return hasCoordinates() ? location.coordinates.get(1) : Double.NaN;
+    }
+
+    public double getLongitude() {
+        return hasCoordinates() ? location.coordinates.get(0) : Double.NaN;
+    }
+
+    public static class Location {
+        @SerializedName("coordinates")
+        private List<Double> coordinates;
+
+        @SerializedName("formattedAddress")
+        private String formattedAddress;
+
+        @SerializedName("city")
+        private String city;
+
+        @SerializedName("state")
+        private String state;
+
+        public Location() {}
+
+        public List<Double> getCoordinates() { return coordinates; }
+        public void setCoordinates(List<Double> coordinates) { this.coordinates = coordinates; }
+
+        public String getFormattedAddress() { return formattedAddress; }
+        public void setFormattedAddress(String formattedAddress) { this.formattedAddress = formattedAddress; }
+
+        public String getCity() { return city; }
+        public void setCity(String city) { this.city = city; }
+
+        public String getState() { return state; }
+        public void setState(String state) { this.state = state; }
+    }
+}
@@ -0,0 +1,38 @@
+package vchung.ph59842.app_datve.models;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+/** Response phân trang theo cursor: {success, data: [...], hasMore, nextCursor}. */
+public class CursorPage<T> {
+    @SerializedName("success")
+    private boolean success;
+
+    @SerializedName("data")
+    private List<T> data;
+
+    @SerializedName("hasMore")
+    private boolean hasMore;
+
+    @SerializedName("nextCursor")
+    private String nextCursor;
+
+    @SerializedName("message")
+    private String message;
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+
+    public List<T> getData() { return data; }
+    public void setData(List<T> data) { this.data = data; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
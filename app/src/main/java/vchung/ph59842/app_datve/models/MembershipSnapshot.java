@@ -0,0 +1,80 @@
+package vchung.ph59842.app_datve.models;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.Objects;
+
+/** Hạng/điểm thành viên từ /membership/me và từ response xác nhận thanh toán. */
+public class MembershipSnapshot {
+    @SerializedName("userId")
+    private String userId;
+
+    @SerializedName("tier")
+    private String tier; // Bronze, Silver, Gold, Platinum, Diamond, Ruby
+
+    @SerializedName("points")
+    private long points;
+
+    @SerializedName("totalSpent")
+    private long totalSpent;
+
+    @SerializedName("nextTier")
+    private String nextTier; // null = hạng cao nhất
+
+    @SerializedName("needMore")
+    private long needMore;
+
+    public MembershipSnapshot() {}
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public String getTier() { return tier; }
+    public void setTier(String tier) { this.tier = tier; }
+
+    public long getPoints() { return points; }
+    public void setPoints(long points) { this.points = points; }
+
+    public long getTotalSpent() { return totalSpent; }
+    public void setTotalSpent(long totalSpent) { this.totalSpent = totalSpent; }
+
+    public String getNextTier() { return nextTier; }
+    public void setNextTier(String nextTier) { this.nextTier = nextTier; }
+
+    public long getNeedMore() { return needMore; }
+    public void setNeedMore(long needMore) { this.needMore = needMore; }
+
+    public boolean isTopTier() {
+        return nextTier == null || needMore <= 0;
+    }
+
+    /** Mức chi tiêu cần đạt để lên hạng kế; 0 nếu đã ở hạng cao nhất. */
+    public long getNextTierTarget() {
+        return isTopTier() ? 0 : totalSpent + needMore;
+    }
+
+    /** 0..100, tính theo chi tiêu như server; hạng cao nhất là 100. */
+    public int getProgressPercent() {
+        long target = getNextTierTarget();
+        if (target <= 0) return 100;
+        return Math.min(100, Math.max(0, Math.round(totalSpent * 100f / target)));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MembershipSnapshot)) return false;
+        MembershipSnapshot that = (MembershipSnapshot) o;
+        return points == that.points
+                && totalSpent == that.totalSpent
+                && needMore == that.needMore
+                && Objects.equals(userId, that.userId)
+                && Objects.equals(tier, that.tier)
+                && Objects.equals(nextTier, that.nextTier);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, tier, points, totalSpent, nextTier, needMore);
+    }
+}
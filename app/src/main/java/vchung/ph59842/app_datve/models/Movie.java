@@ -46,6 +46,12 @@ public class Movie {
     @SerializedName("status")
     private String status; // showing, upcoming, early-showing
 
+    @SerializedName("cast")
+    private List<String> cast;
+
+    @SerializedName("director")
+    private String director;
+
     public Movie() {}
 
     public String get_id() {
@@ -169,5 +175,20 @@ public class Movie {
     public void setStatus(String status) {
         this.status = status;
     }
-}
 
+    public List<String> getCast() {
+        return cast;
+    }
+
+    public void setCast(List<String> cast) {
+        this.cast = cast;
+    }
+
+    public String getDirector() {
+        return director;
+    }
+
+    public void setDirector(String director) {
+        this.director = director;
+    }
+}
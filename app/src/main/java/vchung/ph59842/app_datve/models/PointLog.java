@@ -0,0 +1,50 @@
+package vchung.ph59842.app_datve.models;
+
+import com.google.gson.annotations.SerializedName;
+
+/** Một dòng MembershipPointLog trả về từ /membership/history. */
+public class PointLog {
+    @SerializedName("_id")
+    private String _id;
+
+    @SerializedName("type")
+    private String type; // earn, redeem, adjust, refund
+
+    @SerializedName("points")
+    private long points;
+
+    @SerializedName("amount")
+    private long amount;
+
+    @SerializedName("note")
+    private String note;
+
+    @SerializedName("ticketId")
+    private String ticketId;
+
+    @SerializedName("createdAt")
+    private String createdAt;
+
+    public PointLog() {}
+
+    public String getId() { return _id; }
+    public void setId(String id) { this._id = id; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public long getPoints() { return points; }
+    public void setPoints(long points) { this.points = points; }
+
+    public long getAmount() { return amount; }
+    public void setAmount(long amount) { this.amount = amount; }
+
+    public String getNote() { return note; }
+    public void setNote(String note) { this.note = note; }
+
+    public String getTicketId() { return ticketId; }
+    public void setTicketId(String ticketId) { this.ticketId = ticketId; }
+
+    public String getCreatedAt() { return createdAt; }
+    public void setCreatedAt(String createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,75 @@
+package vchung.ph59842.app_datve.models;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Báo giá có chữ ký từ POST /quotes.
+ * {@code token} được gửi kèm khi đặt vé để server dùng lại giá đã tính.
+ */
+public class PriceQuote {
+    @SerializedName("quoteId")
+    private String quoteId;
+
+    @SerializedName("token")
+    private String token;
+
+    @SerializedName("scheduleId")
+    private String scheduleId;
+
+    @SerializedName("voucherCode")
+    private String voucherCode;
+
+    @SerializedName("subtotal")
+    private double subtotal;
+
+    @SerializedName("discount")
+    private double discount;
+
+    @SerializedName("total")
+    private double total;
+
+    @SerializedName("currency")
+    private String currency;
+
+    @SerializedName("expiresAt")
+    private String expiresAt;
+
+    public PriceQuote() {}
+
+    public String getQuoteId() { return quoteId; }
+    public void setQuoteId(String quoteId) { this.quoteId = quoteId; }
+
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+
+    public String getScheduleId() { return scheduleId; }
+    public void setScheduleId(String scheduleId) { this.scheduleId = scheduleId; }
+
+    public String getVoucherCode() { return voucherCode; }
+    public void setVoucherCode(String voucherCode) { this.voucherCode = voucherCode; }
+
+    public double getSubtotal() { return subtotal; }
+    public void setSubtotal(double subtotal) { this.subtotal = subtotal; }
+
+    public double getDiscount() { return discount; }
+    public void setDiscount(double discount) { this.discount = discount; }
+
+    public double getTotal() { return total; }
+    public void setTotal(double total) { this.total = total; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public String getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(String expiresAt) { this.expiresAt = expiresAt; }
+
+    /** Hạn báo giá theo epoch millis, 0 nếu server không trả hoặc sai định dạng. */
+    public long getExpiresAtMillis() {
+        if (expiresAt == null || expiresAt.isEmpty()) return 0L;
+        try {
+            return java.time.Instant.parse(expiresAt).toEpochMilli();
+        } catch (Exception e) {
+            return 0L;
+        }
+    }
+}
@@ -16,10 +16,21 @@ public class Seat {
     private int column;
     
     @SerializedName("status")
-    private String status; // "available" or "booked"
+    private String status; // "available", "booked", "held" or "maintenance"
     
     public Seat() {}
     
+    /** Bản sao với trạng thái khác; layout đã cache được giữ nguyên. */
+    public Seat withStatus(String status) {
+        Seat copy = new Seat();
+        copy.code = code;
+        copy.type = type;
+        copy.row = row;
+        copy.column = column;
+        copy.status = status;
+        return copy;
+    }
+    
     public String getCode() {
         return code;
     }
@@ -68,6 +79,10 @@ public class Seat {
         return "booked".equals(status);
     }
     
+    public boolean isHeld() {
+        return "held".equals(status);
+    }
+    
     public boolean isVip() {
         return "vip".equals(type);
     }
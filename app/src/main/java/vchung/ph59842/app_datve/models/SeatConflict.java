@@ -0,0 +1,51 @@
+package vchung.ph59842.app_datve.models;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Body lỗi khi đặt vé / giữ ghế thất bại vì ghế:
+ * {@code {success:false, code, message, conflicts:[mã ghế]}}.
+ */
+public class SeatConflict {
+    /** Ghế đã có vé pending/confirmed. */
+    public static final String SEATS_TAKEN = "SEATS_TAKEN";
+    /** Ghế đang được khách khác giữ. */
+    public static final String SEATS_HELD = "SEATS_HELD";
+    /** Mã ghế không có trong phòng (sơ đồ trên máy đã cũ). */
+    public static final String UNKNOWN_SEATS = "UNKNOWN_SEATS";
+
+    @SerializedName("code")
+    private String code;
+
+    @SerializedName("message")
+    private String message;
+
+    @SerializedName("conflicts")
+    private List<String> conflicts;
+
+    public SeatConflict() {}
+
+    /** null nếu body rỗng hoặc không phải JSON. */
+    public static SeatConflict parse(Gson gson, String body) {
+        if (body == null || body.isEmpty()) return null;
+        try {
+            return gson.fromJson(body, SeatConflict.class);
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public List<String> getConflicts() { return conflicts != null ? conflicts : new ArrayList<>(); }
+    public void setConflicts(List<String> conflicts) { this.conflicts = conflicts; }
+}
@@ -0,0 +1,28 @@
+package vchung.ph59842.app_datve.models;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+/** Kết quả POST/PUT /schedules/{id}/holds: các ghế người dùng đang giữ và hạn giữ. */
+public class SeatHoldResult {
+    @SerializedName("scheduleId")
+    private String scheduleId;
+
+    @SerializedName("seats")
+    private List<String> seats;
+
+    @SerializedName("expiresAt")
+    private String expiresAt;
+
+    public SeatHoldResult() {}
+
+    public String getScheduleId() { return scheduleId; }
+    public void setScheduleId(String scheduleId) { this.scheduleId = scheduleId; }
+
+    public List<String> getSeats() { return seats; }
+    public void setSeats(List<String> seats) { this.seats = seats; }
+
+    public String getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(String expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,50 @@
+package vchung.ph59842.app_datve.models;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.List;
+
+/**
+ * Sơ đồ ghế tĩnh của một phòng (/rooms/{roomId}/layout). Không đổi giữa các suất chiếu
+ * nên được cache vĩnh viễn theo {@link #getVersion()}; ghế thứ i trong {@link #getSeats()}
+ * ứng với bit i trong bitmap của {@link SeatStatus}.
+ */
+public class SeatLayout {
+    @SerializedName("roomId")
+    private String roomId;
+
+    @SerializedName("version")
+    private String version;
+
+    @SerializedName("rows")
+    private int rows;
+
+    @SerializedName("seatsPerRow")
+    private int seatsPerRow;
+
+    @SerializedName("screenType")
+    private String screenType;
+
+    @SerializedName("seats")
+    private List<Seat> seats;
+
+    public SeatLayout() {}
+
+    public String getRoomId() { return roomId; }
+    public void setRoomId(String roomId) { this.roomId = roomId; }
+
+    public String getVersion() { return version; }
+    public void setVersion(String version) { this.version = version; }
+
+    public int getRows() { return rows; }
+    public void setRows(int rows) { this.rows = rows; }
+
+    public int getSeatsPerRow() { return seatsPerRow; }
+    public void setSeatsPerRow(int seatsPerRow) { this.seatsPerRow = seatsPerRow; }
+
+    public String getScreenType() { return screenType; }
+    public void setScreenType(String screenType) { this.screenType = screenType; }
+
+    public List<Seat> getSeats() { return seats; }
+    public void setSeats(List<Seat> seats) { this.seats = seats; }
+}
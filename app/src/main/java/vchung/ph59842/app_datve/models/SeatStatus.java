@@ -0,0 +1,87 @@
+package vchung.ph59842.app_datve.models;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.Base64;
+
+/**
+ * Trạng thái ghế của một suất (/schedules/{id}/seat-status): hai bitmap base64
+ * (booked = vé đã xác nhận, held = vé đang chờ thanh toán), bit i là ghế thứ i của
+ * {@link SeatLayout} có version {@link #getLayoutVersion()}. Bit thấp của mỗi byte trước.
+ */
+public class SeatStatus {
+    @SerializedName("scheduleId")
+    private String scheduleId;
+
+    @SerializedName("roomId")
+    private String roomId;
+
+    @SerializedName("layoutVersion")
+    private String layoutVersion;
+
+    @SerializedName("seatCount")
+    private int seatCount;
+
+    @SerializedName("booked")
+    private String booked;
+
+    @SerializedName("held")
+    private String held;
+
+    @SerializedName("priceTable")
+    private Schedule.PriceTable priceTable;
+
+    private transient byte[] bookedBits;
+    private transient byte[] heldBits;
+
+    public SeatStatus() {}
+
+    public String getScheduleId() { return scheduleId; }
+    public void setScheduleId(String scheduleId) { this.scheduleId = scheduleId; }
+
+    public String getRoomId() { return roomId; }
+    public void setRoomId(String roomId) { this.roomId = roomId; }
+
+    public String getLayoutVersion() { return layoutVersion; }
+    public void setLayoutVersion(String layoutVersion) { this.layoutVersion = layoutVersion; }
+
+    public int getSeatCount() { return seatCount; }
+    public void setSeatCount(int seatCount) { this.seatCount = seatCount; }
+
+    public void setBooked(String booked) {
+        this.booked = booked;
+        bookedBits = null;
+    }
+
+    public void setHeld(String held) {
+        this.held = held;
+        heldBits = null;
+    }
+
+    public Schedule.PriceTable getPriceTable() { return priceTable; }
+    public void setPriceTable(Schedule.PriceTable priceTable) { this.priceTable = priceTable; }
+
+    public boolean isBooked(int seatIndex) {
+        if (bookedBits == null) bookedBits = decode(booked);
+        return bit(bookedBits, seatIndex);
+    }
+
+    public boolean isHeld(int seatIndex) {
+        if (heldBits == null) heldBits = decode(held);
+        return bit(heldBits, seatIndex);
+    }
+
+    private static byte[] decode(String base64) {
+        if (base64 == null || base64.isEmpty()) return new byte[0];
+        try {
+            return Base64.getDecoder().decode(base64);
+        } catch (IllegalArgumentException e) {
+            return new byte[0];
+        }
+    }
+
+    private static boolean bit(byte[] bits, int index) {
+        int b = index >> 3;
+        return index >= 0 && b < bits.length && (bits[b] & (1 << (index & 7))) != 0;
+    }
+}
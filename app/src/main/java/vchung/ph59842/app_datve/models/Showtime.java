@@ -57,6 +57,9 @@ public class Showtime {
     @SerializedName("price")
     private double price;
     
+    @SerializedName("priceTable")
+    private Schedule.PriceTable priceTable; // Có khi backend trả về theo Schedule
+
     @SerializedName("availableSeats")
     private Object availableSeats; // Can be array or number
     
@@ -255,6 +258,14 @@ public class Showtime {
         this.price = price;
     }
 
+    public Schedule.PriceTable getPriceTable() {
+        return priceTable;
+    }
+
+    public void setPriceTable(Schedule.PriceTable priceTable) {
+        this.priceTable = priceTable;
+    }
+
     public int getAvailableSeats() {
         if (availableSeats == null) {
             return 0;
@@ -0,0 +1,54 @@
+package vchung.ph59842.app_datve.models;
+
+import com.google.gson.annotations.SerializedName;
+
+/** Một dòng của /movies/showtime-summaries: suất sắp tới của một phim, gọn cho badge trang chủ. */
+public class ShowtimeSummary {
+    @SerializedName("movieId")
+    private String movieId;
+
+    @SerializedName("nextShowtimeId")
+    private String nextShowtimeId;
+
+    @SerializedName("nextStart")
+    private String nextStart; // ISO-8601
+
+    @SerializedName("count")
+    private int count;
+
+    @SerializedName("minPrice")
+    private double minPrice;
+
+    @SerializedName("seatsLeft")
+    private int seatsLeft; // ghế trống của suất gần nhất
+
+    public ShowtimeSummary() {}
+
+    public String getMovieId() { return movieId; }
+    public void setMovieId(String movieId) { this.movieId = movieId; }
+
+    public String getNextShowtimeId() { return nextShowtimeId; }
+    public void setNextShowtimeId(String nextShowtimeId) { this.nextShowtimeId = nextShowtimeId; }
+
+    public String getNextStart() { return nextStart; }
+    public void setNextStart(String nextStart) { this.nextStart = nextStart; }
+
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+
+    public double getMinPrice() { return minPrice; }
+    public void setMinPrice(double minPrice) { this.minPrice = minPrice; }
+
+    public int getSeatsLeft() { return seatsLeft; }
+    public void setSeatsLeft(int seatsLeft) { this.seatsLeft = seatsLeft; }
+
+    /** Epoch millis của suất gần nhất; 0 nếu không đọc được. */
+    public long getNextStartMillis() {
+        if (nextStart == null || nextStart.isEmpty()) return 0L;
+        try {
+            return java.time.Instant.parse(nextStart).toEpochMilli();
+        } catch (Exception e) {
+            return 0L;
+        }
+    }
+}
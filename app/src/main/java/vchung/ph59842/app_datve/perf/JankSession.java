@@ -0,0 +1,144 @@
+package vchung.ph59842.app_datve.perf;
+
+import android.content.Context;
+
+import androidx.metrics.performance.FrameData;
+import androidx.metrics.performance.StateInfo;
+
+import com.google.gson.GsonBuilder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import vchung.ph59842.app_datve.api.metrics.LatencyHistogram;
+
+/**
+ * Gom frame data của cả phiên (từ lúc mở app tới khi app xuống nền) theo màn hình
+ * và theo từng state (vd. "MovieDetailActivity phase=binding showtimes").
+ * Khi app xuống nền, tóm tắt được ghi ra files/perf/jank-&lt;startMillis&gt;.json:
+ * adb shell run-as vchung.ph59842.app_datve ls files/perf
+ */
+public final class JankSession {
+    private static final String TAG = "JankSession";
+    private static final JankSession INSTANCE = new JankSession();
+
+    private final long startedAt = System.currentTimeMillis();
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    static final class Bucket {
+        final AtomicLong frames = new AtomicLong();
+        final AtomicLong janky = new AtomicLong();
+        final LatencyHistogram durations = new LatencyHistogram();
+
+        void add(long durationUs, boolean jank) {
+            frames.incrementAndGet();
+            if (jank) janky.incrementAndGet();
+            durations.record(durationUs);
+        }
+    }
+
+    private JankSession() {}
+
+    public static JankSession get() {
+        return INSTANCE;
+    }
+
+    void record(String screen, FrameData frame) {
+        long durationUs = frame.getFrameDurationUiNanos() / 1000;
+        boolean jank = frame.isJank();
+        bucket(screen).add(durationUs, jank);
+        List<StateInfo> states = frame.getStates();
+        for (int i = 0; i < states.size(); i++) {
+            StateInfo state = states.get(i);
+            bucket(screen + " " + state.getKey() + "=" + state.getValue()).add(durationUs, jank);
+        }
+    }
+
+    private Bucket bucket(String key) {
+        Bucket b = buckets.get(key);
+        if (b == null) {
+            b = buckets.computeIfAbsent(key, k -> new Bucket());
+        }
+        return b;
+    }
+
+    /** Tóm tắt: key -> {frames, janky, jankPercent, p50Ms, p90Ms, p99Ms, maxMs}. */
+    public Map<String, Map<String, Object>> summary() {
+        Map<String, Map<String, Object>> out = new TreeMap<>();
+        for (Map.Entry<String, Bucket> e : buckets.entrySet()) {
+            Bucket b = e.getValue();
+            long frames = b.frames.get();
+            if (frames == 0) continue;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("frames", frames);
+            row.put("janky", b.janky.get());
+            row.put("jankPercent", round(100.0 * b.janky.get() / frames));
+            row.put("p50Ms", round(b.durations.getPercentile(50) / 1000.0));
+            row.put("p90Ms", round(b.durations.getPercentile(90) / 1000.0));
+            row.put("p99Ms", round(b.durations.getPercentile(99) / 1000.0));
+            row.put("maxMs", round(b.durations.getMax() / 1000.0));
+            out.put(e.getKey(), row);
+        }
+        return out;
+    }
+
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Map<String, Object>> e : summary().entrySet()) {
+            Map<String, Object> r = e.getValue();
+            sb.append(String.format(Locale.US, "%s: frames=%s janky=%s (%s%%) p50=%sms p90=%sms p99=%sms max=%sms%n",
+                    e.getKey(), r.get("frames"), r.get("janky"), r.get("jankPercent"),
+                    r.get("p50Ms"), r.get("p90Ms"), r.get("p99Ms"), r.get("maxMs")));
+        }
+        return sb.toString();
+    }
+
+    /** Ghi tóm tắt của phiên ra file (ghi đè file của phiên này). Gọi từ thread nền. */
+    void flush(Context context) {
+        Map<String, Map<String, Object>> summary = summary();
+        if (summary.isEmpty()) return;
+        File dir = new File(context.getFilesDir(), "perf");
+        if (!dir.exists() && !dir.mkdirs()) return;
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("startedAt", startedAt);
+        root.put("flushedAt", System.currentTimeMillis());
+        root.put("screens", summary);
+        File file = new File(dir, "jank-" + startedAt + ".json");
+        try (Writer w = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            new GsonBuilder().setPrettyPrinting().create().toJson(root, w);
+        } catch (Exception e) {
+            android.util.Log.w(TAG, "flush failed", e);
+            return;
+        }
+        for (String line : dump().split("\n")) {
+            android.util.Log.i(TAG, line);
+        }
+    }
+
+    /** Danh sách file tóm tắt của các phiên trước, mới nhất trước. */
+    public static List<File> sessionFiles(Context context) {
+        List<File> files = new ArrayList<>();
+        File[] list = new File(context.getFilesDir(), "perf").listFiles();
+        if (list == null) return files;
+        for (File f : list) {
+            if (f.getName().startsWith("jank-")) files.add(f);
+        }
+        files.sort((a, b) -> b.getName().compareTo(a.getName()));
+        return files;
+    }
+
+    private static double round(double v) {
+        return Math.round(v * 10) / 10.0;
+    }
+}
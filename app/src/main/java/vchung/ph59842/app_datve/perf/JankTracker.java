@@ -0,0 +1,130 @@
+package vchung.ph59842.app_datve.perf;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import androidx.metrics.performance.JankStats;
+import androidx.metrics.performance.PerformanceMetricsState;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Gắn JankStats vào mọi activity và cung cấp helper để tag state cho frame
+ * (vd. "phase" = "binding movies", "scroll" = "scrolling showtimes").
+ * Đăng ký một lần trong DatVeApplication.
+ */
+public final class JankTracker implements Application.ActivityLifecycleCallbacks {
+    public static final String KEY_PHASE = "phase";
+    public static final String KEY_SCROLL = "scroll";
+
+    private static final long SCROLL_IDLE_MS = 150;
+
+    private final Application app;
+    private final Map<Activity, JankStats> trackers = new HashMap<>();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor();
+    private int startedCount;
+
+    private JankTracker(Application app) {
+        this.app = app;
+    }
+
+    public static void install(Application app) {
+        app.registerActivityLifecycleCallbacks(new JankTracker(app));
+    }
+
+    @Override
+    public void onActivityStarted(Activity activity) {
+        startedCount++;
+        if (trackers.containsKey(activity)) return;
+        // Tạo sau onCreate để không chạm vào decor view trước setContentView
+        final String screen = activity.getClass().getSimpleName();
+        JankStats stats = JankStats.createAndTrack(activity.getWindow(),
+                frame -> JankSession.get().record(screen, frame));
+        trackers.put(activity, stats);
+    }
+
+    @Override
+    public void onActivityResumed(Activity activity) {
+        JankStats stats = trackers.get(activity);
+        if (stats != null) stats.setTrackingEnabled(true);
+    }
+
+    @Override
+    public void onActivityPaused(Activity activity) {
+        JankStats stats = trackers.get(activity);
+        if (stats != null) stats.setTrackingEnabled(false);
+    }
+
+    @Override
+    public void onActivityStopped(Activity activity) {
+        startedCount--;
+        if (startedCount == 0) {
+            // App xuống nền: kết thúc một đoạn phiên, lưu tóm tắt
+            flushExecutor.execute(() -> JankSession.get().flush(app));
+        }
+    }
+
+    @Override
+    public void onActivityDestroyed(Activity activity) {
+        trackers.remove(activity);
+    }
+
+    @Override
+    public void onActivityCreated(Activity activity, Bundle savedInstanceState) {}
+
+    @Override
+    public void onActivitySaveInstanceState(Activity activity, Bundle outState) {}
+
+    private static PerformanceMetricsState state(View view) {
+        return PerformanceMetricsState.getHolderForHierarchy(view).getState();
+    }
+
+    /** Tag các frame tiếp theo của màn hình với phase (vd. "binding movies"). */
+    public static void setPhase(Activity activity, String phase) {
+        PerformanceMetricsState s = state(activity.getWindow().getDecorView());
+        if (s != null) s.putState(KEY_PHASE, phase);
+    }
+
+    /** Bỏ tag phase sau khi frame kế tiếp (frame layout/draw kết quả bind) đã vẽ xong. */
+    public static void clearPhaseAfterNextFrame(Activity activity) {
+        final View decor = activity.getWindow().getDecorView();
+        decor.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                if (decor.getViewTreeObserver().isAlive()) {
+                    decor.getViewTreeObserver().removeOnPreDrawListener(this);
+                }
+                decor.post(() -> {
+                    PerformanceMetricsState s = state(decor);
+                    if (s != null) s.removeState(KEY_PHASE);
+                });
+                return true;
+            }
+        });
+        decor.invalidate();
+    }
+
+    /** Tag frame với {@code label} trong lúc view đang cuộn, bỏ tag khi dừng {@value #SCROLL_IDLE_MS}ms. */
+    public static void trackScroll(View scrollView, String label) {
+        if (scrollView == null) return;
+        final Handler handler = new Handler(Looper.getMainLooper());
+        final Runnable idle = () -> {
+            PerformanceMetricsState s = state(scrollView);
+            if (s != null) s.removeState(KEY_SCROLL);
+        };
+        scrollView.setOnScrollChangeListener((v, x, y, oldX, oldY) -> {
+            PerformanceMetricsState s = state(v);
+            if (s != null) s.putState(KEY_SCROLL, label);
+            handler.removeCallbacks(idle);
+            handler.postDelayed(idle, SCROLL_IDLE_MS);
+        });
+    }
+}
@@ -0,0 +1,193 @@
+package vchung.ph59842.app_datve.startup;
+
+import android.app.Activity;
+import android.content.Context;
+import android.os.Process;
+import android.os.SystemClock;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import com.google.gson.Gson;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import vchung.ph59842.app_datve.UserSession;
+import vchung.ph59842.app_datve.api.ApiClient;
+import vchung.ph59842.app_datve.models.ApiResponse;
+import vchung.ph59842.app_datve.models.Movie;
+import vchung.ph59842.app_datve.models.Promotion;
+import vchung.ph59842.app_datve.models.Showtime;
+import vchung.ph59842.app_datve.models.User;
+
+/**
+ * Điều phối khởi động app.
+ * Chạy song song các việc nặng (session, Gson, OkHttp) trên thread nền trong khi
+ * frame đầu tiên đang được vẽ, và đo time-to-first-frame / time-to-full-display.
+ */
+public final class AppStartup {
+    private static final String TAG = "AppStartup";
+
+    private static volatile AppStartup instance;
+
+    private final Context appContext;
+    private final long processStartUptimeMs;
+    private final ExecutorService executor;
+    // UserSession dựng và nạp prefs trên thread nền; activity dùng lại chính object này
+    private final CompletableFuture<UserSession> session = new CompletableFuture<>();
+
+    private volatile long firstFrameMs = -1;
+    private volatile long fullyDrawnMs = -1;
+
+    private AppStartup(Context context) {
+        this.appContext = context.getApplicationContext();
+        this.processStartUptimeMs = Process.getStartUptimeMillis();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(3, r -> {
+            Thread t = new Thread(() -> {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                r.run();
+            }, "startup-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static void init(Context context) {
+        if (instance != null) return;
+        synchronized (AppStartup.class) {
+            if (instance == null) {
+                instance = new AppStartup(context);
+                instance.start();
+            }
+        }
+    }
+
+    public static AppStartup get(Context context) {
+        if (instance == null) init(context);
+        return instance;
+    }
+
+    private void start() {
+        executor.execute(this::warmSession);
+        executor.execute(this::warmGson);
+        executor.execute(this::warmNetwork);
+        // Nothing else is submitted after startup; let the threads die once idle
+        executor.shutdown();
+    }
+
+    private void warmSession() {
+        try {
+            // First getSharedPreferences() call loads the XML from disk; later ones hit memory
+            UserSession warmed = new UserSession(appContext);
+            if (warmed.isLoggedIn()) {
+                warmed.getUser();
+            }
+            session.complete(warmed);
+        } catch (Exception e) {
+            android.util.Log.w(TAG, "warmSession failed", e);
+            session.completeExceptionally(e);
+        }
+    }
+
+    private void warmGson() {
+        try {
+            Gson gson = ApiClient.getGson();
+            // getAdapter() builds and caches the reflective adapters used on the first responses
+            gson.getAdapter(User.class);
+            gson.getAdapter(Movie.class);
+            gson.getAdapter(Showtime.class);
+            gson.getAdapter(Promotion.class);
+            gson.getAdapter(ApiResponse.class);
+        } catch (Exception e) {
+            android.util.Log.w(TAG, "warmGson failed", e);
+        }
+    }
+
+    private void warmNetwork() {
+        try {
+            ApiClient.getApiService(appContext);
+            OkHttpClient client = ApiClient.getOkHttpClient(appContext);
+            // Token sắp hết hạn thì đổi ngay từ lúc mở app, không đợi request đầu tiên
+            ApiClient.getTokenRefresher(appContext).refreshInBackground();
+            // Cheap request so DNS + TLS to the tunnel are done before the movie list is requested;
+            // the connection then stays in OkHttp's pool for the real calls
+            Request request = new Request.Builder()
+                    .url(ApiClient.getBaseUrl() + "health")
+                    .build();
+            client.newCall(request).enqueue(new Callback() {
+                @Override public void onFailure(Call call, java.io.IOException e) {
+                    android.util.Log.d(TAG, "Preconnect failed: " + e.getMessage());
+                }
+                @Override public void onResponse(Call call, Response response) {
+                    response.close();
+                }
+            });
+        } catch (Exception e) {
+            android.util.Log.w(TAG, "warmNetwork failed", e);
+        }
+    }
+
+    /**
+     * UserSession do warmSession dựng (prefs đã nạp sẵn); activity dùng object này thay vì tạo
+     * cái mới. Gọi khi warmSession chưa xong thì chỉ chờ phần còn lại của nó. UserSession đọc prefs
+     * mỗi lần gọi, nên object dùng chung không giữ trạng thái cũ sau khi đăng nhập/đăng xuất.
+     */
+    public UserSession getSession() {
+        try {
+            return session.join();
+        } catch (RuntimeException e) {
+            // warmSession lỗi: dựng trên thread gọi, như trước khi có AppStartup
+            return new UserSession(appContext);
+        }
+    }
+
+    /** Ghi nhận frame đầu tiên của activity (gọi ngay sau setContentView). */
+    public void trackFirstFrame(Activity activity) {
+        if (firstFrameMs >= 0) return;
+        final View decor = activity.getWindow().getDecorView();
+        decor.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                if (decor.getViewTreeObserver().isAlive()) {
+                    decor.getViewTreeObserver().removeOnPreDrawListener(this);
+                }
+                // Posted work runs after the traversal that draws this frame
+                decor.post(() -> {
+                    if (firstFrameMs < 0) {
+                        firstFrameMs = SystemClock.uptimeMillis() - processStartUptimeMs;
+                        android.util.Log.i(TAG, "Time to first frame: " + firstFrameMs + "ms");
+                    }
+                });
+                return true;
+            }
+        });
+    }
+
+    /** Báo nội dung chính đã hiển thị đủ (danh sách phim đã bind hoặc đã lỗi). */
+    public void reportFullyDrawn(Activity activity) {
+        if (fullyDrawnMs >= 0) return;
+        fullyDrawnMs = SystemClock.uptimeMillis() - processStartUptimeMs;
+        try {
+            activity.reportFullyDrawn();
+        } catch (SecurityException ignore) {
+            // Some OEM builds guard reportFullyDrawn behind UPDATE_DEVICE_STATS
+        }
+        android.util.Log.i(TAG, "Time to full display: " + fullyDrawnMs + "ms");
+    }
+
+    public long getFirstFrameMs() {
+        return firstFrameMs;
+    }
+
+    public long getFullyDrawnMs() {
+        return fullyDrawnMs;
+    }
+}
@@ -0,0 +1,26 @@
+package vchung.ph59842.app_datve.ui;
+
+import android.view.View;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * ViewHolder dùng chung cho {@link DiffAdapter}: giữ item đang bind để listener
+ * không phải tra lại vị trí trong adapter.
+ */
+public abstract class BindingViewHolder<T> extends RecyclerView.ViewHolder {
+    protected T item;
+
+    protected BindingViewHolder(@NonNull View itemView) {
+        super(itemView);
+    }
+
+    final void bindItem(T item) {
+        this.item = item;
+        bind(item);
+    }
+
+    /** View được tái sử dụng: phải đặt lại mọi trạng thái, không chỉ phần khác mặc định. */
+    protected abstract void bind(T item);
+}
@@ -0,0 +1,60 @@
+package vchung.ph59842.app_datve.ui;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.widget.Button;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.Glide;
+
+import vchung.ph59842.app_datve.R;
+import vchung.ph59842.app_datve.models.Combo;
+
+/** item_combo trong ComboSelectionActivity. */
+public final class ComboViewHolder extends BindingViewHolder<Combo> {
+    public interface OnComboClick {
+        void onClick(Combo combo);
+    }
+
+    private final ImageView comboIcon;
+    private final TextView comboName;
+    private final TextView comboDescription;
+    private final TextView comboPrice;
+
+    private ComboViewHolder(@NonNull View itemView, OnComboClick listener) {
+        super(itemView);
+        comboIcon = itemView.findViewById(R.id.comboIcon);
+        comboName = itemView.findViewById(R.id.comboName);
+        comboDescription = itemView.findViewById(R.id.comboDescription);
+        comboPrice = itemView.findViewById(R.id.comboPrice);
+        Button btnSelect = itemView.findViewById(R.id.btnSelectCombo);
+        btnSelect.setOnClickListener(v -> {
+            if (item != null) listener.onClick(item);
+        });
+    }
+
+    public static DiffAdapter.Factory<Combo> factory(OnComboClick listener) {
+        return parent -> new ComboViewHolder(
+                LayoutInflater.from(parent.getContext()).inflate(R.layout.item_combo, parent, false), listener);
+    }
+
+    @Override
+    protected void bind(Combo combo) {
+        comboName.setText(combo.getName());
+        comboDescription.setText(combo.getFormattedDescription());
+        comboPrice.setText(combo.getFormattedPrice());
+        // Glide tự hủy request cũ của ImageView khi view được tái sử dụng
+        if (combo.getImageUrl() != null && !combo.getImageUrl().isEmpty()) {
+            Glide.with(comboIcon)
+                    .load(combo.getImageUrl())
+                    .placeholder(R.drawable.ic_gift_orange)
+                    .into(comboIcon);
+        } else {
+            Glide.with(comboIcon).clear(comboIcon);
+            comboIcon.setImageResource(R.drawable.ic_gift_orange);
+        }
+    }
+}
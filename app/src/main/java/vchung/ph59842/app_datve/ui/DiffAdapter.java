@@ -0,0 +1,35 @@
+package vchung.ph59842.app_datve.ui;
+
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+
+/**
+ * Adapter chung cho các danh sách voucher, combo, lịch sử điểm.
+ * submitList() tính diff trên thread nền nên cập nhật/tải thêm trang chỉ vẽ lại các dòng đổi.
+ */
+public final class DiffAdapter<T> extends ListAdapter<T, BindingViewHolder<T>> {
+    public interface Factory<T> {
+        BindingViewHolder<T> create(@NonNull ViewGroup parent);
+    }
+
+    private final Factory<T> factory;
+
+    public DiffAdapter(@NonNull DiffUtil.ItemCallback<T> diff, @NonNull Factory<T> factory) {
+        super(diff);
+        this.factory = factory;
+    }
+
+    @NonNull
+    @Override
+    public BindingViewHolder<T> onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        return factory.create(parent);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull BindingViewHolder<T> holder, int position) {
+        holder.bindItem(getItem(position));
+    }
+}
@@ -0,0 +1,63 @@
+package vchung.ph59842.app_datve.ui;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+
+import java.util.Objects;
+
+import vchung.ph59842.app_datve.models.Combo;
+import vchung.ph59842.app_datve.models.PointLog;
+import vchung.ph59842.app_datve.models.Promotion;
+
+/** DiffUtil callbacks cho các model hiển thị dạng danh sách (model không override equals). */
+public final class ItemDiffs {
+    private ItemDiffs() {}
+
+    public static final DiffUtil.ItemCallback<Promotion> PROMOTION = new DiffUtil.ItemCallback<Promotion>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Promotion a, @NonNull Promotion b) {
+            return a.getCode() != null ? a.getCode().equals(b.getCode()) : Objects.equals(a.getId(), b.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Promotion a, @NonNull Promotion b) {
+            return Objects.equals(a.getName(), b.getName())
+                    && Objects.equals(a.getDescription(), b.getDescription())
+                    && Objects.equals(a.getStartDate(), b.getStartDate())
+                    && Objects.equals(a.getEndDate(), b.getEndDate())
+                    && a.isActive() == b.isActive()
+                    && a.getUsedCount() == b.getUsedCount()
+                    && Objects.equals(a.getUsageLimit(), b.getUsageLimit())
+                    && Objects.equals(a.getFormattedDiscount(), b.getFormattedDiscount());
+        }
+    };
+
+    public static final DiffUtil.ItemCallback<Combo> COMBO = new DiffUtil.ItemCallback<Combo>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Combo a, @NonNull Combo b) {
+            return Objects.equals(a.getId(), b.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Combo a, @NonNull Combo b) {
+            return Objects.equals(a.getName(), b.getName())
+                    && a.getPrice() == b.getPrice()
+                    && Objects.equals(a.getFormattedDescription(), b.getFormattedDescription())
+                    && Objects.equals(a.getImageUrl(), b.getImageUrl());
+        }
+    };
+
+    public static final DiffUtil.ItemCallback<PointLog> POINT_LOG = new DiffUtil.ItemCallback<PointLog>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull PointLog a, @NonNull PointLog b) {
+            return Objects.equals(a.getId(), b.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull PointLog a, @NonNull PointLog b) {
+            return Objects.equals(a.getType(), b.getType())
+                    && a.getPoints() == b.getPoints()
+                    && a.getAmount() == b.getAmount();
+        }
+    };
+}
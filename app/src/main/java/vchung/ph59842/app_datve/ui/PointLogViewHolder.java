@@ -0,0 +1,39 @@
+package vchung.ph59842.app_datve.ui;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+
+import vchung.ph59842.app_datve.models.PointLog;
+
+/** Một dòng lịch sử điểm trong MembershipActivity. */
+public final class PointLogViewHolder extends BindingViewHolder<PointLog> {
+    private final TextView t1;
+    private final TextView t2;
+
+    private PointLogViewHolder(@NonNull View itemView) {
+        super(itemView);
+        t1 = itemView.findViewById(android.R.id.text1);
+        t2 = itemView.findViewById(android.R.id.text2);
+    }
+
+    public static DiffAdapter.Factory<PointLog> factory() {
+        return parent -> new PointLogViewHolder(
+                LayoutInflater.from(parent.getContext()).inflate(android.R.layout.simple_list_item_2, parent, false));
+    }
+
+    @Override
+    protected void bind(PointLog log) {
+        String type = String.valueOf(log.getType());
+        t1.setText(("earn".equals(type) ? "+" : "") + log.getPoints() + " điểm");
+        t2.setText(String.format(Locale.getDefault(), "%s • %s₫", type, formatNumber(log.getAmount())));
+    }
+
+    private static String formatNumber(long v) {
+        return String.format(Locale.getDefault(), "%,d", v).replace(',', '.');
+    }
+}
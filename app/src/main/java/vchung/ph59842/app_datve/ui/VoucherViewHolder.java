@@ -0,0 +1,78 @@
+package vchung.ph59842.app_datve.ui;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.widget.Button;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+import vchung.ph59842.app_datve.R;
+import vchung.ph59842.app_datve.data.PromotionIndex;
+import vchung.ph59842.app_datve.data.PromotionRepository;
+import vchung.ph59842.app_datve.models.Promotion;
+
+/** item_voucher, dùng chung cho VoucherActivity (2 tab) và AccountActivity. */
+public final class VoucherViewHolder extends BindingViewHolder<Promotion> {
+    public interface OnVoucherClick {
+        void onClick(Promotion promotion);
+    }
+
+    private final TextView tvDiscountValue;
+    private final TextView tvVoucherName;
+    private final TextView tvVoucherDescription;
+    private final TextView tvExpiryDate;
+    private final TextView tvVoucherCode;
+    private final Button btnUseVoucher;
+    private final View voucherLeft;
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy", Locale.getDefault());
+
+    private VoucherViewHolder(@NonNull View itemView, String actionText, OnVoucherClick listener) {
+        super(itemView);
+        tvDiscountValue = itemView.findViewById(R.id.tvDiscountValue);
+        tvVoucherName = itemView.findViewById(R.id.tvVoucherName);
+        tvVoucherDescription = itemView.findViewById(R.id.tvVoucherDescription);
+        tvExpiryDate = itemView.findViewById(R.id.tvExpiryDate);
+        tvVoucherCode = itemView.findViewById(R.id.tvVoucherCode);
+        btnUseVoucher = itemView.findViewById(R.id.btnUseVoucher);
+        voucherLeft = itemView.findViewById(R.id.voucherLeft);
+        btnUseVoucher.setText(actionText);
+        btnUseVoucher.setOnClickListener(v -> {
+            if (item != null && listener != null) listener.onClick(item);
+        });
+    }
+
+    public static DiffAdapter.Factory<Promotion> factory(String actionText, OnVoucherClick listener) {
+        return parent -> new VoucherViewHolder(
+                LayoutInflater.from(parent.getContext()).inflate(R.layout.item_voucher, parent, false),
+                actionText, listener);
+    }
+
+    @Override
+    protected void bind(Promotion promotion) {
+        // Ngày và trạng thái lấy từ chỉ mục đã parse sẵn
+        PromotionIndex index = PromotionRepository.get().current();
+        boolean available = index.isValid(promotion.getCode(), System.currentTimeMillis());
+
+        tvDiscountValue.setText(promotion.getFormattedDiscount());
+        tvVoucherName.setText(promotion.getName() != null ? promotion.getName() : "");
+        tvVoucherDescription.setText(promotion.getDescription() != null ? promotion.getDescription() : "");
+        if (promotion.getEndDate() != null) {
+            long endMs = index.endMillis(promotion);
+            tvExpiryDate.setText(endMs != Long.MAX_VALUE ? "HSD: " + dateFormat.format(new Date(endMs)) : "HSD: N/A");
+        } else {
+            tvExpiryDate.setText("");
+        }
+        tvVoucherCode.setText(promotion.getCode() != null ? "Mã: " + promotion.getCode() : "");
+
+        btnUseVoucher.setEnabled(available);
+        btnUseVoucher.setAlpha(available ? 1.0f : 0.6f);
+        if (voucherLeft != null) {
+            voucherLeft.setBackgroundResource(available ? R.drawable.bg_voucher_left_red : R.drawable.bg_voucher_gray);
+        }
+    }
+}
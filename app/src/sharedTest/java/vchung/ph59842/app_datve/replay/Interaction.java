@@ -0,0 +1,55 @@
+package vchung.ph59842.app_datve.replay;
+
+import com.google.gson.annotations.SerializedName;
+
+/** Một cặp request/response đã ghi; path tính từ base URL (vd {@code movies?page=1&limit=20}). */
+public final class Interaction {
+    @SerializedName("method")
+    String method;
+
+    @SerializedName("path")
+    String path;
+
+    @SerializedName("status")
+    int status;
+
+    @SerializedName("contentType")
+    String contentType;
+
+    @SerializedName("body")
+    String body;
+
+    public Interaction(String method, String path, int status, String contentType, String body) {
+        this.method = method;
+        this.path = path;
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    /** Path bỏ query, để khớp khi app đổi tham số phân trang/lọc. */
+    String route() {
+        int q = path.indexOf('?');
+        return q < 0 ? path : path.substring(0, q);
+    }
+}
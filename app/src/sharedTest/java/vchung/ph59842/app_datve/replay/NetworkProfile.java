@@ -0,0 +1,75 @@
+package vchung.ph59842.app_datve.replay;
+
+import java.util.Locale;
+
+/**
+ * Điều kiện mạng giả lập cho {@link ReplayServer}: độ trễ trước header, băng thông của body
+ * và tỉ lệ lỗi. Lỗi rút từ Random có seed nên cùng profile cho cùng chuỗi lỗi mỗi lần chạy.
+ */
+public final class NetworkProfile {
+    public enum Failure {
+        /** Trả 503 với body lỗi như backend. */
+        HTTP_503,
+        /** Đọc xong request rồi cắt kết nối (IOException phía client). */
+        DISCONNECT
+    }
+
+    /** Không trễ, không giới hạn, không lỗi: đo riêng chi phí phía client. */
+    public static final NetworkProfile NONE = new NetworkProfile(0, 0, 0, 0, Failure.HTTP_503, 1L);
+    public static final NetworkProfile WIFI = new NetworkProfile(20, 5, 5_000_000, 0, Failure.HTTP_503, 1L);
+    public static final NetworkProfile LTE = new NetworkProfile(80, 20, 1_500_000, 0, Failure.HTTP_503, 1L);
+    public static final NetworkProfile SLOW_3G = new NetworkProfile(400, 100, 50_000, 0, Failure.HTTP_503, 1L);
+
+    final long latencyMs;
+    final long jitterMs;
+    /** 0 = không giới hạn. */
+    final long bytesPerSecond;
+    final double errorRate;
+    final Failure failure;
+    final long seed;
+
+    private NetworkProfile(long latencyMs, long jitterMs, long bytesPerSecond, double errorRate, Failure failure, long seed) {
+        if (latencyMs < 0 || jitterMs < 0 || bytesPerSecond < 0) throw new IllegalArgumentException("Negative network parameter");
+        if (errorRate < 0 || errorRate > 1) throw new IllegalArgumentException("errorRate must be in [0, 1]");
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.bytesPerSecond = bytesPerSecond;
+        this.errorRate = errorRate;
+        this.failure = failure;
+        this.seed = seed;
+    }
+
+    /** NONE, WIFI, LTE, SLOW_3G (không phân biệt hoa thường), để chọn qua tham số instrumentation. */
+    public static NetworkProfile named(String name) {
+        switch (name.toUpperCase(Locale.ROOT)) {
+            case "NONE": return NONE;
+            case "WIFI": return WIFI;
+            case "LTE": return LTE;
+            case "SLOW_3G": return SLOW_3G;
+            default: throw new IllegalArgumentException("Unknown network profile: " + name);
+        }
+    }
+
+    public NetworkProfile withLatency(long latencyMs, long jitterMs) {
+        return new NetworkProfile(latencyMs, jitterMs, bytesPerSecond, errorRate, failure, seed);
+    }
+
+    public NetworkProfile withBandwidth(long bytesPerSecond) {
+        return new NetworkProfile(latencyMs, jitterMs, bytesPerSecond, errorRate, failure, seed);
+    }
+
+    public NetworkProfile withErrors(double errorRate, Failure failure) {
+        return new NetworkProfile(latencyMs, jitterMs, bytesPerSecond, errorRate, failure, seed);
+    }
+
+    public NetworkProfile withSeed(long seed) {
+        return new NetworkProfile(latencyMs, jitterMs, bytesPerSecond, errorRate, failure, seed);
+    }
+
+    @Override
+    public String toString() {
+        return "latency=" + latencyMs + "±" + jitterMs + "ms bandwidth="
+                + (bytesPerSecond == 0 ? "unlimited" : bytesPerSecond + "B/s")
+                + " errors=" + errorRate + "(" + failure + ") seed=" + seed;
+    }
+}
@@ -0,0 +1,44 @@
+package vchung.ph59842.app_datve.replay;
+
+import java.io.IOException;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Ghi mọi response đi qua vào một {@link Tape}, path tính từ {@code baseUrl} để băng phát lại
+ * được trên server khác. Dùng peekBody nên không tiêu thụ body của app.
+ */
+public final class RecordingInterceptor implements Interceptor {
+    private static final long MAX_BODY_BYTES = 4L * 1024 * 1024;
+
+    private final String basePath;
+    private final Tape tape;
+
+    public RecordingInterceptor(String baseUrl, Tape tape) {
+        HttpUrl base = HttpUrl.get(baseUrl);
+        this.basePath = base.encodedPath();
+        this.tape = tape;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        MediaType type = response.body() != null ? response.body().contentType() : null;
+        String body = response.body() != null ? response.peekBody(MAX_BODY_BYTES).string() : null;
+        tape.add(new Interaction(request.method(), relativePath(request.url()), response.code(),
+                type != null ? type.toString() : null, body));
+        return response;
+    }
+
+    private String relativePath(HttpUrl url) {
+        String path = url.encodedPath();
+        if (path.startsWith(basePath)) path = path.substring(basePath.length());
+        String query = url.encodedQuery();
+        return query != null ? path + "?" + query : path;
+    }
+}
@@ -0,0 +1,112 @@
+package vchung.ph59842.app_datve.replay;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+
+/**
+ * Trả response từ {@link Tape} theo method + path. Khớp đúng cả query trước, không có thì khớp
+ * theo path bỏ query. Cùng một key được ghi nhiều lần thì phát lần lượt rồi lặp lại cái cuối
+ * (polling seat-status vẫn có dữ liệu). Request không có trong băng trả 404 và được ghi vào
+ * {@link #misses()} để test báo fixture thiếu thay vì đo nhầm một màn hình lỗi.
+ */
+final class ReplayDispatcher extends Dispatcher {
+    private static final long THROTTLE_PERIOD_MS = 100;
+
+    private final String basePath;
+    private final NetworkProfile profile;
+    private final Map<String, List<Interaction>> exact = new HashMap<>();
+    private final Map<String, List<Interaction>> byRoute = new HashMap<>();
+    private final Map<String, Integer> cursors = new HashMap<>();
+    private final List<String> misses = new ArrayList<>();
+    private final Random random;
+
+    ReplayDispatcher(Tape tape, String basePath, NetworkProfile profile) {
+        this.basePath = basePath;
+        this.profile = profile;
+        this.random = new Random(profile.seed);
+        for (Interaction i : tape.getInteractions()) {
+            exact.computeIfAbsent(i.method + " " + i.path, k -> new ArrayList<>()).add(i);
+            byRoute.computeIfAbsent(i.method + " " + i.route(), k -> new ArrayList<>()).add(i);
+        }
+    }
+
+    // MockWebServer gọi dispatch trên thread của từng kết nối; khoá để cursor và Random
+    // tiến theo đúng thứ tự request tới
+    @Override
+    public synchronized MockResponse dispatch(RecordedRequest request) {
+        String path = relativePath(request.getPath());
+        String method = request.getMethod();
+
+        if (profile.errorRate > 0 && random.nextDouble() < profile.errorRate) {
+            return shape(failure());
+        }
+
+        Interaction hit = next(method + " " + path, exact);
+        if (hit == null) {
+            int q = path.indexOf('?');
+            hit = next(method + " " + (q < 0 ? path : path.substring(0, q)), byRoute);
+        }
+        if (hit == null) {
+            misses.add(method + " " + path);
+            return shape(json(404, "{\"success\":false,\"message\":\"No recorded response for " + method + " " + path + "\"}"));
+        }
+
+        MockResponse response = new MockResponse().setResponseCode(hit.status);
+        if (hit.contentType != null) response.setHeader("Content-Type", hit.contentType);
+        if (hit.body != null) response.setBody(hit.body);
+        return shape(response);
+    }
+
+    synchronized List<String> misses() {
+        return Collections.unmodifiableList(new ArrayList<>(misses));
+    }
+
+    private Interaction next(String key, Map<String, List<Interaction>> index) {
+        List<Interaction> list = index.get(key);
+        if (list == null) return null;
+        String cursorKey = (index == exact ? "=" : "~") + key;
+        int cursor = cursors.getOrDefault(cursorKey, 0);
+        cursors.put(cursorKey, cursor + 1);
+        return list.get(Math.min(cursor, list.size() - 1));
+    }
+
+    private MockResponse failure() {
+        if (profile.failure == NetworkProfile.Failure.DISCONNECT) {
+            return new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+        }
+        return json(503, "{\"success\":false,\"message\":\"Injected failure\"}");
+    }
+
+    private MockResponse shape(MockResponse response) {
+        long delay = profile.latencyMs;
+        if (profile.jitterMs > 0) delay += random.nextInt((int) (2 * profile.jitterMs + 1)) - profile.jitterMs;
+        if (delay > 0) response.setHeadersDelay(delay, TimeUnit.MILLISECONDS);
+        if (profile.bytesPerSecond > 0) {
+            long perPeriod = Math.max(1, profile.bytesPerSecond * THROTTLE_PERIOD_MS / 1000);
+            response.throttleBody(perPeriod, THROTTLE_PERIOD_MS, TimeUnit.MILLISECONDS);
+        }
+        return response;
+    }
+
+    private static MockResponse json(int code, String body) {
+        return new MockResponse()
+                .setResponseCode(code)
+                .setHeader("Content-Type", "application/json; charset=utf-8")
+                .setBody(body);
+    }
+
+    private String relativePath(String path) {
+        if (path == null) return "";
+        return path.startsWith(basePath) ? path.substring(basePath.length()) : path;
+    }
+}
@@ -0,0 +1,65 @@
+package vchung.ph59842.app_datve.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+import okhttp3.mockwebserver.MockWebServer;
+import vchung.ph59842.app_datve.api.ApiClient;
+
+/**
+ * MockWebServer phát lại một {@link Tape} dưới một {@link NetworkProfile}.
+ *
+ * <pre>
+ * try (ReplayServer server = new ReplayServer(Tape.fromResource("home"), NetworkProfile.LTE).start()) {
+ *     ApiService api = ApiClient.create(server.baseUrl(), client);   // unit test
+ *     server.install();                                             // hoặc cả app (test trên máy)
+ * }
+ * </pre>
+ */
+public final class ReplayServer implements Closeable {
+    /** Cùng path với backend thật để fixture ghi được dùng nguyên. */
+    public static final String BASE_PATH = "/api/v1/";
+
+    private final MockWebServer server = new MockWebServer();
+    private final ReplayDispatcher dispatcher;
+    private boolean installed;
+
+    public ReplayServer(Tape tape, NetworkProfile profile) {
+        dispatcher = new ReplayDispatcher(tape, BASE_PATH, profile);
+        server.setDispatcher(dispatcher);
+    }
+
+    public ReplayServer start() throws IOException {
+        server.start();
+        return this;
+    }
+
+    public String baseUrl() {
+        return server.url(BASE_PATH).toString();
+    }
+
+    /** Trỏ {@link ApiClient} của app sang server này cho tới khi {@link #close()}. */
+    public void install() {
+        ApiClient.setBaseUrl(baseUrl());
+        installed = true;
+    }
+
+    /** Các request không có trong băng ({@code "GET movies/abc/showtimes"}), theo thứ tự. */
+    public List<String> misses() {
+        return dispatcher.misses();
+    }
+
+    public int requestCount() {
+        return server.getRequestCount();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (installed) {
+            ApiClient.setBaseUrl(null);
+            installed = false;
+        }
+        server.shutdown();
+    }
+}
@@ -0,0 +1,73 @@
+package vchung.ph59842.app_datve.replay;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.annotations.SerializedName;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Một "băng" fixture: các interaction theo đúng thứ tự đã ghi. Lưu dạng JSON trong
+ * {@code app/src/fixtures/replay/}; unit test đọc qua classpath, test trên máy đọc qua asset.
+ */
+public final class Tape {
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    /** Server đã ghi, hoặc ghi chú nếu fixture viết tay. */
+    @SerializedName("source")
+    String source;
+
+    @SerializedName("interactions")
+    final List<Interaction> interactions = new ArrayList<>();
+
+    public Tape(String source) {
+        this.source = source;
+    }
+
+    public static Tape read(InputStream in) throws IOException {
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            Tape tape = GSON.fromJson(reader, Tape.class);
+            if (tape == null) throw new IOException("Empty tape");
+            return tape;
+        }
+    }
+
+    /** Đọc {@code replay/<name>.json} từ classpath (unit test). */
+    public static Tape fromResource(String name) throws IOException {
+        InputStream in = Tape.class.getClassLoader().getResourceAsStream("replay/" + name + ".json");
+        if (in == null) throw new IOException("Missing fixture replay/" + name + ".json");
+        return read(in);
+    }
+
+    public synchronized void write(Writer out) throws IOException {
+        GSON.toJson(this, out);
+        out.flush();
+    }
+
+    public synchronized Tape add(Interaction interaction) {
+        interactions.add(interaction);
+        return this;
+    }
+
+    /** Nối interaction của băng khác vào sau (một màn hình gọi API của nhiều băng). */
+    public synchronized Tape addAll(Tape other) {
+        interactions.addAll(other.getInteractions());
+        return this;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public synchronized List<Interaction> getInteractions() {
+        return Collections.unmodifiableList(new ArrayList<>(interactions));
+    }
+}
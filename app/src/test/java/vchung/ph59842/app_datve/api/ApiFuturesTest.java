@@ -0,0 +1,173 @@
+package vchung.ph59842.app_datve.api;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import vchung.ph59842.app_datve.models.ApiResponse;
+
+import static org.junit.Assert.*;
+
+public class ApiFuturesTest {
+
+    private static final class FakeCall implements Call<ApiResponse<String>> {
+        Callback<ApiResponse<String>> callback;
+        boolean canceled;
+
+        @Override public void enqueue(Callback<ApiResponse<String>> callback) { this.callback = callback; }
+        @Override public Response<ApiResponse<String>> execute() { throw new UnsupportedOperationException(); }
+        @Override public boolean isExecuted() { return callback != null; }
+        @Override public void cancel() { canceled = true; }
+        @Override public boolean isCanceled() { return canceled; }
+        @Override public Call<ApiResponse<String>> clone() { return new FakeCall(); }
+        @Override public Request request() { return new Request.Builder().url("http://localhost/").build(); }
+        @Override public Timeout timeout() { return Timeout.NONE; }
+    }
+
+    private static ApiResponse<String> body(boolean success, String data) {
+        ApiResponse<String> r = new ApiResponse<>();
+        r.setSuccess(success);
+        r.setData(data);
+        return r;
+    }
+
+    private static Throwable failureOf(CompletableFuture<?> f) throws InterruptedException {
+        try {
+            f.get(1, TimeUnit.SECONDS);
+            fail("Expected failure");
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (TimeoutException e) {
+            throw new AssertionError("Future did not complete", e);
+        }
+    }
+
+    @Test
+    public void dataCompletesWithPayload() {
+        FakeCall call = new FakeCall();
+        CompletableFuture<String> f = ApiFutures.data(new CallScope(), call);
+        assertFalse(f.isDone());
+
+        call.callback.onResponse(call, Response.success(body(true, "movies")));
+        assertEquals("movies", f.join());
+    }
+
+    @Test
+    public void dataFailsWithApiExceptionOnHttpError() throws InterruptedException {
+        FakeCall call = new FakeCall();
+        CompletableFuture<String> f = ApiFutures.data(new CallScope(), call);
+
+        call.callback.onResponse(call, Response.error(503, ResponseBody.create("{}", MediaType.get("application/json"))));
+        Throwable t = failureOf(f);
+        assertTrue(t instanceof ApiException);
+        assertEquals(503, ((ApiException) t).getCode());
+    }
+
+    @Test
+    public void dataFailsWhenSuccessFlagIsFalse() throws InterruptedException {
+        FakeCall call = new FakeCall();
+        CompletableFuture<String> f = ApiFutures.data(new CallScope(), call);
+
+        call.callback.onResponse(call, Response.success(body(false, null)));
+        assertTrue(failureOf(f) instanceof ApiException);
+    }
+
+    @Test
+    public void cancellingFutureCancelsCall() {
+        FakeCall call = new FakeCall();
+        CompletableFuture<String> f = ApiFutures.data(new CallScope(), call);
+
+        f.cancel(true);
+        assertTrue(call.canceled);
+    }
+
+    @Test
+    public void allKeepsOrderAndFailsFast() throws InterruptedException {
+        CompletableFuture<String> a = new CompletableFuture<>();
+        CompletableFuture<String> b = new CompletableFuture<>();
+        CompletableFuture<List<String>> both = ApiFutures.all(Arrays.asList(a, b));
+        b.complete("b");
+        a.complete("a");
+        assertEquals(Arrays.asList("a", "b"), both.join());
+
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        CompletableFuture<String> broken = new CompletableFuture<>();
+        CompletableFuture<List<String>> failing = ApiFutures.all(Arrays.asList(slow, broken));
+        broken.completeExceptionally(new IOException("offline"));
+        assertEquals("offline", failureOf(failing).getMessage());
+        assertTrue(slow.isCancelled());
+    }
+
+    @Test
+    public void raceTakesFirstSuccessAndCancelsRest() {
+        CompletableFuture<String> failsFirst = new CompletableFuture<>();
+        CompletableFuture<String> wins = new CompletableFuture<>();
+        CompletableFuture<String> loses = new CompletableFuture<>();
+        CompletableFuture<String> race = ApiFutures.race(Arrays.asList(failsFirst, wins, loses));
+
+        failsFirst.completeExceptionally(new IOException("offline"));
+        assertFalse(race.isDone());
+        wins.complete("cdn");
+        assertEquals("cdn", race.join());
+        assertTrue(loses.isCancelled());
+    }
+
+    @Test
+    public void raceFailsOnlyWhenAllFail() throws InterruptedException {
+        CompletableFuture<String> a = new CompletableFuture<>();
+        CompletableFuture<String> b = new CompletableFuture<>();
+        CompletableFuture<String> race = ApiFutures.race(Arrays.asList(a, b));
+        a.completeExceptionally(new IOException("first"));
+        b.completeExceptionally(new IOException("last"));
+        assertEquals("last", failureOf(race).getMessage());
+    }
+
+    @Test
+    public void timeoutFailsAndCancelsSource() throws InterruptedException {
+        CompletableFuture<String> never = new CompletableFuture<>();
+        CompletableFuture<String> limited = ApiFutures.timeout(never, 50);
+
+        assertTrue(failureOf(limited) instanceof TimeoutException);
+        assertTrue(never.isCancelled());
+    }
+
+    @Test
+    public void timeoutPassesThroughFastResult() {
+        CompletableFuture<String> fast = new CompletableFuture<>();
+        CompletableFuture<String> limited = ApiFutures.timeout(fast, 5_000);
+        fast.complete("ok");
+        assertEquals("ok", limited.join());
+    }
+
+    @Test
+    public void orCachedFallsBackOnFailureButNotOnCancel() throws InterruptedException {
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        CompletableFuture<String> withCache = ApiFutures.orCached(failed, () -> "cached");
+        failed.completeExceptionally(new IOException("offline"));
+        assertEquals("cached", withCache.join());
+
+        CompletableFuture<String> noCache = new CompletableFuture<>();
+        CompletableFuture<String> empty = ApiFutures.orCached(noCache, () -> null);
+        noCache.completeExceptionally(new IOException("offline"));
+        assertEquals("offline", failureOf(empty).getMessage());
+
+        CompletableFuture<String> cancelled = new CompletableFuture<>();
+        CompletableFuture<String> closed = ApiFutures.orCached(cancelled, () -> "cached");
+        cancelled.cancel(true);
+        assertTrue(closed.isCompletedExceptionally());
+    }
+}
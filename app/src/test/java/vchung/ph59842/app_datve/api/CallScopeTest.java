@@ -0,0 +1,125 @@
+package vchung.ph59842.app_datve.api;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static org.junit.Assert.*;
+
+public class CallScopeTest {
+
+    /** Call giả: giữ callback để test tự quyết định khi nào kết quả "về". */
+    private static final class FakeCall implements Call<String> {
+        Callback<String> callback;
+        boolean enqueued;
+        boolean canceled;
+
+        @Override
+        public void enqueue(Callback<String> callback) {
+            this.callback = callback;
+            enqueued = true;
+        }
+
+        void succeed(String body) {
+            callback.onResponse(this, Response.success(body));
+        }
+
+        void fail(IOException e) {
+            callback.onFailure(this, e);
+        }
+
+        @Override public Response<String> execute() { throw new UnsupportedOperationException(); }
+        @Override public boolean isExecuted() { return enqueued; }
+        @Override public void cancel() { canceled = true; }
+        @Override public boolean isCanceled() { return canceled; }
+        @Override public Call<String> clone() { return new FakeCall(); }
+        @Override public Request request() { return new Request.Builder().url("http://localhost/").build(); }
+        @Override public Timeout timeout() { return Timeout.NONE; }
+    }
+
+    private static final class Recorder implements Callback<String> {
+        String body;
+        Throwable error;
+        int calls;
+
+        @Override
+        public void onResponse(Call<String> call, Response<String> response) {
+            body = response.body();
+            calls++;
+        }
+
+        @Override
+        public void onFailure(Call<String> call, Throwable t) {
+            error = t;
+            calls++;
+        }
+    }
+
+    @Test
+    public void deliversResultsWhileOpen() {
+        CallScope scope = new CallScope();
+        FakeCall ok = new FakeCall();
+        FakeCall bad = new FakeCall();
+        Recorder okResult = new Recorder();
+        Recorder badResult = new Recorder();
+        scope.enqueue(ok, okResult);
+        scope.enqueue(bad, badResult);
+        assertEquals(2, scope.inFlightCount());
+
+        ok.succeed("movies");
+        bad.fail(new IOException("offline"));
+
+        assertEquals("movies", okResult.body);
+        assertEquals("offline", badResult.error.getMessage());
+        assertEquals(0, scope.inFlightCount());
+    }
+
+    @Test
+    public void closeCancelsInFlightAndDropsLateResults() {
+        CallScope scope = new CallScope();
+        FakeCall call = new FakeCall();
+        Recorder result = new Recorder();
+        scope.enqueue(call, result);
+
+        scope.close();
+        assertTrue(call.canceled);
+        assertEquals(0, scope.inFlightCount());
+
+        // OkHttp vẫn báo về (thường là IOException "Canceled") sau khi huỷ
+        call.fail(new IOException("Canceled"));
+        call.succeed("late");
+        assertEquals(0, result.calls);
+    }
+
+    @Test
+    public void enqueueAfterCloseCancelsWithoutSending() {
+        CallScope scope = new CallScope();
+        scope.close();
+        FakeCall call = new FakeCall();
+        scope.enqueue(call, new Recorder());
+
+        assertTrue(scope.isClosed());
+        assertTrue(call.canceled);
+        assertFalse(call.enqueued);
+    }
+
+    @Test
+    public void resultIsDeliveredOnlyOnce() {
+        CallScope scope = new CallScope();
+        FakeCall call = new FakeCall();
+        Recorder result = new Recorder();
+        scope.enqueue(call, result);
+
+        call.succeed("first");
+        call.succeed("second");
+
+        assertEquals(1, result.calls);
+        assertEquals("first", result.body);
+    }
+}
@@ -0,0 +1,192 @@
+package vchung.ph59842.app_datve.api.auth;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+public class TokenRefresherTest {
+    private static final long NOW = 1_900_000_000_000L;
+
+    private MockWebServer server;
+    private final AtomicInteger refreshRequests = new AtomicInteger();
+    private final AtomicInteger unauthorized = new AtomicInteger();
+    private volatile String validToken;
+    private volatile boolean refreshAllowed = true;
+
+    private static final class MemoryStore implements TokenStore {
+        volatile String token;
+
+        MemoryStore(String token) {
+            this.token = token;
+        }
+
+        @Override public String getToken() { return token; }
+        @Override public void saveToken(String token) { this.token = token; }
+    }
+
+    /** JWT không ký, đủ để client đọc exp/iat. */
+    private static String jwt(String subject, long issuedAtMs, long expiresAtMs) {
+        Base64.Encoder b64 = Base64.getUrlEncoder().withoutPadding();
+        String header = b64.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8));
+        String payload = b64.encodeToString(("{\"sub\":\"" + subject + "\",\"iat\":" + issuedAtMs / 1000
+                + ",\"exp\":" + expiresAtMs / 1000 + "}").getBytes(StandardCharsets.UTF_8));
+        return header + "." + payload + ".sig";
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (request.getPath().endsWith("/auth/refresh")) {
+                    refreshRequests.incrementAndGet();
+                    if (!refreshAllowed) return new MockResponse().setResponseCode(401);
+                    // Chậm một chút để các request 401 khác kịp xếp hàng chờ cùng lần refresh
+                    Thread.sleep(100);
+                    return new MockResponse().setBody("{\"success\":true,\"token\":\"" + validToken + "\"}");
+                }
+                if (("Bearer " + validToken).equals(request.getHeader("Authorization"))) {
+                    return new MockResponse().setBody("{\"success\":true}");
+                }
+                unauthorized.incrementAndGet();
+                return new MockResponse().setResponseCode(401);
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private TokenRefresher refresher(MemoryStore store, long now) {
+        return new TokenRefresher(store, new OkHttpClient(), () -> server.url("/api/v1/").toString(), () -> now);
+    }
+
+    /** Giống ApiClient: interceptor gắn token, authenticator xử lý 401. */
+    private OkHttpClient client(TokenRefresher refresher) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(chain -> chain.proceed(chain.request().newBuilder()
+                        .header("Authorization", "Bearer " + refresher.tokenForRequest())
+                        .build()))
+                .authenticator(new TokenAuthenticator(refresher))
+                .build();
+    }
+
+    private Request get(String path) {
+        return new Request.Builder().url(server.url("/api/v1/" + path)).build();
+    }
+
+    @Test
+    public void decodesExpiryAndIgnoresGarbage() {
+        String token = jwt("u1", NOW, NOW + 60_000);
+        assertEquals(NOW + 60_000, Jwt.expiresAtMillis(token));
+        assertEquals(NOW, Jwt.issuedAtMillis(token));
+        assertEquals(-1, Jwt.expiresAtMillis("not-a-jwt"));
+        assertEquals(-1, Jwt.expiresAtMillis("a.%%%.c"));
+        assertEquals(-1, Jwt.expiresAtMillis(null));
+    }
+
+    @Test
+    public void concurrent401sShareOneRefreshAndAreReplayed() throws InterruptedException {
+        // Server đã thu hồi token dù client tưởng còn hạn: cả loạt request nhận 401 cùng lúc
+        MemoryStore store = new MemoryStore(jwt("old", NOW, NOW + TimeUnit.DAYS.toMillis(30)));
+        validToken = jwt("new", NOW, NOW + TimeUnit.DAYS.toMillis(30));
+        TokenRefresher refresher = refresher(store, NOW);
+        OkHttpClient client = client(refresher);
+
+        int calls = 6;
+        CountDownLatch done = new CountDownLatch(calls);
+        List<Integer> codes = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            client.newCall(get("movies/" + i)).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    done.countDown();
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    synchronized (codes) {
+                        codes.add(response.code());
+                    }
+                    response.close();
+                    done.countDown();
+                }
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        assertEquals(calls, codes.size());
+        for (int code : codes) assertEquals(200, code);
+        assertEquals(1, refreshRequests.get());
+        assertEquals(1, refresher.getRefreshCount());
+        assertEquals(validToken, store.getToken());
+    }
+
+    @Test
+    public void expiredTokenIsRefreshedBeforeSending() throws IOException {
+        MemoryStore store = new MemoryStore(jwt("old", NOW - TimeUnit.DAYS.toMillis(30), NOW - 1_000));
+        validToken = jwt("new", NOW, NOW + TimeUnit.DAYS.toMillis(30));
+        OkHttpClient client = client(refresher(store, NOW));
+
+        try (Response response = client.newCall(get("auth/me")).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(0, unauthorized.get());
+        assertEquals(1, refreshRequests.get());
+    }
+
+    @Test
+    public void rejectedRefreshIsNotRetriedPerRequest() throws IOException {
+        MemoryStore store = new MemoryStore(jwt("old", NOW, NOW + TimeUnit.DAYS.toMillis(30)));
+        validToken = jwt("new", NOW, NOW + TimeUnit.DAYS.toMillis(30));
+        refreshAllowed = false;
+        OkHttpClient client = client(refresher(store, NOW));
+
+        for (int i = 0; i < 3; i++) {
+            try (Response response = client.newCall(get("auth/me")).execute()) {
+                assertEquals(401, response.code());
+            }
+        }
+        assertEquals(1, refreshRequests.get());
+    }
+
+    @Test
+    public void tokenNearExpiryIsRefreshedInBackground() throws InterruptedException {
+        long exp = NOW + TimeUnit.HOURS.toMillis(2);
+        String old = jwt("old", exp - TimeUnit.DAYS.toMillis(30), exp);
+        MemoryStore store = new MemoryStore(old);
+        validToken = jwt("new", NOW, NOW + TimeUnit.DAYS.toMillis(30));
+        TokenRefresher refresher = refresher(store, NOW);
+
+        // Request hiện tại không phải chờ: vẫn đi với token cũ còn hạn
+        assertEquals(old, refresher.tokenForRequest());
+        for (int i = 0; i < 50 && refresher.getRefreshCount() == 0; i++) Thread.sleep(20);
+        assertEquals(validToken, store.getToken());
+        assertEquals(validToken, refresher.tokenForRequest());
+    }
+}
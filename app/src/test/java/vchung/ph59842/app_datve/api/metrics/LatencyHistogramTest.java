@@ -0,0 +1,56 @@
+package vchung.ph59842.app_datve.api.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketBoundsCoverEveryValue() {
+        for (long v = 0; v < 100_000; v++) {
+            int index = LatencyHistogram.indexOf(v);
+            assertTrue(v <= LatencyHistogram.highestValueIn(index));
+            if (index > 0) {
+                assertTrue(v > LatencyHistogram.highestValueIn(index - 1));
+            }
+        }
+    }
+
+    @Test
+    public void percentilesWithinRelativeError() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int i = 1; i <= 10_000; i++) {
+            h.record(i);
+        }
+        assertEquals(10_000, h.getCount());
+        assertEquals(10_000, h.getMax());
+        assertEquals(5000.5, h.getMean(), 0.001);
+        assertWithin(5000, h.getPercentile(50));
+        assertWithin(9500, h.getPercentile(95));
+        assertWithin(9900, h.getPercentile(99));
+        assertEquals(10_000, h.getPercentile(100));
+    }
+
+    @Test
+    public void emptyAndReset() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.getPercentile(99));
+        h.record(42);
+        h.reset();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getMax());
+    }
+
+    @Test
+    public void hugeValuesLandInLastBucket() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(Long.MAX_VALUE / 2);
+        assertEquals(Long.MAX_VALUE / 2, h.getPercentile(50));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("expected ~" + expected + " but was " + actual,
+                actual >= expected && actual <= expected * 1.125);
+    }
+}
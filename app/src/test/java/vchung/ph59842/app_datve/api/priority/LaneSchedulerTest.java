@@ -0,0 +1,155 @@
+package vchung.ph59842.app_datve.api.priority;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Timeout;
+import retrofit2.Invocation;
+
+import static org.junit.Assert.*;
+
+public class LaneSchedulerTest {
+
+    /** Call giả của "OkHttp": ghi lại thứ tự được gửi, test tự quyết định khi nào xong. */
+    private static final class FakeCall implements Call {
+        final Request request;
+        final List<String> sent;
+        Callback callback;
+        boolean canceled;
+
+        FakeCall(Request request, List<String> sent) {
+            this.request = request;
+            this.sent = sent;
+        }
+
+        void finish() {
+            callback.onFailure(this, new IOException("done"));
+        }
+
+        @Override public Request request() { return request; }
+        @Override public Response execute() { throw new UnsupportedOperationException(); }
+        @Override public void enqueue(Callback callback) {
+            this.callback = callback;
+            sent.add(request.url().encodedPath());
+        }
+        @Override public void cancel() { canceled = true; }
+        @Override public boolean isExecuted() { return callback != null; }
+        @Override public boolean isCanceled() { return canceled; }
+        @Override public Timeout timeout() { return Timeout.NONE; }
+        @Override public Call clone() { return new FakeCall(request, sent); }
+    }
+
+    private static final class FakeClient implements Call.Factory {
+        final List<String> sent = new ArrayList<>();
+        final List<FakeCall> calls = new ArrayList<>();
+
+        @Override
+        public Call newCall(Request request) {
+            FakeCall call = new FakeCall(request, sent);
+            calls.add(call);
+            return call;
+        }
+
+        FakeCall sentCall(String path) {
+            for (FakeCall c : calls) if (c.callback != null && c.request.url().encodedPath().equals(path)) return c;
+            throw new AssertionError("Not sent: " + path);
+        }
+    }
+
+    private static final class Recorder implements Callback {
+        final List<String> failures = new ArrayList<>();
+
+        @Override public void onFailure(Call call, IOException e) { failures.add(e.getMessage()); }
+        @Override public void onResponse(Call call, Response response) {}
+    }
+
+    private interface Endpoints {
+        @Priority(Lane.PREFETCH) void warm();
+        void plain();
+    }
+
+    private static Request request(String path, Lane lane) {
+        return new Request.Builder().url("http://localhost" + path).tag(Lane.class, lane).build();
+    }
+
+    private static Call enqueue(LaneScheduler scheduler, String path, Lane lane, Callback callback) {
+        Call call = scheduler.newCall(request(path, lane));
+        call.enqueue(callback);
+        return call;
+    }
+
+    @Test
+    public void laneComesFromTagThenAnnotation() throws NoSuchMethodException {
+        Request warm = new Request.Builder().url("http://localhost/")
+                .tag(Invocation.class, Invocation.of(Endpoints.class.getDeclaredMethod("warm"), Collections.emptyList()))
+                .build();
+        Request plain = new Request.Builder().url("http://localhost/")
+                .tag(Invocation.class, Invocation.of(Endpoints.class.getDeclaredMethod("plain"), Collections.emptyList()))
+                .build();
+
+        assertEquals(Lane.PREFETCH, LaneScheduler.laneOf(warm));
+        assertEquals(Lane.INTERACTIVE, LaneScheduler.laneOf(plain));
+        assertEquals(Lane.PAYMENT, LaneScheduler.laneOf(warm.newBuilder().tag(Lane.class, Lane.PAYMENT).build()));
+    }
+
+    @Test
+    public void prefetchIsCappedPerLane() {
+        FakeClient client = new FakeClient();
+        LaneScheduler scheduler = new LaneScheduler(client);
+        for (int i = 0; i < 5; i++) enqueue(scheduler, "/p" + i, Lane.PREFETCH, new Recorder());
+
+        assertEquals(Lane.PREFETCH.getMaxInFlight(), client.sent.size());
+        assertEquals(3, scheduler.queuedCount(Lane.PREFETCH));
+
+        client.sentCall("/p0").finish();
+        assertEquals(Lane.PREFETCH.getMaxInFlight(), scheduler.runningCount(Lane.PREFETCH));
+        assertEquals("/p2", client.sent.get(client.sent.size() - 1));
+    }
+
+    @Test
+    public void higherLaneOvertakesQueuedPrefetch() {
+        FakeClient client = new FakeClient();
+        LaneScheduler scheduler = new LaneScheduler(client, 2);
+        enqueue(scheduler, "/p0", Lane.PREFETCH, new Recorder());
+        enqueue(scheduler, "/p1", Lane.PREFETCH, new Recorder());
+        enqueue(scheduler, "/p2", Lane.PREFETCH, new Recorder());
+        enqueue(scheduler, "/t0", Lane.TELEMETRY, new Recorder());
+        enqueue(scheduler, "/seats", Lane.INTERACTIVE, new Recorder());
+        enqueue(scheduler, "/pay", Lane.PAYMENT, new Recorder());
+
+        client.sentCall("/p0").finish();
+        client.sentCall("/p1").finish();
+        assertEquals(Arrays.asList("/p0", "/p1", "/pay", "/seats"), client.sent);
+
+        client.sentCall("/pay").finish();
+        client.sentCall("/seats").finish();
+        assertEquals(Arrays.asList("/p0", "/p1", "/pay", "/seats", "/p2", "/t0"), client.sent);
+    }
+
+    @Test
+    public void cancellingQueuedCallNeverSendsIt() {
+        FakeClient client = new FakeClient();
+        LaneScheduler scheduler = new LaneScheduler(client, 1);
+        enqueue(scheduler, "/running", Lane.INTERACTIVE, new Recorder());
+        Recorder queued = new Recorder();
+        Call waiting = enqueue(scheduler, "/waiting", Lane.INTERACTIVE, queued);
+
+        waiting.cancel();
+        assertTrue(waiting.isCanceled());
+        assertEquals(Collections.singletonList("Canceled"), queued.failures);
+        assertEquals(0, scheduler.queuedCount(Lane.INTERACTIVE));
+
+        client.sentCall("/running").finish();
+        assertEquals(Collections.singletonList("/running"), client.sent);
+        assertEquals(0, scheduler.runningCount(Lane.INTERACTIVE));
+    }
+}
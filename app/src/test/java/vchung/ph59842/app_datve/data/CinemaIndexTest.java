@@ -0,0 +1,89 @@
+package vchung.ph59842.app_datve.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import vchung.ph59842.app_datve.models.Cinema;
+
+import static org.junit.Assert.*;
+
+public class CinemaIndexTest {
+
+    static Cinema cinema(String id, String name, String city, double lat, double lng) {
+        Cinema c = new Cinema();
+        c.setId(id);
+        c.setName(name);
+        Cinema.Location loc = new Cinema.Location();
+        loc.setCity(city);
+        if (!Double.isNaN(lat)) loc.setCoordinates(Arrays.asList(lng, lat));
+        c.setLocation(loc);
+        return c;
+    }
+
+    private static String ids(List<Cinema> cinemas) {
+        StringBuilder sb = new StringBuilder();
+        for (Cinema c : cinemas) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(c.getId());
+        }
+        return sb.toString();
+    }
+
+    private final CinemaIndex index = new CinemaIndex(Arrays.asList(
+            cinema("hk", "CGV Vincom Bà Triệu", "Hà Nội", 21.0110, 105.8490),
+            cinema("cg", "Lotte Cầu Giấy", "Ha Noi", 21.0330, 105.7940),
+            cinema("q1", "Galaxy Nguyễn Du", "Hồ Chí Minh", 10.7730, 106.6930),
+            cinema("dn", "CGV Vĩnh Trung", "Đà Nẵng", 16.0660, 108.2100),
+            cinema("x", "Rạp chưa có tọa độ", "Hà Nội", Double.NaN, Double.NaN)));
+
+    @Test
+    public void groupsCitiesIgnoringAccents() {
+        assertEquals(Arrays.asList("Đà Nẵng", "Hà Nội", "Hồ Chí Minh"), index.cities());
+        assertEquals("hk,cg,x", ids(index.inCity("ha noi")));
+        assertTrue(index.inCity("Huế").isEmpty());
+        assertEquals("Lotte Cầu Giấy", index.byId("cg").getName());
+    }
+
+    @Test
+    public void nearestHonoursRadiusAndFilter() {
+        // Hồ Hoàn Kiếm
+        assertEquals("hk,cg,dn", ids(index.nearest(21.0285, 105.8542, 3)));
+        assertEquals("hk,cg", ids(index.nearest(21.0285, 105.8542, 5, 20, null)));
+        assertEquals("cg", ids(index.nearest(21.0285, 105.8542, 5, 20, c -> !c.getId().equals("hk"))));
+        // Xa mọi rạp: quét tuyến tính vẫn đúng thứ tự
+        assertEquals("q1", ids(index.nearest(37.77, -122.42, 1, Double.POSITIVE_INFINITY,
+                c -> c.getCity().startsWith("Hồ"))));
+        assertTrue(index.nearest(Double.NaN, 105.8, 3).isEmpty());
+    }
+
+    @Test
+    public void gridSearchMatchesBruteForce() {
+        Random random = new Random(7);
+        List<Cinema> cinemas = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            cinemas.add(cinema("c" + i, "Rạp " + i, "X", 10 + random.nextDouble() * 12, 104 + random.nextDouble() * 5));
+        }
+        CinemaIndex grid = new CinemaIndex(cinemas);
+        for (int q = 0; q < 50; q++) {
+            double lat = 10 + random.nextDouble() * 12;
+            double lng = 104 + random.nextDouble() * 5;
+            List<Cinema> expected = new ArrayList<>(cinemas);
+            Collections.sort(expected, Comparator.comparingDouble(c -> CinemaIndex.distanceKm(c, lat, lng)));
+            assertEquals(ids(expected.subList(0, 5)), ids(grid.nearest(lat, lng, 5)));
+        }
+    }
+
+    @Test
+    public void haversineDistance() {
+        // Hà Nội - TP.HCM ~ 1140 km
+        double km = CinemaIndex.distanceKm(21.0285, 105.8542, 10.7769, 106.7009);
+        assertEquals(1140, km, 15);
+        assertEquals(0, CinemaIndex.distanceKm(10, 106, 10, 106), 1e-9);
+    }
+}
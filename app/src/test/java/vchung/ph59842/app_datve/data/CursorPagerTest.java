@@ -0,0 +1,127 @@
+package vchung.ph59842.app_datve.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CursorPagerTest {
+
+    /** 0..total-1, cursor là chỉ số dòng kế tiếp; giữ callback để test tự quyết khi nào trả. */
+    private static final class FakeLoader implements CursorPager.PageLoader<Integer> {
+        final int total;
+        final List<String> requestedCursors = new ArrayList<>();
+        CursorPager.PageCallback<Integer> pending;
+        int pendingFrom;
+        int pendingLimit;
+
+        FakeLoader(int total) {
+            this.total = total;
+        }
+
+        @Override
+        public void load(String cursor, int limit, CursorPager.PageCallback<Integer> callback) {
+            requestedCursors.add(cursor);
+            pending = callback;
+            pendingFrom = cursor == null ? 0 : Integer.parseInt(cursor);
+            pendingLimit = limit;
+        }
+
+        void complete() {
+            List<Integer> page = new ArrayList<>();
+            for (int i = pendingFrom; i < Math.min(total, pendingFrom + pendingLimit); i++) page.add(i);
+            int next = pendingFrom + page.size();
+            boolean more = next < total;
+            CursorPager.PageCallback<Integer> cb = pending;
+            pending = null;
+            cb.onPage(page, more ? String.valueOf(next) : null, more);
+        }
+    }
+
+    private static final class Recorder implements CursorPager.Listener<Integer> {
+        List<Integer> last = new ArrayList<>();
+        boolean hasMore = true;
+        int errors;
+        boolean firstPageError;
+
+        @Override
+        public void onItems(List<Integer> items, boolean more) {
+            last = items;
+            hasMore = more;
+        }
+
+        @Override
+        public void onError(String message, boolean firstPage) {
+            errors++;
+            firstPageError = firstPage;
+        }
+    }
+
+    @Test
+    public void loadsPagesOnlyNearTheEnd() {
+        FakeLoader loader = new FakeLoader(25);
+        Recorder rec = new Recorder();
+        CursorPager<Integer> pager = new CursorPager<>(loader, 10, 3, rec);
+
+        pager.loadMore();
+        loader.complete();
+        assertEquals(10, rec.last.size());
+
+        pager.onScrolled(5);
+        assertEquals(1, loader.requestedCursors.size());
+        pager.onScrolled(7);
+        assertEquals(2, loader.requestedCursors.size());
+        assertEquals("10", loader.requestedCursors.get(1));
+        // Đang tải thì không bắn thêm request
+        pager.onScrolled(9);
+        assertEquals(2, loader.requestedCursors.size());
+        loader.complete();
+
+        pager.onScrolled(19);
+        loader.complete();
+        assertEquals(25, rec.last.size());
+        assertFalse(rec.hasMore);
+        assertEquals(Integer.valueOf(24), rec.last.get(24));
+
+        pager.onScrolled(24);
+        assertEquals(3, loader.requestedCursors.size());
+    }
+
+    @Test
+    public void refreshDropsStaleResponse() {
+        FakeLoader loader = new FakeLoader(100);
+        Recorder rec = new Recorder();
+        CursorPager<Integer> pager = new CursorPager<>(loader, 10, 3, rec);
+
+        pager.loadMore();
+        CursorPager.PageCallback<Integer> stale = loader.pending;
+        pager.refresh();
+        stale.onPage(java.util.Collections.singletonList(999), "x", true);
+        assertTrue(rec.last.isEmpty());
+
+        loader.complete();
+        assertEquals(10, rec.last.size());
+        assertEquals(Integer.valueOf(0), rec.last.get(0));
+        assertNull(loader.requestedCursors.get(1));
+    }
+
+    @Test
+    public void errorAllowsRetry() {
+        FakeLoader loader = new FakeLoader(5);
+        Recorder rec = new Recorder();
+        CursorPager<Integer> pager = new CursorPager<>(loader, 10, 3, rec);
+
+        pager.loadMore();
+        loader.pending.onError("boom");
+        assertEquals(1, rec.errors);
+        assertTrue(rec.firstPageError);
+        assertFalse(pager.isLoading());
+
+        pager.loadMore();
+        loader.complete();
+        assertEquals(5, rec.last.size());
+        assertFalse(pager.hasMore());
+    }
+}
@@ -0,0 +1,119 @@
+package vchung.ph59842.app_datve.data;
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import vchung.ph59842.app_datve.models.MembershipSnapshot;
+
+import static org.junit.Assert.*;
+
+public class MembershipStoreTest {
+
+    private static final class MemoryStorage implements MembershipStore.Storage {
+        String value;
+        int reads;
+
+        @Override
+        public String read() {
+            reads++;
+            return value;
+        }
+
+        @Override
+        public void write(String json) {
+            value = json;
+        }
+    }
+
+    private static final class FakeFetcher implements MembershipStore.Fetcher {
+        final List<MembershipStore.FetchCallback> pending = new ArrayList<>();
+
+        @Override
+        public void fetch(MembershipStore.FetchCallback callback) {
+            pending.add(callback);
+        }
+    }
+
+    private final long[] now = {1_000_000L};
+    private final MemoryStorage storage = new MemoryStorage();
+    private final FakeFetcher fetcher = new FakeFetcher();
+    private final List<MembershipSnapshot> seen = new ArrayList<>();
+    private final MembershipStore.Listener listener = seen::add;
+
+    private MembershipStore newStore() {
+        return new MembershipStore(storage, fetcher, () -> now[0], new Gson());
+    }
+
+    private static MembershipSnapshot snapshot(String tier, long points) {
+        MembershipSnapshot s = new MembershipSnapshot();
+        s.setUserId("u1");
+        s.setTier(tier);
+        s.setPoints(points);
+        s.setTotalSpent(1_000_000);
+        s.setNextTier("Silver");
+        s.setNeedMore(1_000_000);
+        return s;
+    }
+
+    @Test
+    public void sharesOneRequestAndNotifiesOnlyOnChange() {
+        MembershipStore store = newStore();
+        MembershipStore.Listener other = s -> seen.add(s);
+        store.addListener(listener);
+        store.addListener(other);
+        assertEquals(1, fetcher.pending.size());
+        assertTrue(seen.isEmpty());
+
+        fetcher.pending.get(0).onResult(snapshot("Bronze", 10));
+        assertEquals(2, seen.size());
+        assertEquals(50, seen.get(0).getProgressPercent());
+
+        // Dữ liệu giống hệt: chỉ gia hạn TTL, không vẽ lại
+        now[0] += MembershipStore.TTL_MS + 1;
+        store.refreshIfStale();
+        fetcher.pending.get(1).onResult(snapshot("Bronze", 10));
+        assertEquals(2, seen.size());
+        assertTrue(store.isFresh());
+    }
+
+    @Test
+    public void servesPersistedSnapshotAndRevalidatesWhenStale() {
+        MembershipStore first = newStore();
+        first.update(snapshot("Gold", 500));
+        assertTrue(storage.value.contains("\"v\":" + MembershipStore.SCHEMA_VERSION));
+
+        now[0] += MembershipStore.TTL_MS - 1;
+        MembershipStore fresh = newStore();
+        fresh.addListener(listener);
+        assertEquals("Gold", seen.get(0).getTier());
+        assertTrue(fetcher.pending.isEmpty());
+
+        now[0] += 2;
+        MembershipStore stale = newStore();
+        stale.addListener(listener);
+        assertEquals(2, seen.size());
+        assertEquals(1, fetcher.pending.size());
+        fetcher.pending.get(0).onResult(snapshot("Gold", 650));
+        assertEquals(650, seen.get(2).getPoints());
+    }
+
+    @Test
+    public void readsLegacyJsonAndDropsResponseAfterClear() {
+        storage.value = "{\"tier\":\"Silver\",\"points\":42}";
+        MembershipStore store = newStore();
+        assertEquals("Silver", store.current().getTier());
+        assertFalse(store.isFresh());
+        store.current();
+        assertEquals(1, storage.reads);
+
+        store.refresh();
+        store.clear();
+        fetcher.pending.get(0).onResult(snapshot("Gold", 1));
+        assertNull(store.current());
+        assertNull(storage.value);
+    }
+}
@@ -0,0 +1,82 @@
+package vchung.ph59842.app_datve.data;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import vchung.ph59842.app_datve.models.Movie;
+
+import static org.junit.Assert.*;
+
+public class MovieSearchIndexTest {
+
+    private static Movie movie(String id, String title, String description, String... cast) {
+        Movie m = new Movie();
+        m.set_id(id);
+        m.setTitle(title);
+        m.setDescription(description);
+        m.setCast(Arrays.asList(cast));
+        m.setGenres(Arrays.asList("Hành động"));
+        return m;
+    }
+
+    private static String titles(List<Movie> movies) {
+        StringBuilder sb = new StringBuilder();
+        for (Movie m : movies) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(m.getTitle());
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void foldsVietnameseAccents() {
+        assertEquals("lat mat 7 mot dieu uoc", MovieSearchIndex.fold("Lật Mặt 7: Một Điều Ước"));
+        assertEquals("dao pho va piano", MovieSearchIndex.fold("ĐÀO, PHỞ VÀ PIANO"));
+        assertEquals("", MovieSearchIndex.fold(null));
+    }
+
+    @Test
+    public void matchesPrefixesAndRanksTitleFirst() {
+        MovieSearchIndex index = new MovieSearchIndex();
+        index.upsertAll(Arrays.asList(
+                movie("1", "Lật Mặt 7: Một Điều Ước", "Gia đình bà Hai", "Thanh Hiền"),
+                movie("2", "Mai", "Một câu chuyện lật mặt đời thường", "Phương Anh Đào"),
+                movie("3", "Đất Rừng Phương Nam", "Hành trình của An", "Tuấn Trần")));
+
+        assertEquals("Lật Mặt 7: Một Điều Ước,Mai", titles(index.search("lat mat", 10)));
+        // Từ cuối đang gõ dở vẫn khớp
+        assertEquals("Lật Mặt 7: Một Điều Ước", titles(index.search("lat m", 1)));
+        assertEquals("Mai", titles(index.search("phuong anh", 10)));
+        assertEquals("Đất Rừng Phương Nam,Mai", titles(index.search("PHƯƠNG", 10)));
+        assertTrue(index.search("lat mat xyz", 10).isEmpty());
+        assertTrue(index.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    public void reindexesOnlyChangedMovies() {
+        MovieSearchIndex index = new MovieSearchIndex();
+        assertEquals(2, index.upsertAll(Arrays.asList(
+                movie("1", "Mai", "a"), movie("2", "Nhà Bà Nữ", "b"))));
+        assertEquals(1, index.upsertAll(Arrays.asList(
+                movie("1", "Mai", "a"), movie("2", "Bố Già", "b"))));
+
+        assertTrue(index.search("nha ba", 10).isEmpty());
+        assertEquals("Bố Già", titles(index.search("bo gia", 10)));
+
+        index.remove("1");
+        assertTrue(index.search("mai", 10).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void longTermsAreCheckedBeyondIndexedPrefix() {
+        MovieSearchIndex index = new MovieSearchIndex();
+        index.upsertAll(Arrays.asList(
+                movie("1", "Supercalifragilistic", ""),
+                movie("2", "Supercalifornia", "")));
+        assertEquals("Supercalifragilistic", titles(index.search("supercalifrag", 10)));
+        assertEquals(2, index.search("supercal", 10).size());
+    }
+}
@@ -0,0 +1,108 @@
+package vchung.ph59842.app_datve.data;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import vchung.ph59842.app_datve.models.Promotion;
+
+import static org.junit.Assert.*;
+
+public class PromotionIndexTest {
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+    private static final long T0 = Instant.parse("2025-06-01T00:00:00.000Z").toEpochMilli();
+
+    private static Promotion promo(String code, Long start, Long end) {
+        Promotion p = new Promotion();
+        p.setCode(code);
+        p.setActive(true);
+        if (start != null) p.setStartDate(Instant.ofEpochMilli(start).toString());
+        if (end != null) p.setEndDate(Instant.ofEpochMilli(end).toString());
+        return p;
+    }
+
+    private static List<String> codes(List<Promotion> list) {
+        List<String> out = new ArrayList<>();
+        for (Promotion p : list) out.add(p.getCode());
+        return out;
+    }
+
+    @Test
+    public void activeAtUsesHalfOpenIntervals() {
+        PromotionIndex index = new PromotionIndex(Arrays.asList(
+                promo("A", T0, T0 + 10 * DAY),
+                promo("B", T0 + 5 * DAY, T0 + 7 * DAY),
+                promo("C", null, T0 + 2 * DAY),
+                promo("D", T0 + 3 * DAY, null)));
+
+        assertEquals(Arrays.asList("C"), codes(index.activeAt(T0 - DAY)));
+        assertEquals(Arrays.asList("A", "C"), codes(index.activeAt(T0)));
+        assertEquals(Arrays.asList("A"), codes(index.activeAt(T0 + 2 * DAY)));
+        assertEquals(Arrays.asList("A", "B", "D"), codes(index.activeAt(T0 + 6 * DAY)));
+        assertEquals(Arrays.asList("A", "D"), codes(index.activeAt(T0 + 7 * DAY)));
+        assertEquals(Arrays.asList("D"), codes(index.activeAt(T0 + 100 * DAY)));
+    }
+
+    @Test
+    public void inactiveOrUsedUpPromotionsAreOnlyFoundByCode() {
+        Promotion off = promo("OFF", T0, T0 + DAY);
+        off.setActive(false);
+        Promotion used = promo("used", T0, T0 + DAY);
+        used.setMaxUses(3);
+        used.setCurrentUses(3);
+        PromotionIndex index = new PromotionIndex(Arrays.asList(off, used, promo("OK", T0, T0 + DAY)));
+
+        assertEquals(Arrays.asList("OK"), codes(index.activeAt(T0 + 1)));
+        assertSame(used, index.findByCode(" USED "));
+        assertFalse(index.isValid("used", T0 + 1));
+        assertFalse(index.isValid("OFF", T0 + 1));
+        assertTrue(index.isValid("ok", T0 + 1));
+        assertFalse(index.isValid("OK", T0 + DAY));
+        assertNull(index.findByCode("MISSING"));
+    }
+
+    @Test
+    public void expiringWithinSortedBySoonestEnd() {
+        PromotionIndex index = new PromotionIndex(Arrays.asList(
+                promo("LATE", T0, T0 + 3 * DAY),
+                promo("SOON", T0, T0 + DAY),
+                promo("GONE", T0 - 2 * DAY, T0 - DAY),
+                promo("FUTURE", T0 + DAY, T0 + 2 * DAY),
+                promo("OPEN", T0, null)));
+
+        assertEquals(Arrays.asList("SOON", "LATE"), codes(index.expiringWithin(T0, 3 * DAY)));
+        assertEquals(Arrays.asList("SOON"), codes(index.expiringWithin(T0, DAY)));
+        assertTrue(index.expiringWithin(T0, Long.MAX_VALUE).size() == 2);
+    }
+
+    @Test
+    public void matchesLinearScan() {
+        Random r = new Random(7);
+        List<Promotion> list = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            long s = T0 + r.nextInt(30) * DAY;
+            Promotion p = promo("P" + i, r.nextInt(5) == 0 ? null : s, r.nextInt(5) == 0 ? null : s + (1 + r.nextInt(10)) * DAY);
+            p.setActive(r.nextInt(6) != 0);
+            list.add(p);
+        }
+        PromotionIndex index = new PromotionIndex(list);
+        for (long t = T0 - DAY; t < T0 + 45 * DAY; t += DAY / 3) {
+            List<String> expected = new ArrayList<>();
+            for (Promotion p : list) {
+                if (index.isValid(p.getCode(), t)) expected.add(p.getCode());
+            }
+            assertEquals(expected, codes(index.activeAt(t)));
+        }
+    }
+
+    @Test
+    public void parsesDateOnlyAndGarbage() {
+        assertEquals(T0, PromotionIndex.parseMillis("2025-06-01", -1));
+        assertEquals(T0 + 1500, PromotionIndex.parseMillis("2025-06-01T00:00:01.500Z", -1));
+        assertEquals(-1, PromotionIndex.parseMillis("not a date", -1));
+    }
+}
@@ -0,0 +1,72 @@
+package vchung.ph59842.app_datve.data;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import vchung.ph59842.app_datve.models.PriceQuote;
+
+import static org.junit.Assert.*;
+
+public class QuoteCacheTest {
+
+    private static PriceQuote quote(String token, long expiresAtMs) {
+        PriceQuote q = new PriceQuote();
+        q.setToken(token);
+        q.setExpiresAt(Instant.ofEpochMilli(expiresAtMs).toString());
+        return q;
+    }
+
+    @Test
+    public void keyIgnoresSelectionOrder() {
+        Map<String, Integer> a = new HashMap<>();
+        a.put("c2", 1);
+        a.put("c1", 2);
+        Map<String, Integer> b = new HashMap<>();
+        b.put("c1", 2);
+        b.put("c2", 1);
+        b.put("c3", 0);
+        assertEquals(
+                QuoteCache.keyOf("s1", Arrays.asList("B2", "a1"), a, "sale10"),
+                QuoteCache.keyOf("s1", Arrays.asList("A1", "B2"), b, "SALE10"));
+        assertNotEquals(
+                QuoteCache.keyOf("s1", Arrays.asList("A1"), null, null),
+                QuoteCache.keyOf("s1", Arrays.asList("A1"), null, "SALE10"));
+        assertNotEquals(
+                QuoteCache.keyOf("s1", Arrays.asList("A1"), null, null),
+                QuoteCache.keyOf("s2", Arrays.asList("A1"), null, null));
+    }
+
+    @Test
+    public void expiredQuoteIsDropped() {
+        AtomicLong now = new AtomicLong(1_000_000L);
+        QuoteCache cache = new QuoteCache(now::get);
+        String key = QuoteCache.keyOf("s1", Arrays.asList("A1"), null, null);
+        cache.put(key, quote("t", now.get() + 5 * 60_000L));
+
+        assertEquals("t", cache.find(key).getToken());
+        now.addAndGet(5 * 60_000L - QuoteCache.EXPIRY_MARGIN_MS - 1);
+        assertNotNull(cache.find(key));
+        now.addAndGet(1);
+        assertNull(cache.find(key));
+        // Đã bị xóa, quay lại thời điểm cũ cũng không còn
+        now.set(1_000_000L);
+        assertNull(cache.find(key));
+    }
+
+    @Test
+    public void quoteWithoutTokenOrExpiryIsNotReused() {
+        QuoteCache cache = new QuoteCache(() -> 0L);
+        cache.put("a", quote(null, 10 * 60_000L));
+        PriceQuote noExpiry = new PriceQuote();
+        noExpiry.setToken("t");
+        cache.put("b", noExpiry);
+        assertNull(cache.find("a"));
+        assertNull(cache.find("b"));
+        assertNull(cache.find(null));
+    }
+}
@@ -0,0 +1,174 @@
+package vchung.ph59842.app_datve.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import vchung.ph59842.app_datve.models.Movie;
+
+import static org.junit.Assert.*;
+
+public class SearchPipelineTest {
+
+    /** Đồng hồ giả + hàng đợi task theo thời điểm đến hạn. */
+    private static final class FakeScheduler implements SearchPipeline.Scheduler {
+        long now = 0;
+        final List<long[]> due = new ArrayList<>();
+        final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public SearchPipeline.Cancellable schedule(Runnable task, long delayMs) {
+            long[] slot = {now + delayMs};
+            due.add(slot);
+            tasks.add(task);
+            return () -> {
+                int i = due.indexOf(slot);
+                if (i >= 0) {
+                    due.remove(i);
+                    tasks.remove(i);
+                }
+            };
+        }
+
+        void advance(long ms) {
+            long target = now + ms;
+            while (true) {
+                int next = -1;
+                for (int i = 0; i < due.size(); i++) {
+                    if (due.get(i)[0] <= target && (next < 0 || due.get(i)[0] < due.get(next)[0])) next = i;
+                }
+                if (next < 0) break;
+                now = due.remove(next)[0];
+                tasks.remove(next).run();
+            }
+            now = target;
+        }
+    }
+
+    private static final class FakeRemote implements SearchPipeline.RemoteSearch {
+        final List<String> queries = new ArrayList<>();
+        final List<SearchPipeline.RemoteCallback> callbacks = new ArrayList<>();
+        int cancelled;
+
+        @Override
+        public SearchPipeline.Cancellable search(String query, SearchPipeline.RemoteCallback callback) {
+            queries.add(query);
+            callbacks.add(callback);
+            return () -> cancelled++;
+        }
+    }
+
+    private static final class Recorder implements SearchPipeline.Listener {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onResults(String query, List<Movie> movies, boolean complete) {
+            StringBuilder sb = new StringBuilder(query).append(complete ? "!" : "?").append('=');
+            for (Iterator<Movie> it = movies.iterator(); it.hasNext(); ) {
+                sb.append(it.next().getId());
+                if (it.hasNext()) sb.append(',');
+            }
+            events.add(sb.toString());
+        }
+
+        @Override
+        public void onCleared() {
+            events.add("cleared");
+        }
+
+        String last() {
+            return events.get(events.size() - 1);
+        }
+    }
+
+    private static Movie movie(String id, String title) {
+        Movie m = new Movie();
+        m.set_id(id);
+        m.setTitle(title);
+        return m;
+    }
+
+    private final FakeScheduler scheduler = new FakeScheduler();
+    private final FakeRemote remote = new FakeRemote();
+    private final Recorder rec = new Recorder();
+    private final MovieSearchIndex index = new MovieSearchIndex();
+
+    private SearchPipeline newPipeline() {
+        index.upsertAll(Arrays.asList(movie("1", "Lật Mặt 7"), movie("2", "Mai")));
+        return new SearchPipeline(index::search, remote, scheduler, () -> scheduler.now, 10, rec);
+    }
+
+    @Test
+    public void debouncesAndOnlyLatestQueryBinds() {
+        SearchPipeline p = newPipeline();
+        p.onQueryChanged("l");
+        p.onQueryChanged("la");
+        p.onQueryChanged("lat");
+        assertEquals("lat?=1", rec.last());
+        scheduler.advance(SearchPipeline.DEBOUNCE_MS - 1);
+        assertTrue(remote.queries.isEmpty());
+        scheduler.advance(1);
+        assertEquals(Collections.singletonList("lat"), remote.queries);
+
+        // Query mới hủy request cũ; response muộn của "lat" không được hiển thị
+        p.onQueryChanged("mai");
+        assertEquals(1, remote.cancelled);
+        remote.callbacks.get(0).onResult(Collections.singletonList(movie("9", "Lật")));
+        assertEquals("mai?=2", rec.last());
+
+        scheduler.advance(SearchPipeline.DEBOUNCE_MS);
+        remote.callbacks.get(1).onResult(Arrays.asList(movie("2", "Mai"), movie("3", "Mai Ngọc")));
+        assertEquals("mai!=2,3", rec.last());
+
+        p.onQueryChanged("  ");
+        assertEquals("cleared", rec.last());
+    }
+
+    @Test
+    public void servesRepeatedQueryFromCache() {
+        SearchPipeline p = newPipeline();
+        p.onQueryChanged("mai");
+        scheduler.advance(SearchPipeline.DEBOUNCE_MS);
+        remote.callbacks.get(0).onResult(Collections.singletonList(movie("3", "Mai Ngọc")));
+        p.onQueryChanged("ma");
+        p.onQueryChanged("Mai ");
+        assertEquals("Mai!=2,3", rec.last());
+        scheduler.advance(10 * SearchPipeline.DEBOUNCE_MS);
+        // "ma" bị hủy trước khi tới hạn debounce, "mai" lấy từ cache
+        assertEquals(1, remote.queries.size());
+        assertEquals(1, p.cacheSize());
+    }
+
+    @Test
+    public void boundsRequestRateAndHonorsRetryAfter() {
+        SearchPipeline p = newPipeline();
+        String[] queries = {"ab", "abc", "abcd", "abcde"};
+        for (String q : queries) {
+            p.onQueryChanged(q);
+            scheduler.advance(SearchPipeline.DEBOUNCE_MS);
+            remote.callbacks.get(remote.callbacks.size() - 1).onResult(Collections.<Movie>emptyList());
+        }
+        // Hết BURST lượt: request thứ 4 phải chờ hồi lượt
+        assertEquals(SearchPipeline.BURST, remote.queries.size());
+        scheduler.advance(SearchPipeline.REFILL_MS);
+        assertEquals(SearchPipeline.BURST + 1, remote.queries.size());
+        remote.callbacks.get(remote.callbacks.size() - 1).onError("429", 30_000);
+
+        p.onQueryChanged("xyz");
+        scheduler.advance(20_000);
+        assertEquals(SearchPipeline.BURST + 1, remote.queries.size());
+        scheduler.advance(10_000);
+        assertEquals("xyz", remote.queries.get(remote.queries.size() - 1));
+    }
+
+    @Test
+    public void parsesRetryAfter() {
+        assertEquals(5_000, SearchPipeline.retryAfterMs("5"));
+        assertEquals(SearchPipeline.DEFAULT_BACKOFF_MS, SearchPipeline.retryAfterMs(null));
+        assertEquals(SearchPipeline.DEFAULT_BACKOFF_MS, SearchPipeline.retryAfterMs("Wed, 21 Oct"));
+    }
+}
@@ -0,0 +1,146 @@
+package vchung.ph59842.app_datve.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SeatHoldClientTest {
+
+    private static final class FakeApi implements SeatHoldClient.Api {
+        final List<String> calls = new ArrayList<>();
+        final List<SeatHoldClient.ApiCallback> pending = new ArrayList<>();
+
+        @Override
+        public void hold(String scheduleId, List<String> seats, String phase, SeatHoldClient.ApiCallback callback) {
+            calls.add("hold " + seats + " " + phase);
+            pending.add(callback);
+        }
+
+        @Override
+        public void renew(String scheduleId, String phase, SeatHoldClient.ApiCallback callback) {
+            calls.add("renew " + phase);
+            pending.add(callback);
+        }
+
+        @Override
+        public void release(String scheduleId, List<String> seats) {
+            calls.add("release " + seats);
+        }
+
+        SeatHoldClient.ApiCallback take() {
+            return pending.remove(0);
+        }
+
+        String last() {
+            return calls.get(calls.size() - 1);
+        }
+    }
+
+    private static final class FakeScheduler implements SeatHoldClient.Scheduler {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public Runnable schedule(Runnable task, long delayMs) {
+            assertEquals(SeatHoldClient.RENEW_MS, delayMs);
+            tasks.add(task);
+            return () -> tasks.remove(task);
+        }
+
+        void fire() {
+            List<Runnable> due = new ArrayList<>(tasks);
+            tasks.clear();
+            for (Runnable r : due) r.run();
+        }
+    }
+
+    private static final class Recorder implements SeatHoldClient.HoldCallback {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onHeld(String seat) {
+            events.add("held " + seat);
+        }
+
+        @Override
+        public void onConflict(String seat) {
+            events.add("conflict " + seat);
+        }
+
+        @Override
+        public void onError(String seat, String message) {
+            events.add("error " + seat);
+        }
+    }
+
+    private final FakeApi api = new FakeApi();
+    private final FakeScheduler scheduler = new FakeScheduler();
+    private final SeatHoldClient client = new SeatHoldClient(api, scheduler);
+    private final Recorder rec = new Recorder();
+
+    @Test
+    public void conflictSurfacesAtTapTime() {
+        client.start("s1");
+        client.hold("A1", rec);
+        client.hold("A2", rec);
+        api.take().onResult(Collections.singletonList("A1"));
+        api.take().onConflict(Collections.singletonList("A2"));
+        assertEquals(Arrays.asList("held A1", "conflict A2"), rec.events);
+        assertTrue(client.isHeld("A1"));
+        assertFalse(client.isHeld("A2"));
+        assertEquals(1, scheduler.tasks.size());
+    }
+
+    @Test
+    public void renewsWhileHoldingAndReportsLostSeats() {
+        List<String> lost = new ArrayList<>();
+        client.addListener((scheduleId, seats) -> lost.addAll(seats));
+        client.start("s1");
+        client.hold("A1", rec);
+        client.hold("A2", rec);
+        api.take().onResult(Collections.singletonList("A1"));
+        api.take().onResult(Arrays.asList("A1", "A2"));
+
+        scheduler.fire();
+        assertEquals("renew selection", api.last());
+        api.take().onResult(Collections.singletonList("A1"));
+        assertEquals(Collections.singletonList("A2"), lost);
+        assertEquals(1, scheduler.tasks.size());
+
+        // Sang thanh toán: gia hạn ngay theo TTL dài
+        client.enterCheckout();
+        assertEquals("renew checkout", api.last());
+    }
+
+    @Test
+    public void releasesDeselectedSeatEvenIfHoldWasInFlight() {
+        client.start("s1");
+        client.hold("A1", rec);
+        client.release("A1");
+        api.take().onResult(Collections.singletonList("A1"));
+        assertEquals("release [A1]", api.last());
+        assertFalse(client.isHeld("A1"));
+        assertTrue(rec.events.isEmpty());
+        assertTrue(scheduler.tasks.isEmpty());
+    }
+
+    @Test
+    public void switchingScheduleReleasesOldSession() {
+        client.start("s1");
+        client.hold("A1", rec);
+        api.take().onResult(Collections.singletonList("A1"));
+        client.start("s2");
+        assertEquals("release null", api.last());
+        assertTrue(scheduler.tasks.isEmpty());
+        assertEquals("s2", client.scheduleId());
+
+        client.complete();
+        client.releaseAll();
+        assertEquals("release null", api.last());
+        assertNull(client.scheduleId());
+    }
+}
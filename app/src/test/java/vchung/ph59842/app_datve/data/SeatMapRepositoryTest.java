@@ -0,0 +1,150 @@
+package vchung.ph59842.app_datve.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import vchung.ph59842.app_datve.models.Seat;
+import vchung.ph59842.app_datve.models.SeatLayout;
+import vchung.ph59842.app_datve.models.SeatMapResponse;
+import vchung.ph59842.app_datve.models.SeatStatus;
+
+import static org.junit.Assert.*;
+
+public class SeatMapRepositoryTest {
+
+    private static final class MemoryStore implements SeatMapRepository.LayoutStore {
+        final Map<String, SeatLayout> files = new HashMap<>();
+
+        @Override
+        public SeatLayout read(String roomId) {
+            return files.get(roomId);
+        }
+
+        @Override
+        public void write(SeatLayout layout) {
+            files.put(layout.getRoomId(), layout);
+        }
+    }
+
+    private static final class FakeFetcher implements SeatMapRepository.Fetcher {
+        final Map<String, SeatStatus> statuses = new HashMap<>();
+        final List<SeatMapRepository.Result<SeatLayout>> layoutCalls = new ArrayList<>();
+        final List<String> layoutVersions = new ArrayList<>();
+
+        @Override
+        public void fetchStatus(String scheduleId, SeatMapRepository.Result<SeatStatus> result) {
+            result.onResult(statuses.get(scheduleId));
+        }
+
+        @Override
+        public void fetchLayout(String roomId, String version, SeatMapRepository.Result<SeatLayout> result) {
+            layoutVersions.add(roomId + "@" + version);
+            layoutCalls.add(result);
+        }
+    }
+
+    private static final class Recorder implements SeatMapRepository.Listener {
+        SeatMapResponse last;
+        int loaded;
+
+        @Override
+        public void onLoaded(SeatMapResponse seatMap, SeatStatus status) {
+            last = seatMap;
+            loaded++;
+        }
+
+        @Override
+        public void onError(String message) {
+            fail(message);
+        }
+    }
+
+    /** 2 hàng x 10 ghế; ghế B10 đang bảo trì. */
+    private static SeatLayout layout(String version) {
+        List<Seat> seats = new ArrayList<>();
+        for (int r = 0; r < 2; r++) {
+            for (int c = 0; c < 10; c++) {
+                Seat seat = new Seat();
+                seat.setCode((char) ('A' + r) + String.valueOf(c + 1));
+                seat.setType(r == 0 ? "vip" : "standard");
+                seat.setRow(r);
+                seat.setColumn(c);
+                seat.setStatus(r == 1 && c == 9 ? "maintenance" : "available");
+                seats.add(seat);
+            }
+        }
+        SeatLayout layout = new SeatLayout();
+        layout.setRoomId("room1");
+        layout.setVersion(version);
+        layout.setSeats(seats);
+        return layout;
+    }
+
+    /** Cùng quy ước với seatLayoutService.encodeBitmap: bit thấp của byte trước. */
+    private static String bitmap(int seatCount, int... indexes) {
+        byte[] bytes = new byte[(seatCount + 7) / 8];
+        for (int i : indexes) bytes[i >> 3] |= 1 << (i & 7);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    private static SeatStatus status(String scheduleId, String version, String booked, String held) {
+        SeatStatus s = new SeatStatus();
+        s.setScheduleId(scheduleId);
+        s.setRoomId("room1");
+        s.setLayoutVersion(version);
+        s.setSeatCount(20);
+        s.setBooked(booked);
+        s.setHeld(held);
+        return s;
+    }
+
+    private final MemoryStore store = new MemoryStore();
+    private final FakeFetcher fetcher = new FakeFetcher();
+    private final Recorder rec = new Recorder();
+
+    @Test
+    public void mergesBitmapsOntoLayout() {
+        SeatStatus st = status("s1", "v1", bitmap(20, 0, 9, 12), bitmap(20, 1));
+        SeatMapResponse map = SeatMapRepository.merge(layout("v1"), st);
+        assertEquals("booked", map.getSeats().get(0).getStatus());
+        assertTrue(map.getSeats().get(1).isHeld());
+        assertTrue(map.getSeats().get(9).isBooked());
+        assertTrue(map.getSeats().get(12).isBooked());
+        assertTrue(map.getSeats().get(2).isAvailable());
+        assertEquals("maintenance", map.getSeats().get(19).getStatus());
+        assertFalse(map.isFull());
+        // Layout trong cache không bị sửa
+        assertTrue(layout("v1").getSeats().get(0).isAvailable());
+    }
+
+    @Test
+    public void fetchesLayoutOncePerVersion() {
+        SeatMapRepository repo = new SeatMapRepository(store, fetcher);
+        fetcher.statuses.put("s1", status("s1", "v1", bitmap(20, 3), ""));
+        fetcher.statuses.put("s2", status("s2", "v1", bitmap(20), ""));
+
+        repo.load("s1", rec);
+        repo.load("s2", rec);
+        // Hai suất cùng phòng chờ chung một lần tải layout
+        assertEquals(1, fetcher.layoutCalls.size());
+        fetcher.layoutCalls.get(0).onResult(layout("v1"));
+        assertEquals(2, rec.loaded);
+        assertEquals("v1", store.files.get("room1").getVersion());
+
+        // Lần sau (kể cả sau khi khởi động lại) chỉ tải bitmap
+        SeatMapRepository restarted = new SeatMapRepository(store, fetcher);
+        restarted.load("s1", rec);
+        assertEquals(1, fetcher.layoutCalls.size());
+        assertTrue(rec.last.getSeats().get(3).isBooked());
+
+        // Phòng được sửa: version đổi thì tải lại layout
+        fetcher.statuses.put("s3", status("s3", "v2", "", ""));
+        restarted.load("s3", rec);
+        assertEquals("room1@v2", fetcher.layoutVersions.get(1));
+    }
+}
@@ -0,0 +1,77 @@
+package vchung.ph59842.app_datve.data;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import vchung.ph59842.app_datve.models.Showtime;
+
+import static org.junit.Assert.*;
+import static vchung.ph59842.app_datve.data.CinemaIndexTest.cinema;
+
+public class ShowtimeBrowserTest {
+
+    private static Showtime showtime(String id, String cinemaId, String start) {
+        Showtime s = new Showtime();
+        s.set_id(id);
+        s.setCinemaId(cinemaId);
+        s.setStartTime(start);
+        return s;
+    }
+
+    private static String ids(List<Showtime> showtimes) {
+        StringBuilder sb = new StringBuilder();
+        for (Showtime s : showtimes) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(s.getId());
+        }
+        return sb.toString();
+    }
+
+    private final CinemaIndex cinemas = new CinemaIndex(Arrays.asList(
+            cinema("hk", "CGV Vincom Bà Triệu", "Hà Nội", 21.0110, 105.8490),
+            cinema("cg", "Lotte Cầu Giấy", "Hà Nội", 21.0330, 105.7940),
+            cinema("q1", "Galaxy Nguyễn Du", "Hồ Chí Minh", 10.7730, 106.6930)));
+
+    private final List<Showtime> showtimes = Arrays.asList(
+            showtime("a", "q1", "2026-01-01T10:00:00.000Z"),
+            showtime("b", "hk", "2026-01-01T12:00:00.000Z"),
+            showtime("c", "cg", "2026-01-01T09:00:00.000Z"),
+            showtime("d", "hk", "2026-01-01T08:00:00.000Z"),
+            showtime("e", null, "2026-01-01T11:00:00.000Z"));
+
+    @Test
+    public void groupsByCinemaWithoutLocation() {
+        ShowtimeBrowser browser = new ShowtimeBrowser(showtimes, cinemas, Double.NaN, Double.NaN);
+        assertFalse(browser.hasLocation());
+        assertEquals("d,c,a,e,b", ids(browser.all()));
+        assertEquals("d,b", ids(browser.forCinema("hk")));
+        assertTrue(browser.forCinema("khong-co").isEmpty());
+        assertTrue(browser.nearMe().isEmpty());
+
+        // Không có vị trí: theo thành phố rồi tên; suất thiếu cinemaId vẫn có nhóm riêng
+        StringBuilder keys = new StringBuilder();
+        for (ShowtimeBrowser.CinemaOption o : browser.options()) keys.append(o.getKey()).append(' ');
+        assertEquals("name:rap khac hk cg q1 ", keys.toString());
+        assertEquals("e", ids(browser.forCinema("name:rap khac")));
+    }
+
+    @Test
+    public void precomputesNearMeFromLocation() {
+        ShowtimeBrowser browser = new ShowtimeBrowser(showtimes, cinemas, 21.0285, 105.8542);
+        assertTrue(browser.hasLocation());
+        assertEquals("d,c,b", ids(browser.nearMe()));
+
+        ShowtimeBrowser.CinemaOption first = browser.options().get(0);
+        assertEquals("hk", first.getKey());
+        assertEquals(2, first.getCount());
+        assertEquals(2.0, first.getDistanceKm(), 0.5);
+        // Rạp không xác định được tọa độ xếp cuối
+        assertTrue(Double.isNaN(browser.options().get(3).getDistanceKm()));
+
+        // Không rạp nào trong bán kính: lấy các rạp gần nhất
+        ShowtimeBrowser far = new ShowtimeBrowser(showtimes, cinemas, 16.0660, 108.2100);
+        assertEquals("d,c,a,b", ids(far.nearMe()));
+    }
+}
@@ -0,0 +1,83 @@
+package vchung.ph59842.app_datve.data;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import vchung.ph59842.app_datve.models.ShowtimeSummary;
+
+import static org.junit.Assert.*;
+
+public class ShowtimeSummaryRepositoryTest {
+
+    private static final class FakeLoader implements ShowtimeSummaryRepository.BatchLoader {
+        final List<List<String>> batches = new ArrayList<>();
+        final List<ShowtimeSummaryRepository.BatchCallback> callbacks = new ArrayList<>();
+
+        @Override
+        public void load(List<String> movieIds, ShowtimeSummaryRepository.BatchCallback callback) {
+            batches.add(movieIds);
+            callbacks.add(callback);
+        }
+    }
+
+    private static ShowtimeSummary summary(String movieId, int count) {
+        ShowtimeSummary s = new ShowtimeSummary();
+        s.setMovieId(movieId);
+        s.setCount(count);
+        s.setNextStart("2026-01-01T12:30:00.000Z");
+        return s;
+    }
+
+    private final long[] now = {0};
+    private final FakeLoader loader = new FakeLoader();
+    private final ShowtimeSummaryRepository repo = new ShowtimeSummaryRepository(loader, () -> now[0]);
+    private final Map<String, ShowtimeSummary> seen = new HashMap<>();
+
+    @Test
+    public void batchesIdsIntoOneRequestPerChunk() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 120; i++) ids.add("m" + i);
+        repo.request(ids);
+        assertEquals(3, loader.batches.size());
+        assertEquals(ShowtimeSummaryRepository.MAX_IDS, loader.batches.get(0).size());
+        assertEquals(20, loader.batches.get(2).size());
+
+        // Đang tải thì không hỏi lại
+        repo.request(ids);
+        assertEquals(3, loader.batches.size());
+    }
+
+    @Test
+    public void cachesHitsAndMissesUntilTtl() {
+        repo.addListener(seen::putAll);
+        repo.request(Arrays.asList("a", "b"));
+        loader.callbacks.get(0).onLoaded(Collections.singletonList(summary("a", 4)));
+
+        assertEquals(4, seen.get("a").getCount());
+        assertTrue(seen.containsKey("b"));
+        assertNull(seen.get("b"));
+        assertEquals(1767270600000L, repo.cached("a").getNextStartMillis());
+
+        repo.request(Arrays.asList("a", "b", "c"));
+        assertEquals(Collections.singletonList("c"), loader.batches.get(1));
+
+        now[0] += ShowtimeSummaryRepository.TTL_MS;
+        assertNull(repo.cached("a"));
+        repo.request(Collections.singletonList("a"));
+        assertEquals(3, loader.batches.size());
+    }
+
+    @Test
+    public void errorAllowsRetry() {
+        repo.request(Collections.singletonList("a"));
+        loader.callbacks.get(0).onError("boom");
+        repo.request(Collections.singletonList("a"));
+        assertEquals(2, loader.batches.size());
+    }
+}
@@ -0,0 +1,132 @@
+package vchung.ph59842.app_datve.replay;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import vchung.ph59842.app_datve.api.ApiClient;
+import vchung.ph59842.app_datve.api.ApiConfig;
+import vchung.ph59842.app_datve.api.ApiService;
+import vchung.ph59842.app_datve.models.ApiResponse;
+import vchung.ph59842.app_datve.models.Movie;
+import vchung.ph59842.app_datve.models.Seat;
+import vchung.ph59842.app_datve.models.SeatLayout;
+import vchung.ph59842.app_datve.models.SeatStatus;
+import vchung.ph59842.app_datve.models.Showtime;
+import vchung.ph59842.app_datve.models.Ticket;
+
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Ghi lại fixture trong {@code src/fixtures/replay/} từ server thật. Bỏ qua trừ khi đặt
+ * {@code DATVE_RECORD=1}:
+ *
+ * <pre>
+ * DATVE_RECORD=1 DATVE_TOKEN=... [DATVE_API_URL=http://10.0.2.2:5000/api/v1/] [DATVE_RECORD_CHECKOUT=1] \
+ *     ./gradlew :app:testDebugUnitTest --tests '*FixtureRecorderTest'
+ * </pre>
+ * DATVE_RECORD_CHECKOUT tạo vé pending thật (rồi huỷ) để ghi tickets và payments/intents.
+ */
+public class FixtureRecorderTest {
+    private static final File FIXTURES = new File("src/fixtures/replay");
+
+    @Test
+    public void recordFixtures() throws IOException {
+        assumeTrue(System.getenv("DATVE_RECORD") != null);
+        String baseUrl = System.getenv().getOrDefault("DATVE_API_URL", ApiConfig.BASE_URL);
+        String token = System.getenv("DATVE_TOKEN");
+
+        Tape home = new Tape(baseUrl);
+        ApiService api = recordingApi(baseUrl, token, home);
+        // Chỉ cần được ghi vào tape; đóng ngay để trả connection
+        client(baseUrl, token, home).newCall(new Request.Builder().url(baseUrl + "health").build()).execute().close();
+        if (token != null) api.getMe().execute();
+        List<Movie> movies = dataOf(api.getNowShowingMovies("showing").execute().body());
+        api.getUpcomingMovies().execute();
+        List<String> ids = new ArrayList<>();
+        for (Movie m : movies) ids.add(m.getId());
+        // Cùng tham số ShowtimeSummaryRepository gửi
+        api.getShowtimeSummaries(String.join(",", ids), 7).execute();
+        save("home", home);
+        assumeTrue("No movies to record further", !movies.isEmpty());
+
+        Tape detail = new Tape(baseUrl);
+        api = recordingApi(baseUrl, token, detail);
+        List<Showtime> showtimes = dataOf(api.getMovieShowtimes(movies.get(0).getId()).execute().body());
+        api.getCinemas(1, 200).execute();
+        save("movie_detail", detail);
+        assumeTrue("No showtimes to record checkout", !showtimes.isEmpty());
+
+        Tape checkout = new Tape(baseUrl);
+        api = recordingApi(baseUrl, token, checkout);
+        String scheduleId = showtimes.get(0).getId();
+        SeatStatus status = api.getSeatStatus(scheduleId).execute().body().getData();
+        SeatLayout layout = api.getRoomLayout(status.getRoomId(), status.getLayoutVersion()).execute().body().getData();
+        if (System.getenv("DATVE_RECORD_CHECKOUT") != null && token != null) {
+            recordBooking(api, scheduleId, layout, status);
+        }
+        save("checkout", checkout);
+    }
+
+    private static void recordBooking(ApiService api, String scheduleId, SeatLayout layout, SeatStatus status) throws IOException {
+        List<Seat> seats = layout.getSeats();
+        String code = null;
+        for (int i = 0; i < seats.size() && code == null; i++) {
+            if (!status.isBooked(i) && !status.isHeld(i) && !"maintenance".equals(seats.get(i).getStatus())) {
+                code = seats.get(i).getCode();
+            }
+        }
+        if (code == null) return;
+
+        Map<String, Object> hold = new HashMap<>();
+        hold.put("seats", Collections.singletonList(code));
+        api.holdSeats(scheduleId, hold).execute();
+        Map<String, Object> body = new HashMap<>();
+        body.put("scheduleId", scheduleId);
+        body.put("seatNumbers", Collections.singletonList(code));
+        Object data = api.bookTicket(body).execute().body().getData();
+        if (data == null) return;
+        Ticket ticket = ApiClient.getGson().fromJson(ApiClient.getGson().toJsonTree(data), Ticket.class);
+        Map<String, Object> intent = new HashMap<>();
+        intent.put("ticketId", ticket.getId());
+        intent.put("method", "vietqr");
+        api.createPaymentIntent(intent).execute();
+        // Trả ghế lại cho server thật
+        api.cancelTicket(ticket.getId()).execute();
+    }
+
+    private static ApiService recordingApi(String baseUrl, String token, Tape tape) {
+        return ApiClient.create(baseUrl, client(baseUrl, token, tape));
+    }
+
+    private static OkHttpClient client(String baseUrl, String token, Tape tape) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(chain -> token == null ? chain.proceed(chain.request())
+                        : chain.proceed(chain.request().newBuilder().header("Authorization", "Bearer " + token).build()))
+                .addInterceptor(new RecordingInterceptor(baseUrl, tape))
+                .build();
+    }
+
+    private static <T> List<T> dataOf(ApiResponse<List<T>> body) {
+        return body != null && body.getData() != null ? body.getData() : new ArrayList<>();
+    }
+
+    private static void save(String name, Tape tape) throws IOException {
+        if (!FIXTURES.isDirectory() && !FIXTURES.mkdirs()) throw new IOException("Cannot create " + FIXTURES);
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(new File(FIXTURES, name + ".json")), StandardCharsets.UTF_8)) {
+            tape.write(out);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package vchung.ph59842.app_datve.replay;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import retrofit2.Response;
+import vchung.ph59842.app_datve.api.ApiClient;
+import vchung.ph59842.app_datve.api.ApiService;
+import vchung.ph59842.app_datve.models.ApiResponse;
+import vchung.ph59842.app_datve.models.Movie;
+import vchung.ph59842.app_datve.models.ShowtimeSummary;
+
+import static org.junit.Assert.*;
+
+public class ReplayServerTest {
+    private final OkHttpClient client = new OkHttpClient();
+
+    @Test
+    public void replaysFixtureThroughAppApiService() throws IOException {
+        try (ReplayServer server = new ReplayServer(Tape.fromResource("home"), NetworkProfile.NONE).start()) {
+            ApiService api = ApiClient.create(server.baseUrl(), client);
+            Response<ApiResponse<List<Movie>>> response = api.getNowShowingMovies("showing").execute();
+
+            assertEquals(200, response.code());
+            assertTrue(response.body().isSuccess());
+            assertEquals(6, response.body().getData().size());
+            assertTrue(server.misses().isEmpty());
+        }
+    }
+
+    @Test
+    public void fallsBackToRouteWhenQueryDiffers() throws IOException {
+        try (ReplayServer server = new ReplayServer(Tape.fromResource("home"), NetworkProfile.NONE).start()) {
+            ApiService api = ApiClient.create(server.baseUrl(), client);
+            Response<ApiResponse<List<ShowtimeSummary>>> response = api.getShowtimeSummaries("other", 3).execute();
+
+            assertEquals(200, response.code());
+            assertFalse(response.body().getData().isEmpty());
+        }
+    }
+
+    @Test
+    public void unknownRequestIs404AndReportedAsMiss() throws IOException {
+        try (ReplayServer server = new ReplayServer(Tape.fromResource("home"), NetworkProfile.NONE).start()) {
+            ApiService api = ApiClient.create(server.baseUrl(), client);
+            Response<?> response = api.getCinemas(1, 200).execute();
+
+            assertEquals(404, response.code());
+            assertEquals(1, server.misses().size());
+            assertEquals("GET cinemas?page=1&limit=200", server.misses().get(0));
+        }
+    }
+
+    @Test
+    public void repeatsLastResponseAfterRecordedSequence() throws IOException {
+        Tape tape = new Tape("test")
+                .add(new Interaction("GET", "health", 200, "text/plain", "first"))
+                .add(new Interaction("GET", "health", 200, "text/plain", "second"));
+        try (ReplayServer server = new ReplayServer(tape, NetworkProfile.NONE).start()) {
+            assertEquals("first", get(server.baseUrl() + "health"));
+            assertEquals("second", get(server.baseUrl() + "health"));
+            assertEquals("second", get(server.baseUrl() + "health"));
+        }
+    }
+
+    @Test
+    public void delaysHeadersByProfileLatency() throws IOException {
+        NetworkProfile profile = NetworkProfile.NONE.withLatency(150, 0);
+        try (ReplayServer server = new ReplayServer(Tape.fromResource("home"), profile).start()) {
+            long start = System.nanoTime();
+            get(server.baseUrl() + "health");
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue("elapsed " + elapsedMs + "ms", elapsedMs >= 150);
+        }
+    }
+
+    @Test
+    public void throttlesBodyToProfileBandwidth() throws IOException {
+        StringBuilder big = new StringBuilder();
+        while (big.length() < 20_000) big.append("0123456789");
+        Tape tape = new Tape("test").add(new Interaction("GET", "big", 200, "text/plain", big.toString()));
+        // 20 KB ở 50 KB/s: khoảng 400ms
+        try (ReplayServer server = new ReplayServer(tape, NetworkProfile.NONE.withBandwidth(50_000)).start()) {
+            long start = System.nanoTime();
+            assertEquals(20_000, get(server.baseUrl() + "big").getBytes(StandardCharsets.UTF_8).length);
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue("elapsed " + elapsedMs + "ms", elapsedMs >= 300);
+        }
+    }
+
+    @Test
+    public void injectedErrorsAreDeterministicForSeed() throws IOException {
+        NetworkProfile profile = NetworkProfile.NONE.withErrors(0.5, NetworkProfile.Failure.HTTP_503).withSeed(42);
+        List<Integer> first = statusCodes(profile, 20);
+        List<Integer> second = statusCodes(profile, 20);
+
+        assertEquals(first, second);
+        assertTrue(first.contains(200));
+        assertTrue(first.contains(503));
+    }
+
+    @Test(expected = IOException.class)
+    public void disconnectFailureSurfacesAsIOException() throws IOException {
+        NetworkProfile profile = NetworkProfile.NONE.withErrors(1.0, NetworkProfile.Failure.DISCONNECT);
+        OkHttpClient noRetry = client.newBuilder().retryOnConnectionFailure(false).build();
+        try (ReplayServer server = new ReplayServer(Tape.fromResource("home"), profile).start()) {
+            ApiClient.create(server.baseUrl(), noRetry).getMe().execute();
+        }
+    }
+
+    @Test
+    public void recordedTapeReplaysIdentically() throws IOException {
+        try (ReplayServer origin = new ReplayServer(Tape.fromResource("movie_detail"), NetworkProfile.NONE).start()) {
+            Tape recorded = new Tape(origin.baseUrl());
+            OkHttpClient recording = client.newBuilder()
+                    .addInterceptor(new RecordingInterceptor(origin.baseUrl(), recorded))
+                    .build();
+            ApiService api = ApiClient.create(origin.baseUrl(), recording);
+            String movieId = "66a000000000000000000001";
+            int showtimes = api.getMovieShowtimes(movieId).execute().body().getData().size();
+            api.getCinemas(1, 200).execute();
+
+            StringWriter json = new StringWriter();
+            recorded.write(json);
+            Tape reloaded = Tape.read(new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8)));
+            assertEquals(2, reloaded.getInteractions().size());
+            assertEquals("cinemas?page=1&limit=200", reloaded.getInteractions().get(1).getPath());
+
+            try (ReplayServer replay = new ReplayServer(reloaded, NetworkProfile.NONE).start()) {
+                ApiService replayed = ApiClient.create(replay.baseUrl(), client);
+                assertEquals(showtimes, replayed.getMovieShowtimes(movieId).execute().body().getData().size());
+                assertTrue(replay.misses().isEmpty());
+            }
+        }
+    }
+
+    private List<Integer> statusCodes(NetworkProfile profile, int calls) throws IOException {
+        List<Integer> codes = new ArrayList<>();
+        try (ReplayServer server = new ReplayServer(Tape.fromResource("home"), profile).start()) {
+            for (int i = 0; i < calls; i++) {
+                try (okhttp3.Response response = client.newCall(new Request.Builder()
+                        .url(server.baseUrl() + "health").build()).execute()) {
+                    codes.add(response.code());
+                }
+            }
+        }
+        return codes;
+    }
+
+    private String get(String url) throws IOException {
+        try (okhttp3.Response response = client.newCall(new Request.Builder().url(url).build()).execute()) {
+            return response.body().string();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package vchung.ph59842.baselineprofile;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import kotlin.Unit;
+
+/**
+ * Sinh baseline profile cho app.
+ * Chạy: ./gradlew :app:generateBaselineProfile
+ * Kết quả được plugin copy vào app/src/release/generated/baselineProfiles/.
+ */
+@RunWith(AndroidJUnit4.class)
+@LargeTest
+public class BaselineProfileGenerator {
+
+    @Rule
+    public BaselineProfileRule rule = new BaselineProfileRule();
+
+    /** Chỉ đường khởi động, đồng thời ghi vào startup profile (dex layout). */
+    @Test
+    public void startup() {
+        rule.collect(Journeys.PACKAGE, 15, 3, "startup", true, scope -> {
+            Journeys.startAndWaitForHome(scope);
+            return Unit.INSTANCE;
+        });
+    }
+
+    /** Hành trình đặt vé tới màn chọn ghế (không tạo vé thật, xem {@link Journeys}). */
+    @Test
+    public void bookingJourney() {
+        rule.collect(Journeys.PACKAGE, scope -> {
+            Journeys.startAndWaitForHome(scope);
+            Journeys.scrollHome(scope.getDevice());
+            Journeys.openFirstMovie(scope.getDevice());
+            Journeys.openFirstShowtime(scope.getDevice());
+            Journeys.pickFirstSeat(scope.getDevice());
+            Journeys.reviewSelectionAndLeave(scope.getDevice());
+            return Unit.INSTANCE;
+        });
+    }
+}
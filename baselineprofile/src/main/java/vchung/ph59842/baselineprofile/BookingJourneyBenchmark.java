@@ -0,0 +1,62 @@
+package vchung.ph59842.baselineprofile;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.LargeTest;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Collections;
+
+import kotlin.Unit;
+
+/**
+ * Đo frame timing (frameDurationCpuMs, frameOverrunMs) trên hành trình
+ * trang chủ -> chi tiết phim -> chọn ghế (không tạo vé thật, xem {@link Journeys}).
+ */
+@RunWith(AndroidJUnit4.class)
+@LargeTest
+public class BookingJourneyBenchmark {
+    private static final int ITERATIONS = 5;
+
+    @Rule
+    public MacrobenchmarkRule rule = new MacrobenchmarkRule();
+
+    @Test
+    public void bookingNoCompilation() {
+        booking(new CompilationMode.None());
+    }
+
+    @Test
+    public void bookingBaselineProfile() {
+        booking(new CompilationMode.Partial(BaselineProfileMode.Require));
+    }
+
+    private void booking(CompilationMode mode) {
+        rule.measureRepeated(
+                Journeys.PACKAGE,
+                Collections.singletonList(new FrameTimingMetric()),
+                mode,
+                StartupMode.COLD,
+                ITERATIONS,
+                scope -> {
+                    // Khởi động không tính vào frame timing của hành trình
+                    Journeys.startAndWaitForHome(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    Journeys.scrollHome(scope.getDevice());
+                    Journeys.openFirstMovie(scope.getDevice());
+                    Journeys.openFirstShowtime(scope.getDevice());
+                    Journeys.pickFirstSeat(scope.getDevice());
+                    Journeys.reviewSelectionAndLeave(scope.getDevice());
+                    return Unit.INSTANCE;
+                });
+    }
+}
@@ -0,0 +1,133 @@
+package vchung.ph59842.baselineprofile;
+
+import android.os.Bundle;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.BySelector;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+import java.util.List;
+
+/**
+ * Các hành trình người dùng dùng chung cho generator và benchmark:
+ * mở app -> chi tiết phim -> chọn ghế (dừng trước khi đặt vé).
+ * Không bấm "Thanh toán": nút đó POST tạo vé thật lên backend đang chạy, mỗi vòng sẽ để lại vé
+ * pending và ghế bị giữ, chặn khách thật và làm lệch các lần đo sau.
+ * Tài khoản test truyền qua instrumentation args:
+ * -Pandroid.testInstrumentationRunnerArguments.datveEmail=... / datvePassword=...
+ */
+final class Journeys {
+    static final String PACKAGE = "vchung.ph59842.app_datve";
+
+    private static final long UI_TIMEOUT_MS = 10_000;
+    private static final long NETWORK_TIMEOUT_MS = 20_000;
+
+    private Journeys() {}
+
+    /** Cold start vào MainActivity, đăng nhập nếu app chuyển sang LoginActivity. */
+    static void startAndWaitForHome(MacrobenchmarkScope scope) {
+        scope.pressHome();
+        scope.startActivityAndWait();
+        UiDevice device = scope.getDevice();
+        if (device.wait(Until.hasObject(res("etLoginEmail")), 2_000)) {
+            login(device);
+        }
+        // Chờ danh sách phim bind xong (MainActivity gọi reportFullyDrawn ở đây)
+        device.wait(Until.hasObject(res("movieTitle1")), NETWORK_TIMEOUT_MS);
+    }
+
+    private static void login(UiDevice device) {
+        Bundle args = InstrumentationRegistry.getArguments();
+        String email = args.getString("datveEmail");
+        String password = args.getString("datvePassword");
+        if (email == null || password == null) {
+            throw new IllegalStateException("Missing datveEmail/datvePassword instrumentation arguments");
+        }
+        device.findObject(res("etLoginEmail")).setText(email);
+        device.findObject(res("etLoginPassword")).setText(password);
+        device.findObject(res("btnSubmitLogin")).click();
+        device.wait(Until.hasObject(res("movieGrid")), NETWORK_TIMEOUT_MS);
+    }
+
+    /** Cuộn danh sách phim ở trang chủ (đo frame khi scroll). */
+    static void scrollHome(UiDevice device) {
+        UiObject2 scroll = device.findObject(res("contentScroll"));
+        if (scroll == null) return;
+        // Chừa mép dưới để không kéo trúng thanh điều hướng hệ thống
+        scroll.setGestureMargin(device.getDisplayWidth() / 5);
+        scroll.fling(Direction.DOWN);
+        device.waitForIdle();
+        scroll.fling(Direction.UP);
+        device.waitForIdle();
+    }
+
+    static void openFirstMovie(UiDevice device) {
+        UiObject2 title = device.findObject(res("movieTitle1"));
+        if (title == null) {
+            throw new IllegalStateException("Movie list did not load");
+        }
+        // Title không clickable, chạm vào sẽ rơi xuống card cha
+        title.click();
+        device.wait(Until.hasObject(res("showtimesContainer")), UI_TIMEOUT_MS);
+    }
+
+    static void openFirstShowtime(UiDevice device) {
+        UiObject2 book = findWithScroll(device, res("btnBookTicket"), "movieDetailRoot");
+        if (book == null) {
+            throw new IllegalStateException("No showtime with a booking button");
+        }
+        book.click();
+        device.wait(Until.hasObject(res("seatGrid")), UI_TIMEOUT_MS);
+    }
+
+    static void pickFirstSeat(UiDevice device) {
+        UiObject2 grid = device.findObject(res("seatGrid"));
+        if (grid == null) {
+            throw new IllegalStateException("Seat grid not shown");
+        }
+        // Con của seatGrid: nhãn hàng (TextView) + ghế (Button), ghế không có id riêng
+        List<UiObject2> children = grid.getChildren();
+        for (UiObject2 child : children) {
+            if ("android.widget.Button".equals(child.getClassName()) && child.isEnabled()) {
+                child.click();
+                device.waitForIdle();
+                return;
+            }
+        }
+        throw new IllegalStateException("No free seat");
+    }
+
+    /**
+     * Cuộn tới nút thanh toán (đo frame của màn chọn ghế) nhưng không bấm, rồi Back để
+     * BookingActivity kết thúc và trả ghế vừa giữ trước khi vòng đo sau kill app.
+     */
+    static void reviewSelectionAndLeave(UiDevice device) {
+        UiObject2 proceed = findWithScroll(device, res("btnProceed"), "bookingRoot");
+        if (proceed == null) {
+            throw new IllegalStateException("Proceed button not found");
+        }
+        device.pressBack();
+        device.wait(Until.gone(res("seatGrid")), UI_TIMEOUT_MS);
+    }
+
+    private static UiObject2 findWithScroll(UiDevice device, BySelector selector, String rootId) {
+        UiObject2 found = device.wait(Until.findObject(selector), UI_TIMEOUT_MS / 2);
+        for (int i = 0; found == null && i < 5; i++) {
+            UiObject2 root = device.findObject(By.scrollable(true));
+            if (root == null) root = device.findObject(res(rootId));
+            if (root == null) break;
+            root.scroll(Direction.DOWN, 0.8f);
+            found = device.findObject(selector);
+        }
+        return found;
+    }
+
+    static BySelector res(String id) {
+        return By.res(PACKAGE, id);
+    }
+}
@@ -0,0 +1,44 @@
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+sourceSets {
+    main {
+        java {
+            // Dùng lại đúng model của app (thuần Java + Gson, không phụ thuộc Android)
+            srcDir("../app/src/main/java")
+            include("vchung/ph59842/app_datve/models/**")
+            include("vchung/ph59842/app_datve/data/MovieSearchIndex.java")
+        }
+    }
+}
+
+dependencies {
+    implementation(libs.gson)
+    implementation(project(":pricing"))
+    implementation(project(":seating"))
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    // Model có comment/chuỗi tiếng Việt
+    options.encoding = "UTF-8"
+}
+
+// Chạy: ./gradlew :benchmark:jmh
+// Kết quả: benchmark/build/results/jmh/results.json
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // gc.alloc.rate.norm = số byte cấp phát cho mỗi op
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    includes.addAll(providers.gradleProperty("jmhIncludes").map { listOf(it) }.orElse(emptyList()))
+}
@@ -0,0 +1,57 @@
+package vchung.ph59842.app_datve.benchmark;
+
+import com.google.gson.reflect.TypeToken;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import vchung.ph59842.app_datve.models.ApiResponse;
+import vchung.ph59842.app_datve.models.Movie;
+import vchung.ph59842.app_datve.models.Promotion;
+import vchung.ph59842.app_datve.models.Schedule;
+import vchung.ph59842.app_datve.models.Showtime;
+import vchung.ph59842.app_datve.models.Ticket;
+
+/**
+ * Payload mẫu ghi lại theo đúng shape backend trả về (envelope success/count/data,
+ * _id/__v/createdAt của Mongoose, theater/room đã populate).
+ */
+final class Fixtures {
+    static final Type MOVIES = new TypeToken<ApiResponse<List<Movie>>>() {}.getType();
+    static final Type SHOWTIMES = new TypeToken<ApiResponse<List<Showtime>>>() {}.getType();
+    static final Type SCHEDULES = new TypeToken<ApiResponse<List<Schedule>>>() {}.getType();
+    static final Type TICKETS = new TypeToken<ApiResponse<List<Ticket>>>() {}.getType();
+    static final Type PROMOTIONS = new TypeToken<ApiResponse<List<Promotion>>>() {}.getType();
+
+    private Fixtures() {}
+
+    static Type typeOf(String name) {
+        switch (name) {
+            case "movies": return MOVIES;
+            case "showtimes": return SHOWTIMES;
+            case "schedules": return SCHEDULES;
+            case "tickets": return TICKETS;
+            case "promotions": return PROMOTIONS;
+            default: throw new IllegalArgumentException("Unknown fixture: " + name);
+        }
+    }
+
+    static byte[] bytes(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name + ".json")) {
+            if (in == null) throw new IllegalArgumentException("Missing fixture: " + name);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buf = new byte[8192];
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package vchung.ph59842.app_datve.benchmark;
+
+import com.google.gson.Gson;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import vchung.ph59842.app_datve.models.ApiResponse;
+import vchung.ph59842.app_datve.models.Promotion;
+import vchung.ph59842.app_datve.models.Schedule;
+import vchung.ph59842.app_datve.models.Showtime;
+
+/**
+ * Các helper trên model được gọi khi bind list (mỗi item mỗi lần bind).
+ * Mỗi op gọi helper trên một object, xoay vòng qua toàn bộ fixture để
+ * dữ liệu không bị JIT constant-fold.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ModelBenchmark {
+
+    private Showtime[] showtimes;
+    private Promotion[] promotions;
+    private Schedule[] schedules;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        Gson gson = new Gson();
+        showtimes = this.<Showtime>load(gson, "showtimes").toArray(new Showtime[0]);
+        promotions = this.<Promotion>load(gson, "promotions").toArray(new Promotion[0]);
+        schedules = this.<Schedule>load(gson, "schedules").toArray(new Schedule[0]);
+    }
+
+    private <T> List<T> load(Gson gson, String name) {
+        String json = new String(Fixtures.bytes(name), StandardCharsets.UTF_8);
+        ApiResponse<List<T>> response = gson.fromJson(json, Fixtures.typeOf(name));
+        return response.getData();
+    }
+
+    private int next(int length) {
+        int i = cursor++;
+        if (cursor == Integer.MAX_VALUE) cursor = 0;
+        return i % length;
+    }
+
+    @Benchmark
+    public String showtimeFormattedTime() {
+        return showtimes[next(showtimes.length)].getFormattedTime();
+    }
+
+    @Benchmark
+    public String showtimeFormattedPrice() {
+        return showtimes[next(showtimes.length)].getFormattedPrice();
+    }
+
+    @Benchmark
+    public boolean showtimeIsBookableNow() {
+        return showtimes[next(showtimes.length)].isBookableNow();
+    }
+
+    @Benchmark
+    public int showtimeAvailableSeats() {
+        return showtimes[next(showtimes.length)].getAvailableSeats();
+    }
+
+    @Benchmark
+    public boolean promotionIsActive() {
+        return promotions[next(promotions.length)].isActive();
+    }
+
+    @Benchmark
+    public boolean promotionIsExpired() {
+        return promotions[next(promotions.length)].isExpired();
+    }
+
+    @Benchmark
+    public boolean promotionIsAvailable() {
+        return promotions[next(promotions.length)].isAvailable();
+    }
+
+    @Benchmark
+    public String promotionFormattedDiscount() {
+        return promotions[next(promotions.length)].getFormattedDiscount();
+    }
+
+    @Benchmark
+    public double schedulePriceForSeatType() {
+        int i = next(schedules.length);
+        return schedules[i].getPriceForSeatType((i & 1) == 0 ? "standard" : "vip");
+    }
+}
@@ -0,0 +1,82 @@
+package vchung.ph59842.app_datve.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import vchung.ph59842.app_datve.models.ApiResponse;
+
+/**
+ * Chi phí parse response (throughput + byte cấp phát qua -prof gc).
+ * <ul>
+ *   <li>{@code fromString}: Gson.fromJson trên String đã có sẵn.</li>
+ *   <li>{@code converterPath}: giống GsonConverterFactory của Retrofit (bytes -> Reader -> TypeAdapter).</li>
+ *   <li>{@code singleItem}: chỉ một phần tử, để đọc allocation cho mỗi object.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ParseBenchmark {
+
+    @Param({"movies", "showtimes", "schedules", "tickets", "promotions"})
+    public String payload;
+
+    private Gson gson;
+    private Type type;
+    private TypeAdapter<?> adapter;
+    private String json;
+    private byte[] bytes;
+    private String singleJson;
+    private Class<?> itemClass;
+
+    @Setup
+    public void setUp() {
+        gson = new Gson();
+        type = Fixtures.typeOf(payload);
+        adapter = gson.getAdapter(TypeToken.get(type));
+        bytes = Fixtures.bytes(payload);
+        json = new String(bytes, StandardCharsets.UTF_8);
+
+        ApiResponse<List<?>> parsed = gson.fromJson(json, type);
+        Object first = parsed.getData().get(0);
+        itemClass = first.getClass();
+        singleJson = gson.toJson(first);
+    }
+
+    @Benchmark
+    public Object fromString() {
+        return gson.fromJson(json, type);
+    }
+
+    @Benchmark
+    public Object converterPath() throws IOException {
+        Reader reader = new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
+        JsonReader jsonReader = gson.newJsonReader(reader);
+        return adapter.read(jsonReader);
+    }
+
+    @Benchmark
+    public Object singleItem() {
+        return gson.fromJson(singleJson, itemClass);
+    }
+}
@@ -0,0 +1,69 @@
+package vchung.ph59842.app_datve.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import vchung.ph59842.app_datve.pricing.Cart;
+import vchung.ph59842.app_datve.pricing.MembershipTier;
+import vchung.ph59842.app_datve.pricing.PriceTable;
+import vchung.ph59842.app_datve.pricing.PricingEngine;
+import vchung.ph59842.app_datve.pricing.PricingRules;
+import vchung.ph59842.app_datve.pricing.Quote;
+import vchung.ph59842.app_datve.pricing.SeatType;
+import vchung.ph59842.app_datve.pricing.Voucher;
+
+/**
+ * Chi phí tính lại giá mỗi lần chạm ghế ở BookingActivity.
+ * {@code repriceOnSeatTap} phải giữ gc.alloc.rate.norm ≈ 0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PricingBenchmark {
+    private static final long NOW = 1_750_000_000_000L;
+
+    private PricingEngine engine;
+    private Cart cart;
+    private Quote quote;
+    private int tap;
+
+    @Setup
+    public void setUp() {
+        engine = new PricingEngine(PricingRules.builder()
+                .maxVouchers(2)
+                .tierDiscount(MembershipTier.GOLD, 5)
+                .build());
+        cart = new Cart()
+                .setPriceTable(new PriceTable(85_000, 120_000, 10, NOW + 3_600_000L))
+                .addCombo(65_000, 1)
+                .addCombo(45_000, 2)
+                .addVoucher(Voucher.fixed("GIAM20K", 20_000, 150_000).stackable())
+                .addVoucher(Voucher.percent("CUOITUAN", 10, 50_000, 0).stackable())
+                .setTier(MembershipTier.GOLD)
+                .setSeatCount(SeatType.STANDARD, 3);
+        quote = new Quote();
+    }
+
+    @Benchmark
+    public long repriceOnSeatTap() {
+        // Xen kẽ chọn / bỏ chọn một ghế VIP như người dùng chạm liên tục
+        if ((tap++ & 1) == 0) {
+            cart.addSeat(SeatType.VIP);
+        } else {
+            cart.removeSeat(SeatType.VIP);
+        }
+        return engine.price(cart, NOW, quote).getTotal();
+    }
+
+    @Benchmark
+    public Quote freshQuote() {
+        return engine.price(cart, NOW);
+    }
+}
@@ -0,0 +1,89 @@
+package vchung.ph59842.app_datve.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import vchung.ph59842.app_datve.data.MovieSearchIndex;
+import vchung.ph59842.app_datve.models.Movie;
+
+/**
+ * Tìm phim offline mỗi lần gõ phím. Mục tiêu: {@code typeAhead} dưới 5 ms/op
+ * (5_000_000 ns) với danh mục {@code catalogSize} phim.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SearchBenchmark {
+    private static final String[] WORDS = {
+            "Lật", "Mặt", "Một", "Điều", "Ước", "Đất", "Rừng", "Phương", "Nam", "Nhà", "Bà", "Nữ",
+            "Bố", "Già", "Mai", "Đào", "Phở", "Piano", "Hai", "Thế", "Giới", "Người", "Tình", "Yêu",
+            "Gia", "Đình", "Hành", "Trình", "Bí", "Ẩn", "Quỷ", "Cẩu", "Kinh", "Dị", "Trạng", "Quỳnh"
+    };
+    // Các bước gõ dần "lat mat" như người dùng thật
+    private static final String[] KEYSTROKES = {"l", "la", "lat", "lat ", "lat m", "lat ma", "lat mat"};
+
+    @Param({"200", "2000"})
+    public int catalogSize;
+
+    private MovieSearchIndex index;
+    private List<Movie> catalog;
+    private int stroke;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        catalog = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            Movie m = new Movie();
+            m.set_id("m" + i);
+            m.setTitle(words(random, 2 + random.nextInt(4)));
+            m.setDirector(words(random, 2));
+            m.setCast(Arrays.asList(words(random, 3), words(random, 3), words(random, 2)));
+            m.setGenres(Arrays.asList("Hành động", "Tâm lý"));
+            m.setDescription(words(random, 40));
+            catalog.add(m);
+        }
+        index = new MovieSearchIndex();
+        index.upsertAll(catalog);
+    }
+
+    private static String words(Random random, int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public List<Movie> typeAhead() {
+        String query = KEYSTROKES[stroke++ % KEYSTROKES.length];
+        return index.search(query, 20);
+    }
+
+    /** Đồng bộ lại cả danh mục không đổi: chỉ so chữ ký, không đánh chỉ mục lại. */
+    @Benchmark
+    public int resyncUnchanged() {
+        return index.upsertAll(catalog);
+    }
+
+    @Benchmark
+    public MovieSearchIndex fullBuild() {
+        MovieSearchIndex fresh = new MovieSearchIndex();
+        fresh.upsertAll(catalog);
+        return fresh;
+    }
+}
@@ -0,0 +1,69 @@
+package vchung.ph59842.app_datve.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import vchung.ph59842.app_datve.seating.SeatBlock;
+import vchung.ph59842.app_datve.seating.SeatFinder;
+import vchung.ph59842.app_datve.seating.SeatGrid;
+
+/**
+ * Nút "Chọn giúp tôi" trên phòng 1.000 ghế (25 hàng x 40, hai lối đi, 3 hàng VIP)
+ * ở các mức lấp đầy khác nhau. Mục tiêu: vài micro giây/op và 0 B/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SeatFinderBenchmark {
+    private static final int ROWS = 25;
+    private static final int COLS = 42;
+
+    @Param({"0.3", "0.7", "0.95"})
+    public double occupancy;
+
+    @Param({"2", "6", "10"})
+    public int quantity;
+
+    private final SeatFinder finder = new SeatFinder();
+    private final SeatBlock block = new SeatBlock();
+    private SeatGrid grid;
+
+    @Setup
+    public void setUp() {
+        grid = new SeatGrid(ROWS, COLS);
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLS; c++) {
+                if (c == 10 || c == 31) continue; // lối đi
+                grid.addSeat(r, c, r >= ROWS - 3);
+            }
+        }
+        // Cố định seed để các lần chạy so sánh được với nhau
+        Random random = new Random(42);
+        for (int r = 0; r < ROWS; r++) {
+            for (int c = 0; c < COLS; c++) {
+                if (random.nextDouble() < occupancy) grid.setTaken(r, c, true);
+            }
+        }
+    }
+
+    @Benchmark
+    public SeatBlock bestBlock() {
+        finder.find(grid, quantity, SeatFinder.Zone.ANY, block);
+        return block;
+    }
+
+    @Benchmark
+    public SeatBlock bestVipBlock() {
+        finder.find(grid, quantity, SeatFinder.Zone.VIP, block);
+        return block;
+    }
+}
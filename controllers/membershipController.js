@@ -46,22 +46,63 @@ exports.getMyMembership = async (req, res, next) => {
   } catch (err) { next(err); }
 };
 
+// Cursor = base64url("<createdAt ms>_<_id>") của dòng cuối trang trước.
+// Sắp theo (createdAt, _id) giảm dần nên cursor ổn định kể cả khi có log mới chen vào đầu.
+function encodeCursor(log) {
+  return Buffer.from(`${new Date(log.createdAt).getTime()}_${log._id}`).toString('base64url');
+}
+
+function decodeCursor(cursor) {
+  const raw = Buffer.from(String(cursor), 'base64url').toString('utf8');
+  const sep = raw.indexOf('_');
+  const ms = Number(raw.slice(0, sep));
+  const id = raw.slice(sep + 1);
+  if (sep <= 0 || !Number.isFinite(ms) || !mongoose.Types.ObjectId.isValid(id)) return null;
+  return { createdAt: new Date(ms), _id: new mongoose.Types.ObjectId(id) };
+}
+
+// GET /api/v1/membership/history?limit=50&cursor=<nextCursor>
 exports.getMyPointHistory = async (req, res, next) => {
   try {
     let uid = req.user && (req.user._id || req.user.id);
     if (req.query.userId) uid = req.query.userId;
     if (!uid) return res.status(401).json({ success: false, message: 'Unauthorized' });
     const MembershipPointLog = mongoose.model('MembershipPointLog');
-    const page = Math.max(1, parseInt(req.query.page || '1', 10));
     const limit = Math.max(1, Math.min(200, parseInt(req.query.limit || '50', 10)));
-    const skip = (page - 1) * limit;
     let query;
     try {
       query = { userId: new mongoose.Types.ObjectId(String(uid)) };
     } catch (_) {
       query = { userId: String(uid) };
     }
-    const logs = await MembershipPointLog.find(query).sort({ createdAt: -1 }).skip(skip).limit(limit).lean();
-    return res.status(200).json({ success: true, data: logs });
+
+    let skip = 0;
+    if (req.query.cursor) {
+      const c = decodeCursor(req.query.cursor);
+      if (!c) return res.status(400).json({ success: false, message: 'Invalid cursor' });
+      query.$or = [
+        { createdAt: { $lt: c.createdAt } },
+        { createdAt: c.createdAt, _id: { $lt: c._id } }
+      ];
+    } else if (req.query.page) {
+      // Client cũ còn gửi page: vẫn hỗ trợ nhưng skip tốn kém với tài khoản lâu năm
+      skip = (Math.max(1, parseInt(req.query.page, 10) || 1) - 1) * limit;
+    }
+
+    // Lấy dư 1 dòng để biết còn trang sau mà không cần countDocuments
+    const rows = await MembershipPointLog.find(query)
+      .select('type points amount note ticketId createdAt')
+      .sort({ createdAt: -1, _id: -1 })
+      .skip(skip)
+      .limit(limit + 1)
+      .lean();
+    const hasMore = rows.length > limit;
+    const logs = hasMore ? rows.slice(0, limit) : rows;
+    return res.status(200).json({
+      success: true,
+      data: logs,
+      hasMore,
+      nextCursor: hasMore ? encodeCursor(logs[logs.length - 1]) : null
+    });
   } catch (err) { next(err); }
 };
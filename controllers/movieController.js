@@ -18,12 +18,14 @@ exports.searchMovies = async (req, res, next) => {
       });
     }
 
+    // Escape để chuỗi người dùng gõ dở như "(" không làm hỏng regex
+    const pattern = new RegExp(String(q).replace(/[.*+?^${}()|[\]\\]/g, '\\$&'), 'i');
     const query = {
       $or: [
-        { title: { $regex: q, $options: 'i' } },
-        { director: { $regex: q, $options: 'i' } },
-        { cast: { $in: [new RegExp(q, 'i')] } },
-        { genres: { $in: [new RegExp(q, 'i')] } }
+        { title: pattern },
+        { director: pattern },
+        { cast: pattern },
+        { genres: pattern }
       ]
     };
 
@@ -19,7 +19,7 @@ function sign(content, secret) {
 // POST /api/v1/payments/intents
 exports.createIntent = async (req, res, next) => {
   try {
-    const { ticketId, method = 'vietqr', amount } = req.body || {};
+    const { ticketId, method = 'vietqr' } = req.body || {};
     const userId = req.user.id;
 
     const ticket = await Ticket.findById(ticketId);
@@ -45,7 +45,9 @@ exports.createIntent = async (req, res, next) => {
       }
     } catch (e) { /* ignore, fallback to null */ }
 
-    const total = Number(amount ?? ticket.totalAmount ?? ticket.subtotal ?? 0) || 0;
+    // Luôn thu theo tổng đang lưu trên vé: giá ghế đã được tính/ký lúc đặt, còn voucher, combo,
+    // đổi ghế sau đó đều cập nhật totalAmount. Không dùng số tiền client gửi hay tổng trong báo giá.
+    const total = Number(ticket.totalAmount ?? ticket.subtotal ?? 0) || 0;
     const expiresAt = new Date(Date.now() + 10 * 60 * 1000); // 10 phút
 
     // If settings missing, vẫn cho phép tạo intent để người dùng có thể xác nhận thủ công
@@ -0,0 +1,41 @@
+const { buildQuote, QuoteError } = require('../services/quoteService');
+
+// @desc    Báo giá có chữ ký cho (suất chiếu, ghế, combo, voucher)
+// @route   POST /api/v1/quotes
+// @access  Private
+exports.createQuote = async (req, res, next) => {
+  try {
+    const { scheduleId, seatNumbers = [], voucherCode } = req.body || {};
+    const combos = Array.isArray(req.body.combos) ? req.body.combos : (Array.isArray(req.body.comboItems) ? req.body.comboItems : []);
+
+    const { payload, token, expiresAt } = await buildQuote({
+      userId: req.user.id,
+      scheduleId,
+      seatNumbers,
+      combos,
+      voucherCode
+    });
+
+    return res.status(201).json({
+      success: true,
+      data: {
+        quoteId: payload.qid,
+        token,
+        scheduleId: payload.sid,
+        seats: payload.seats,
+        combos: payload.combos,
+        voucherCode: payload.voucher ? payload.voucher.code : null,
+        subtotal: payload.subtotal,
+        discount: payload.discount,
+        total: payload.total,
+        currency: payload.currency,
+        expiresAt
+      }
+    });
+  } catch (err) {
+    if (err instanceof QuoteError) {
+      return res.status(err.status).json({ success: false, message: err.message, ...(err.extra || {}) });
+    }
+    next(err);
+  }
+};
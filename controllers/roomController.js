@@ -1,6 +1,7 @@
 const Room = require('../models/Room');
 const Cinema = require('../models/Cinema');
 const { validationResult } = require('express-validator');
+const { layoutOf } = require('../services/seatLayoutService');
 
 exports.getRooms = async (req, res, next) => {
   try {
@@ -34,6 +35,36 @@ exports.getRooms = async (req, res, next) => {
   }
 };
 
+// @desc    Get the static seat layout of a room (cacheable, versioned)
+// @route   GET /api/rooms/:roomId/layout?v=<version>
+// @access  Public
+exports.getRoomLayout = async (req, res, next) => {
+  try {
+    const room = await Room.findById(req.params.roomId)
+      .select('rows seatsPerRow screenType seats updatedAt')
+      .lean();
+    if (!room) {
+      return res.status(404).json({
+        success: false,
+        message: `Room not found with id of ${req.params.roomId}`
+      });
+    }
+    const layout = layoutOf(room);
+    const etag = `"${layout.version}"`;
+    res.set('ETag', etag);
+    // URL có ?v= đúng version thì nội dung không bao giờ đổi
+    res.set('Cache-Control', req.query.v === layout.version
+      ? 'public, max-age=31536000, immutable'
+      : 'no-cache');
+    if (req.headers['if-none-match'] === etag) {
+      return res.status(304).end();
+    }
+    res.status(200).json({ success: true, data: layout });
+  } catch (err) {
+    next(err);
+  }
+};
+
 exports.getRoomWithSeats = async (req, res, next) => {
   try {
     const { scheduleId } = req.query;
@@ -5,6 +5,7 @@ const Cinema = require('../models/Cinema');
 const Room = require('../models/Room');
 const { validationResult } = require('express-validator');
 const Ticket = require('../models/Ticket');
+const { seatStatusOf } = require('../services/seatLayoutService');
 
 // @desc    Create a new schedule
 // @route   POST /api/schedules
@@ -182,6 +183,31 @@ exports.getScheduleSeats = async (req, res, next) => {
   }
 };
 
+// @desc    Get compact seat status of a schedule (booked/held bitmaps over the room layout)
+// @route   GET /api/schedules/:id/seat-status
+// @access  Public
+exports.getScheduleSeatStatus = async (req, res, next) => {
+  try {
+    const schedule = await Schedule.findById(req.params.id).select('roomId priceTable').lean();
+    if (!schedule) {
+      return res.status(404).json({ success: false, message: 'Schedule not found' });
+    }
+
+    const room = await Room.findById(schedule.roomId)
+      .select('rows seatsPerRow screenType seats updatedAt')
+      .lean();
+    if (!room) {
+      return res.status(404).json({ success: false, message: 'Room not found' });
+    }
+
+    const status = await seatStatusOf(schedule, room);
+    res.set('Cache-Control', 'no-cache');
+    return res.status(200).json({ success: true, data: status });
+  } catch (err) {
+    next(err);
+  }
+};
+
 // @desc    Get all schedules with filtering
 // @route   GET /api/schedules
 // @access  Public
@@ -0,0 +1,69 @@
+const mongoose = require('mongoose');
+const Schedule = require('../models/Schedule');
+const {
+  SeatHoldError,
+  holdSeats,
+  renewHolds,
+  releaseHolds
+} = require('../services/seatHoldService');
+
+function sendHoldError(res, err) {
+  return res.status(err.status).json({ success: false, code: err.code, message: err.message, conflicts: err.conflicts });
+}
+
+async function findSchedule(req, res) {
+  if (!mongoose.Types.ObjectId.isValid(req.params.id)) {
+    res.status(400).json({ success: false, message: 'Invalid schedule ID' });
+    return null;
+  }
+  const schedule = await Schedule.findById(req.params.id).select('_id').lean();
+  if (!schedule) {
+    res.status(404).json({ success: false, message: 'Schedule not found' });
+    return null;
+  }
+  return schedule;
+}
+
+// @desc    Hold seats while the customer is choosing / paying
+// @route   POST /api/schedules/:id/holds  { seats: ['A1'], phase: 'selection' | 'checkout' }
+// @access  Private
+exports.createHolds = async (req, res, next) => {
+  try {
+    const schedule = await findSchedule(req, res);
+    if (!schedule) return;
+    const result = await holdSeats(schedule._id, req.user.id, req.body.seats, req.body.phase);
+    return res.status(200).json({ success: true, data: { scheduleId: String(schedule._id), ...result } });
+  } catch (err) {
+    if (err instanceof SeatHoldError) return sendHoldError(res, err);
+    next(err);
+  }
+};
+
+// @desc    Extend all of the caller's holds for a schedule
+// @route   PUT /api/schedules/:id/holds  { phase: 'selection' | 'checkout' }
+// @access  Private
+exports.renewHolds = async (req, res, next) => {
+  try {
+    const schedule = await findSchedule(req, res);
+    if (!schedule) return;
+    const result = await renewHolds(schedule._id, req.user.id, req.body.phase);
+    return res.status(200).json({ success: true, data: { scheduleId: String(schedule._id), ...result } });
+  } catch (err) {
+    next(err);
+  }
+};
+
+// @desc    Release some (?seats=A1,A2) or all of the caller's holds
+// @route   DELETE /api/schedules/:id/holds
+// @access  Private
+exports.releaseHolds = async (req, res, next) => {
+  try {
+    const schedule = await findSchedule(req, res);
+    if (!schedule) return;
+    const codes = req.query.seats ? String(req.query.seats).split(',') : null;
+    const result = await releaseHolds(schedule._id, req.user.id, codes);
+    return res.status(200).json({ success: true, data: result });
+  } catch (err) {
+    next(err);
+  }
+};
@@ -159,6 +159,72 @@ exports.getMovieShowtimes = async (req, res, next) => {
   }
 };
 
+// Tối đa số phim trong một lần gọi (một trang lưới trang chủ)
+const MAX_SUMMARY_IDS = 50;
+const DEFAULT_SUMMARY_DAYS = 7;
+
+// @desc    Get compact upcoming-showtime summaries for many movies in one call
+// @route   GET /api/movies/showtime-summaries?ids=a,b,c&days=7
+// @access  Public
+exports.getShowtimeSummaries = async (req, res, next) => {
+  try {
+    const raw = String(req.query.ids || '').split(',').map(s => s.trim()).filter(Boolean);
+    if (raw.length === 0) {
+      return res.status(400).json({ success: false, message: 'ids is required' });
+    }
+    if (raw.length > MAX_SUMMARY_IDS) {
+      return res.status(400).json({ success: false, message: `At most ${MAX_SUMMARY_IDS} ids per request` });
+    }
+    const ids = [];
+    for (const id of new Set(raw)) {
+      if (!mongoose.Types.ObjectId.isValid(id)) {
+        return res.status(400).json({ success: false, message: `Invalid movie ID format: ${id}` });
+      }
+      ids.push(new mongoose.Types.ObjectId(id));
+    }
+    const days = Math.min(Math.max(parseInt(req.query.days, 10) || DEFAULT_SUMMARY_DAYS, 1), 30);
+    const now = new Date();
+    const until = new Date(now.getTime() + days * 24 * 60 * 60 * 1000);
+
+    // Một aggregate thay cho N lần gọi /movies/:id/showtimes; chỉ trả số liệu cho badge
+    const rows = await Showtime.aggregate([
+      {
+        $match: {
+          $or: [{ movie: { $in: ids } }, { movieId: { $in: ids } }],
+          isActive: { $ne: false },
+          startTime: { $gte: now, $lt: until }
+        }
+      },
+      { $sort: { startTime: 1 } },
+      {
+        $group: {
+          _id: { $ifNull: ['$movie', '$movieId'] },
+          nextShowtimeId: { $first: '$_id' },
+          nextStart: { $first: '$startTime' },
+          nextSeatsLeft: { $first: { $size: { $ifNull: ['$availableSeats', []] } } },
+          count: { $sum: 1 },
+          minPrice: { $min: '$price' }
+        }
+      }
+    ]);
+
+    const data = rows.map(r => ({
+      movieId: String(r._id),
+      nextShowtimeId: String(r.nextShowtimeId),
+      nextStart: r.nextStart,
+      count: r.count,
+      minPrice: r.minPrice,
+      seatsLeft: r.nextSeatsLeft
+    }));
+
+    // Badge chấp nhận trễ vài chục giây; cho phép cache trung gian/OkHttp dùng lại
+    res.set('Cache-Control', 'public, max-age=30');
+    res.status(200).json({ success: true, count: data.length, days, data });
+  } catch (err) {
+    next(err);
+  }
+};
+
 // @desc    Get movies showing in a specific theater
 // @route   GET /api/movies/theater/:theaterId
 // @access  Public
@@ -4,14 +4,28 @@ const User = require('../models/User');
 const Promotion = require('../models/Promotion');
 const Combo = require('../models/Combo');
 const Room = require('../models/Room');
+const { verifyQuote, matchesSelection, priceSeats, priceCombos, validateVoucher, QuoteError } = require('../services/quoteService');
+const { heldByOthers, renewHolds, normalizeCodes, takenByTickets } = require('../services/seatHoldService');
+const { seatIndexFor } = require('../services/seatLayoutService');
 const { validationResult } = require('express-validator');
 
+// 409 luôn có code + danh sách ghế để client bỏ chọn đúng những ghế đó rồi tải lại sơ đồ
+//   SEATS_TAKEN: đã có vé pending/confirmed; SEATS_HELD: khách khác đang giữ
+function seatConflict(res, code, message, conflicts) {
+  return res.status(409).json({ success: false, code, message, conflicts });
+}
+
+function isSeatIndexViolation(err) {
+  return err && err.code === 11000 && (!err.keyPattern || err.keyPattern['seats.code'] != null);
+}
+
 // @desc    Book tickets (staff/user)
 // @route   POST /api/v1/tickets or /api/v1/tickets/book
 // @access  Private
 exports.bookTickets = async (req, res, next) => {
   try {
-    const { scheduleId, seatNumbers = [], payment = { method: 'cash' } } = req.body;
+    const { scheduleId, payment = { method: 'cash' } } = req.body;
+    const seatNumbers = normalizeCodes(req.body.seatNumbers || []);
     const comboItems = Array.isArray(req.body.combos) ? req.body.combos : (Array.isArray(req.body.comboItems) ? req.body.comboItems : []);
 
     const userId = req.user.id;
@@ -21,55 +35,45 @@ exports.bookTickets = async (req, res, next) => {
       return res.status(400).json({ success: false, errors: errors.array() });
     }
 
-    const schedule = await Schedule.findById(scheduleId);
+    const schedule = await Schedule.findById(scheduleId).lean();
     if (!schedule) {
       return res.status(404).json({ success: false, message: 'Schedule not found' });
     }
 
-    // Check taken seats
-    const existing = await Ticket.find({
-      scheduleId: schedule._id,
-      status: { $in: ['pending', 'confirmed'] },
-      'seats.code': { $in: seatNumbers }
-    });
-    if (existing.length > 0) {
-      const taken = new Set();
-      existing.forEach(t => (t.seats || []).forEach(s => { if (seatNumbers.includes(s.code)) taken.add(s.code); }));
-      return res.status(400).json({ success: false, message: 'Some seats are already taken', conflicts: Array.from(taken) });
+    // Ghế đang được khách khác giữ trong lúc chọn/thanh toán
+    const held = await heldByOthers(schedule._id, userId, seatNumbers);
+    if (held.length > 0) {
+      return seatConflict(res, 'SEATS_HELD', 'Some seats are held by another customer', held);
     }
 
-    // Build seats with price from room & schedule priceTable
-    const room = await Room.findById(schedule.roomId);
-    if (!room) {
-      return res.status(400).json({ success: false, message: 'Room not found' });
-    }
-
-    let totalAmount = 0;
-    const seats = [];
-    seatNumbers.forEach(code => {
-      const seatInfo = room.seats.find(s => s.code === code);
-      if (seatInfo) {
-        const base = seatInfo.type === 'vip' ? (schedule.priceTable?.vip || 0) : (schedule.priceTable?.standard || 0);
-        seats.push({ code, type: seatInfo.type, price: base, row: seatInfo.row, column: seatInfo.column });
-        totalAmount += base;
+    let fields;
+    // Báo giá còn hạn của đúng lựa chọn này: dùng luôn giá đã ký, không tính lại
+    const quote = verifyQuote(req.body.quoteToken, userId);
+    if (quote && matchesSelection(quote, schedule._id, seatNumbers)) {
+      fields = {
+        seats: quote.seats,
+        combos: quote.combos,
+        voucher: quote.voucher || undefined,
+        subtotal: quote.subtotal,
+        discount: quote.discount,
+        totalAmount: quote.total
+      };
+    } else {
+      // Không có báo giá (client bấm trước khi prefetch về): tính lại bằng đúng công thức của báo giá
+      const seatByCode = await seatIndexFor(schedule.roomId);
+      if (!seatByCode) {
+        return res.status(400).json({ success: false, message: 'Room not found' });
       }
-    });
 
-    // Combos
-    const combos = [];
-    for (const item of comboItems) {
-      // Nếu FE đã gửi đầy đủ name/price/quantity, ưu tiên dùng trực tiếp để tránh lệch giá do cập nhật
-      const qty = item.quantity || item.qty || 1;
-      if (item.name && item.price != null) {
-        combos.push({ combo: item.comboId || item.combo, name: item.name, quantity: qty, price: item.price });
-        totalAmount += (item.price || 0) * qty;
-      } else {
-        const combo = await Combo.findById(item.comboId || item.combo);
-        if (combo) {
-          combos.push({ combo: combo._id, name: combo.name, quantity: qty, price: combo.price });
-          totalAmount += combo.price * qty;
-        }
+      const { seats, unknown } = priceSeats(schedule, seatByCode, seatNumbers);
+      if (unknown.length > 0) {
+        return res.status(400).json({ success: false, code: 'UNKNOWN_SEATS', message: 'Some seats do not exist in this room', conflicts: unknown });
       }
+
+      const combos = await priceCombos(comboItems);
+      const totalAmount = seats.reduce((s, x) => s + x.price, 0)
+        + combos.reduce((s, x) => s + x.price * x.quantity, 0);
+      fields = { seats, combos, subtotal: totalAmount, totalAmount };
     }
 
     const ticket = new Ticket({
@@ -79,16 +83,41 @@ exports.bookTickets = async (req, res, next) => {
       movie: schedule.movieId,
       theater: schedule.cinemaId,
       room: schedule.roomId,
-      seats,
-      combos,
-      subtotal: totalAmount,
-      totalAmount,
+      ...fields,
       payment: { method: payment.method || 'cash', status: 'pending' },
       status: 'pending',
       paymentStatus: 'pending'
     });
 
-    await ticket.save();
+    // Voucher trong báo giá: kiểm lại điều kiện theo người dùng (có thể vừa dùng mã ở đơn khác)
+    // rồi lấy một lượt dùng; điều kiện maxUses và việc tăng đếm là một update nên không vượt lượt
+    const voucherCode = fields.voucher && fields.voucher.code;
+    if (voucherCode) {
+      try {
+        await validateVoucher(voucherCode, userId, fields.subtotal, schedule.movieId);
+      } catch (err) {
+        if (!(err instanceof QuoteError)) throw err;
+        return res.status(err.status).json({ success: false, code: 'VOUCHER_REJECTED', message: err.message });
+      }
+      if (!(await Promotion.claimUse(voucherCode))) {
+        return res.status(400).json({ success: false, code: 'VOUCHER_REJECTED', message: 'Promotion code has reached its usage limit' });
+      }
+    }
+
+    // Bước giữ chỗ duy nhất: một lần insert, unique index {scheduleId, seats.code} quyết định ai thắng.
+    // Không Ticket.find kiểm tra trước nữa; chỉ khi thua mới tra xem ghế nào bị lấy để báo cho client.
+    try {
+      await ticket.save();
+    } catch (err) {
+      // Vé không được tạo: trả lại lượt dùng voucher vừa lấy
+      if (voucherCode) await Promotion.releaseUse(voucherCode);
+      if (!isSeatIndexViolation(err)) throw err;
+      const taken = await takenByTickets(schedule._id, seatNumbers);
+      return seatConflict(res, 'SEATS_TAKEN', 'Some seats are already taken', taken.length > 0 ? taken : seatNumbers);
+    }
+
+    // Vé pending đã chặn ghế; gia hạn hold để client tiếp tục gia hạn trong lúc thanh toán
+    await renewHolds(schedule._id, userId, 'checkout');
     return res.status(201).json({ success: true, data: ticket });
   } catch (err) {
     next(err);
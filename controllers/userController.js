@@ -3,6 +3,20 @@ const jwt = require('jsonwebtoken');
 const bcrypt = require('bcryptjs');
 const { validationResult } = require('express-validator');
 
+// Token 30 ngày; refresh được đổi tiếp nhưng không quá SESSION_MAX_SECONDS kể từ lần đăng nhập
+const TOKEN_TTL_SECONDS = 30 * 24 * 60 * 60;
+const SESSION_MAX_SECONDS = 90 * 24 * 60 * 60;
+
+// ver: phải khớp user.tokenVersion (protect và refresh đều kiểm tra)
+// auth_time: lúc nhập mật khẩu, giữ nguyên qua các lần refresh
+function sessionPayload(user, authTime = Math.floor(Date.now() / 1000)) {
+  return {
+    user: { id: user.id, role: user.role },
+    ver: user.tokenVersion || 0,
+    auth_time: authTime
+  };
+}
+
  
 
 // @desc    Get all staff users (Admin)
@@ -46,6 +60,8 @@ exports.lockStaffUser = async (req, res, next) => {
       user.isActive = !Boolean(user.isActive);
     }
 
+    // Khoá tài khoản: thu hồi luôn các token đang dùng
+    if (!user.isActive) user.tokenVersion = (user.tokenVersion || 0) + 1;
     await user.save();
 
     return res.status(200).json({
@@ -109,17 +125,12 @@ exports.login = async (req, res, next) => {
     }
 
     // Create token
-    const payload = {
-      user: {
-        id: user.id,
-        role: user.role
-      }
-    };
+    const payload = sessionPayload(user);
 
     jwt.sign(
       payload,
       process.env.JWT_SECRET,
-      { expiresIn: '30d' },
+      { expiresIn: TOKEN_TTL_SECONDS },
       (err, token) => {
         if (err) throw err;
         res.json({
@@ -144,6 +155,61 @@ exports.login = async (req, res, next) => {
   }
 };
 
+// Token hết hạn quá lâu hơn khoảng này thì phải đăng nhập lại
+const REFRESH_GRACE_SECONDS = 7 * 24 * 60 * 60;
+
+// @desc    Exchange a valid (or recently expired) token for a new one
+// @route   POST /api/users/refresh
+// @access  Bearer token
+exports.refreshToken = async (req, res, next) => {
+  try {
+    const header = req.headers.authorization || '';
+    const token = header.startsWith('Bearer') ? header.split(' ')[1] : null;
+    if (!token) {
+      return res.status(401).json({ success: false, message: 'Not authorized, no token' });
+    }
+
+    let decoded;
+    try {
+      // Chữ ký vẫn phải đúng; chỉ bỏ qua exp để kiểm tra grace bên dưới
+      decoded = jwt.verify(token, process.env.JWT_SECRET, { ignoreExpiration: true });
+    } catch (e) {
+      return res.status(401).json({ success: false, message: 'Not authorized, token failed' });
+    }
+
+    if (decoded.exp && decoded.exp + REFRESH_GRACE_SECONDS < Math.floor(Date.now() / 1000)) {
+      return res.status(401).json({ success: false, message: 'Session expired, please log in again' });
+    }
+
+    // Token cũ chưa có auth_time: tính phiên từ lúc cấp
+    const now = Math.floor(Date.now() / 1000);
+    const authTime = decoded.auth_time || decoded.iat || 0;
+    const sessionLeft = authTime + SESSION_MAX_SECONDS - now;
+    if (sessionLeft <= 0) {
+      return res.status(401).json({ success: false, message: 'Session expired, please log in again' });
+    }
+
+    const user = await User.findById(decoded.user && decoded.user.id).select('-password');
+    if (!user || user.isActive === false) {
+      return res.status(401).json({ success: false, message: 'Not authorized, user not found' });
+    }
+    if ((decoded.ver || 0) !== (user.tokenVersion || 0)) {
+      return res.status(401).json({ success: false, message: 'Not authorized, token revoked' });
+    }
+
+    const fresh = jwt.sign(sessionPayload(user, authTime), process.env.JWT_SECRET, {
+      expiresIn: Math.min(TOKEN_TTL_SECONDS, sessionLeft)
+    });
+    res.json({ success: true, token: fresh });
+  } catch (err) {
+    console.error(err.message);
+    res.status(500).json({
+      success: false,
+      message: 'Server error'
+    });
+  }
+};
+
 // @desc    Get user profile
 // @route   GET /api/users/me
 // @access  Private
@@ -240,12 +306,16 @@ exports.changePassword = async (req, res, next) => {
       });
     }
 
-    // Set new password
+    // Set new password; token cũ (kể cả bị lộ) không dùng/refresh được nữa
     user.password = newPassword;
+    user.tokenVersion = (user.tokenVersion || 0) + 1;
     await user.save();
 
+    // Thiết bị đang đổi mật khẩu nhận token mới để không bị đăng xuất
+    const token = jwt.sign(sessionPayload(user), process.env.JWT_SECRET, { expiresIn: TOKEN_TTL_SECONDS });
     res.json({
       success: true,
+      token,
       message: 'Password updated successfully'
     });
   } catch (err) {
@@ -417,11 +487,11 @@ exports.register = async (req, res, next) => {
     await user.save();
 
     // Create token
-    const payload = { user: { id: user.id, role: user.role } };
+    const payload = sessionPayload(user);
     jwt.sign(
       payload,
       process.env.JWT_SECRET,
-      { expiresIn: '30d' },
+      { expiresIn: TOKEN_TTL_SECONDS },
       (err, token) => {
         if (err) throw err;
         res.status(201).json({
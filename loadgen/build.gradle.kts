@@ -0,0 +1,41 @@
+plugins {
+    application
+}
+
+// Sinh tải cho backend (server.js chạy local): hàng nghìn khách ảo, mỗi khách một virtual thread.
+// Cần JDK 21 (virtual threads); app Android vẫn ở Java 11.
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(21))
+    }
+}
+
+sourceSets {
+    main {
+        java {
+            // Dùng lại đúng ApiService + model của app (thuần Java + Retrofit/Gson, không phụ thuộc Android)
+            srcDir("../app/src/main/java")
+            include("vchung/ph59842/app_datve/loadgen/**")
+            include("vchung/ph59842/app_datve/api/ApiService.java")
+            include("vchung/ph59842/app_datve/api/priority/**")
+            include("vchung/ph59842/app_datve/models/**")
+        }
+    }
+}
+
+dependencies {
+    implementation(libs.retrofit)
+    implementation(libs.retrofit.gson)
+    implementation(libs.okhttp)
+    implementation(libs.gson)
+    testImplementation(libs.junit)
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+// Chạy: ./gradlew :loadgen:run --args="--users=2000 --duration=120 --mix=browse:60,book:30,pay:10"
+application {
+    mainClass.set("vchung.ph59842.app_datve.loadgen.LoadGen")
+}
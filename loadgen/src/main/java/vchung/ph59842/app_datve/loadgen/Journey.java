@@ -0,0 +1,28 @@
+package vchung.ph59842.app_datve.loadgen;
+
+/** Các kiểu hành trình của một khách ảo; mỗi kiểu bao gồm cả các bước của kiểu trước. */
+enum Journey {
+    /** movies -> showtimes của một phim -> seat-status (+ layout nếu chưa có). */
+    BROWSE("browse"),
+    /** BROWSE rồi đặt vé (pending); xung đột ghế thì tải lại sơ đồ và thử lại một lần. */
+    BOOK("book"),
+    /** BOOK rồi tạo payment intent và xác nhận thanh toán QR. */
+    PAY("pay");
+
+    private final String key;
+
+    Journey(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Journey fromKey(String key) {
+        for (Journey j : values()) {
+            if (j.key.equalsIgnoreCase(key.trim())) return j;
+        }
+        throw new IllegalArgumentException("Unknown journey: " + key);
+    }
+}
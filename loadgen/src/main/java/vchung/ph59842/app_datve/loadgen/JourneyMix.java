@@ -0,0 +1,60 @@
+package vchung.ph59842.app_datve.loadgen;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/** Tỉ lệ các hành trình, ví dụ {@code browse:60,book:30,pay:10} (trọng số, không cần cộng đủ 100). */
+final class JourneyMix {
+    private final Journey[] journeys;
+    private final double[] cumulative;
+
+    private JourneyMix(Map<Journey, Integer> weights) {
+        journeys = new Journey[weights.size()];
+        cumulative = new double[weights.size()];
+        double total = 0;
+        for (int w : weights.values()) total += w;
+        double acc = 0;
+        int i = 0;
+        for (Map.Entry<Journey, Integer> e : weights.entrySet()) {
+            acc += e.getValue() / total;
+            journeys[i] = e.getKey();
+            cumulative[i] = acc;
+            i++;
+        }
+        cumulative[cumulative.length - 1] = 1.0;
+    }
+
+    static JourneyMix parse(String spec) {
+        Map<Journey, Integer> weights = new EnumMap<>(Journey.class);
+        for (String part : spec.split(",")) {
+            if (part.trim().isEmpty()) continue;
+            String[] kv = part.split(":");
+            if (kv.length != 2) throw new IllegalArgumentException("Expected journey:weight, got " + part);
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight < 0) throw new IllegalArgumentException("Negative weight for " + kv[0]);
+            if (weight > 0) weights.merge(Journey.fromKey(kv[0]), weight, Integer::sum);
+        }
+        if (weights.isEmpty()) throw new IllegalArgumentException("Journey mix is empty");
+        return new JourneyMix(weights);
+    }
+
+    /** @param r số ngẫu nhiên trong [0, 1) */
+    Journey pick(double r) {
+        for (int i = 0; i < cumulative.length; i++) {
+            if (r < cumulative[i]) return journeys[i];
+        }
+        return journeys[journeys.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        double prev = 0;
+        for (int i = 0; i < journeys.length; i++) {
+            if (sb.length() > 0) sb.append(',');
+            sb.append(journeys[i].key()).append(':').append(Math.round((cumulative[i] - prev) * 100));
+            prev = cumulative[i];
+        }
+        return sb.toString();
+    }
+}
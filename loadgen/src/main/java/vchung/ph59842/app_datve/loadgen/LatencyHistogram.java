@@ -0,0 +1,68 @@
+package vchung.ph59842.app_datve.loadgen;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram độ trễ (micro giây) dạng log-tuyến tính: mỗi khoảng [2^k, 2^(k+1)) chia 16 ô,
+ * sai số tương đối ≤ 1/16. Ghi không khoá, an toàn cho hàng nghìn virtual thread cùng ghi.
+ */
+final class LatencyHistogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB = 1 << SUB_BITS;
+    // Đủ cho mọi long dương: ô lớn nhất là (62 - SUB_BITS + 1) * SUB + SUB - 1
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    void record(long micros) {
+        long v = Math.max(0, micros);
+        counts.incrementAndGet(indexOf(v));
+        count.incrementAndGet();
+        long m;
+        while (v > (m = max.get()) && !max.compareAndSet(m, v)) {
+            // thử lại
+        }
+    }
+
+    long count() {
+        return count.get();
+    }
+
+    long max() {
+        return max.get();
+    }
+
+    /** Cận trên của ô chứa phân vị {@code p} (0..100); 0 nếu chưa có mẫu. */
+    long percentile(double p) {
+        long total = count.get();
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    static int indexOf(long v) {
+        if (v < SUB) return (int) v;
+        int mag = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (mag - SUB_BITS)) & (SUB - 1);
+        return (mag - SUB_BITS + 1) * SUB + sub;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB) return index;
+        int mag = index / SUB + SUB_BITS - 1;
+        int sub = index % SUB;
+        return (1L << mag) | ((long) sub << (mag - SUB_BITS));
+    }
+
+    static long upperBound(int index) {
+        return index + 1 < BUCKETS ? lowerBound(index + 1) - 1 : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,100 @@
+package vchung.ph59842.app_datve.loadgen;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+import vchung.ph59842.app_datve.api.ApiService;
+import vchung.ph59842.app_datve.models.SeatLayout;
+
+/**
+ * Sinh tải cho backend bằng đúng {@link ApiService} của app: mỗi khách ảo một virtual thread,
+ * gọi đồng bộ và ngủ giữa các bước, nên vài nghìn khách chỉ tốn vài nghìn thread rẻ.
+ *
+ * <pre>
+ * RATE_LIMIT_MAX=1000000 npm start
+ * ./gradlew :loadgen:run --args="--users=2000 --duration=120 --rampup=20 --mix=browse:60,book:30,pay:10"
+ * </pre>
+ * Tham số: url, users, duration (s), rampup (s), think (ms), mix, schedule (ép mọi khách vào một
+ * suất để đo tranh chấp ghế), seats, user-prefix, password. Xem {@link LoadGenConfig}.
+ */
+public final class LoadGen {
+    private static final long PROGRESS_MS = 5_000;
+
+    private LoadGen() {}
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadGenConfig config = LoadGenConfig.parse(args);
+        System.out.println("Load test: " + config);
+
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(chain -> {
+                    String token = SimulatedUser.TOKEN.get();
+                    Request request = chain.request();
+                    if (token != null) request = request.newBuilder().header("Authorization", "Bearer " + token).build();
+                    return chain.proceed(request);
+                })
+                // Mọi khách cùng tới một host: giữ đủ kết nối rảnh để không phải bắt tay lại liên tục
+                .connectionPool(new ConnectionPool(Math.min(config.users, 512), 1, TimeUnit.MINUTES))
+                .connectTimeout(10, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS)
+                .build();
+        Gson gson = new GsonBuilder().create();
+        ApiService api = new Retrofit.Builder()
+                .baseUrl(config.baseUrl)
+                .client(client)
+                .addConverterFactory(GsonConverterFactory.create(gson))
+                .build()
+                .create(ApiService.class);
+
+        Stats stats = new Stats();
+        ConcurrentHashMap<String, SeatLayout> layouts = new ConcurrentHashMap<>();
+        AtomicInteger active = new AtomicInteger();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(config.rampUpMs + config.durationMs);
+
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.users; i++) {
+                SimulatedUser user = new SimulatedUser(i, config, api, gson, stats, layouts, deadline);
+                // Khởi động rải đều trong thời gian ramp-up
+                long delayMs = config.rampUpMs * i / config.users;
+                users.submit(() -> {
+                    try {
+                        Thread.sleep(delayMs);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    active.incrementAndGet();
+                    try {
+                        user.run();
+                    } finally {
+                        active.decrementAndGet();
+                    }
+                });
+            }
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(PROGRESS_MS);
+                System.out.println(stats.progressLine(seconds(start), active.get()));
+            }
+            // close() chờ các hành trình đang dở chạy xong
+        }
+
+        System.out.println(stats.report(seconds(start)));
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+}
@@ -0,0 +1,57 @@
+package vchung.ph59842.app_datve.loadgen;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** Tham số dòng lệnh dạng {@code --key=value}; thiếu thì lấy mặc định. */
+final class LoadGenConfig {
+    final String baseUrl;
+    final int users;
+    final long durationMs;
+    final long rampUpMs;
+    final long thinkMs;
+    final JourneyMix mix;
+    /** Cố định một suất để mọi khách tranh ghế; null = mỗi khách tự chọn suất khi duyệt phim. */
+    final String scheduleId;
+    final int seatsPerBooking;
+    final String userPrefix;
+    final String password;
+
+    private LoadGenConfig(Map<String, String> args) {
+        String url = args.getOrDefault("url", "http://localhost:5000/api/v1/");
+        baseUrl = url.endsWith("/") ? url : url + "/";
+        users = positiveInt(args, "users", 1000);
+        durationMs = positiveInt(args, "duration", 60) * 1000L;
+        rampUpMs = Integer.parseInt(args.getOrDefault("rampup", "10")) * 1000L;
+        thinkMs = Integer.parseInt(args.getOrDefault("think", "500"));
+        mix = JourneyMix.parse(args.getOrDefault("mix", "browse:60,book:30,pay:10"));
+        scheduleId = args.get("schedule");
+        seatsPerBooking = positiveInt(args, "seats", 2);
+        userPrefix = args.getOrDefault("user-prefix", "loadgen");
+        password = args.getOrDefault("password", "loadgen123");
+    }
+
+    static LoadGenConfig parse(String[] argv) {
+        Map<String, String> args = new HashMap<>();
+        for (String arg : argv) {
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Unexpected argument: " + arg);
+            int eq = arg.indexOf('=');
+            if (eq < 0) args.put(arg.substring(2), "true");
+            else args.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new LoadGenConfig(args);
+    }
+
+    private static int positiveInt(Map<String, String> args, String key, int fallback) {
+        int value = Integer.parseInt(args.getOrDefault(key, String.valueOf(fallback)));
+        if (value <= 0) throw new IllegalArgumentException("--" + key + " must be positive");
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "url=" + baseUrl + " users=" + users + " duration=" + durationMs / 1000 + "s rampup=" + rampUpMs / 1000
+                + "s think=" + thinkMs + "ms mix=" + mix + " seats=" + seatsPerBooking
+                + (scheduleId != null ? " schedule=" + scheduleId : "");
+    }
+}
@@ -0,0 +1,253 @@
+package vchung.ph59842.app_datve.loadgen;
+
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import retrofit2.Call;
+import retrofit2.Response;
+import vchung.ph59842.app_datve.api.ApiService;
+import vchung.ph59842.app_datve.models.ApiResponse;
+import vchung.ph59842.app_datve.models.AuthResponse;
+import vchung.ph59842.app_datve.models.LoginRequest;
+import vchung.ph59842.app_datve.models.Movie;
+import vchung.ph59842.app_datve.models.RegisterRequest;
+import vchung.ph59842.app_datve.models.Seat;
+import vchung.ph59842.app_datve.models.SeatLayout;
+import vchung.ph59842.app_datve.models.SeatStatus;
+import vchung.ph59842.app_datve.models.Showtime;
+import vchung.ph59842.app_datve.models.Ticket;
+
+/**
+ * Một khách ảo: đăng nhập một lần rồi lặp các hành trình theo {@link JourneyMix} tới hết giờ.
+ * Chạy trên virtual thread riêng nên gọi Retrofit đồng bộ ({@code execute()}) và ngủ giữa các
+ * bước như người thật; token nằm trong {@link #TOKEN} của chính thread đó.
+ */
+final class SimulatedUser implements Runnable {
+    static final String OP_LOGIN = "login";
+    static final String OP_MOVIES = "movies";
+    static final String OP_SHOWTIMES = "showtimes";
+    static final String OP_SEAT_STATUS = "seat-status";
+    static final String OP_LAYOUT = "room-layout";
+    static final String OP_BOOK = "book";
+    static final String OP_CANCEL = "cancel";
+    static final String OP_INTENT = "pay-intent";
+    static final String OP_CONFIRM = "pay-confirm";
+
+    /** Đọc bởi interceptor Authorization của OkHttpClient dùng chung. */
+    static final ThreadLocal<String> TOKEN = new ThreadLocal<>();
+
+    private final int index;
+    private final LoadGenConfig config;
+    private final ApiService api;
+    private final Gson gson;
+    private final Stats stats;
+    private final long deadlineNanos;
+    // roomId@version -> layout, dùng chung mọi khách như cache đĩa của app
+    private final Map<String, SeatLayout> layouts;
+    // Sơ đồ vừa xem ở bước duyệt, dùng để chọn ghế khi đặt
+    private SeatMap lastMap;
+
+    SimulatedUser(int index, LoadGenConfig config, ApiService api, Gson gson, Stats stats,
+                  ConcurrentHashMap<String, SeatLayout> layouts, long deadlineNanos) {
+        this.index = index;
+        this.config = config;
+        this.api = api;
+        this.gson = gson;
+        this.stats = stats;
+        this.layouts = layouts;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (!signIn()) return;
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (System.nanoTime() < deadlineNanos) {
+                Journey journey = config.mix.pick(random.nextDouble());
+                if (runJourney(journey)) stats.journeyDone(journey);
+                think();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            TOKEN.remove();
+        }
+    }
+
+    private boolean signIn() throws InterruptedException {
+        String email = config.userPrefix + "-" + index + "@example.com";
+        try {
+            Response<AuthResponse> login = exec(OP_LOGIN, api.login(new LoginRequest(email, config.password)));
+            if (!hasToken(login)) {
+                // Lần chạy đầu: tạo tài khoản
+                login = exec(OP_LOGIN, api.register(new RegisterRequest("Load " + index, email, config.password, null)));
+            }
+            if (!hasToken(login)) return false;
+            TOKEN.set(login.body().getToken());
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean hasToken(Response<AuthResponse> response) {
+        return response.isSuccessful() && response.body() != null && response.body().getToken() != null;
+    }
+
+    private boolean runJourney(Journey journey) throws InterruptedException {
+        try {
+            String scheduleId = browse();
+            if (scheduleId == null || journey == Journey.BROWSE) return scheduleId != null;
+            think();
+
+            Ticket ticket = book(scheduleId);
+            if (ticket == null) return false;
+            think();
+            if (journey == Journey.BOOK) {
+                // Khách bỏ giữa chừng: huỷ vé pending để ghế quay lại cho người khác
+                exec(OP_CANCEL, api.cancelTicket(ticket.getId()));
+                return true;
+            }
+            return pay(ticket);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /** @return suất để đặt (suất cố định nếu có {@code --schedule}), null nếu không có suất nào */
+    private String browse() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Response<ApiResponse<List<Movie>>> movies = exec(OP_MOVIES, api.getMovies(1, 20, null, null));
+        List<Movie> list = dataOf(movies);
+        String scheduleId = config.scheduleId;
+        if (list != null && !list.isEmpty()) {
+            think();
+            Movie movie = list.get(random.nextInt(list.size()));
+            List<Showtime> showtimes = dataOf(exec(OP_SHOWTIMES, api.getMovieShowtimes(movie.getId())));
+            if (scheduleId == null && showtimes != null && !showtimes.isEmpty()) {
+                scheduleId = showtimes.get(random.nextInt(showtimes.size())).getId();
+            }
+        }
+        if (scheduleId == null) return null;
+        think();
+        return seatMap(scheduleId) != null ? scheduleId : null;
+    }
+
+    private Ticket book(String scheduleId) throws IOException, InterruptedException {
+        SeatMap map = lastMap;
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (attempt > 0 || map == null || !map.scheduleId.equals(scheduleId)) map = seatMap(scheduleId);
+            List<String> seats = map != null ? map.pickContiguous(config.seatsPerBooking) : null;
+            if (seats == null) return null; // hết ghế liền nhau
+
+            Map<String, Object> body = new HashMap<>();
+            body.put("scheduleId", scheduleId);
+            body.put("seatNumbers", seats);
+            Response<ApiResponse<Object>> response = exec(OP_BOOK, api.bookTicket(body));
+            Object data = dataOf(response);
+            if (data != null) return gson.fromJson(gson.toJsonTree(data), Ticket.class);
+            // 409: ghế vừa bị lấy; như app thật, tải lại sơ đồ rồi chọn lại một lần
+            if (response.code() != 409) return null;
+        }
+        return null;
+    }
+
+    private boolean pay(Ticket ticket) throws IOException, InterruptedException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("ticketId", ticket.getId());
+        body.put("method", "vietqr");
+        Map<String, Object> intent = dataOf(exec(OP_INTENT, api.createPaymentIntent(body)));
+        if (intent == null) return false;
+        think();
+        Map<String, Object> confirm = new HashMap<>();
+        if (intent.get("intentId") != null) confirm.put("intentId", String.valueOf(intent.get("intentId")));
+        confirm.put("ticketId", ticket.getId());
+        return dataOf(exec(OP_CONFIRM, api.confirmQrPayment(confirm))) != null;
+    }
+
+    private SeatMap seatMap(String scheduleId) throws IOException {
+        SeatStatus status = dataOf(exec(OP_SEAT_STATUS, api.getSeatStatus(scheduleId)));
+        if (status == null || status.getRoomId() == null) return null;
+        String key = status.getRoomId() + "@" + status.getLayoutVersion();
+        SeatLayout layout = layouts.get(key);
+        if (layout == null) {
+            // Không dùng computeIfAbsent: gọi mạng bên trong sẽ khoá bucket (và ghim virtual thread)
+            layout = dataOf(exec(OP_LAYOUT, api.getRoomLayout(status.getRoomId(), status.getLayoutVersion())));
+            if (layout == null || layout.getSeats() == null) return null;
+            layouts.put(key, layout);
+        }
+        lastMap = new SeatMap(scheduleId, layout, status);
+        return lastMap;
+    }
+
+    private <T> Response<T> exec(String op, Call<T> call) throws IOException {
+        long start = System.nanoTime();
+        try {
+            Response<T> response = call.execute();
+            Stats.Outcome outcome = response.isSuccessful() ? Stats.Outcome.OK
+                    : response.code() == 409 ? Stats.Outcome.CONFLICT : Stats.Outcome.ERROR;
+            stats.record(op, System.nanoTime() - start, outcome);
+            if (!response.isSuccessful() && response.errorBody() != null) response.errorBody().close();
+            return response;
+        } catch (IOException e) {
+            stats.record(op, System.nanoTime() - start, Stats.Outcome.ERROR);
+            throw e;
+        }
+    }
+
+    private static <T> T dataOf(Response<ApiResponse<T>> response) {
+        ApiResponse<T> body = response.body();
+        return response.isSuccessful() && body != null && body.isSuccess() ? body.getData() : null;
+    }
+
+    private void think() throws InterruptedException {
+        if (config.thinkMs <= 0) return;
+        // ±50% quanh thời gian nghĩ để các khách không bước đồng loạt
+        Thread.sleep(config.thinkMs / 2 + ThreadLocalRandom.current().nextLong(config.thinkMs + 1));
+    }
+
+    /** Sơ đồ đã ghép trạng thái; ghế trống = không bảo trì, không booked/held. */
+    static final class SeatMap {
+        final String scheduleId;
+        private final List<Seat> seats;
+        private final boolean[] free;
+
+        SeatMap(String scheduleId, SeatLayout layout, SeatStatus status) {
+            this.scheduleId = scheduleId;
+            this.seats = layout.getSeats();
+            this.free = new boolean[seats.size()];
+            for (int i = 0; i < free.length; i++) {
+                free[i] = !"maintenance".equals(seats.get(i).getStatus()) && !status.isBooked(i) && !status.isHeld(i);
+            }
+        }
+
+        /** Ngẫu nhiên một khối {@code n} ghế trống liền nhau trên cùng hàng; null nếu không còn. */
+        List<String> pickContiguous(int n) {
+            List<Integer> starts = new ArrayList<>();
+            int run = 0;
+            for (int i = 0; i < free.length; i++) {
+                boolean adjacent = i > 0 && seats.get(i).getRow() == seats.get(i - 1).getRow()
+                        && seats.get(i).getColumn() == seats.get(i - 1).getColumn() + 1;
+                run = free[i] ? (adjacent ? run + 1 : 1) : 0;
+                if (run >= n) starts.add(i - n + 1);
+            }
+            if (starts.isEmpty()) return null;
+            int start = starts.get(ThreadLocalRandom.current().nextInt(starts.size()));
+            List<String> codes = new ArrayList<>(n);
+            for (int i = start; i < start + n; i++) {
+                codes.add(seats.get(i).getCode());
+                // Không chọn lại chính những ghế này ở lần thử sau
+                free[i] = false;
+            }
+            return codes;
+        }
+    }
+}
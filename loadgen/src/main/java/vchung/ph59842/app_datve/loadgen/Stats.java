@@ -0,0 +1,88 @@
+package vchung.ph59842.app_datve.loadgen;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Số liệu theo từng thao tác (login, movies, seat-status, book, ...) và theo hành trình. */
+final class Stats {
+    enum Outcome { OK, CONFLICT, ERROR }
+
+    static final class Op {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder ok = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+        long count() {
+            return ok.sum() + conflicts.sum() + errors.sum();
+        }
+    }
+
+    private final Map<String, Op> ops = new ConcurrentHashMap<>();
+    private final Map<Journey, LongAdder> journeys = new ConcurrentHashMap<>();
+
+    void record(String op, long nanos, Outcome outcome) {
+        Op stats = op(op);
+        stats.latency.record(nanos / 1_000);
+        switch (outcome) {
+            case OK: stats.ok.increment(); break;
+            case CONFLICT: stats.conflicts.increment(); break;
+            default: stats.errors.increment(); break;
+        }
+    }
+
+    void journeyDone(Journey journey) {
+        journeys.computeIfAbsent(journey, j -> new LongAdder()).increment();
+    }
+
+    Op op(String name) {
+        return ops.computeIfAbsent(name, n -> new Op());
+    }
+
+    long totalRequests() {
+        long n = 0;
+        for (Op op : ops.values()) n += op.count();
+        return n;
+    }
+
+    String progressLine(double seconds, int activeUsers) {
+        Op book = ops.get(SimulatedUser.OP_BOOK);
+        return String.format(Locale.ROOT, "[%6.1fs] users=%d requests=%d (%.0f req/s) book p95=%s",
+                seconds, activeUsers, totalRequests(), totalRequests() / Math.max(seconds, 0.001),
+                book != null ? ms(book.latency.percentile(95)) : "-");
+    }
+
+    String report(double seconds) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%nDuration: %.1fs, requests: %d, throughput: %.1f req/s%n%n",
+                seconds, totalRequests(), totalRequests() / Math.max(seconds, 0.001)));
+        sb.append(String.format(Locale.ROOT, "%-14s %8s %8s %8s %8s %9s %9s %9s %9s%n",
+                "operation", "count", "req/s", "conflict", "error", "p50", "p95", "p99", "max"));
+        for (Map.Entry<String, Op> e : new TreeMap<>(ops).entrySet()) {
+            Op op = e.getValue();
+            LatencyHistogram h = op.latency;
+            sb.append(String.format(Locale.ROOT, "%-14s %8d %8.1f %8d %8d %9s %9s %9s %9s%n",
+                    e.getKey(), op.count(), op.count() / Math.max(seconds, 0.001), op.conflicts.sum(), op.errors.sum(),
+                    ms(h.percentile(50)), ms(h.percentile(95)), ms(h.percentile(99)), ms(h.max())));
+        }
+
+        Op book = ops.get(SimulatedUser.OP_BOOK);
+        if (book != null && book.count() > 0) {
+            sb.append(String.format(Locale.ROOT, "%nSeat conflict rate: %.1f%% of %d booking attempts%n",
+                    100.0 * book.conflicts.sum() / book.count(), book.count()));
+        }
+        sb.append(String.format(Locale.ROOT, "%nJourneys completed:%n"));
+        for (Journey j : Journey.values()) {
+            LongAdder n = journeys.get(j);
+            sb.append(String.format(Locale.ROOT, "  %-8s %d%n", j.key(), n != null ? n.sum() : 0));
+        }
+        return sb.toString();
+    }
+
+    private static String ms(long micros) {
+        return String.format(Locale.ROOT, "%.1fms", micros / 1000.0);
+    }
+}
@@ -0,0 +1,30 @@
+package vchung.ph59842.app_datve.loadgen;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class JourneyMixTest {
+
+    @Test
+    public void picksByCumulativeWeight() {
+        JourneyMix mix = JourneyMix.parse("browse:60, book:30 ,pay:10");
+        assertEquals(Journey.BROWSE, mix.pick(0.0));
+        assertEquals(Journey.BROWSE, mix.pick(0.59));
+        assertEquals(Journey.BOOK, mix.pick(0.6));
+        assertEquals(Journey.PAY, mix.pick(0.95));
+        assertEquals(Journey.PAY, mix.pick(0.9999999));
+        assertEquals("browse:60,book:30,pay:10", mix.toString());
+    }
+
+    @Test
+    public void zeroWeightsAreDropped() {
+        JourneyMix mix = JourneyMix.parse("browse:0,pay:1");
+        assertEquals(Journey.PAY, mix.pick(0.0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownJourneyRejected() {
+        JourneyMix.parse("browse:1,refund:1");
+    }
+}
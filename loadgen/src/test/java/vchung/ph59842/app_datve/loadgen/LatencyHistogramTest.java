@@ -0,0 +1,30 @@
+package vchung.ph59842.app_datve.loadgen;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketsRoundTrip() {
+        for (long v : new long[]{0, 1, 15, 16, 17, 31, 32, 1_000, 123_456, 10_000_000_000L}) {
+            int i = LatencyHistogram.indexOf(v);
+            assertTrue(v + " >= lower", v >= LatencyHistogram.lowerBound(i));
+            assertTrue(v + " <= upper", v <= LatencyHistogram.upperBound(i));
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LatencyHistogram.indexOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void percentilesWithinSixPercent() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (int us = 1; us <= 10_000; us++) h.record(us);
+        assertEquals(10_000, h.count());
+        assertEquals(10_000, h.max());
+        assertEquals(5_000, h.percentile(50), 5_000 / 16.0);
+        assertEquals(9_900, h.percentile(99), 9_900 / 16.0);
+        assertEquals(10_000, h.percentile(100));
+        assertEquals(0, new LatencyHistogram().percentile(50));
+    }
+}
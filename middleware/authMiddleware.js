@@ -17,6 +17,12 @@ const protect = async (req, res, next) => {
         res.status(401);
         throw new Error('Not authorized, user not found');
       }
+
+      // Token cấp trước lần đổi mật khẩu / khoá tài khoản gần nhất
+      if ((decoded.ver || 0) !== (user.tokenVersion || 0)) {
+        res.status(401);
+        throw new Error('Not authorized, token revoked');
+      }
       
       req.user = user;
       next();
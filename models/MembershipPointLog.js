@@ -10,4 +10,7 @@ const membershipPointLogSchema = new mongoose.Schema({
   createdBy: { type: mongoose.Schema.Types.ObjectId, ref: 'User' }
 }, { timestamps: true });
 
+// Phân trang theo cursor (createdAt, _id) giảm dần trong lịch sử của một user
+membershipPointLogSchema.index({ userId: 1, createdAt: -1, _id: -1 });
+
 module.exports = mongoose.model('MembershipPointLog', membershipPointLogSchema);
@@ -153,14 +153,14 @@ promotionSchema.methods.canBeUsedByUser = async function(userId) {
   
   // Check if it's the first order and promotion is only for first-time users
   if (this.usageRestrictions.firstTimeUserOnly) {
-    const orderCount = await mongoose.model('Ticket').countDocuments({ userId });
+    const orderCount = await mongoose.model('Ticket').countDocuments({ user: userId });
     if (orderCount > 0) return false;
   }
   
   // Check minimum previous orders requirement
   if (this.usageRestrictions.minPreviousOrders > 0) {
     const orderCount = await mongoose.model('Ticket').countDocuments({ 
-      userId,
+      user: userId,
       status: 'paid'
     });
     if (orderCount < this.usageRestrictions.minPreviousOrders) return false;
@@ -169,7 +169,7 @@ promotionSchema.methods.canBeUsedByUser = async function(userId) {
   // Check one-time use per user
   if (this.usageRestrictions.onePerUser) {
     const usageCount = await mongoose.model('Ticket').countDocuments({ 
-      userId,
+      user: userId,
       'voucher.code': this.code,
       status: { $ne: 'cancelled' }
     });
@@ -233,6 +233,7 @@ promotionSchema.statics.validateAndApply = async function(code, userId, orderAmo
       type: promotion.type,
       value: promotion.value,
       maxDiscount: promotion.maxDiscount,
+      minOrderAmount: promotion.minOrderAmount,
       discountAmount
     }
   };
@@ -254,4 +255,31 @@ promotionSchema.methods.incrementUsage = async function() {
   return this.save();
 };
 
+// Atomically take one use of a code (the maxUses check and the increment are one update),
+// so two bookings racing for the last use cannot both get it. Returns false if none is left.
+promotionSchema.statics.claimUse = async function(code) {
+  const claimed = await this.findOneAndUpdate(
+    {
+      code: code.toUpperCase(),
+      isActive: true,
+      $or: [
+        { maxUses: { $in: [null, 0] } },
+        { $expr: { $lt: ['$currentUses', '$maxUses'] } }
+      ]
+    },
+    { $inc: { currentUses: 1 } }
+  );
+  // Unlike incrementUsage this does not flip isActive at the cap: the filter above already
+  // refuses further uses, and releaseUse must be able to hand the last use back.
+  return Boolean(claimed);
+};
+
+// Give back a use taken by claimUse when the order it was taken for is not created
+promotionSchema.statics.releaseUse = async function(code) {
+  await this.updateOne(
+    { code: code.toUpperCase(), currentUses: { $gt: 0 } },
+    { $inc: { currentUses: -1 } }
+  );
+};
+
 module.exports = mongoose.model('Promotion', promotionSchema);
@@ -0,0 +1,20 @@
+const mongoose = require('mongoose');
+
+// Giữ ghế tạm thời trong lúc chọn ghế / thanh toán.
+// Mỗi (scheduleId, code) chỉ có một document: giành ghế = một lệnh upsert có điều kiện,
+// ai giữ ghế còn hạn thì upsert đụng unique index và thất bại.
+const seatHoldSchema = new mongoose.Schema(
+  {
+    scheduleId: { type: mongoose.Schema.Types.ObjectId, ref: 'Schedule', required: true },
+    code: { type: String, required: true, trim: true, uppercase: true },
+    holder: { type: mongoose.Schema.Types.ObjectId, ref: 'User', required: true, index: true },
+    expiresAt: { type: Date, required: true }
+  },
+  { timestamps: true }
+);
+
+seatHoldSchema.index({ scheduleId: 1, code: 1 }, { unique: true });
+// Mongo dọn hold hết hạn (chạy mỗi ~60s); logic luôn tự so expiresAt nên không phụ thuộc vào đó
+seatHoldSchema.index({ expiresAt: 1 }, { expireAfterSeconds: 0 });
+
+module.exports = mongoose.model('SeatHold', seatHoldSchema);
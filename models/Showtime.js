@@ -61,6 +61,8 @@ showtimeSchema.index({ movie: 1 });
 showtimeSchema.index({ theater: 1 });
 showtimeSchema.index({ startTime: 1 });
 showtimeSchema.index({ endTime: 1 });
+// showtime-summaries: lọc theo phim rồi theo khoảng thời gian
+showtimeSchema.index({ movie: 1, startTime: 1 });
 
 // Virtual for bookings
 showtimeSchema.virtual('bookings', {
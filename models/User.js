@@ -36,6 +36,11 @@ const userSchema = new mongoose.Schema(
       type: Boolean,
       default: true,
       index: true
+    },
+    // Tăng khi đổi mật khẩu / khoá tài khoản: mọi token đã cấp (claim ver) hết hiệu lực
+    tokenVersion: {
+      type: Number,
+      default: 0
     }
   },
   { timestamps: true }
@@ -0,0 +1,123 @@
+package vchung.ph59842.app_datve.pricing;
+
+import java.util.Arrays;
+
+/**
+ * Giỏ hàng có thể thay đổi và dùng lại: số ghế theo loại, combo, voucher và hạng
+ * thành viên. Màn chọn ghế giữ một Cart và chỉ cập nhật số ghế mỗi lần chạm,
+ * nên tính lại giá không cấp phát object mới.
+ */
+public final class Cart {
+    public static final int MAX_VOUCHERS = 8;
+
+    private PriceTable priceTable;
+    private final int[] seatCounts = new int[SeatType.VALUES.length];
+
+    private long[] comboUnitVnd = new long[4];
+    private int[] comboQty = new int[4];
+    private int comboCount;
+
+    private final Voucher[] vouchers = new Voucher[MAX_VOUCHERS];
+    private int voucherCount;
+
+    private MembershipTier tier = MembershipTier.BRONZE;
+
+    public Cart setPriceTable(PriceTable priceTable) {
+        this.priceTable = priceTable;
+        return this;
+    }
+
+    public PriceTable getPriceTable() {
+        return priceTable;
+    }
+
+    public Cart addSeat(SeatType type) {
+        seatCounts[type.ordinal()]++;
+        return this;
+    }
+
+    public Cart removeSeat(SeatType type) {
+        if (seatCounts[type.ordinal()] > 0) seatCounts[type.ordinal()]--;
+        return this;
+    }
+
+    public Cart setSeatCount(SeatType type, int count) {
+        if (count < 0) throw new IllegalArgumentException("count < 0");
+        seatCounts[type.ordinal()] = count;
+        return this;
+    }
+
+    public int getSeatCount(SeatType type) {
+        return seatCounts[type.ordinal()];
+    }
+
+    public int getSeatCount() {
+        int total = 0;
+        for (int count : seatCounts) total += count;
+        return total;
+    }
+
+    public Cart clearSeats() {
+        Arrays.fill(seatCounts, 0);
+        return this;
+    }
+
+    /** Thêm một dòng combo (giá đơn vị x số lượng), như ComboInfo của Ticket. */
+    public Cart addCombo(long unitPriceVnd, int qty) {
+        if (unitPriceVnd < 0 || qty < 0) throw new IllegalArgumentException("Negative combo");
+        if (comboCount == comboQty.length) {
+            comboUnitVnd = Arrays.copyOf(comboUnitVnd, comboCount * 2);
+            comboQty = Arrays.copyOf(comboQty, comboCount * 2);
+        }
+        comboUnitVnd[comboCount] = unitPriceVnd;
+        comboQty[comboCount] = qty;
+        comboCount++;
+        return this;
+    }
+
+    public Cart clearCombos() {
+        comboCount = 0;
+        return this;
+    }
+
+    int getComboCount() {
+        return comboCount;
+    }
+
+    long comboTotal(int index) {
+        return comboUnitVnd[index] * comboQty[index];
+    }
+
+    /** Voucher được xét theo đúng thứ tự thêm vào. */
+    public Cart addVoucher(Voucher voucher) {
+        if (voucher == null) return this;
+        if (voucherCount == MAX_VOUCHERS) {
+            throw new IllegalStateException("At most " + MAX_VOUCHERS + " vouchers per cart");
+        }
+        vouchers[voucherCount++] = voucher;
+        return this;
+    }
+
+    public Cart clearVouchers() {
+        Arrays.fill(vouchers, 0, voucherCount, null);
+        voucherCount = 0;
+        return this;
+    }
+
+    public int getVoucherCount() {
+        return voucherCount;
+    }
+
+    Voucher voucherAt(int index) {
+        return vouchers[index];
+    }
+
+    public Cart setTier(MembershipTier tier) {
+        this.tier = tier != null ? tier : MembershipTier.BRONZE;
+        return this;
+    }
+
+    public MembershipTier getTier() {
+        return tier;
+    }
+}
@@ -0,0 +1,22 @@
+package vchung.ph59842.app_datve.pricing;
+
+/** Hạng thành viên, cùng thứ tự với TIERS trong models/Membership.js. */
+public enum MembershipTier {
+    BRONZE,
+    SILVER,
+    GOLD,
+    PLATINUM,
+    DIAMOND,
+    RUBY;
+
+    static final MembershipTier[] VALUES = values();
+
+    /** "Gold", "gold"... -> GOLD; null hoặc không khớp -> BRONZE. */
+    public static MembershipTier fromName(String name) {
+        if (name == null) return BRONZE;
+        for (MembershipTier tier : VALUES) {
+            if (tier.name().equalsIgnoreCase(name.trim())) return tier;
+        }
+        return BRONZE;
+    }
+}
@@ -0,0 +1,20 @@
+package vchung.ph59842.app_datve.pricing;
+
+/** Phần trăm lưu dạng basis point (1% = 100 bp) để tính bằng số nguyên. */
+final class Percent {
+    static final int FULL = 10_000;
+
+    private Percent() {}
+
+    static int toBp(double percent) {
+        if (percent <= 0) return 0;
+        if (percent >= 100) return FULL;
+        return (int) Math.round(percent * 100);
+    }
+
+    /** Phần giảm của {@code amount}, làm tròn xuống tới đồng. */
+    static long of(long amount, int bp) {
+        if (amount <= 0 || bp <= 0) return 0;
+        return amount * bp / FULL;
+    }
+}
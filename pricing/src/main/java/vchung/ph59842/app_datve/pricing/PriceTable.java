@@ -0,0 +1,58 @@
+package vchung.ph59842.app_datve.pricing;
+
+/**
+ * Bảng giá của một suất chiếu (Schedule.priceTable): giá theo loại ghế và
+ * giảm giá early-bird theo % cho tới {@code earlyBirdEndMillis}.
+ */
+public final class PriceTable {
+    public static final long NO_EARLY_BIRD = Long.MIN_VALUE;
+
+    private final long standardVnd;
+    private final long vipVnd;
+    private final int earlyBirdBp;
+    private final long earlyBirdEndMillis;
+
+    public PriceTable(long standardVnd, long vipVnd, double earlyBirdPercent, long earlyBirdEndMillis) {
+        if (standardVnd < 0 || vipVnd < 0) {
+            throw new IllegalArgumentException("Price must not be negative");
+        }
+        this.standardVnd = standardVnd;
+        this.vipVnd = vipVnd;
+        this.earlyBirdBp = Percent.toBp(earlyBirdPercent);
+        this.earlyBirdEndMillis = earlyBirdEndMillis;
+    }
+
+    public static PriceTable of(long standardVnd, long vipVnd) {
+        return new PriceTable(standardVnd, vipVnd, 0, NO_EARLY_BIRD);
+    }
+
+    /** Một giá cho mọi ghế (showtime chỉ có field price). */
+    public static PriceTable flat(long priceVnd) {
+        return of(priceVnd, priceVnd);
+    }
+
+    public long priceOf(SeatType type) {
+        return type == SeatType.VIP ? vipVnd : standardVnd;
+    }
+
+    /** Early-bird còn hiệu lực nếu có % giảm và {@code nowMillis} trước mốc kết thúc. */
+    public boolean isEarlyBird(long nowMillis) {
+        return earlyBirdBp > 0 && earlyBirdEndMillis != NO_EARLY_BIRD && nowMillis < earlyBirdEndMillis;
+    }
+
+    public long getStandardVnd() {
+        return standardVnd;
+    }
+
+    public long getVipVnd() {
+        return vipVnd;
+    }
+
+    int getEarlyBirdBp() {
+        return earlyBirdBp;
+    }
+
+    public long getEarlyBirdEndMillis() {
+        return earlyBirdEndMillis;
+    }
+}
@@ -0,0 +1,91 @@
+package vchung.ph59842.app_datve.pricing;
+
+/**
+ * Tính giá một đơn vé theo thứ tự:
+ * <ol>
+ *   <li>Giá ghế theo loại (standard/vip) từ PriceTable.</li>
+ *   <li>Early-bird: % giảm trên tiền ghế nếu còn trước earlyBirdEndTime.</li>
+ *   <li>Cộng combo -> tạm tính.</li>
+ *   <li>Voucher theo thứ tự trong Cart, mỗi cái tính trên phần còn lại;
+ *       minOrderAmount so với tạm tính, không cộng dồn nếu voucher không stackable.</li>
+ *   <li>Giảm theo hạng thành viên trên số tiền sau voucher.</li>
+ * </ol>
+ * Mọi khoản giảm làm tròn xuống tới đồng; tổng không bao giờ âm.
+ * Không cấp phát khi gọi {@link #price(Cart, long, Quote)} nên có thể gọi mỗi lần chạm ghế.
+ */
+public final class PricingEngine {
+    private final PricingRules rules;
+
+    public PricingEngine(PricingRules rules) {
+        this.rules = rules != null ? rules : PricingRules.DEFAULT;
+    }
+
+    public Quote price(Cart cart, long nowMillis) {
+        return price(cart, nowMillis, new Quote());
+    }
+
+    public Quote price(Cart cart, long nowMillis, Quote out) {
+        PriceTable table = cart.getPriceTable();
+        if (table == null) {
+            throw new IllegalStateException("Cart has no price table");
+        }
+        out.reset();
+
+        long seats = 0;
+        for (SeatType type : SeatType.VALUES) {
+            seats += table.priceOf(type) * cart.getSeatCount(type);
+        }
+        out.seatsSubtotal = seats;
+
+        if (table.isEarlyBird(nowMillis)) {
+            out.earlyBird = true;
+            out.earlyBirdDiscount = Percent.of(seats, table.getEarlyBirdBp());
+        }
+        long seatsAfterEarlyBird = seats - out.earlyBirdDiscount;
+
+        long combos = 0;
+        for (int i = 0; i < cart.getComboCount(); i++) {
+            combos += cart.comboTotal(i);
+        }
+        out.combosSubtotal = combos;
+        out.subtotal = seatsAfterEarlyBird + combos;
+
+        applyVouchers(cart, out, rules.isVouchersApplyToCombos() ? out.subtotal : seatsAfterEarlyBird);
+
+        long afterVouchers = out.subtotal - out.voucherDiscount;
+        out.tierDiscount = Percent.of(afterVouchers, rules.tierBp(cart.getTier()));
+        out.total = Math.max(0, afterVouchers - out.tierDiscount);
+        return out;
+    }
+
+    private void applyVouchers(Cart cart, Quote out, long base) {
+        int count = cart.getVoucherCount();
+        out.voucherCount = count;
+        int applied = 0;
+        boolean exclusiveApplied = false;
+        long remaining = base;
+        for (int i = 0; i < count; i++) {
+            Voucher voucher = cart.voucherAt(i);
+            VoucherResult result;
+            if (applied >= rules.getMaxVouchers()) {
+                result = VoucherResult.LIMIT_REACHED;
+            } else if (out.subtotal < voucher.getMinOrderVnd()) {
+                result = VoucherResult.BELOW_MIN_ORDER;
+            } else if (exclusiveApplied || (applied > 0 && !voucher.isStackable())) {
+                result = VoucherResult.NOT_STACKABLE;
+            } else {
+                long discount = voucher.discountOn(remaining);
+                if (discount <= 0) {
+                    result = VoucherResult.NO_EFFECT;
+                } else {
+                    remaining -= discount;
+                    out.voucherDiscount += discount;
+                    applied++;
+                    if (!voucher.isStackable()) exclusiveApplied = true;
+                    result = VoucherResult.APPLIED;
+                }
+            }
+            out.voucherResults[i] = result;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package vchung.ph59842.app_datve.pricing;
+
+/**
+ * Chính sách giá có thể cấu hình: % giảm theo hạng thành viên, số voucher
+ * tối đa mỗi đơn và voucher có tính trên combo hay không.
+ * {@link #DEFAULT} khớp với cách backend đang tính (không giảm theo hạng, 1 voucher).
+ */
+public final class PricingRules {
+    public static final PricingRules DEFAULT = new Builder().build();
+
+    private final int[] tierBp;
+    private final int maxVouchers;
+    private final boolean vouchersApplyToCombos;
+
+    private PricingRules(Builder b) {
+        this.tierBp = b.tierBp.clone();
+        this.maxVouchers = b.maxVouchers;
+        this.vouchersApplyToCombos = b.vouchersApplyToCombos;
+    }
+
+    int tierBp(MembershipTier tier) {
+        return tier == null ? 0 : tierBp[tier.ordinal()];
+    }
+
+    public int getMaxVouchers() {
+        return maxVouchers;
+    }
+
+    public boolean isVouchersApplyToCombos() {
+        return vouchersApplyToCombos;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private final int[] tierBp = new int[MembershipTier.VALUES.length];
+        private int maxVouchers = 1;
+        private boolean vouchersApplyToCombos = true;
+
+        public Builder tierDiscount(MembershipTier tier, double percent) {
+            tierBp[tier.ordinal()] = Percent.toBp(percent);
+            return this;
+        }
+
+        public Builder maxVouchers(int maxVouchers) {
+            if (maxVouchers < 0 || maxVouchers > Cart.MAX_VOUCHERS) {
+                throw new IllegalArgumentException("maxVouchers must be in [0, " + Cart.MAX_VOUCHERS + "]");
+            }
+            this.maxVouchers = maxVouchers;
+            return this;
+        }
+
+        public Builder vouchersApplyToCombos(boolean value) {
+            this.vouchersApplyToCombos = value;
+            return this;
+        }
+
+        public PricingRules build() {
+            return new PricingRules(this);
+        }
+    }
+}
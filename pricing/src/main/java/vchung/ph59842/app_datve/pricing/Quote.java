@@ -0,0 +1,84 @@
+package vchung.ph59842.app_datve.pricing;
+
+/**
+ * Kết quả tính giá (VND, số nguyên). Có thể tái sử dụng: PricingEngine ghi đè
+ * toàn bộ field mỗi lần tính.
+ *
+ * <pre>
+ * seatsSubtotal - earlyBirdDiscount + combosSubtotal = subtotal
+ * subtotal - voucherDiscount - tierDiscount           = total
+ * </pre>
+ */
+public final class Quote {
+    long seatsSubtotal;
+    long earlyBirdDiscount;
+    long combosSubtotal;
+    long subtotal;
+    long voucherDiscount;
+    long tierDiscount;
+    long total;
+    boolean earlyBird;
+    final VoucherResult[] voucherResults = new VoucherResult[Cart.MAX_VOUCHERS];
+    int voucherCount;
+
+    void reset() {
+        seatsSubtotal = 0;
+        earlyBirdDiscount = 0;
+        combosSubtotal = 0;
+        subtotal = 0;
+        voucherDiscount = 0;
+        tierDiscount = 0;
+        total = 0;
+        earlyBird = false;
+        for (int i = 0; i < voucherCount; i++) voucherResults[i] = null;
+        voucherCount = 0;
+    }
+
+    public long getSeatsSubtotal() {
+        return seatsSubtotal;
+    }
+
+    public long getEarlyBirdDiscount() {
+        return earlyBirdDiscount;
+    }
+
+    public long getCombosSubtotal() {
+        return combosSubtotal;
+    }
+
+    public long getSubtotal() {
+        return subtotal;
+    }
+
+    public long getVoucherDiscount() {
+        return voucherDiscount;
+    }
+
+    public long getTierDiscount() {
+        return tierDiscount;
+    }
+
+    public long getTotalDiscount() {
+        return earlyBirdDiscount + voucherDiscount + tierDiscount;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public boolean isEarlyBird() {
+        return earlyBird;
+    }
+
+    /** Kết quả của voucher thứ {@code index} trong Cart. */
+    public VoucherResult getVoucherResult(int index) {
+        if (index < 0 || index >= voucherCount) {
+            throw new IndexOutOfBoundsException("index " + index + ", vouchers " + voucherCount);
+        }
+        return voucherResults[index];
+    }
+
+    public int getVoucherCount() {
+        return voucherCount;
+    }
+}
@@ -0,0 +1,14 @@
+package vchung.ph59842.app_datve.pricing;
+
+/** Loại ghế, khớp enum 'standard' | 'vip' của Room.seats trên backend. */
+public enum SeatType {
+    STANDARD,
+    VIP;
+
+    // values() clone mảng mỗi lần gọi, giữ sẵn một bản cho vòng lặp nóng
+    static final SeatType[] VALUES = values();
+
+    public static SeatType fromCode(String type) {
+        return "vip".equalsIgnoreCase(type) ? VIP : STANDARD;
+    }
+}
@@ -0,0 +1,72 @@
+package vchung.ph59842.app_datve.pricing;
+
+/**
+ * Voucher/khuyến mãi đã chuẩn hoá từ Promotion (type percent|fixed, value,
+ * maxDiscount, minOrderAmount). Bất biến, có thể dùng lại giữa các lần tính.
+ */
+public final class Voucher {
+    public enum Kind { PERCENT, FIXED }
+
+    private final String code;
+    private final Kind kind;
+    private final int percentBp;
+    private final long amountVnd;
+    private final long maxDiscountVnd;
+    private final long minOrderVnd;
+    private final boolean stackable;
+
+    private Voucher(String code, Kind kind, int percentBp, long amountVnd,
+                    long maxDiscountVnd, long minOrderVnd, boolean stackable) {
+        this.code = code;
+        this.kind = kind;
+        this.percentBp = percentBp;
+        this.amountVnd = amountVnd;
+        this.maxDiscountVnd = maxDiscountVnd;
+        this.minOrderVnd = minOrderVnd;
+        this.stackable = stackable;
+    }
+
+    /** Giảm {@code percent}%, tối đa {@code maxDiscountVnd} (0 = không giới hạn). */
+    public static Voucher percent(String code, double percent, long maxDiscountVnd, long minOrderVnd) {
+        return new Voucher(code, Kind.PERCENT, Percent.toBp(percent), 0,
+                Math.max(0, maxDiscountVnd), Math.max(0, minOrderVnd), false);
+    }
+
+    /** Giảm thẳng {@code amountVnd}, không vượt quá số tiền đang tính. */
+    public static Voucher fixed(String code, long amountVnd, long minOrderVnd) {
+        return new Voucher(code, Kind.FIXED, 0, Math.max(0, amountVnd), 0, Math.max(0, minOrderVnd), false);
+    }
+
+    /** Bản sao được phép cộng dồn với voucher khác. */
+    public Voucher stackable() {
+        return new Voucher(code, kind, percentBp, amountVnd, maxDiscountVnd, minOrderVnd, true);
+    }
+
+    long discountOn(long baseVnd) {
+        if (baseVnd <= 0) return 0;
+        long discount;
+        if (kind == Kind.PERCENT) {
+            discount = Percent.of(baseVnd, percentBp);
+            if (maxDiscountVnd > 0 && discount > maxDiscountVnd) discount = maxDiscountVnd;
+        } else {
+            discount = Math.min(amountVnd, baseVnd);
+        }
+        return discount;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public long getMinOrderVnd() {
+        return minOrderVnd;
+    }
+
+    public boolean isStackable() {
+        return stackable;
+    }
+}
@@ -0,0 +1,14 @@
+package vchung.ph59842.app_datve.pricing;
+
+/** Kết quả áp dụng từng voucher trong một lần tính. */
+public enum VoucherResult {
+    APPLIED,
+    /** Tạm tính chưa đạt minOrderAmount. */
+    BELOW_MIN_ORDER,
+    /** Đã có voucher khác và một trong hai không cho cộng dồn. */
+    NOT_STACKABLE,
+    /** Vượt số voucher tối đa trên một đơn. */
+    LIMIT_REACHED,
+    /** Hợp lệ nhưng không giảm được gì (đơn đã về 0). */
+    NO_EFFECT
+}
@@ -0,0 +1,54 @@
+package vchung.ph59842.app_datve.pricing;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CartTest {
+
+    @Test
+    public void seatCountsPerType() {
+        Cart c = new Cart().addSeat(SeatType.VIP).addSeat(SeatType.STANDARD).addSeat(SeatType.VIP);
+        assertEquals(2, c.getSeatCount(SeatType.VIP));
+        assertEquals(1, c.getSeatCount(SeatType.STANDARD));
+        assertEquals(3, c.getSeatCount());
+        c.removeSeat(SeatType.STANDARD).removeSeat(SeatType.STANDARD);
+        assertEquals(0, c.getSeatCount(SeatType.STANDARD));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeSeatCountRejected() {
+        new Cart().setSeatCount(SeatType.VIP, -1);
+    }
+
+    @Test
+    public void combosGrowPastInitialCapacity() {
+        Cart c = new Cart().setPriceTable(PriceTable.flat(0));
+        for (int i = 1; i <= 10; i++) c.addCombo(10_000, i);
+        assertEquals(10, c.getComboCount());
+        assertEquals(550_000, new PricingEngine(null).price(c, 0).getCombosSubtotal());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void voucherLimitEnforced() {
+        Cart c = new Cart();
+        for (int i = 0; i <= Cart.MAX_VOUCHERS; i++) c.addVoucher(Voucher.fixed("V" + i, 1_000, 0));
+    }
+
+    @Test
+    public void enumParsing() {
+        assertEquals(SeatType.VIP, SeatType.fromCode("VIP"));
+        assertEquals(SeatType.STANDARD, SeatType.fromCode(null));
+        assertEquals(MembershipTier.PLATINUM, MembershipTier.fromName(" Platinum "));
+        assertEquals(MembershipTier.BRONZE, MembershipTier.fromName("basic"));
+        assertEquals(MembershipTier.BRONZE, MembershipTier.fromName(null));
+    }
+
+    @Test
+    public void percentConversionClamps() {
+        assertEquals(0, Percent.toBp(-5));
+        assertEquals(Percent.FULL, Percent.toBp(150));
+        assertEquals(750, Percent.toBp(7.5));
+        assertEquals(0, Percent.of(-100, 500));
+    }
+}
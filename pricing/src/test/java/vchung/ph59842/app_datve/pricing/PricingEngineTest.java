@@ -0,0 +1,295 @@
+package vchung.ph59842.app_datve.pricing;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PricingEngineTest {
+    private static final long NOW = 1_750_000_000_000L;
+    private static final long HOUR = 3_600_000L;
+
+    private final PricingEngine engine = new PricingEngine(PricingRules.DEFAULT);
+
+    private static Cart cart(PriceTable table, int standard, int vip) {
+        return new Cart().setPriceTable(table)
+                .setSeatCount(SeatType.STANDARD, standard)
+                .setSeatCount(SeatType.VIP, vip);
+    }
+
+    @Test
+    public void seatPricesByType() {
+        Quote q = engine.price(cart(PriceTable.of(85_000, 120_000), 2, 1), NOW);
+        assertEquals(290_000, q.getSeatsSubtotal());
+        assertEquals(290_000, q.getSubtotal());
+        assertEquals(290_000, q.getTotal());
+        assertEquals(0, q.getTotalDiscount());
+        assertFalse(q.isEarlyBird());
+    }
+
+    @Test
+    public void emptyCartIsFree() {
+        Quote q = engine.price(new Cart().setPriceTable(PriceTable.of(85_000, 120_000)), NOW);
+        assertEquals(0, q.getTotal());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void missingPriceTableFails() {
+        engine.price(new Cart().addSeat(SeatType.STANDARD), NOW);
+    }
+
+    @Test
+    public void earlyBirdOnlyBeforeEndTime() {
+        PriceTable table = new PriceTable(100_000, 150_000, 10, NOW + HOUR);
+        Quote before = engine.price(cart(table, 1, 1), NOW);
+        assertTrue(before.isEarlyBird());
+        assertEquals(25_000, before.getEarlyBirdDiscount());
+        assertEquals(225_000, before.getTotal());
+
+        Quote atEnd = engine.price(cart(table, 1, 1), NOW + HOUR);
+        assertFalse(atEnd.isEarlyBird());
+        assertEquals(250_000, atEnd.getTotal());
+    }
+
+    @Test
+    public void earlyBirdIgnoredWithoutEndTimeOrPercent() {
+        assertFalse(new PriceTable(100_000, 100_000, 10, PriceTable.NO_EARLY_BIRD).isEarlyBird(NOW));
+        assertFalse(new PriceTable(100_000, 100_000, 0, NOW + HOUR).isEarlyBird(NOW));
+    }
+
+    @Test
+    public void earlyBirdDoesNotDiscountCombos() {
+        PriceTable table = new PriceTable(100_000, 100_000, 20, NOW + HOUR);
+        Quote q = engine.price(cart(table, 2, 0).addCombo(65_000, 2), NOW);
+        assertEquals(40_000, q.getEarlyBirdDiscount());
+        assertEquals(130_000, q.getCombosSubtotal());
+        assertEquals(290_000, q.getSubtotal());
+    }
+
+    @Test
+    public void discountsRoundDownToWholeDong() {
+        // 33.33% của 85.000 = 28.330,5 -> 28.330
+        PriceTable table = new PriceTable(85_000, 85_000, 33.33, NOW + HOUR);
+        Quote q = engine.price(cart(table, 1, 0), NOW);
+        assertEquals(28_330, q.getEarlyBirdDiscount());
+        assertEquals(56_670, q.getTotal());
+    }
+
+    @Test
+    public void percentVoucherCappedByMaxDiscount() {
+        Cart c = cart(PriceTable.of(100_000, 100_000), 4, 0)
+                .addVoucher(Voucher.percent("GIAM20", 20, 50_000, 0));
+        Quote q = engine.price(c, NOW);
+        assertEquals(VoucherResult.APPLIED, q.getVoucherResult(0));
+        assertEquals(50_000, q.getVoucherDiscount());
+        assertEquals(350_000, q.getTotal());
+    }
+
+    @Test
+    public void percentVoucherWithoutCap() {
+        Cart c = cart(PriceTable.of(100_000, 100_000), 4, 0)
+                .addVoucher(Voucher.percent("GIAM20", 20, 0, 0));
+        assertEquals(320_000, engine.price(c, NOW).getTotal());
+    }
+
+    @Test
+    public void fixedVoucherNeverExceedsOrder() {
+        Cart c = cart(PriceTable.of(50_000, 50_000), 1, 0)
+                .addVoucher(Voucher.fixed("GIAM100K", 100_000, 0));
+        Quote q = engine.price(c, NOW);
+        assertEquals(50_000, q.getVoucherDiscount());
+        assertEquals(0, q.getTotal());
+    }
+
+    @Test
+    public void minOrderComparedToSubtotal() {
+        Voucher v = Voucher.fixed("GIAM30K", 30_000, 150_000);
+        Quote below = engine.price(cart(PriceTable.of(75_000, 75_000), 1, 0).addVoucher(v), NOW);
+        assertEquals(VoucherResult.BELOW_MIN_ORDER, below.getVoucherResult(0));
+        assertEquals(75_000, below.getTotal());
+
+        Quote exact = engine.price(cart(PriceTable.of(75_000, 75_000), 2, 0).addVoucher(v), NOW);
+        assertEquals(VoucherResult.APPLIED, exact.getVoucherResult(0));
+        assertEquals(120_000, exact.getTotal());
+    }
+
+    @Test
+    public void minOrderIncludesCombos() {
+        Voucher v = Voucher.fixed("COMBO", 20_000, 150_000);
+        Quote q = engine.price(cart(PriceTable.of(90_000, 90_000), 1, 0).addCombo(65_000, 1).addVoucher(v), NOW);
+        assertEquals(VoucherResult.APPLIED, q.getVoucherResult(0));
+        assertEquals(135_000, q.getTotal());
+    }
+
+    @Test
+    public void defaultRulesAllowOneVoucher() {
+        Cart c = cart(PriceTable.of(100_000, 100_000), 2, 0)
+                .addVoucher(Voucher.fixed("A", 10_000, 0).stackable())
+                .addVoucher(Voucher.fixed("B", 10_000, 0).stackable());
+        Quote q = engine.price(c, NOW);
+        assertEquals(VoucherResult.APPLIED, q.getVoucherResult(0));
+        assertEquals(VoucherResult.LIMIT_REACHED, q.getVoucherResult(1));
+        assertEquals(190_000, q.getTotal());
+    }
+
+    @Test
+    public void stackableVouchersApplySequentially() {
+        PricingEngine stacking = new PricingEngine(PricingRules.builder().maxVouchers(3).build());
+        Cart c = cart(PriceTable.of(100_000, 100_000), 2, 0)
+                .addVoucher(Voucher.fixed("A", 20_000, 0).stackable())
+                .addVoucher(Voucher.percent("B", 10, 0, 0).stackable());
+        Quote q = stacking.price(c, NOW);
+        // 200.000 - 20.000 = 180.000; 10% của phần còn lại = 18.000
+        assertEquals(38_000, q.getVoucherDiscount());
+        assertEquals(162_000, q.getTotal());
+    }
+
+    @Test
+    public void exclusiveVoucherBlocksOthers() {
+        PricingEngine stacking = new PricingEngine(PricingRules.builder().maxVouchers(3).build());
+        Cart c = cart(PriceTable.of(100_000, 100_000), 2, 0)
+                .addVoucher(Voucher.fixed("EXCL", 20_000, 0))
+                .addVoucher(Voucher.fixed("S", 10_000, 0).stackable());
+        Quote q = stacking.price(c, NOW);
+        assertEquals(VoucherResult.APPLIED, q.getVoucherResult(0));
+        assertEquals(VoucherResult.NOT_STACKABLE, q.getVoucherResult(1));
+
+        Cart reversed = cart(PriceTable.of(100_000, 100_000), 2, 0)
+                .addVoucher(Voucher.fixed("S", 10_000, 0).stackable())
+                .addVoucher(Voucher.fixed("EXCL", 20_000, 0));
+        Quote r = stacking.price(reversed, NOW);
+        assertEquals(VoucherResult.APPLIED, r.getVoucherResult(0));
+        assertEquals(VoucherResult.NOT_STACKABLE, r.getVoucherResult(1));
+        assertEquals(190_000, r.getTotal());
+    }
+
+    @Test
+    public void voucherWithNothingLeftHasNoEffect() {
+        PricingEngine stacking = new PricingEngine(PricingRules.builder().maxVouchers(2).build());
+        Cart c = cart(PriceTable.of(50_000, 50_000), 1, 0)
+                .addVoucher(Voucher.fixed("ALL", 50_000, 0).stackable())
+                .addVoucher(Voucher.percent("MORE", 10, 0, 0).stackable());
+        Quote q = stacking.price(c, NOW);
+        assertEquals(VoucherResult.NO_EFFECT, q.getVoucherResult(1));
+        assertEquals(0, q.getTotal());
+    }
+
+    @Test
+    public void vouchersCanExcludeCombos() {
+        PricingEngine seatsOnly = new PricingEngine(PricingRules.builder().vouchersApplyToCombos(false).build());
+        Cart c = cart(PriceTable.of(100_000, 100_000), 1, 0)
+                .addCombo(65_000, 1)
+                .addVoucher(Voucher.percent("HALF", 50, 0, 0));
+        Quote q = seatsOnly.price(c, NOW);
+        assertEquals(50_000, q.getVoucherDiscount());
+        assertEquals(115_000, q.getTotal());
+    }
+
+    @Test
+    public void tierDiscountAfterVouchers() {
+        PricingEngine tiered = new PricingEngine(PricingRules.builder()
+                .tierDiscount(MembershipTier.GOLD, 5)
+                .build());
+        Cart c = cart(PriceTable.of(100_000, 100_000), 2, 0)
+                .addVoucher(Voucher.fixed("A", 20_000, 0))
+                .setTier(MembershipTier.GOLD);
+        Quote q = tiered.price(c, NOW);
+        assertEquals(9_000, q.getTierDiscount());
+        assertEquals(171_000, q.getTotal());
+
+        c.setTier(MembershipTier.SILVER);
+        assertEquals(180_000, tiered.price(c, NOW).getTotal());
+    }
+
+    @Test
+    public void defaultRulesMatchBackend() {
+        // bookTickets: tổng = giá ghế theo loại + combo, không giảm theo hạng
+        Cart c = cart(new PriceTable(85_000, 120_000, 0, PriceTable.NO_EARLY_BIRD), 3, 2)
+                .addCombo(65_000, 1)
+                .addCombo(45_000, 2)
+                .setTier(MembershipTier.RUBY);
+        assertEquals(3 * 85_000 + 2 * 120_000 + 65_000 + 90_000, engine.price(c, NOW).getTotal());
+    }
+
+    @Test
+    public void reusedQuoteIsFullyOverwritten() {
+        Quote q = new Quote();
+        Cart c = cart(new PriceTable(100_000, 100_000, 10, NOW + HOUR), 2, 0)
+                .addVoucher(Voucher.fixed("A", 10_000, 0));
+        engine.price(c, NOW, q);
+        assertEquals(1, q.getVoucherCount());
+
+        c.clearVouchers().clearSeats().addSeat(SeatType.VIP);
+        engine.price(c, NOW + 2 * HOUR, q);
+        assertEquals(0, q.getVoucherCount());
+        assertEquals(0, q.getEarlyBirdDiscount());
+        assertEquals(0, q.getVoucherDiscount());
+        assertFalse(q.isEarlyBird());
+        assertEquals(100_000, q.getTotal());
+    }
+
+    /** Bất biến trên toàn bộ tổ hợp số ghế, early-bird, combo, voucher và hạng. */
+    @Test
+    public void invariantsHoldForAllCombinations() {
+        PricingEngine tiered = new PricingEngine(PricingRules.builder()
+                .maxVouchers(2)
+                .tierDiscount(MembershipTier.SILVER, 2)
+                .tierDiscount(MembershipTier.GOLD, 5)
+                .tierDiscount(MembershipTier.RUBY, 10)
+                .build());
+        Voucher[][] voucherSets = {
+                {},
+                {Voucher.percent("P", 15, 40_000, 0)},
+                {Voucher.fixed("F", 30_000, 200_000)},
+                {Voucher.fixed("F", 30_000, 0).stackable(), Voucher.percent("P", 10, 0, 0).stackable()},
+                {Voucher.fixed("X", 1_000_000, 0)},
+        };
+        PriceTable[] tables = {
+                PriceTable.of(75_000, 110_000),
+                new PriceTable(95_000, 135_000, 15, NOW + HOUR),
+        };
+        Quote q = new Quote();
+        Cart c = new Cart();
+        for (PriceTable table : tables) {
+            for (int std = 0; std <= 8; std++) {
+                for (int vip = 0; vip <= 8; vip++) {
+                    for (int combos = 0; combos <= 2; combos++) {
+                        for (Voucher[] vouchers : voucherSets) {
+                            for (MembershipTier tier : MembershipTier.values()) {
+                                c.setPriceTable(table).clearSeats().clearCombos().clearVouchers().setTier(tier);
+                                c.setSeatCount(SeatType.STANDARD, std).setSeatCount(SeatType.VIP, vip);
+                                for (int k = 0; k < combos; k++) c.addCombo(65_000, k + 1);
+                                for (Voucher v : vouchers) c.addVoucher(v);
+                                tiered.price(c, NOW, q);
+
+                                long seats = std * table.getStandardVnd() + vip * table.getVipVnd();
+                                assertEquals(seats, q.getSeatsSubtotal());
+                                assertEquals(q.getSeatsSubtotal() - q.getEarlyBirdDiscount() + q.getCombosSubtotal(),
+                                        q.getSubtotal());
+                                assertEquals(q.getSubtotal() - q.getVoucherDiscount() - q.getTierDiscount(), q.getTotal());
+                                assertTrue(q.getTotal() >= 0);
+                                assertTrue(q.getVoucherDiscount() <= q.getSubtotal());
+                                assertTrue(q.getTotal() <= q.getSeatsSubtotal() + q.getCombosSubtotal());
+                                assertEquals(vouchers.length, q.getVoucherCount());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /** Thêm ghế không bao giờ làm tổng giảm (cùng voucher/hạng). */
+    @Test
+    public void totalIsMonotonicInSeats() {
+        Cart c = new Cart().setPriceTable(new PriceTable(85_000, 120_000, 10, NOW + HOUR))
+                .addVoucher(Voucher.percent("P", 20, 60_000, 100_000));
+        long previous = -1;
+        Quote q = new Quote();
+        for (int i = 0; i < 20; i++) {
+            c.addSeat(i % 3 == 0 ? SeatType.VIP : SeatType.STANDARD);
+            long total = engine.price(c, NOW, q).getTotal();
+            assertTrue("seat " + i + ": " + total + " < " + previous, total >= previous);
+            previous = total;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 import express from 'express';
 import { check } from 'express-validator';
+import rateLimit from 'express-rate-limit';
 import { protect, admin, staff } from '../middleware/authMiddleware.js';
 import {
   getMovies,
@@ -17,11 +18,22 @@ import {
   getMovieShowtimes,
   getTheaterMovies,
   getNowShowingMovies,
-  getMovieAvailability
+  getMovieAvailability,
+  getShowtimeSummaries
 } from '../controllers/showtimeController.js';
 
 const router = express.Router();
 
+// App tìm khi đang gõ (đã debounce + giới hạn phía client); đây là chốt chặn phía server.
+// Vượt giới hạn trả 429 kèm Retry-After để client tạm dừng hỏi server.
+const searchLimiter = rateLimit({
+  windowMs: 10 * 1000,
+  limit: 20,
+  standardHeaders: 'draft-7',
+  legacyHeaders: false,
+  message: { success: false, message: 'Tìm kiếm quá nhanh, vui lòng thử lại sau giây lát' }
+});
+
 // @route   GET /api/movies
 // @desc    Lấy danh sách phim (lọc & phân trang)
 // @access  Public
@@ -36,7 +48,7 @@ router.get('/', [
 // @route   GET /api/movies/search
 // @desc    Tìm kiếm phim theo tiêu đề, đạo diễn, diễn viên
 // @access  Public
-router.get('/search', [
+router.get('/search', searchLimiter, [
   check('q', 'Vui lòng nhập từ khóa tìm kiếm').notEmpty(),
   check('page', 'Trang phải là số >= 1').optional().isInt({ min: 1 }),
   check('limit', 'Giới hạn phải từ 1-50').optional().isInt({ min: 1, max: 50 })
@@ -57,6 +69,14 @@ router.get('/now-showing', getNowShowingMovies);
 // @access  Public
 router.get('/upcoming', getUpcomingMovies);
 
+// @route   GET /api/movies/showtime-summaries
+// @desc    Tóm tắt suất chiếu sắp tới (giờ gần nhất, số suất, giá thấp nhất, ghế trống) cho nhiều phim
+// @access  Public
+router.get('/showtime-summaries', [
+  check('ids', 'Vui lòng cung cấp danh sách mã phim').notEmpty(),
+  check('days', 'Số ngày phải từ 1-30').optional().isInt({ min: 1, max: 30 })
+], getShowtimeSummaries);
+
 // @route   GET /api/movies/genre/:genre
 // @desc    Lấy phim theo thể loại (có phân trang)
 // @access  Public
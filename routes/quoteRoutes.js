@@ -0,0 +1,8 @@
+const express = require('express');
+const { protect } = require('../middleware/authMiddleware');
+const { createQuote } = require('../controllers/quoteController');
+const router = express.Router();
+
+router.post('/', protect, createQuote);
+
+module.exports = router;
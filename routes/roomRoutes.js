@@ -4,6 +4,7 @@ const { protect, admin } = require('../middleware/authMiddleware');
 const {
 getRooms,
 getRoomWithSeats,
+getRoomLayout,
 createRoom,
 updateRoom,
 deleteRoom
@@ -12,6 +13,7 @@ const Cinema = require('../models/Cinema');
 const router = express.Router();
 router.get('/', getRooms);
 router.get('/:roomId/seats', getRoomWithSeats);
+router.get('/:roomId/layout', getRoomLayout);
 router.post(
 '/',
 [
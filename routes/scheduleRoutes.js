@@ -10,8 +10,10 @@ const {
   getSchedulesByMovie,
   getSchedulesByTheater,
   getAvailableTimeSlots,
-  getScheduleSeats
+  getScheduleSeats,
+  getScheduleSeatStatus
 } = require('../controllers/scheduleController');
+const { createHolds, renewHolds, releaseHolds } = require('../controllers/seatHoldController');
 
 const router = express.Router();
 
@@ -93,6 +95,14 @@ router.get('/:id', getScheduleById);
 // Seat map for a schedule
 router.get('/:id/seats', getScheduleSeats);
 
+// Trạng thái ghế dạng bitmap; sơ đồ ghế lấy riêng qua /api/rooms/:roomId/layout
+router.get('/:id/seat-status', getScheduleSeatStatus);
+
+// Giữ ghế tạm thời (TTL) khi chọn ghế và trong lúc thanh toán
+router.post('/:id/holds', protect, createHolds);
+router.put('/:id/holds', protect, renewHolds);
+router.delete('/:id/holds', protect, releaseHolds);
+
 // @route   POST /api/schedules
 // @desc    Tạo mới một lịch chiếu (Quản trị viên/Nhân viên)
 // @access  Riêng tư/Nhân viên
@@ -4,6 +4,7 @@ import { protect, admin } from '../middleware/authMiddleware.js';
 import {
   register,
   login,
+  refreshToken,
   getProfile,
   updateProfile,
   changePassword,
@@ -200,6 +201,11 @@ router.post(
   login
 );
 
+// @route   POST /api/users/refresh
+// @desc    Exchange a valid or recently expired token for a new one
+// @access  Bearer token
+router.post('/refresh', refreshToken);
+
 // @route   GET /api/users/me
 // @desc    Get user profile
 // @access  Private
@@ -0,0 +1,141 @@
+// Load test: hàng trăm khách cùng đặt vé một suất, tranh nhau một nhóm ghế "nóng".
+//
+// Chạy trên DB thử (script tạo user loadtest-*@example.com và để lại vé pending):
+//   RATE_LIMIT_MAX=100000 npm start
+//   SCHEDULE_ID=<id> CLIENTS=300 node scripts/loadtest/bookingContention.js
+//
+// Biến môi trường:
+//   API_URL           mặc định http://localhost:5000/api/v1
+//   SCHEDULE_ID       bắt buộc
+//   CLIENTS           số khách đồng thời (mặc định 300)
+//   SEATS_PER_CLIENT  số ghế liền nhau mỗi khách đặt (mặc định 2)
+//   HOT_SEATS         số ghế trống đầu sơ đồ mà mọi khách cùng nhắm tới (mặc định 40)
+//
+// Kết quả: thông lượng, độ trễ p50/p95/p99, số 201/409 theo code, và kiểm tra không ghế nào bị bán hai lần.
+
+const API_URL = process.env.API_URL || 'http://localhost:5000/api/v1';
+const SCHEDULE_ID = process.env.SCHEDULE_ID;
+const CLIENTS = parseInt(process.env.CLIENTS, 10) || 300;
+const SEATS_PER_CLIENT = parseInt(process.env.SEATS_PER_CLIENT, 10) || 2;
+const HOT_SEATS = parseInt(process.env.HOT_SEATS, 10) || 40;
+const PASSWORD = 'loadtest123';
+
+async function api(method, path, body, token) {
+  const headers = { 'Content-Type': 'application/json' };
+  if (token) headers.Authorization = `Bearer ${token}`;
+  const res = await fetch(API_URL + path, { method, headers, body: body ? JSON.stringify(body) : undefined });
+  let json = null;
+  try { json = await res.json(); } catch (e) { /* body rỗng */ }
+  return { status: res.status, json };
+}
+
+// Chạy tasks với tối đa `limit` request cùng lúc (dùng cho bước chuẩn bị, không đo)
+async function pool(items, limit, fn) {
+  const out = new Array(items.length);
+  let next = 0;
+  const workers = Array.from({ length: Math.min(limit, items.length) }, async () => {
+    while (next < items.length) {
+      const i = next++;
+      out[i] = await fn(items[i], i);
+    }
+  });
+  await Promise.all(workers);
+  return out;
+}
+
+async function tokenFor(i) {
+  const email = `loadtest-${i}@example.com`;
+  const reg = await api('POST', '/auth/register', { name: `Load Test ${i}`, email, password: PASSWORD });
+  if (reg.status === 201 && reg.json?.token) return reg.json.token;
+  const login = await api('POST', '/auth/login', { email, password: PASSWORD });
+  if (login.json?.token) return login.json.token;
+  throw new Error(`Cannot sign in ${email}: ${login.status} ${JSON.stringify(login.json)}`);
+}
+
+function isSet(base64, i) {
+  const bytes = Buffer.from(base64 || '', 'base64');
+  return (i >> 3) < bytes.length && (bytes[i >> 3] & (1 << (i & 7))) !== 0;
+}
+
+// Ghế trống đầu sơ đồ (theo thứ tự layout: hàng rồi cột), gom theo hàng
+async function hotRows() {
+  const status = await api('GET', `/schedules/${SCHEDULE_ID}/seat-status`);
+  if (status.status !== 200) throw new Error(`seat-status ${status.status}`);
+  const st = status.json.data;
+  const layout = await api('GET', `/rooms/${st.roomId}/layout`);
+  if (layout.status !== 200) throw new Error(`layout ${layout.status}`);
+
+  const rows = new Map();
+  let picked = 0;
+  layout.json.data.seats.forEach((seat, i) => {
+    if (picked >= HOT_SEATS || seat.status === 'maintenance' || isSet(st.booked, i) || isSet(st.held, i)) return;
+    if (!rows.has(seat.row)) rows.set(seat.row, []);
+    rows.get(seat.row).push(seat.code);
+    picked++;
+  });
+  return Array.from(rows.values()).filter(codes => codes.length >= SEATS_PER_CLIENT);
+}
+
+function pickSeats(rows) {
+  const row = rows[Math.floor(Math.random() * rows.length)];
+  const start = Math.floor(Math.random() * (row.length - SEATS_PER_CLIENT + 1));
+  return row.slice(start, start + SEATS_PER_CLIENT);
+}
+
+function percentile(sorted, p) {
+  if (sorted.length === 0) return 0;
+  return sorted[Math.min(sorted.length - 1, Math.floor((p / 100) * sorted.length))];
+}
+
+async function main() {
+  if (!SCHEDULE_ID) {
+    console.error('SCHEDULE_ID is required');
+    process.exit(1);
+  }
+
+  console.log(`Preparing ${CLIENTS} clients against ${API_URL} ...`);
+  const tokens = await pool(Array.from({ length: CLIENTS }, (_, i) => i), 20, tokenFor);
+  const rows = await hotRows();
+  if (rows.length === 0) throw new Error('No free contiguous seats left in the hot zone');
+  const plans = tokens.map(token => ({ token, seats: pickSeats(rows) }));
+
+  // Bắn tất cả cùng lúc
+  const started = performance.now();
+  const results = await Promise.all(plans.map(async plan => {
+    const t0 = performance.now();
+    try {
+      const res = await api('POST', '/tickets/book', { scheduleId: SCHEDULE_ID, seatNumbers: plan.seats }, plan.token);
+      return { ...plan, status: res.status, code: res.json?.code, ms: performance.now() - t0 };
+    } catch (err) {
+      return { ...plan, status: 0, code: err.message, ms: performance.now() - t0 };
+    }
+  }));
+  const elapsed = (performance.now() - started) / 1000;
+
+  const byOutcome = new Map();
+  const sold = new Map();
+  let oversold = 0;
+  results.forEach(r => {
+    const key = r.code ? `${r.status} ${r.code}` : String(r.status);
+    byOutcome.set(key, (byOutcome.get(key) || 0) + 1);
+    if (r.status !== 201) return;
+    r.seats.forEach(code => {
+      if (sold.has(code)) oversold++;
+      sold.set(code, (sold.get(code) || 0) + 1);
+    });
+  });
+  const latencies = results.map(r => r.ms).sort((a, b) => a - b);
+
+  console.log(`\nRequests:    ${results.length} in ${elapsed.toFixed(2)}s (${(results.length / elapsed).toFixed(1)} req/s)`);
+  console.log(`Latency ms:  p50=${percentile(latencies, 50).toFixed(0)} p95=${percentile(latencies, 95).toFixed(0)} p99=${percentile(latencies, 99).toFixed(0)} max=${latencies[latencies.length - 1].toFixed(0)}`);
+  console.log('Outcomes:');
+  Array.from(byOutcome.entries()).sort().forEach(([k, n]) => console.log(`  ${k.padEnd(20)} ${n}`));
+  console.log(`Seats sold:  ${sold.size} of ${rows.reduce((n, r) => n + r.length, 0)} hot seats`);
+  console.log(`Oversold:    ${oversold}`);
+  process.exit(oversold > 0 ? 1 : 0);
+}
+
+main().catch(err => {
+  console.error(err);
+  process.exit(1);
+});
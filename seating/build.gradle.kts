@@ -0,0 +1,17 @@
+plugins {
+    `java-library`
+}
+
+// Thuật toán chọn ghế thuần Java, dùng chung cho app và :benchmark
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+tasks.withType<JavaCompile>().configureEach {
+    options.encoding = "UTF-8"
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
@@ -0,0 +1,49 @@
+package vchung.ph59842.app_datve.seating;
+
+/**
+ * Kết quả chọn ghế: {@code count} ghế liền nhau trên hàng {@code row} bắt đầu từ cột
+ * {@code startCol}. Có thể tái sử dụng: SeatFinder ghi đè toàn bộ field mỗi lần tìm.
+ */
+public final class SeatBlock {
+    int row = -1;
+    int startCol = -1;
+    int count;
+    double score;
+
+    void reset() {
+        row = -1;
+        startCol = -1;
+        count = 0;
+        score = 0;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public int getRow() {
+        return row;
+    }
+
+    public int getStartCol() {
+        return startCol;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /** Càng nhỏ càng tốt; 0 = đúng tâm hàng lý tưởng. */
+    public double getScore() {
+        return score;
+    }
+
+    public boolean contains(int row, int col) {
+        return count > 0 && row == this.row && col >= startCol && col < startCol + count;
+    }
+
+    @Override
+    public String toString() {
+        return isEmpty() ? "SeatBlock{}" : "SeatBlock{row=" + row + ", cols=" + startCol + ".." + (startCol + count - 1) + "}";
+    }
+}
@@ -0,0 +1,115 @@
+package vchung.ph59842.app_datve.seating;
+
+/**
+ * Chọn {@code n} ghế liền nhau "đẹp nhất" cho nút "Chọn giúp tôi".
+ *
+ * <p>Mỗi hàng được quét một lượt bằng cửa sổ trượt (đếm số ghế trống liên tiếp), mọi cửa sổ
+ * đủ {@code n} ghế được chấm điểm O(1):
+ * <pre>
+ * score = rowWeight    * |row - hàng lý tưởng| / (rows - 1)
+ *       + centerWeight * |tâm khối - tâm hàng| / ((cols - 1) / 2)
+ *       + orphanPenalty * số ghế lẻ bị bỏ lại hai bên khối
+ * </pre>
+ * Hàng lý tưởng mặc định ở khoảng 2/3 phòng tính từ màn hình. Tổng chi phí O(rows * cols),
+ * không cấp phát khi dùng {@link #find(SeatGrid, int, Zone, SeatBlock)}.
+ */
+public final class SeatFinder {
+    public enum Zone {
+        /** Trộn ghế thường và VIP trong một khối. */
+        ANY,
+        STANDARD,
+        VIP
+    }
+
+    public static final double DEFAULT_IDEAL_ROW = 0.65;
+
+    private final double idealRow;
+    private final double rowWeight;
+    private final double centerWeight;
+    private final double orphanPenalty;
+
+    public SeatFinder() {
+        this(DEFAULT_IDEAL_ROW, 1.0, 1.0, 0.3);
+    }
+
+    /**
+     * @param idealRow      vị trí hàng lý tưởng, 0 = sát màn hình, 1 = hàng cuối
+     * @param orphanPenalty phạt cho mỗi ghế trống lẻ bị kẹp giữa khối và ghế đã bán/lối đi
+     */
+    public SeatFinder(double idealRow, double rowWeight, double centerWeight, double orphanPenalty) {
+        if (idealRow < 0 || idealRow > 1) throw new IllegalArgumentException("idealRow must be in [0, 1]");
+        this.idealRow = idealRow;
+        this.rowWeight = rowWeight;
+        this.centerWeight = centerWeight;
+        this.orphanPenalty = orphanPenalty;
+    }
+
+    /** Tiện dụng cho UI; cấp phát một {@link SeatBlock}, rỗng nếu không còn khối nào. */
+    public SeatBlock find(SeatGrid grid, int quantity, Zone zone) {
+        SeatBlock out = new SeatBlock();
+        find(grid, quantity, zone, out);
+        return out;
+    }
+
+    /** @return true nếu tìm được; {@code out} luôn bị ghi đè (rỗng khi không tìm được). */
+    public boolean find(SeatGrid grid, int quantity, Zone zone, SeatBlock out) {
+        if (quantity <= 0) throw new IllegalArgumentException("quantity must be positive");
+        out.reset();
+        int rows = grid.getRows();
+        int cols = grid.getCols();
+        if (quantity > cols) return false;
+
+        // Ô dùng được khi (cell & mask) == want
+        int mask = SeatGrid.SEAT | SeatGrid.TAKEN | (zone == Zone.ANY ? 0 : SeatGrid.VIP);
+        int want = SeatGrid.SEAT | (zone == Zone.VIP ? SeatGrid.VIP : 0);
+
+        byte[] cells = grid.cells;
+        double ideal = idealRow * (rows - 1);
+        double rowScale = rowWeight / Math.max(1, rows - 1);
+        double center = (cols - 1) / 2.0;
+        double colScale = centerWeight / Math.max(0.5, center);
+        double half = (quantity - 1) / 2.0;
+        double best = Double.POSITIVE_INFINITY;
+
+        for (int r = 0; r < rows; r++) {
+            double rowScore = rowScale * Math.abs(r - ideal);
+            // Điểm hàng đã không thắng được thì bỏ qua cả hàng
+            if (rowScore >= best) continue;
+            int base = r * cols;
+            int run = 0;
+            for (int c = 0; c < cols; c++) {
+                if ((cells[base + c] & mask) == want) run++;
+                else run = 0;
+                if (run < quantity) continue;
+
+                int start = c - quantity + 1;
+                double score = rowScore + colScale * Math.abs(start + half - center);
+                if (score >= best) continue;
+                int orphans = 0;
+                if (isOrphan(cells, base, cols, start - 1, -1)) orphans++;
+                if (isOrphan(cells, base, cols, c + 1, 1)) orphans++;
+                score += orphans * orphanPenalty;
+                if (score < best) {
+                    best = score;
+                    out.row = r;
+                    out.startCol = start;
+                }
+            }
+        }
+        if (out.row < 0) return false;
+        out.count = quantity;
+        out.score = best;
+        return true;
+    }
+
+    /** Ghế trống ở {@code col} mà ô kế tiếp theo hướng {@code step} không còn trống. */
+    private static boolean isOrphan(byte[] cells, int base, int cols, int col, int step) {
+        if (col < 0 || col >= cols || !isFree(cells[base + col])) return false;
+        int next = col + step;
+        return next < 0 || next >= cols || !isFree(cells[base + next]);
+    }
+
+    private static boolean isFree(byte cell) {
+        return (cell & (SeatGrid.SEAT | SeatGrid.TAKEN)) == SeatGrid.SEAT;
+    }
+}
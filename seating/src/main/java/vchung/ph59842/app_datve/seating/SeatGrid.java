@@ -0,0 +1,83 @@
+package vchung.ph59842.app_datve.seating;
+
+/**
+ * Sơ đồ ghế dạng lưới {@code rows x cols}, mỗi ô một byte cờ (có ghế / VIP / đã có người).
+ * Ô không có ghế là lối đi hoặc chỗ trống trong phòng. Có thể tái sử dụng giữa các lần
+ * tìm: chỉ cần {@link #clearTaken()} rồi đánh dấu lại ghế đã bán.
+ */
+public final class SeatGrid {
+    static final byte SEAT = 1;
+    static final byte VIP = 1 << 1;
+    static final byte TAKEN = 1 << 2;
+
+    private final int rows;
+    private final int cols;
+    final byte[] cells;
+
+    public SeatGrid(int rows, int cols) {
+        if (rows <= 0 || cols <= 0) throw new IllegalArgumentException("Grid must be at least 1x1");
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = new byte[rows * cols];
+    }
+
+    /** Lưới đủ ghế thường (phòng chữ nhật không có lối đi). */
+    public static SeatGrid full(int rows, int cols) {
+        SeatGrid grid = new SeatGrid(rows, cols);
+        for (int i = 0; i < grid.cells.length; i++) grid.cells[i] = SEAT;
+        return grid;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public SeatGrid addSeat(int row, int col, boolean vip) {
+        cells[index(row, col)] = vip ? (byte) (SEAT | VIP) : SEAT;
+        return this;
+    }
+
+    public SeatGrid setTaken(int row, int col, boolean taken) {
+        int i = index(row, col);
+        if ((cells[i] & SEAT) == 0) return this;
+        cells[i] = taken ? (byte) (cells[i] | TAKEN) : (byte) (cells[i] & ~TAKEN);
+        return this;
+    }
+
+    /** Đánh dấu theo bitmap hàng-trước (bit i = ô i, bit thấp của byte trước). */
+    public SeatGrid setTakenBitmap(byte[] bitmap) {
+        for (int i = 0; i < cells.length; i++) {
+            if ((cells[i] & SEAT) == 0) continue;
+            boolean taken = bitmap != null && (i >> 3) < bitmap.length && (bitmap[i >> 3] & (1 << (i & 7))) != 0;
+            cells[i] = taken ? (byte) (cells[i] | TAKEN) : (byte) (cells[i] & ~TAKEN);
+        }
+        return this;
+    }
+
+    public void clearTaken() {
+        for (int i = 0; i < cells.length; i++) cells[i] &= ~TAKEN;
+    }
+
+    public boolean hasSeat(int row, int col) {
+        return (cells[index(row, col)] & SEAT) != 0;
+    }
+
+    public boolean isVip(int row, int col) {
+        return (cells[index(row, col)] & VIP) != 0;
+    }
+
+    public boolean isFree(int row, int col) {
+        return (cells[index(row, col)] & (SEAT | TAKEN)) == SEAT;
+    }
+
+    private int index(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Seat " + row + "," + col + " outside " + rows + "x" + cols);
+        }
+        return row * cols + col;
+    }
+}
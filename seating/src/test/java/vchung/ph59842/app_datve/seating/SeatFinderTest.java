@@ -0,0 +1,66 @@
+package vchung.ph59842.app_datve.seating;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SeatFinderTest {
+
+    private final SeatFinder finder = new SeatFinder();
+
+    @Test
+    public void emptyRoomPicksCentreOfIdealRow() {
+        // 10 hàng: hàng lý tưởng = 0.65 * 9 ≈ 5.85 -> hàng 6
+        SeatBlock block = finder.find(SeatGrid.full(10, 12), 4, SeatFinder.Zone.ANY);
+        assertEquals(6, block.getRow());
+        assertEquals(4, block.getStartCol());
+        assertEquals(4, block.getCount());
+        assertTrue(block.contains(6, 7));
+        assertFalse(block.contains(6, 8));
+    }
+
+    @Test
+    public void skipsTakenSeatsAndAvoidsOrphans() {
+        SeatGrid grid = SeatGrid.full(1, 10);
+        grid.setTaken(0, 4, true).setTaken(0, 5, true);
+        // Còn 0..3 và 6..9: khối 2 ghế sát chỗ đã bán, không để lại ghế lẻ
+        SeatBlock block = finder.find(grid, 2, SeatFinder.Zone.ANY);
+        assertEquals(2, block.getStartCol());
+
+        grid.setTaken(0, 3, true);
+        // 0..2 và 6..9: lấy 6-7 (cạnh ghế đã bán) thay vì 1-2 (bỏ lại ghế 0)
+        block = finder.find(grid, 2, SeatFinder.Zone.ANY);
+        assertEquals(6, block.getStartCol());
+    }
+
+    @Test
+    public void respectsZoneAndAisles() {
+        SeatGrid grid = new SeatGrid(3, 9);
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 9; c++) {
+                if (c == 4) continue; // lối đi giữa
+                grid.addSeat(r, c, r == 0);
+            }
+        }
+        SeatBlock block = new SeatBlock();
+        assertTrue(finder.find(grid, 3, SeatFinder.Zone.VIP, block));
+        assertEquals(0, block.getRow());
+        // Lối đi cắt hàng: không có 5 ghế liền nhau
+        assertFalse(finder.find(grid, 5, SeatFinder.Zone.ANY, block));
+        assertTrue(block.isEmpty());
+        assertTrue(finder.find(grid, 4, SeatFinder.Zone.STANDARD, block));
+        assertNotEquals(0, block.getRow());
+    }
+
+    @Test
+    public void bitmapMarksTakenSeats() {
+        SeatGrid grid = SeatGrid.full(2, 4);
+        // bit 0..3 = hàng 0, bit 4..7 = hàng 1
+        grid.setTakenBitmap(new byte[]{(byte) 0x0F});
+        assertFalse(grid.isFree(0, 2));
+        assertTrue(grid.isFree(1, 0));
+        assertEquals(1, finder.find(grid, 4, SeatFinder.Zone.ANY).getRow());
+        grid.clearTaken();
+        assertTrue(grid.isFree(0, 2));
+    }
+}
@@ -53,7 +53,8 @@ app.use(cors());
 
 // Limit requests from same API
 const limiter = rateLimit({
-  max: 100, // 100 requests per windowMs
+  // RATE_LIMIT_MAX: nâng khi chạy load test (scripts/loadtest) từ một máy
+  max: parseInt(process.env.RATE_LIMIT_MAX, 10) || 100, // 100 requests per windowMs
   windowMs: 60 * 60 * 1000, // 1 hour
   message: 'Too many requests from this IP, please try again in an hour!'
 });
@@ -129,6 +130,7 @@ app.use('/api/v1/rooms', require('./routes/roomRoutes'));
 app.use('/api/v1/schedules', require('./routes/scheduleRoutes'));
 app.use('/api/v1/tickets', require('./routes/ticketRoutes'));
 app.use('/api/v1/payments', require('./routes/paymentRoutes'));
+app.use('/api/v1/quotes', require('./routes/quoteRoutes'));
 app.use('/api/v1/vouchers', require('./routes/voucherRoutes'));
 app.use('/api/v1/promotions', require('./routes/promotionRoutes'));
 app.use('/api/v1/membership', require('./routes/membershipRoutes'));
@@ -0,0 +1,199 @@
+const crypto = require('crypto');
+const Schedule = require('../models/Schedule');
+const Combo = require('../models/Combo');
+const Promotion = require('../models/Promotion');
+const Movie = require('../models/Movie');
+const { seatIndexFor } = require('./seatLayoutService');
+
+// Báo giá chỉ sống ngắn: đủ để người dùng đi từ màn chọn ghế tới thanh toán
+const QUOTE_TTL_MS = 5 * 60 * 1000;
+
+class QuoteError extends Error {
+  constructor(status, message, extra) {
+    super(message);
+    this.status = status;
+    this.extra = extra;
+  }
+}
+
+function secret() {
+  return process.env.QUOTE_SECRET || process.env.QR_SECRET || 'dev_secret_change_me';
+}
+
+function base64url(input) {
+  return Buffer.from(input).toString('base64').replace(/=/g, '').replace(/\+/g, '-').replace(/\//g, '_');
+}
+
+function sign(content) {
+  return crypto.createHmac('sha256', secret()).update(content).digest('base64url');
+}
+
+function sortedCodes(codes) {
+  return Array.from(new Set((codes || []).map(c => String(c).trim().toUpperCase()).filter(Boolean))).sort();
+}
+
+function normalizeCombos(items) {
+  const byId = new Map();
+  (Array.isArray(items) ? items : []).forEach(item => {
+    const id = item && (item.comboId || item.combo || item._id || item.id);
+    const qty = parseInt(item && (item.quantity || item.qty), 10) || 1;
+    if (id) byId.set(String(id), (byId.get(String(id)) || 0) + qty);
+  });
+  return Array.from(byId.entries()).sort((a, b) => (a[0] < b[0] ? -1 : 1));
+}
+
+function earlyBirdPercent(priceTable, now) {
+  return priceTable.earlyBirdDiscount > 0
+    && priceTable.earlyBirdEndTime && now < new Date(priceTable.earlyBirdEndTime)
+    ? priceTable.earlyBirdDiscount : 0;
+}
+
+/**
+ * Giá từng ghế của một suất chiếu. Báo giá và đặt vé không kèm báo giá đều đi qua đây, nên cùng
+ * một lựa chọn luôn ra cùng một giá (kể cả giảm giá early-bird).
+ * seatByCode: Map từ seatIndexFor; trả về { seats, unknown } với unknown là các mã không có trong phòng.
+ */
+function priceSeats(schedule, seatByCode, seatCodes, now = new Date()) {
+  const priceTable = schedule.priceTable || {};
+  const earlyBird = earlyBirdPercent(priceTable, now);
+  const seats = [];
+  const unknown = [];
+  sortedCodes(seatCodes).forEach(code => {
+    const info = seatByCode.get(code);
+    if (!info) { unknown.push(code); return; }
+    const base = info.type === 'vip' ? (priceTable.vip || 0) : (priceTable.standard || 0);
+    const price = earlyBird ? Math.round(base * (100 - earlyBird) / 100) : base;
+    seats.push({ code: info.code, type: info.type, price, row: info.row, column: info.column });
+  });
+  return { seats, unknown };
+}
+
+/** Dòng combo với giá lấy từ DB (không tin giá client gửi lên); combo không tồn tại bị bỏ qua. */
+async function priceCombos(items) {
+  const comboLines = [];
+  const wanted = normalizeCombos(items);
+  if (wanted.length === 0) return comboLines;
+  const docs = await Combo.find({ _id: { $in: wanted.map(w => w[0]) } }).select('name price').lean();
+  const docById = new Map(docs.map(d => [String(d._id), d]));
+  wanted.forEach(([id, quantity]) => {
+    const doc = docById.get(id);
+    if (doc) comboLines.push({ combo: doc._id, name: doc.name, quantity, price: doc.price });
+  });
+  return comboLines;
+}
+
+/**
+ * Kiểm tra voucher bằng Promotion.validateAndApply: hạn, lượt dùng, đơn tối thiểu, phim áp dụng và
+ * giới hạn theo người dùng (onePerUser, firstTimeUserOnly, minPreviousOrders).
+ * Trả về promotion kèm discountAmount; không hợp lệ thì ném QuoteError 400.
+ */
+async function validateVoucher(code, userId, subtotal, movieId) {
+  const movie = await Movie.findById(movieId).select('genres').lean();
+  try {
+    const { promotion } = await Promotion.validateAndApply(
+      String(code).trim(), userId, subtotal, movieId, (movie && movie.genres) || []);
+    return promotion;
+  } catch (err) {
+    throw new QuoteError(400, err.message);
+  }
+}
+
+/**
+ * Tính giá phía server cho (suất chiếu, ghế, combo, voucher) và ký lại thành token.
+ * Giá combo luôn lấy từ DB, không tin giá client gửi lên.
+ */
+async function buildQuote({ userId, scheduleId, seatNumbers, combos, voucherCode }, now = new Date()) {
+  const codes = sortedCodes(seatNumbers);
+  if (!scheduleId || codes.length === 0) {
+    throw new QuoteError(400, 'Cần scheduleId và ít nhất một ghế');
+  }
+
+  const schedule = await Schedule.findById(scheduleId).lean();
+  if (!schedule) throw new QuoteError(404, 'Schedule not found');
+  const seatByCode = await seatIndexFor(schedule.roomId);
+  if (!seatByCode) throw new QuoteError(400, 'Room not found');
+
+  const { seats, unknown } = priceSeats(schedule, seatByCode, codes, now);
+  if (unknown.length > 0) {
+    throw new QuoteError(400, 'Some seats do not exist in this room', { conflicts: unknown });
+  }
+
+  const comboLines = await priceCombos(combos);
+
+  const subtotal = seats.reduce((s, x) => s + x.price, 0)
+    + comboLines.reduce((s, x) => s + x.price * x.quantity, 0);
+
+  let voucher = null;
+  let discount = 0;
+  if (voucherCode) {
+    const promotion = await validateVoucher(voucherCode, userId, subtotal, schedule.movieId);
+    discount = promotion.discountAmount;
+    voucher = {
+      code: promotion.code,
+      discountType: promotion.type,
+      discountValue: promotion.value,
+      maxDiscount: promotion.maxDiscount,
+      minOrderValue: promotion.minOrderAmount
+    };
+  }
+
+  const expiresAt = new Date(now.getTime() + QUOTE_TTL_MS);
+  const payload = {
+    v: 1,
+    qid: crypto.randomBytes(9).toString('base64url'),
+    uid: String(userId),
+    sid: String(schedule._id),
+    seats,
+    combos: comboLines,
+    voucher,
+    subtotal,
+    discount,
+    total: subtotal - discount,
+    currency: 'VND',
+    exp: Math.floor(expiresAt.getTime() / 1000)
+  };
+  const body = base64url(JSON.stringify(payload));
+  return { payload, token: `${body}.${sign(body)}`, expiresAt };
+}
+
+/**
+ * Kiểm tra chữ ký, hạn và chủ sở hữu của token báo giá.
+ * Trả về payload nếu hợp lệ, ngược lại null (caller tự tính lại giá như cũ).
+ */
+function verifyQuote(token, userId, now = Date.now()) {
+  if (!token || typeof token !== 'string') return null;
+  const dot = token.lastIndexOf('.');
+  if (dot <= 0) return null;
+  const body = token.slice(0, dot);
+  const given = Buffer.from(token.slice(dot + 1));
+  const expected = Buffer.from(sign(body));
+  if (given.length !== expected.length || !crypto.timingSafeEqual(given, expected)) return null;
+  let payload;
+  try {
+    payload = JSON.parse(Buffer.from(body, 'base64url').toString('utf8'));
+  } catch (_) {
+    return null;
+  }
+  if (!payload || payload.v !== 1 || !payload.exp || payload.exp * 1000 <= now) return null;
+  if (userId != null && String(payload.uid) !== String(userId)) return null;
+  return payload;
+}
+
+/** Token chỉ dùng được cho đúng suất chiếu và đúng bộ ghế đã báo giá. */
+function matchesSelection(payload, scheduleId, seatCodes) {
+  if (!payload || String(payload.sid) !== String(scheduleId)) return false;
+  const a = sortedCodes(seatCodes);
+  const b = sortedCodes((payload.seats || []).map(s => s.code));
+  return a.length === b.length && a.every((c, i) => c === b[i]);
+}
+
+module.exports = {
+  QUOTE_TTL_MS,
+  QuoteError,
+  buildQuote,
+  priceSeats,
+  priceCombos,
+  validateVoucher,
+  verifyQuote,
+  matchesSelection
+};
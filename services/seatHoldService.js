@@ -0,0 +1,140 @@
+const SeatHold = require('../models/SeatHold');
+const Ticket = require('../models/Ticket');
+
+// Đang chọn ghế: hold ngắn, client gia hạn mỗi phút; sang thanh toán thì cho dài hơn
+const HOLD_TTL_MS = {
+  selection: 2 * 60 * 1000,
+  checkout: 10 * 60 * 1000
+};
+const MAX_SEATS_PER_HOLD = 10;
+
+class SeatHoldError extends Error {
+  constructor(status, message, conflicts, code) {
+    super(message);
+    this.status = status;
+    this.conflicts = conflicts || [];
+    // Cùng bộ code với 409 của bookTickets: SEATS_TAKEN / SEATS_HELD
+    this.code = code;
+  }
+}
+
+function ttlOf(phase) {
+  return HOLD_TTL_MS[phase] || HOLD_TTL_MS.selection;
+}
+
+function normalizeCodes(codes) {
+  return Array.from(new Set((Array.isArray(codes) ? codes : [codes])
+    .filter(Boolean)
+    .map(c => String(c).trim().toUpperCase())
+    .filter(Boolean)));
+}
+
+async function takenByTickets(scheduleId, codes) {
+  const tickets = await Ticket.find({
+    scheduleId,
+    status: { $in: ['pending', 'confirmed'] },
+    'seats.code': { $in: codes }
+  })
+    .select('seats.code')
+    .lean();
+  const taken = new Set();
+  tickets.forEach(t => (t.seats || []).forEach(s => { if (codes.includes(s.code)) taken.add(s.code); }));
+  return Array.from(taken);
+}
+
+/**
+ * Giành tất cả ghế hoặc không ghế nào. Mỗi ghế là một findOneAndUpdate upsert chỉ khớp khi
+ * hold đang thuộc người này hoặc đã hết hạn; hold còn hạn của người khác làm upsert
+ * đụng unique index (E11000) => xung đột. Ghế vừa giành được sẽ được trả lại nếu lô thất bại.
+ */
+async function holdSeats(scheduleId, userId, codes, phase) {
+  const wanted = normalizeCodes(codes);
+  if (wanted.length === 0) throw new SeatHoldError(400, 'No seats to hold');
+  if (wanted.length > MAX_SEATS_PER_HOLD) throw new SeatHoldError(400, `At most ${MAX_SEATS_PER_HOLD} seats per hold`);
+
+  const taken = await takenByTickets(scheduleId, wanted);
+  if (taken.length > 0) throw new SeatHoldError(409, 'Some seats are already booked', taken, 'SEATS_TAKEN');
+
+  const now = new Date();
+  const expiresAt = new Date(now.getTime() + ttlOf(phase));
+  const acquired = [];
+  const conflicts = [];
+  for (const code of wanted) {
+    try {
+      const before = await SeatHold.findOneAndUpdate(
+        {
+          scheduleId,
+          code,
+          $or: [{ holder: userId }, { expiresAt: { $lte: now } }]
+        },
+        { $set: { holder: userId, expiresAt } },
+        { upsert: true, new: false }
+      ).lean();
+      // Chỉ hoàn tác ghế mà trước đó mình chưa giữ
+      if (!before || String(before.holder) !== String(userId)) acquired.push(code);
+    } catch (err) {
+      if (err && err.code === 11000) {
+        conflicts.push(code);
+      } else {
+        throw err;
+      }
+    }
+  }
+
+  if (conflicts.length > 0) {
+    if (acquired.length > 0) {
+      await SeatHold.deleteMany({ scheduleId, holder: userId, code: { $in: acquired } });
+    }
+    throw new SeatHoldError(409, 'Some seats are held by another customer', conflicts, 'SEATS_HELD');
+  }
+  return { seats: wanted, expiresAt };
+}
+
+/** Gia hạn mọi ghế người này còn giữ trong suất; trả về danh sách ghế còn giữ được. */
+async function renewHolds(scheduleId, userId, phase) {
+  const expiresAt = new Date(Date.now() + ttlOf(phase));
+  // holder là điều kiện: ghế đã bị người khác giành lại sau khi hết hạn thì không gia hạn được
+  await SeatHold.updateMany({ scheduleId, holder: userId }, { $set: { expiresAt } });
+  const held = await SeatHold.find({ scheduleId, holder: userId }).select('code').lean();
+  return { seats: held.map(h => h.code), expiresAt };
+}
+
+/** Trả ghế; không truyền codes = trả hết ghế của người này trong suất. */
+async function releaseHolds(scheduleId, userId, codes) {
+  const filter = { scheduleId, holder: userId };
+  const list = codes ? normalizeCodes(codes) : null;
+  if (list) filter.code = { $in: list };
+  const result = await SeatHold.deleteMany(filter);
+  return { released: result.deletedCount || 0 };
+}
+
+/** Ghế trong danh sách đang bị người khác giữ (còn hạn). */
+async function heldByOthers(scheduleId, userId, codes) {
+  const holds = await SeatHold.find({
+    scheduleId,
+    code: { $in: normalizeCodes(codes) },
+    holder: { $ne: userId },
+    expiresAt: { $gt: new Date() }
+  })
+    .select('code')
+    .lean();
+  return holds.map(h => h.code);
+}
+
+/** Mọi ghế đang được giữ (còn hạn) của suất, cho bitmap seat-status. */
+async function activeHeldCodes(scheduleId) {
+  const holds = await SeatHold.find({ scheduleId, expiresAt: { $gt: new Date() } }).select('code').lean();
+  return holds.map(h => h.code);
+}
+
+module.exports = {
+  HOLD_TTL_MS,
+  SeatHoldError,
+  normalizeCodes,
+  takenByTickets,
+  holdSeats,
+  renewHolds,
+  releaseHolds,
+  heldByOthers,
+  activeHeldCodes
+};
@@ -0,0 +1,120 @@
+const crypto = require('crypto');
+const Room = require('../models/Room');
+const Ticket = require('../models/Ticket');
+const { activeHeldCodes } = require('./seatHoldService');
+
+// Sơ đồ phòng gần như không đổi; trạng thái ghế theo suất gửi dạng bitmap
+// (bit i = ghế thứ i trong layout.seats) thay vì gửi lại toàn bộ đối tượng ghế.
+const LAYOUT_SCHEMA = 1;
+
+// roomId -> { stamp, layout }; stamp = updatedAt nên sửa phòng là tự tính lại
+const layoutMemo = new Map();
+
+function sortedSeats(room) {
+  return (room.seats || [])
+    .map(s => ({
+      code: s.code,
+      type: s.type || 'standard',
+      row: s.row,
+      column: s.column,
+      status: s.status || 'available'
+    }))
+    .sort((a, b) => (a.row - b.row) || (a.column - b.column));
+}
+
+function layoutOf(room) {
+  const roomId = String(room._id);
+  const stamp = room.updatedAt ? new Date(room.updatedAt).getTime() : 0;
+  const memo = layoutMemo.get(roomId);
+  if (memo && stamp && memo.stamp === stamp) return memo.layout;
+
+  const seats = sortedSeats(room);
+  const body = {
+    rows: room.rows,
+    seatsPerRow: room.seatsPerRow,
+    screenType: room.screenType,
+    seats
+  };
+  // Version theo nội dung: client giữ layout mãi, chỉ tải lại khi version đổi
+  const version = crypto.createHash('sha1')
+    .update(JSON.stringify([LAYOUT_SCHEMA, body]))
+    .digest('hex')
+    .slice(0, 16);
+  const layout = { roomId, version, ...body };
+  if (stamp) layoutMemo.set(roomId, { stamp, layout });
+  return layout;
+}
+
+// roomId -> { stamp, byCode }; đặt vé tra giá/loại ghế O(1) thay cho room.seats.find mỗi ghế
+const seatIndexMemo = new Map();
+
+function seatIndexOf(room) {
+  const roomId = String(room._id);
+  const stamp = room.updatedAt ? new Date(room.updatedAt).getTime() : 0;
+  const memo = seatIndexMemo.get(roomId);
+  if (memo && stamp && memo.stamp === stamp) return memo.byCode;
+
+  const byCode = new Map();
+  (room.seats || []).forEach(s => {
+    if (!s || !s.code) return;
+    const code = String(s.code).toUpperCase();
+    byCode.set(code, { code, type: s.type || 'standard', row: s.row, column: s.column, status: s.status || 'available' });
+  });
+  if (stamp) seatIndexMemo.set(roomId, { stamp, byCode });
+  return byCode;
+}
+
+/** Chỉ đọc updatedAt của phòng; cả danh sách ghế chỉ được tải lại khi phòng vừa bị sửa. */
+async function seatIndexFor(roomId) {
+  const head = await Room.findById(roomId).select('updatedAt').lean();
+  if (!head) return null;
+  const memo = seatIndexMemo.get(String(roomId));
+  if (memo && head.updatedAt && memo.stamp === new Date(head.updatedAt).getTime()) return memo.byCode;
+  const room = await Room.findById(roomId).select('seats updatedAt').lean();
+  return room ? seatIndexOf(room) : null;
+}
+
+function encodeBitmap(layout, codes) {
+  const bytes = Buffer.alloc(Math.ceil(layout.seats.length / 8));
+  layout.seats.forEach((seat, i) => {
+    if (codes.has(seat.code)) bytes[i >> 3] |= 1 << (i & 7);
+  });
+  return bytes.toString('base64');
+}
+
+// booked = vé đã xác nhận, held = vé pending đang chờ thanh toán hoặc ghế đang được giữ (SeatHold)
+async function seatStatusOf(schedule, room) {
+  const layout = layoutOf(room);
+  const [tickets, holds] = await Promise.all([
+    Ticket.find({
+      scheduleId: schedule._id,
+      status: { $in: ['pending', 'confirmed'] }
+    })
+      .select('status seats.code')
+      .lean(),
+    activeHeldCodes(schedule._id)
+  ]);
+
+  const booked = new Set();
+  const held = new Set();
+  tickets.forEach(t => {
+    const target = t.status === 'confirmed' ? booked : held;
+    (t.seats || []).forEach(s => s && s.code && target.add(String(s.code).toUpperCase()));
+  });
+  holds.forEach(code => { if (!booked.has(code)) held.add(code); });
+
+  return {
+    scheduleId: String(schedule._id),
+    roomId: layout.roomId,
+    layoutVersion: layout.version,
+    seatCount: layout.seats.length,
+    booked: encodeBitmap(layout, booked),
+    held: encodeBitmap(layout, held),
+    priceTable: {
+      standard: schedule.priceTable?.standard || 0,
+      vip: schedule.priceTable?.vip || 0
+    }
+  };
+}
+
+module.exports = { layoutOf, seatStatusOf, encodeBitmap, seatIndexOf, seatIndexFor };
@@ -21,4 +21,9 @@ dependencyResolutionManagement {
 
 rootProject.name = "App_datve"
 include(":app")
+include(":baselineprofile")
+include(":benchmark")
+include(":loadgen")
+include(":pricing")
+include(":seating")
  
\ No newline at end of file